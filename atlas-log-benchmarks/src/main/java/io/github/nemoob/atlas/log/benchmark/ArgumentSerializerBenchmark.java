@@ -0,0 +1,66 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.DefaultFormatterContext;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.KeyValueArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 参数序列化：fastjson2 JSON 与 KEY_VALUE 格式，小对象与带 50 个明细的大对象（均开启脱敏）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArgumentSerializerBenchmark {
+    
+    @Param({"small", "large"})
+    public String size;
+    
+    private FastjsonArgumentSerializer jsonSerializer;
+    private KeyValueArgumentFormatter keyValueFormatter;
+    private ArgumentFormatter.FormatterContext formatterContext;
+    private Log annotation;
+    private Object[] args;
+    
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        jsonSerializer = new FastjsonArgumentSerializer(masker);
+        keyValueFormatter = new KeyValueArgumentFormatter(masker);
+        formatterContext = new DefaultFormatterContext("createOrder", "OrderService", 1000);
+        annotation = BenchmarkFixtures.OrderService.class
+                .getMethod("argsAndResult", BenchmarkFixtures.OrderDto.class).getAnnotation(Log.class);
+        args = new Object[]{"large".equals(size) ? BenchmarkFixtures.largeOrder() : BenchmarkFixtures.smallOrder(), 42};
+    }
+    
+    @Benchmark
+    public String json() {
+        return jsonSerializer.serializeArgs(args, annotation);
+    }
+    
+    @Benchmark
+    public String keyValue() {
+        return keyValueFormatter.formatArguments(args, formatterContext);
+    }
+}
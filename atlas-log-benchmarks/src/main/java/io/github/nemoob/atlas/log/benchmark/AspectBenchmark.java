@@ -0,0 +1,96 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.aspect.AtlasLogAspect;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.metrics.MethodLatencyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 切面开销：直接调用、代理但未标注、{@code @Log} 空实现、参数与返回值序列化、{@code @Logs} 多注解
+ * <p>
+ * 代理通过 {@link AspectJProxyFactory} 构建，与 Spring 容器中的 CGLIB 代理走同一条拦截链，
+ * 但不需要启动容器。日志后端为 slf4j-nop，结果只反映框架自身的开销。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AspectBenchmark {
+    
+    /**
+     * 是否同时开启按方法的延迟统计
+     */
+    @Param({"false", "true"})
+    public boolean metrics;
+    
+    private BenchmarkFixtures.OrderService target;
+    private BenchmarkFixtures.OrderService proxy;
+    private BenchmarkFixtures.OrderDto order;
+    private int value;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtlasLogAspect aspect = BenchmarkFixtures.newAspect();
+        if (metrics) {
+            aspect.setMethodLatencyRegistry(new MethodLatencyRegistry(500, 0, 10, 300_000));
+        }
+        target = new BenchmarkFixtures.OrderService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+        order = BenchmarkFixtures.smallOrder();
+        TraceIdHolder.setTraceId(TraceIdHolder.generateTraceId());
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TraceIdHolder.clear();
+    }
+    
+    @Benchmark
+    public int baseline() {
+        return target.noop(value++);
+    }
+    
+    @Benchmark
+    public int proxiedUnadvised() {
+        return proxy.unadvised(value++);
+    }
+    
+    @Benchmark
+    public int noop() {
+        return proxy.noop(value++);
+    }
+    
+    @Benchmark
+    public Object argsAndResult() {
+        return proxy.argsAndResult(order);
+    }
+    
+    @Benchmark
+    public Object stacked() {
+        return proxy.stacked(order);
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.annotation.Logs;
+import io.github.nemoob.atlas.log.aspect.AtlasLogAspect;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试共用的 DTO、被拦截的服务和组件装配（与自动配置的默认值一致）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static SpelExpressionEvaluator newEvaluator() {
+        return new SpelExpressionEvaluator(null, true, 1000, true);
+    }
+    
+    static AtlasLogAspect newAspect() {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        return new AtlasLogAspect(newEvaluator(),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+    }
+    
+    /**
+     * 小对象：几个标量字段
+     */
+    static OrderDto smallOrder() {
+        OrderDto order = new OrderDto();
+        order.setOrderId("ORD-20240101-0001");
+        order.setUserId(10001L);
+        order.setAmount(new BigDecimal("199.00"));
+        order.setStatus("PAID");
+        return order;
+    }
+    
+    /**
+     * 大对象：带 50 个明细行
+     */
+    static OrderDto largeOrder() {
+        OrderDto order = smallOrder();
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            OrderItem item = new OrderItem();
+            item.setSku("SKU-" + i);
+            item.setName("商品名称-" + i);
+            item.setQuantity(i % 5 + 1);
+            item.setPrice(new BigDecimal("19.90"));
+            items.add(item);
+        }
+        order.setItems(items);
+        order.setRemark("请在工作日送达，联系电话 13800138000");
+        return order;
+    }
+    
+    /**
+     * 被切面拦截的服务，方法体尽量简单以突出切面本身的开销
+     */
+    public static class OrderService {
+        
+        public int unadvised(int value) {
+            return value + 1;
+        }
+        
+        @Log("noop")
+        public int noop(int value) {
+            return value + 1;
+        }
+        
+        @Log(value = "下单: #{args[0].orderId}", logArgs = true, logResult = true)
+        public OrderDto argsAndResult(OrderDto order) {
+            return order;
+        }
+        
+        @Logs({
+            @Log(value = "审计: #{args[0].orderId}", tags = "audit"),
+            @Log(value = "业务: #{methodName}", logArgs = true, tags = "business"),
+            @Log(value = "结果", logResult = true, tags = "result")
+        })
+        public OrderDto stacked(OrderDto order) {
+            return order;
+        }
+    }
+    
+    public static class OrderDto {
+        private String orderId;
+        private Long userId;
+        private BigDecimal amount;
+        private String status;
+        private String remark;
+        private List<OrderItem> items = new ArrayList<>();
+        
+        public String getOrderId() {
+            return orderId;
+        }
+        
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+        
+        public Long getUserId() {
+            return userId;
+        }
+        
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+        
+        public BigDecimal getAmount() {
+            return amount;
+        }
+        
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+        
+        public String getStatus() {
+            return status;
+        }
+        
+        public void setStatus(String status) {
+            this.status = status;
+        }
+        
+        public String getRemark() {
+            return remark;
+        }
+        
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+        
+        public List<OrderItem> getItems() {
+            return items;
+        }
+        
+        public void setItems(List<OrderItem> items) {
+            this.items = items;
+        }
+    }
+    
+    public static class OrderItem {
+        private String sku;
+        private String name;
+        private int quantity;
+        private BigDecimal price;
+        
+        public String getSku() {
+            return sku;
+        }
+        
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public int getQuantity() {
+            return quantity;
+        }
+        
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+        
+        public BigDecimal getPrice() {
+            return price;
+        }
+        
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 与 {@code org.openjdk.jmh.Main} 参数相同，但默认开启 GC 分析器，结果中带有每次操作的分配字节数
+ * （{@code gc.alloc.rate.norm}）。示例：
+ * <pre>
+ * java -jar atlas-log-benchmarks/target/benchmarks.jar AspectBenchmark -rf json -rff aspect.json
+ * </pre>
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonPath 取值：顶层字段与数组内字段
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonPathExtractorBenchmark {
+    
+    private JsonPathValueExtractor extractor;
+    private BenchmarkFixtures.OrderDto order;
+    
+    @Setup
+    public void setUp() {
+        extractor = new JsonPathValueExtractor(true);
+        order = BenchmarkFixtures.largeOrder();
+    }
+    
+    @Benchmark
+    public Object field() {
+        return extractor.extractValue(order, "$.status");
+    }
+    
+    @Benchmark
+    public Object nested() {
+        return extractor.extractValue(order, "$.items[10].sku");
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.web.LoggingFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 过滤器单次请求的开销，下游链为空实现
+ * <p>
+ * 每次调用都新建 Mock 请求和响应，与真实容器中每个请求一套对象的情况一致，
+ * 因此分配结果中包含 Mock 对象本身，对比时请参考 {@link #mockOnly()}。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingFilterBenchmark {
+    
+    /**
+     * 是否捕获请求/响应报文体
+     */
+    @Param({"false", "true"})
+    public boolean captureBody;
+    
+    private static final FilterChain NOOP_CHAIN = (request, response) -> response.getWriter().write("{\"code\":0}");
+    private static final byte[] BODY = "{\"orderId\":\"ORD-20240101-0001\",\"amount\":199.00}".getBytes(StandardCharsets.UTF_8);
+    
+    private LoggingFilter filter;
+    
+    @Setup
+    public void setUp() {
+        LogConfigProperties properties = new LogConfigProperties();
+        properties.getHttpLog().setLogRequestBody(captureBody);
+        properties.getHttpLog().setLogResponseBody(captureBody);
+        filter = new LoggingFilter(properties, null);
+    }
+    
+    @Benchmark
+    public Object mockOnly() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        NOOP_CHAIN.doFilter(newRequest(), response);
+        return response;
+    }
+    
+    @Benchmark
+    public Object filter() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(newRequest(), response, NOOP_CHAIN);
+        return response;
+    }
+    
+    private static MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders/1001");
+        request.setQueryString("source=app");
+        request.addParameter("source", "app");
+        request.setContentType("application/json");
+        request.setContent(BODY);
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.nemoob.atlas.log.benchmark;
+
+import io.github.nemoob.atlas.log.context.LogContext;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表达式求值：纯文本、纯 SpEL、模板三种类型（开启表达式缓存，与默认配置一致）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpelExpressionBenchmark {
+    
+    private SpelExpressionEvaluator evaluator;
+    private LogContext context;
+    
+    @Setup
+    public void setUp() {
+        evaluator = BenchmarkFixtures.newEvaluator();
+        context = new LogContext();
+        context.setClassName("OrderService");
+        context.setMethodName("createOrder");
+        context.setArgs(new Object[]{BenchmarkFixtures.smallOrder()});
+        context.setResult("OK");
+    }
+    
+    @Benchmark
+    public String plain() {
+        return evaluator.evaluateExpression("创建订单", context);
+    }
+    
+    @Benchmark
+    public String pure() {
+        return evaluator.evaluateExpression("#{methodName}", context);
+    }
+    
+    @Benchmark
+    public String template() {
+        return evaluator.evaluateExpression("用户 #{args[0].userId} 创建订单 #{args[0].orderId}", context);
+    }
+}
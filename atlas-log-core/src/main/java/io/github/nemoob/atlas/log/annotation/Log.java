@@ -99,6 +99,14 @@ public @interface Log {
      */
     boolean logExecutionTime() default true;
     
+    /**
+     * 是否统计并记录调用线程的 CPU 时间和内存分配量
+     * 依赖 ThreadMXBean，有一定开销，只建议在需要排查的方法上开启
+     * 
+     * @return true-统计资源消耗，false-不统计
+     */
+    boolean logResources() default false;
+    
     /**
      * 是否记录异常
      * 
@@ -192,4 +200,15 @@ public @interface Log {
      * @return 返回值格式化器名称
      */
     String resultFormatter() default "";
+    
+    /**
+     * 是否为审计日志
+     * 审计日志在正常输出之外还会写入审计日志文件（需开启 atlas.log.audit.enabled），
+     * 按配置等待落盘后方法才返回，且不受日志开销降级影响
+     * 
+     * 也可以通过 atlas.log.audit.tags 按标签把日志路由到审计日志
+     * 
+     * @return true-审计日志，false-普通日志
+     */
+    boolean audit() default false;
 }
\ No newline at end of file
@@ -5,13 +5,36 @@ import io.github.nemoob.atlas.log.annotation.JsonPathCompare;
 import io.github.nemoob.atlas.log.annotation.Log;
 import io.github.nemoob.atlas.log.annotation.LogIgnore;
 import io.github.nemoob.atlas.log.annotation.Logs;
+import io.github.nemoob.atlas.log.async.AsyncResultAdapter;
+import io.github.nemoob.atlas.log.async.AsyncResultSupport;
+import io.github.nemoob.atlas.log.audit.AuditJournal;
 import io.github.nemoob.atlas.log.context.LogContext;
 import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.LogEventEmitter;
+import io.github.nemoob.atlas.log.exception.ExceptionDeduplicator;
+import io.github.nemoob.atlas.log.exception.ExceptionOccurrence;
+import io.github.nemoob.atlas.log.exception.StackTraceRenderer;
 import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.jfr.JfrInvocationRecorder;
+import io.github.nemoob.atlas.log.metrics.ErrorBurstDetector;
+import io.github.nemoob.atlas.log.metrics.InFlightInvocation;
+import io.github.nemoob.atlas.log.metrics.InFlightRegistry;
+import io.github.nemoob.atlas.log.metrics.MethodLatencyRegistry;
+import io.github.nemoob.atlas.log.metrics.OverheadGovernor;
+import io.github.nemoob.atlas.log.metrics.OverheadLevel;
+import io.github.nemoob.atlas.log.metrics.ResourceAccounting;
+import io.github.nemoob.atlas.log.metrics.ResourceUsage;
+import io.github.nemoob.atlas.log.metrics.SlowCallDetector;
+import io.github.nemoob.atlas.log.metrics.StackProfile;
 import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.recorder.FlightRecorder;
 import io.github.nemoob.atlas.log.serializer.ArgumentSerializer;
 import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
 import io.github.nemoob.atlas.log.serializer.DefaultFormatterContext;
+import io.github.nemoob.atlas.log.serializer.PayloadSizeEstimator;
+import io.github.nemoob.atlas.log.serializer.SerializationBudget;
+import io.github.nemoob.atlas.log.sink.LogSink;
 import io.github.nemoob.atlas.log.util.ReflectionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -30,7 +53,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * 日志切面处理器
@@ -48,6 +76,32 @@ public class AtlasLogAspect {
     private final ArgumentSerializer argumentSerializer;
     private final JsonPathCompareProcessor jsonPathCompareProcessor;
     private final ArgumentFormatterManager argumentFormatterManager;
+    private static final int MAX_PROFILE_STACKS = 5;
+    private static final String PAYLOAD_SUPPRESSED = "[开销降级]";
+    private static final String EVENT_FORMAT = "{}";
+    
+    private final AsyncResultSupport asyncResultSupport = new AsyncResultSupport();
+    private volatile SlowCallDetector slowCallDetector;
+    private volatile MethodLatencyRegistry methodLatencyRegistry;
+    private volatile InFlightRegistry inFlightRegistry;
+    private volatile ResourceAccounting resourceAccounting;
+    private volatile OverheadGovernor overheadGovernor;
+    private volatile boolean structuredEvents;
+    private volatile LogEventEmitter logEventEmitter;
+    private volatile LogSink logSink;
+    private volatile boolean sinkExclusive;
+    private volatile AuditJournal auditJournal;
+    private volatile Set<String> auditTags = Collections.emptySet();
+    private volatile boolean auditWaitForDurability = true;
+    private volatile long auditAwaitTimeoutMillis = 1000;
+    private volatile FlightRecorder flightRecorder;
+    private volatile boolean flightRecorderBelowLevel;
+    private volatile JfrInvocationRecorder jfrRecorder;
+    private volatile boolean jfrExclusive;
+    private volatile ExceptionDeduplicator exceptionDeduplicator;
+    private volatile StackTraceRenderer stackTraceRenderer;
+    private volatile ErrorBurstDetector errorBurstDetector;
+    private volatile SerializationBudget serializationBudget;
     
     public AtlasLogAspect(SpelExpressionEvaluator spelExpressionEvaluator,
                           ArgumentSerializer argumentSerializer,
@@ -59,6 +113,153 @@ public class AtlasLogAspect {
         this.argumentFormatterManager = argumentFormatterManager;
     }
     
+    /**
+     * 设置慢调用判定器，为 null 时不标记慢调用
+     */
+    public void setSlowCallDetector(SlowCallDetector slowCallDetector) {
+        this.slowCallDetector = slowCallDetector;
+    }
+    
+    /**
+     * 设置方法延迟注册表，为 null 时不统计方法延迟
+     */
+    public void setMethodLatencyRegistry(MethodLatencyRegistry methodLatencyRegistry) {
+        this.methodLatencyRegistry = methodLatencyRegistry;
+    }
+    
+    /**
+     * 设置正在执行调用的注册表，为 null 时不登记（看门狗无法采样）
+     */
+    public void setInFlightRegistry(InFlightRegistry inFlightRegistry) {
+        this.inFlightRegistry = inFlightRegistry;
+    }
+    
+    /**
+     * 设置资源统计，为 null 时不统计 CPU 时间和内存分配
+     */
+    public void setResourceAccounting(ResourceAccounting resourceAccounting) {
+        this.resourceAccounting = resourceAccounting;
+    }
+    
+    /**
+     * 设置日志开销熔断器，为 null 时不统计自身开销、不降级
+     */
+    public void setOverheadGovernor(OverheadGovernor overheadGovernor) {
+        this.overheadGovernor = overheadGovernor;
+    }
+    
+    /**
+     * 设置是否以结构化事件输出：开启后 {@link AtlasLogEvent} 作为参数交给 SLF4J，由 JSON 编码器按字段输出
+     */
+    public void setStructuredEvents(boolean structuredEvents) {
+        this.structuredEvents = structuredEvents;
+    }
+    
+    /**
+     * 设置日志事件输出器，为 null 时通过 SLF4J 输出
+     */
+    public void setLogEventEmitter(LogEventEmitter logEventEmitter) {
+        this.logEventEmitter = logEventEmitter;
+    }
+    
+    /**
+     * 设置与 SLF4J 并列的日志事件 Sink，为 null 时不启用
+     */
+    public void setLogSink(LogSink logSink) {
+        this.logSink = logSink;
+    }
+    
+    /**
+     * 设置是否只写入 Sink：开启后设置了 Sink 的事件不再经过 SLF4J 输出
+     */
+    public void setSinkExclusive(boolean sinkExclusive) {
+        this.sinkExclusive = sinkExclusive;
+    }
+    
+    /**
+     * 设置审计日志，为 null 时审计事件只按普通日志输出
+     */
+    public void setAuditJournal(AuditJournal auditJournal) {
+        this.auditJournal = auditJournal;
+    }
+    
+    /**
+     * 设置路由到审计日志的标签：带有其中任一标签的 @Log 等同于 audit = true
+     */
+    public void setAuditTags(Set<String> auditTags) {
+        this.auditTags = auditTags != null ? auditTags : Collections.<String>emptySet();
+    }
+    
+    /**
+     * 设置审计事件是否等待落盘后再返回
+     */
+    public void setAuditWaitForDurability(boolean auditWaitForDurability) {
+        this.auditWaitForDurability = auditWaitForDurability;
+    }
+    
+    /**
+     * 设置等待审计事件落盘的超时时间（毫秒），超时后记录警告并继续
+     */
+    public void setAuditAwaitTimeoutMillis(long auditAwaitTimeoutMillis) {
+        this.auditAwaitTimeoutMillis = auditAwaitTimeoutMillis;
+    }
+    
+    /**
+     * 设置记录最近事件的飞行记录器，为 null 时不启用
+     */
+    public void setFlightRecorder(FlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+    
+    /**
+     * 设置飞行记录器是否同时记录低于日志级别、不会输出的事件
+     */
+    public void setFlightRecorderBelowLevel(boolean flightRecorderBelowLevel) {
+        this.flightRecorderBelowLevel = flightRecorderBelowLevel;
+    }
+    
+    /**
+     * 设置 JFR 调用事件记录器，为 null 时不生成 JFR 事件
+     */
+    public void setJfrRecorder(JfrInvocationRecorder jfrRecorder) {
+        this.jfrRecorder = jfrRecorder;
+    }
+    
+    /**
+     * 设置是否以 JFR 事件代替进入和退出日志：开启且设置了 JFR 记录器时只输出异常日志，审计调用不受影响
+     */
+    public void setJfrExclusive(boolean jfrExclusive) {
+        this.jfrExclusive = jfrExclusive;
+    }
+    
+    /**
+     * 设置重复异常折叠器，为 null 时每次异常都输出完整堆栈
+     */
+    public void setExceptionDeduplicator(ExceptionDeduplicator exceptionDeduplicator) {
+        this.exceptionDeduplicator = exceptionDeduplicator;
+    }
+    
+    /**
+     * 设置异常堆栈裁剪渲染器：设置后堆栈由切面渲染成文本输出，不再把异常对象交给日志后端
+     */
+    public void setStackTraceRenderer(StackTraceRenderer stackTraceRenderer) {
+        this.stackTraceRenderer = stackTraceRenderer;
+    }
+    
+    /**
+     * 设置错误突增检测器：方法错误率突增时临时完整记录参数和返回值，为 null 时不启用
+     */
+    public void setErrorBurstDetector(ErrorBurstDetector errorBurstDetector) {
+        this.errorBurstDetector = errorBurstDetector;
+    }
+    
+    /**
+     * 设置序列化内存预算，注解指定的自定义格式化器在预算内调用；为 null 时不限制
+     */
+    public void setSerializationBudget(SerializationBudget serializationBudget) {
+        this.serializationBudget = serializationBudget;
+    }
+    
     /**
      * 环绕通知：拦截带有@Log注解的方法
      */
@@ -85,7 +286,7 @@ public class AtlasLogAspect {
             return joinPoint.proceed();
         }
         
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         // AOP 只获取 Filter 设置的 TraceId，不生成新的
         String traceId = TraceIdHolder.getTraceIdIfPresent();
         if (traceId == null) {
@@ -94,15 +295,56 @@ public class AtlasLogAspect {
         }
         Object result = null;
         Throwable exception = null;
+        boolean asyncPending = false;
+        InFlightRegistry inFlight = inFlightRegistry;
+        InFlightInvocation invocation = inFlight != null ? inFlight.enter(method, traceId) : null;
+        ResourceAccounting accounting = resourceAccounting;
+        boolean measureResources = accounting != null && accounting.isEnabled(method, logAnnotations);
+        ResourceUsage usage = null;
+        // 审计调用不参与开销降级，否则会丢失审计记录；也不计入开销统计，
+        // 否则等待审计落盘的时间会被算作切面开销，使其他方法被降级
+        OverheadGovernor governor = isAudited(logAnnotations) ? null : overheadGovernor;
+        OverheadLevel overheadLevel = governor != null ? governor.admit() : OverheadLevel.FULL;
+        // 错误突增的诊断期内完整记录参数和返回值，不受 logArgs/logResult、采样和开销降级限制
+        boolean diagnostic = isDiagnosticCapture(method);
+        if (diagnostic) {
+            overheadLevel = OverheadLevel.FULL;
+        }
+        long proceedNanos = 0;
+        JfrInvocationRecorder jfr = jfrRecorder;
+        Object jfrEvent = jfr != null ? jfr.begin() : null;
         
         try {
             // 记录进入日志
-            for (Log logAnnotation : logAnnotations) {
-                recordEnterLog(logAnnotation, method, args, traceId);
+            if (overheadLevel.isLogging() && !isJfrExclusive(logAnnotations)) {
+                for (Log logAnnotation : logAnnotations) {
+                    recordEnterLog(logAnnotation, method, args, traceId, overheadLevel.isPayloadAllowed(), diagnostic);
+                }
             }
             
-            // 执行目标方法
-            result = joinPoint.proceed();
+            // 执行目标方法；资源读数紧贴 proceed()，切面自身的序列化和日志输出不计入
+            long startCpuNanos = measureResources ? accounting.currentThreadCpuNanos() : -1;
+            long startAllocatedBytes = measureResources ? accounting.currentThreadAllocatedBytes() : -1;
+            long proceedStart = System.nanoTime();
+            try {
+                result = joinPoint.proceed();
+            } finally {
+                proceedNanos = System.nanoTime() - proceedStart;
+                if (measureResources) {
+                    usage = accounting.since(startCpuNanos, startAllocatedBytes);
+                }
+            }
+            
+            // 异步返回值：在真正完成时记录日志，而不是在返回 Future 时
+            AsyncResultAdapter asyncAdapter = asyncResultSupport.findAdapter(result);
+            if (asyncAdapter != null) {
+                long callerOverheadNanos = System.nanoTime() - startNanos - proceedNanos;
+                Object decorated = attachAsyncCompletion(asyncAdapter, result, startNanos,
+                        logAnnotations, method, args, beforeArgs, traceId, usage, overheadLevel, diagnostic,
+                        callerOverheadNanos, proceedNanos, jfrEvent);
+                asyncPending = true;
+                return decorated;
+            }
             
             // 处理 JsonPath 比较
             if (jsonPathCompareProcessor != null && method.isAnnotationPresent(JsonPathCompare.class)) {
@@ -115,23 +357,197 @@ public class AtlasLogAspect {
             exception = e;
             throw e;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // 记录退出或异常日志
-            for (Log logAnnotation : logAnnotations) {
-                if (exception != null) {
-                    recordExceptionLog(logAnnotation, method, args, exception, executionTime, traceId);
-                } else {
-                    recordExitLog(logAnnotation, method, args, result, executionTime, traceId);
+            // 异步调用在返回时即注销：此后执行线程已不再处理该调用
+            if (invocation != null) {
+                inFlight.exit(invocation);
+                recordStackProfile(invocation, method);
+            }
+            if (!asyncPending) {
+                commitJfrEvent(jfrEvent, method, traceId, exception, logAnnotations);
+                recordCompletion(logAnnotations, method, args, result, exception, System.nanoTime() - startNanos,
+                        traceId, usage, overheadLevel, diagnostic);
+                if (governor != null) {
+                    governor.record(System.nanoTime() - startNanos - proceedNanos, proceedNanos);
                 }
             }
         }
     }
     
+    /**
+     * 输出看门狗对慢调用的栈采样汇总（折叠栈格式，按出现次数降序）
+     */
+    private void recordStackProfile(InFlightInvocation invocation, Method method) {
+        StackProfile profile = invocation.getProfile();
+        if (profile == null || profile.getSamples() == 0) {
+            return;
+        }
+        try {
+            StringBuilder stacks = new StringBuilder();
+            for (String stack : profile.top(MAX_PROFILE_STACKS)) {
+                stacks.append(System.lineSeparator()).append("    ").append(stack);
+            }
+            getLogger(method).warn("TraceId: {} | SlowCallProfile: {} | ExecutionTime: {}ms | Samples: {} (dropped {}){}",
+                    invocation.getTraceId(), ReflectionUtils.formatMethodSignature(method),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - invocation.getStartNanos()),
+                    profile.getSamples(), profile.getDroppedSamples(), stacks);
+        } catch (Exception e) {
+            log.warn("Failed to record stack profile: {}", method.getName(), e);
+        }
+    }
+    
+    /**
+     * 为异步返回值挂载完成回调
+     * 回调在完成线程上执行，执行期间恢复调用方的 TraceId；自身开销为调用方线程和回调两部分之和。
+     * 被下游取消的调用按正常退出记录，不计为异常。
+     * Reactor 返回值每次订阅都会回调一次（retry、repeat 或多个订阅者），JFR 事件只在第一次回调时提交，
+     * 调用方线程上的开销和方法返回前的执行时间也只在第一次回调时上报；审计调用不上报
+     */
+    private Object attachAsyncCompletion(AsyncResultAdapter asyncAdapter, Object result, long startNanos,
+                                         List<Log> logAnnotations, Method method, Object[] args,
+                                         Object[] beforeArgs, String traceId, ResourceUsage usage,
+                                         OverheadLevel overheadLevel, boolean diagnostic, long callerOverheadNanos,
+                                         long proceedNanos, Object jfrEvent) {
+        AtomicBoolean jfrCommitted = new AtomicBoolean(jfrEvent == null);
+        boolean audited = isAudited(logAnnotations);
+        AtomicBoolean callerRecorded = new AtomicBoolean();
+        boolean elapsedFromStart = asyncAdapter.isElapsedFromStart();
+        return asyncAdapter.attach(result, startNanos, (value, error, cancelled, elapsedNanos) ->
+                TraceIdHolder.runWithTraceId(traceId, () -> {
+                    long callbackStart = System.nanoTime();
+                    if (jfrCommitted.compareAndSet(false, true)) {
+                        commitJfrEvent(jfrEvent, method, traceId, error, logAnnotations);
+                    }
+                    try {
+                        if (error == null && !cancelled && jsonPathCompareProcessor != null
+                                && method.isAnnotationPresent(JsonPathCompare.class)) {
+                            jsonPathCompareProcessor.processJsonPathCompare(method, args, value, beforeArgs);
+                        }
+                        recordCompletion(logAnnotations, method, args, value, error, elapsedNanos, traceId, usage,
+                                overheadLevel, diagnostic);
+                    } catch (Throwable t) {
+                        // 回调异常不能影响异步结果本身
+                        log.warn("Failed to record async completion log: {}", method.getName(), t);
+                    }
+                    OverheadGovernor governor = overheadGovernor;
+                    if (governor != null && !audited) {
+                        boolean first = callerRecorded.compareAndSet(false, true);
+                        long overhead = (first ? callerOverheadNanos : 0) + System.nanoTime() - callbackStart;
+                        // 从订阅开始计时的耗时不含调用方线程上的开销，不能再扣除
+                        long methodNanos = elapsedFromStart ? elapsedNanos - callerOverheadNanos
+                                : elapsedNanos + (first ? proceedNanos : 0);
+                        governor.record(overhead, methodNanos);
+                    }
+                }));
+    }
+    
+    /**
+     * 记录退出或异常日志
+     * 
+     * @param usage 资源消耗，未统计时为 null
+     * @param overheadLevel 本次调用的开销降级级别；异常日志不受降级影响，只是不带参数
+     * @param diagnostic 是否处于错误突增的诊断期，为 true 时完整记录参数和返回值
+     */
+    private void recordCompletion(List<Log> logAnnotations, Method method, Object[] args,
+                                  Object result, Throwable exception, long elapsedNanos, String traceId,
+                                  ResourceUsage usage, OverheadLevel overheadLevel, boolean diagnostic) {
+        ErrorBurstDetector burstDetector = errorBurstDetector;
+        if (burstDetector != null) {
+            burstDetector.record(method, exception != null);
+        }
+        long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        SlowCallDetector detector = slowCallDetector;
+        boolean slow = detector != null && detector.isSlow(method, elapsedNanos);
+        MethodLatencyRegistry registry = methodLatencyRegistry;
+        if (registry != null) {
+            recordLatency(registry, logAnnotations, method, args, result, exception, elapsedNanos, traceId,
+                    overheadLevel.isPayloadAllowed());
+            if (usage != null) {
+                registry.recordResources(method, usage);
+            }
+        }
+        // 多个 @Log 注解共享一次判定，同一次异常只计数一次
+        ExceptionOccurrence occurrence = exception != null ? recordOccurrence(exception) : null;
+        for (Log logAnnotation : logAnnotations) {
+            // 仅 logResources 的注解把资源消耗写入日志，按标签开启的只进入方法统计
+            ResourceUsage logUsage = logAnnotation.logResources() ? usage : null;
+            if (exception != null) {
+                recordExceptionLog(logAnnotation, method, args, exception, executionTime, traceId, logUsage,
+                        overheadLevel.isPayloadAllowed(), diagnostic, occurrence);
+            } else if (overheadLevel.isLogging() && !isJfrExclusive(logAnnotations)) {
+                recordExitLog(logAnnotation, method, args, result, executionTime, traceId, slow, logUsage,
+                        overheadLevel.isPayloadAllowed(), diagnostic);
+            }
+        }
+    }
+    
+    private ExceptionOccurrence recordOccurrence(Throwable exception) {
+        ExceptionDeduplicator deduplicator = exceptionDeduplicator;
+        if (deduplicator == null) {
+            return null;
+        }
+        try {
+            return deduplicator.record(exception);
+        } catch (RuntimeException e) {
+            log.warn("Failed to fingerprint exception: {}", exception.getClass().getName(), e);
+            return null;
+        }
+    }
+    
+    private boolean isDiagnosticCapture(Method method) {
+        ErrorBurstDetector detector = errorBurstDetector;
+        return detector != null && detector.tryCapture(method);
+    }
+    
+    /**
+     * 是否只以 JFR 事件代替进入和退出日志；审计调用仍照常输出，否则审计日志、Sink 和最近事件都会缺失这些调用
+     */
+    private boolean isJfrExclusive(List<Log> logAnnotations) {
+        return jfrExclusive && jfrRecorder != null && !isAudited(logAnnotations);
+    }
+    
+    /**
+     * 提交 JFR 调用事件；异步调用在完成时提交，事件时长覆盖到完成为止
+     */
+    private void commitJfrEvent(Object jfrEvent, Method method, String traceId, Throwable exception,
+                                List<Log> logAnnotations) {
+        JfrInvocationRecorder jfr = jfrRecorder;
+        if (jfrEvent == null || jfr == null) {
+            return;
+        }
+        try {
+            jfr.commit(jfrEvent, method, traceId, exception, logAnnotations);
+        } catch (RuntimeException e) {
+            log.warn("Failed to commit JFR event: {}", method.getName(), e);
+        }
+    }
+    
+    /**
+     * 记录方法延迟；参数和返回值只在进入最慢 Top-K 时才序列化，且遵循第一个 @Log 的 logArgs/logResult
+     */
+    private void recordLatency(MethodLatencyRegistry registry, List<Log> logAnnotations, Method method,
+                               Object[] args, Object result, Throwable exception, long elapsedNanos, String traceId,
+                               boolean logPayload) {
+        try {
+            Log logAnnotation = logAnnotations.isEmpty() || !logPayload ? null : logAnnotations.get(0);
+            Supplier<String> argsRenderer = null;
+            Supplier<String> resultRenderer = null;
+            if (logAnnotation != null && logAnnotation.logArgs() && args != null) {
+                argsRenderer = () -> serializeArgs(args, logAnnotation, new Parameter[0], method);
+            }
+            if (logAnnotation != null && logAnnotation.logResult() && result != null) {
+                resultRenderer = () -> serializeResult(result, logAnnotation, method);
+            }
+            registry.record(method, elapsedNanos, traceId, argsRenderer, resultRenderer, exception);
+        } catch (Exception e) {
+            log.warn("Failed to record method latency: {}", method.getName(), e);
+        }
+    }
+    
     /**
      * 记录方法进入日志
      */
-    private void recordEnterLog(Log logAnnotation, Method method, Object[] args, String traceId) {
+    private void recordEnterLog(Log logAnnotation, Method method, Object[] args, String traceId, boolean logPayload,
+                                boolean diagnostic) {
         if (!shouldLog(logAnnotation, method, args, null, null)) {
             return;
         }
@@ -147,8 +563,9 @@ public class AtlasLogAspect {
             String message = spelExpressionEvaluator.evaluateExpression(
                 logAnnotation.enterMessage(), logContext);
             
-            Logger logger = getLogger(method);
-            logWithLevel(logger, logAnnotation.level(), message, buildLogDetails(logAnnotation, logContext, method));
+            AtlasLogEvent event = buildLogEvent(logAnnotation, logContext, method, logPayload, diagnostic)
+                    .setPhase(AtlasLogEvent.Phase.ENTER);
+            emit(method, logAnnotation, logAnnotation.level(), message, event, null);
             
         } catch (Exception e) {
             log.warn("Failed to record enter log: {}", method.getName(), e);
@@ -159,9 +576,12 @@ public class AtlasLogAspect {
      * 记录方法退出日志
      */
     private void recordExitLog(Log logAnnotation, Method method, Object[] args, 
-                              Object result, long executionTime, String traceId) {
+                              Object result, long executionTime, String traceId, boolean slow,
+                              ResourceUsage usage, boolean logPayload, boolean diagnostic) {
         
         LogContext logContext = createLogContext(method, args, result, null, executionTime, traceId);
+        logContext.setSlowCall(slow);
+        applyResourceUsage(logContext, usage);
         
         if (!shouldLog(logAnnotation, method, args, result, null)) {
             return;
@@ -169,8 +589,14 @@ public class AtlasLogAspect {
         
         try {
             String message = buildLogMessage(logAnnotation, logContext, false);
-            Logger logger = getLogger(method);
-            logWithLevel(logger, logAnnotation.level(), message, buildLogDetails(logAnnotation, logContext, method));
+            // 慢调用至少以 WARN 级别输出
+            io.github.nemoob.atlas.log.annotation.LogLevel level = logAnnotation.level();
+            if (slow && level.compareTo(io.github.nemoob.atlas.log.annotation.LogLevel.WARN) < 0) {
+                level = io.github.nemoob.atlas.log.annotation.LogLevel.WARN;
+            }
+            AtlasLogEvent event = buildLogEvent(logAnnotation, logContext, method, logPayload, diagnostic)
+                    .setPhase(AtlasLogEvent.Phase.EXIT);
+            emit(method, logAnnotation, level, message, event, null);
             
         } catch (Exception e) {
             log.warn("Failed to record exit log: {}", method.getName(), e);
@@ -179,15 +605,20 @@ public class AtlasLogAspect {
     
     /**
      * 记录异常日志
+     * 
+     * @param occurrence 重复异常的判定结果，未启用折叠时为 null；窗口内重复出现的异常不再输出堆栈
      */
     private void recordExceptionLog(Log logAnnotation, Method method, Object[] args, 
-                                   Throwable exception, long executionTime, String traceId) {
+                                   Throwable exception, long executionTime, String traceId,
+                                   ResourceUsage usage, boolean logPayload, boolean diagnostic,
+                                   ExceptionOccurrence occurrence) {
         
         if (!logAnnotation.logException()) {
             return;
         }
         
         LogContext logContext = createLogContext(method, args, null, exception, executionTime, traceId);
+        applyResourceUsage(logContext, usage);
         
         try {
             // 查找匹配的异常处理器
@@ -213,20 +644,40 @@ public class AtlasLogAspect {
                 logStackTrace = true;
             }
             
-            Logger logger = getLogger(method);
-            String logDetails = buildLogDetails(logAnnotation, logContext, method);
+            if (logStackTrace && occurrence != null) {
+                if (occurrence.isFirst()) {
+                    message = message + " | Fingerprint: " + occurrence.getFingerprint();
+                } else {
+                    message = message + " | Same as fingerprint " + occurrence.getFingerprint()
+                            + " (" + occurrence.getOccurrences() + " occurrences)";
+                    logStackTrace = false;
+                }
+            }
             
-            if (logStackTrace) {
-                logWithLevel(logger, logLevel, message, logDetails, exception);
-            } else {
-                logWithLevel(logger, logLevel, message, logDetails);
+            AtlasLogEvent event = buildLogEvent(logAnnotation, logContext, method, logPayload, diagnostic)
+                    .setPhase(AtlasLogEvent.Phase.EXCEPTION);
+            StackTraceRenderer renderer = stackTraceRenderer;
+            if (logStackTrace && renderer != null) {
+                event.setStackTrace(renderer.render(exception));
+                logStackTrace = false;
             }
+            emit(method, logAnnotation, logLevel, message, event, logStackTrace ? exception : null);
             
         } catch (Exception e) {
             log.warn("Failed to record exception log: {}", method.getName(), e);
         }
     }
     
+    /**
+     * 把资源消耗写入日志上下文
+     */
+    private void applyResourceUsage(LogContext logContext, ResourceUsage usage) {
+        if (usage != null) {
+            logContext.setCpuTime(usage.getCpuNanos());
+            logContext.setAllocatedBytes(usage.getAllocatedBytes());
+        }
+    }
+    
     /**
      * 判断是否应该记录日志
      */
@@ -273,59 +724,141 @@ public class AtlasLogAspect {
     }
     
     /**
-     * 构建日志详细信息
+     * 构建日志事件（TraceId、标签、参数、返回值、执行时间、慢调用、资源消耗、异常）
+     * 
+     * @param logPayload 为 false 时（开销降级）不序列化参数和返回值，只输出占位符
+     * @param diagnostic 为 true 时（错误突增诊断期）即使注解未开启也记录参数和返回值
      */
-    private String buildLogDetails(Log logAnnotation, LogContext logContext, Method method) {
-        StringBuilder details = new StringBuilder();
-        
-        // TraceId
-        if (logContext.getTraceId() != null) {
-            details.append("TraceId: ").append(logContext.getTraceId()).append(" | ");
-        }
-        
-        // 标签
-        if (logAnnotation.tags().length > 0) {
-            details.append("Tags: ").append(Arrays.toString(logAnnotation.tags())).append(" | ");
-        }
+    private AtlasLogEvent buildLogEvent(Log logAnnotation, LogContext logContext, Method method, boolean logPayload,
+                                        boolean diagnostic) {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setTraceId(logContext.getTraceId())
+                .setMethod(logContext.getMethodSignature())
+                .setTags(logAnnotation.tags());
+        boolean logArgs = logAnnotation.logArgs() || diagnostic;
+        boolean logResult = logAnnotation.logResult() || diagnostic;
         
         // 参数
-        if (logAnnotation.logArgs() && logContext.getArgs() != null) {
+        if (logArgs && logContext.getArgs() != null && !logPayload) {
+            event.setArgs(PAYLOAD_SUPPRESSED);
+        } else if (logArgs && logContext.getArgs() != null) {
             try {
-                String argsStr = serializeArgs(logContext.getArgs(), logAnnotation, 
-                    getMethodParameters(logContext.getMethodSignature()), method);
-                details.append("Args: ").append(argsStr).append(" | ");
+                event.setArgs(serializeArgs(logContext.getArgs(), logAnnotation, 
+                    getMethodParameters(logContext.getMethodSignature()), method));
             } catch (Exception e) {
-                details.append("Args: [序列化失败] | ");
+                event.setArgs("[序列化失败]");
             }
         }
         
         // 返回值
-        if (logAnnotation.logResult() && logContext.getResult() != null) {
+        if (logResult && logContext.getResult() != null && !logPayload) {
+            event.setResult(PAYLOAD_SUPPRESSED);
+        } else if (logResult && logContext.getResult() != null) {
             try {
-                String resultStr = serializeResult(logContext.getResult(), logAnnotation, method);
-                details.append("Result: ").append(resultStr).append(" | ");
+                event.setResult(serializeResult(logContext.getResult(), logAnnotation, method));
             } catch (Exception e) {
-                details.append("Result: [序列化失败] | ");
+                event.setResult("[序列化失败]");
             }
         }
         
         // 执行时间
         if (logAnnotation.logExecutionTime()) {
-            details.append("ExecutionTime: ").append(logContext.getExecutionTime()).append("ms | ");
+            event.setExecutionTime(logContext.getExecutionTime());
         }
         
-        // 异常信息
-        if (logContext.getException() != null) {
-            details.append("Exception: ").append(logContext.getException().getClass().getSimpleName())
-                   .append(": ").append(logContext.getException().getMessage()).append(" | ");
+        return event.setSlowCall(logContext.isSlowCall())
+                .setCpuTime(logContext.getCpuTime())
+                .setAllocatedBytes(logContext.getAllocatedBytes())
+                .setException(logContext.getException());
+    }
+    
+    /**
+     * 输出日志事件：审计事件先写入审计日志；设置了 {@link FlightRecorder} 时记入最近事件；
+     * 设置了 {@link LogSink} 时先写入 Sink；
+     * 设置了 {@link LogEventEmitter} 时交给日志后端直接输出，
+     * 否则结构化模式下事件本身作为参数交给 SLF4J，文本模式下输出 "详情 | 消息"（裁剪后的堆栈接在消息之后）
+     * 
+     * @param exception 需要输出堆栈的异常，可为 null
+     */
+    private void emit(Method method, Log logAnnotation, io.github.nemoob.atlas.log.annotation.LogLevel level,
+                      String message, AtlasLogEvent event, Throwable exception) {
+        event.setMessage(message);
+        AuditJournal journal = this.auditJournal;
+        if (journal != null && isAudited(logAnnotation)) {
+            appendAudit(journal, method, level, event);
         }
-        
-        // 移除最后的分隔符
-        if (details.length() > 3) {
-            details.setLength(details.length() - 3);
+        FlightRecorder recorder = this.flightRecorder;
+        if (recorder != null && (flightRecorderBelowLevel || isEnabled(getLogger(method), level))) {
+            recorder.record(level, event);
+        }
+        LogSink sink = this.logSink;
+        if (sink != null) {
+            sink.append(level, event);
+            if (sinkExclusive) {
+                return;
+            }
+        }
+        LogEventEmitter emitter = this.logEventEmitter;
+        if (emitter != null) {
+            emitter.emit(method.getDeclaringClass(), level, event, exception);
+            return;
+        }
+        Logger logger = getLogger(method);
+        if (structuredEvents) {
+            logEvent(logger, level, event, exception);
+        } else if (exception != null) {
+            logWithLevel(logger, level, message, event.formatDetails(), exception);
+        } else if (event.getStackTrace() != null) {
+            logWithLevel(logger, level, message + System.lineSeparator() + event.getStackTrace(), event.formatDetails());
+        } else {
+            logWithLevel(logger, level, message, event.formatDetails());
+        }
+    }
+    
+    private boolean isAudited(List<Log> logAnnotations) {
+        if (auditJournal == null) {
+            return false;
+        }
+        for (Log logAnnotation : logAnnotations) {
+            if (isAudited(logAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean isAudited(Log logAnnotation) {
+        if (logAnnotation.audit()) {
+            return true;
+        }
+        Set<String> tags = auditTags;
+        if (!tags.isEmpty()) {
+            for (String tag : logAnnotation.tags()) {
+                if (tags.contains(tag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 写入审计日志，按配置等待落盘；写入失败只记录错误，不影响业务方法
+     */
+    private void appendAudit(AuditJournal journal, Method method, io.github.nemoob.atlas.log.annotation.LogLevel level,
+                             AtlasLogEvent event) {
+        try {
+            long sequence = journal.append(level, event);
+            if (auditWaitForDurability && !journal.awaitDurable(sequence, auditAwaitTimeoutMillis)) {
+                log.warn("Audit record {} of {} is not durable after {}ms", sequence, method.getName(),
+                        auditAwaitTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while writing audit record: {}", method.getName());
+        } catch (RuntimeException e) {
+            log.error("Failed to write audit record: {}", method.getName(), e);
         }
-        
-        return details.toString();
     }
     
     /**
@@ -342,7 +875,7 @@ public class AtlasLogAspect {
                 methodName, className, logAnnotation.maxArgLength());
             
             log.debug("Using custom formatter '{}' for method {}.{}", formatterName, className, methodName);
-            return argumentFormatterManager.formatArguments(formatterName, args, context);
+            return formatWithinBudget(args, () -> argumentFormatterManager.formatArguments(formatterName, args, context));
         } else {
             // 使用默认的序列化器
             return argumentSerializer.serializeArgs(args, logAnnotation);
@@ -359,13 +892,33 @@ public class AtlasLogAspect {
             // 使用注解指定的格式化器
             DefaultFormatterContext context = new DefaultFormatterContext(
                 method.getName(), method.getDeclaringClass().getSimpleName(), logAnnotation.maxResultLength());
-            return argumentFormatterManager.formatResult(formatterName, result, context);
+            return formatWithinBudget(result, () -> argumentFormatterManager.formatResult(formatterName, result, context));
         } else {
             // 使用默认的序列化器
             return argumentSerializer.serializeResult(result, logAnnotation);
         }
     }
     
+    /**
+     * 在序列化预算内调用自定义格式化器，预算不足时只输出类型和估算大小；默认序列化器自行预留预算
+     */
+    private String formatWithinBudget(Object payload, Supplier<String> formatter) {
+        SerializationBudget budget = serializationBudget;
+        if (budget == null) {
+            return formatter.get();
+        }
+        long reserved = PayloadSizeEstimator.estimate(payload);
+        if (!budget.tryReserve(reserved)) {
+            return SerializationBudget.BUDGET_EXCEEDED + PayloadSizeEstimator.describe(payload) + " ~"
+                    + PayloadSizeEstimator.formatBytes(reserved) + "]";
+        }
+        try {
+            return formatter.get();
+        } finally {
+            budget.release(reserved);
+        }
+    }
+    
     /**
      * 获取方法参数信息
      */
@@ -501,6 +1054,48 @@ public class AtlasLogAspect {
         }
     }
     
+    /**
+     * 根据级别输出结构化事件，消息模板固定为 "{}"，文本 appender 格式化时才调用事件的 toString()
+     */
+    private void logEvent(Logger logger, io.github.nemoob.atlas.log.annotation.LogLevel level,
+                          AtlasLogEvent event, Throwable exception) {
+        switch (level) {
+            case TRACE:
+                logger.trace(EVENT_FORMAT, event, exception);
+                break;
+            case DEBUG:
+                logger.debug(EVENT_FORMAT, event, exception);
+                break;
+            case INFO:
+                logger.info(EVENT_FORMAT, event, exception);
+                break;
+            case WARN:
+                logger.warn(EVENT_FORMAT, event, exception);
+                break;
+            case ERROR:
+                logger.error(EVENT_FORMAT, event, exception);
+                break;
+        }
+    }
+    
+    /**
+     * 判断 logger 是否启用了该级别
+     */
+    private boolean isEnabled(Logger logger, io.github.nemoob.atlas.log.annotation.LogLevel level) {
+        switch (level) {
+            case TRACE:
+                return logger.isTraceEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            default:
+                return logger.isErrorEnabled();
+        }
+    }
+    
     /**
      * 根据级别记录日志（带异常）
      */
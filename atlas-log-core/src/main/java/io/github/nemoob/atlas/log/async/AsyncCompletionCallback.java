@@ -0,0 +1,24 @@
+package io.github.nemoob.atlas.log.async;
+
+/**
+ * 异步结果完成回调
+ * 在异步返回值（CompletableFuture、ListenableFuture、Mono、Flux）真正完成时被调用
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@FunctionalInterface
+public interface AsyncCompletionCallback {
+    
+    /**
+     * 异步结果完成时回调
+     * 
+     * 每次执行（或订阅）只回调一次
+     * 
+     * @param value 解析后的结果值，异常完成时为null；取消时为结果的描述
+     * @param error 异常对象，正常完成或取消时为null
+     * @param cancelled 是否在完成前被下游取消（如 take、timeout、客户端断开），取消不视为异常
+     * @param elapsedNanos 从开始执行（或订阅）到完成的耗时（纳秒）
+     */
+    void onComplete(Object value, Throwable error, boolean cancelled, long elapsedNanos);
+}
@@ -0,0 +1,39 @@
+package io.github.nemoob.atlas.log.async;
+
+/**
+ * 异步返回值适配器
+ * 为特定的异步返回类型挂载非阻塞的完成回调
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public interface AsyncResultAdapter {
+    
+    /**
+     * 是否支持该返回值
+     * 
+     * @param result 方法返回值
+     * @return true-支持，false-不支持
+     */
+    boolean supports(Object result);
+    
+    /**
+     * 挂载完成回调
+     * 不得阻塞当前线程，返回值将替代原始返回值返回给调用方
+     * 
+     * @param result 方法返回值
+     * @param startNanos 方法开始执行的时间（System.nanoTime）
+     * @param callback 完成回调
+     * @return 返回给调用方的对象
+     */
+    Object attach(Object result, long startNanos, AsyncCompletionCallback callback);
+    
+    /**
+     * 回调的耗时是否从 startNanos 开始计算
+     * 
+     * @return true-从方法开始执行计算，包含调用方线程上的耗时；false-从订阅开始计算，且每次订阅回调一次
+     */
+    default boolean isElapsedFromStart() {
+        return true;
+    }
+}
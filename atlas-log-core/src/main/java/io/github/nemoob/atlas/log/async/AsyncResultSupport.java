@@ -0,0 +1,62 @@
+package io.github.nemoob.atlas.log.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 异步返回值支持
+ * 根据类路径自动探测可用的异步类型适配器
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class AsyncResultSupport {
+    
+    private static final boolean LISTENABLE_FUTURE_PRESENT = ClassUtils.isPresent(
+            "org.springframework.util.concurrent.ListenableFuture", AsyncResultSupport.class.getClassLoader());
+    
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent(
+            "reactor.core.publisher.Mono", AsyncResultSupport.class.getClassLoader());
+    
+    private final List<AsyncResultAdapter> adapters;
+    
+    public AsyncResultSupport() {
+        List<AsyncResultAdapter> detected = new ArrayList<>();
+        detected.add(new CompletionStageResultAdapter());
+        if (LISTENABLE_FUTURE_PRESENT) {
+            detected.add(new ListenableFutureResultAdapter());
+        }
+        if (REACTOR_PRESENT) {
+            detected.add(new ReactorResultAdapter());
+        }
+        this.adapters = Collections.unmodifiableList(detected);
+        log.debug("Async result adapters detected: {}", adapters.size());
+    }
+    
+    public AsyncResultSupport(List<AsyncResultAdapter> adapters) {
+        this.adapters = Collections.unmodifiableList(new ArrayList<>(adapters));
+    }
+    
+    /**
+     * 查找支持该返回值的适配器
+     * 
+     * @param result 方法返回值
+     * @return 适配器，不支持时返回null
+     */
+    public AsyncResultAdapter findAdapter(Object result) {
+        if (result == null) {
+            return null;
+        }
+        for (AsyncResultAdapter adapter : adapters) {
+            if (adapter.supports(result)) {
+                return adapter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.nemoob.atlas.log.async;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * CompletionStage（CompletableFuture）适配器
+ * 直接在原始 Future 上注册回调并返回原对象，保持取消等语义不变；Future 被取消时按取消回调，不视为异常
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class CompletionStageResultAdapter implements AsyncResultAdapter {
+    
+    @Override
+    public boolean supports(Object result) {
+        return result instanceof CompletionStage;
+    }
+    
+    @Override
+    public Object attach(Object result, long startNanos, AsyncCompletionCallback callback) {
+        CompletionStage<?> stage = (CompletionStage<?>) result;
+        stage.whenComplete((value, error) -> {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (error instanceof CancellationException) {
+                callback.onComplete(null, null, true, elapsedNanos);
+            } else {
+                callback.onComplete(value, unwrap(error), false, elapsedNanos);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * 解开 CompletionException 包装，还原业务异常
+     */
+    private Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.nemoob.atlas.log.async;
+
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Spring ListenableFuture 适配器
+ * Future 被取消时按取消回调，不视为异常
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class ListenableFutureResultAdapter implements AsyncResultAdapter {
+    
+    @Override
+    public boolean supports(Object result) {
+        return result instanceof ListenableFuture;
+    }
+    
+    @Override
+    public Object attach(Object result, long startNanos, AsyncCompletionCallback callback) {
+        ListenableFuture<?> future = (ListenableFuture<?>) result;
+        future.addCallback(
+                value -> callback.onComplete(value, null, false, System.nanoTime() - startNanos),
+                error -> callback.onComplete(null, error instanceof CancellationException ? null : error,
+                        error instanceof CancellationException, System.nanoTime() - startNanos));
+        return result;
+    }
+}
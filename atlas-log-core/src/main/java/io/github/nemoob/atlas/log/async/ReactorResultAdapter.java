@@ -0,0 +1,82 @@
+package io.github.nemoob.atlas.log.async;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactor（Mono/Flux）适配器
+ * Reactor 类型是惰性的，耗时从每次订阅开始计算；Flux 只记录元素个数，不缓存元素
+ * <p>
+ * 下游取消（{@code take}、{@code next}、{@code timeout}、客户端断开）按取消回调，不视为异常；
+ * 已经完成的 Mono 可能随后再收到取消信号，每次订阅只回调第一个终止信号。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class ReactorResultAdapter implements AsyncResultAdapter {
+    
+    @Override
+    public boolean supports(Object result) {
+        return result instanceof Mono || result instanceof Flux;
+    }
+    
+    @Override
+    public Object attach(Object result, long startNanos, AsyncCompletionCallback callback) {
+        if (result instanceof Mono) {
+            return decorateMono((Mono<?>) result, callback);
+        }
+        return decorateFlux((Flux<?>) result, callback);
+    }
+    
+    @Override
+    public boolean isElapsedFromStart() {
+        return false;
+    }
+    
+    private Mono<?> decorateMono(Mono<?> mono, AsyncCompletionCallback callback) {
+        return Mono.defer(() -> {
+            Completion completion = new Completion(callback);
+            return mono
+                    .doOnSuccess(value -> completion.complete(value, null, false))
+                    .doOnError(error -> completion.complete(null, error, false))
+                    .doOnCancel(() -> completion.complete("Mono[cancelled]", null, true));
+        });
+    }
+    
+    private Flux<?> decorateFlux(Flux<?> flux, AsyncCompletionCallback callback) {
+        return Flux.defer(() -> {
+            Completion completion = new Completion(callback);
+            AtomicLong count = new AtomicLong();
+            return flux
+                    .doOnNext(value -> count.incrementAndGet())
+                    .doOnComplete(() -> completion.complete("Flux[" + count.get() + " elements]", null, false))
+                    .doOnError(error -> completion.complete(null, error, false))
+                    .doOnCancel(() -> completion.complete("Flux[cancelled after " + count.get() + " elements]",
+                            null, true));
+        });
+    }
+    
+    /**
+     * 一次订阅：记录订阅时间，保证只回调一次
+     */
+    private static final class Completion {
+        
+        private final AsyncCompletionCallback callback;
+        private final long subscribeNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+        
+        Completion(AsyncCompletionCallback callback) {
+            this.callback = callback;
+        }
+        
+        void complete(Object value, Throwable error, boolean cancelled) {
+            if (done.compareAndSet(false, true)) {
+                callback.onComplete(value, error, cancelled, System.nanoTime() - subscribeNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package io.github.nemoob.atlas.log.audit;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.compress.BackgroundCompressor;
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.JsonLineBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * 组提交的审计日志
+ * <p>
+ * 写入线程在锁内给事件分配序号并追加到待提交批次，随即返回；单独的提交线程在批次达到 {@code maxBatchBytes}
+ * 或距第一条待提交记录超过 {@code commitIntervalMillis} 时，把整批写入文件并只调用一次 {@link FileChannel#force}。
+ * 提交期间到达的记录进入下一批，因此并发越高，每次刷盘分摊的记录越多。
+ * 调用方可以用 {@link #awaitDurable(long, long)} 等待自己的记录落盘。
+ * </p>
+ * <p>
+ * 待提交数据超过 {@code maxPendingBytes} 时写入线程阻塞等待，审计记录不会被丢弃。
+ * 启动时校验最后一个文件，截掉崩溃时写了一半的尾部，序号从最后一条完整记录继续。
+ * 文件超过 {@code maxFileBytes} 后滚动，审计文件从不自动删除；设置了 {@link BackgroundCompressor} 时，
+ * 滚动后的文件在后台压缩为 {@code .journal.z}。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class AuditJournal implements AutoCloseable {
+    
+    private final Path directory;
+    private final String filePrefix;
+    private final long maxFileBytes;
+    private final long commitIntervalNanos;
+    private final int maxBatchBytes;
+    private final long maxPendingBytes;
+    private final BackgroundCompressor compressor;
+    
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final ThreadLocal<JsonLineBuffer> encoders = ThreadLocal.withInitial(() -> new JsonLineBuffer(1024));
+    private final Thread committer;
+    
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committedBytes = new LongAdder();
+    private final LongAdder blockedAppends = new LongAdder();
+    private volatile boolean embedJsonPayloads;
+    
+    // 以下字段由 lock 保护
+    private Batch pending = new Batch();
+    private Batch spare = new Batch();
+    private long pendingSince;
+    private long lastSequence;
+    private volatile long durableSequence;
+    private volatile boolean closed;
+    
+    // 以下字段只由提交线程访问（关闭后由关闭线程访问）
+    private FileChannel channel;
+    private Path currentFile;
+    private long fileSequence;
+    
+    /**
+     * @param directory 审计日志目录，不存在时自动创建
+     * @param filePrefix 文件名前缀
+     * @param maxFileBytes 单个文件大小上限，超过后滚动
+     * @param commitIntervalMillis 最长提交间隔（毫秒）
+     * @param maxBatchBytes 批次达到该大小时立即提交
+     * @param maxPendingBytes 待提交数据上限，超过后写入线程阻塞
+     */
+    public AuditJournal(Path directory, String filePrefix, long maxFileBytes, long commitIntervalMillis,
+                        int maxBatchBytes, long maxPendingBytes) throws IOException {
+        this(directory, filePrefix, maxFileBytes, commitIntervalMillis, maxBatchBytes, maxPendingBytes, null);
+    }
+    
+    /**
+     * @param compressor 压缩滚动后文件的后台压缩器，为 null 时不压缩；上次运行遗留的未压缩文件会重新提交
+     */
+    public AuditJournal(Path directory, String filePrefix, long maxFileBytes, long commitIntervalMillis,
+                        int maxBatchBytes, long maxPendingBytes, BackgroundCompressor compressor) throws IOException {
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.maxFileBytes = maxFileBytes;
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMillis);
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxPendingBytes = maxPendingBytes;
+        this.compressor = compressor;
+        Files.createDirectories(directory);
+        recover();
+        if (compressor != null) {
+            for (Path path : listFiles()) {
+                if (!BlockCompression.isCompressed(path) && !path.equals(currentFile)) {
+                    compressor.submit(path);
+                }
+            }
+        }
+        this.committer = new Thread(this::commitLoop, "atlas-log-audit-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+    
+    /**
+     * 参数和返回值是合法 JSON 时是否原样嵌入，默认按字符串写入
+     */
+    public void setEmbedJsonPayloads(boolean embedJsonPayloads) {
+        this.embedJsonPayloads = embedJsonPayloads;
+    }
+    
+    /**
+     * 追加一条审计记录
+     *
+     * @return 记录序号，可用于 {@link #awaitDurable(long, long)}
+     * @throws IllegalStateException 审计日志已关闭
+     */
+    public long append(LogLevel level, AtlasLogEvent event) throws InterruptedException {
+        JsonLineBuffer encoder = encoders.get();
+        encoder.raw('{').key("timestamp").number(System.currentTimeMillis());
+        encoder.field("level", level.name());
+        encoder.field("thread", Thread.currentThread().getName());
+        encoder.eventFields(event, embedJsonPayloads).raw('}');
+        try {
+            return append(encoder.array(), encoder.size());
+        } finally {
+            encoder.reset(64 * 1024);
+        }
+    }
+    
+    private long append(byte[] payload, int length) throws InterruptedException {
+        synchronized (lock) {
+            if (pending.size + length > maxPendingBytes && pending.size > 0) {
+                blockedAppends.increment();
+                while (!closed && pending.size + length > maxPendingBytes && pending.size > 0) {
+                    lock.wait();
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException("Audit journal is closed");
+            }
+            long sequence = ++lastSequence;
+            pending.add(sequence, payload, length, crc);
+            appendedRecords.increment();
+            if (pending.records == 1) {
+                pendingSince = System.nanoTime();
+                lock.notifyAll();
+            } else if (pending.size >= maxBatchBytes) {
+                lock.notifyAll();
+            }
+            return sequence;
+        }
+    }
+    
+    /**
+     * 等待指定序号及之前的记录全部落盘
+     *
+     * @return 超时前已落盘返回 true
+     */
+    public boolean awaitDurable(long sequence, long timeoutMillis) throws InterruptedException {
+        if (durableSequence >= sequence) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            while (durableSequence < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+    
+    private void commitLoop() {
+        while (true) {
+            Batch batch;
+            synchronized (lock) {
+                try {
+                    while (!readyToCommit()) {
+                        if (closed && pending.records == 0) {
+                            return;
+                        }
+                        if (pending.records == 0) {
+                            lock.wait();
+                        } else {
+                            TimeUnit.NANOSECONDS.timedWait(lock, commitIntervalNanos - (System.nanoTime() - pendingSince));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // 被中断时仍然提交剩余记录
+                    closed = true;
+                    if (pending.records == 0) {
+                        return;
+                    }
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                // 待提交数据已清空，唤醒因背压阻塞的写入线程
+                lock.notifyAll();
+            }
+            boolean committed = commitWithRetry(batch);
+            synchronized (lock) {
+                if (committed) {
+                    durableSequence = batch.lastSequence;
+                }
+                batch.clear();
+                spare = batch;
+                lock.notifyAll();
+            }
+        }
+    }
+    
+    private boolean readyToCommit() {
+        if (pending.records == 0) {
+            return false;
+        }
+        return closed || pending.size >= maxBatchBytes || System.nanoTime() - pendingSince >= commitIntervalNanos;
+    }
+    
+    /**
+     * 写入并刷盘，失败时回退到写入前的位置重试，直到成功；审计记录不允许丢弃。
+     * 只有在关闭后仍然连续失败时才放弃，避免应用无法退出
+     */
+    private boolean commitWithRetry(Batch batch) {
+        long backoffMillis = 10;
+        int failures = 0;
+        while (true) {
+            long start = -1;
+            try {
+                if (channel == null || channel.size() >= maxFileBytes) {
+                    rollFile(batch.firstSequence);
+                }
+                start = channel.position();
+                ByteBuffer buffer = ByteBuffer.wrap(batch.data, 0, batch.size);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                commits.increment();
+                committedBytes.add(batch.size);
+                return true;
+            } catch (IOException e) {
+                rollback(start);
+                if (closed && ++failures >= 3) {
+                    log.error("Giving up on {} audit records (sequence {}-{}) after the journal was closed",
+                            batch.records, batch.firstSequence, batch.lastSequence, e);
+                    return false;
+                }
+                log.error("Failed to commit {} audit records to {}, retrying in {}ms",
+                        batch.records, currentFile, backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 5000);
+            }
+        }
+    }
+    
+    private void rollback(long start) {
+        if (channel == null || start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            // 文件已不可用，下次重试时换一个新文件
+            closeQuietly();
+        }
+    }
+    
+    private void rollFile(long firstSequence) throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            closeQuietly();
+            if (compressor != null) {
+                compressor.submit(currentFile);
+            }
+        }
+        Path path = directory.resolve(String.format("%s-%010d%s", filePrefix, ++fileSequence, JournalFormat.SUFFIX));
+        FileChannel created = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE);
+        header.putInt(JournalFormat.MAGIC).putShort(JournalFormat.VERSION).putShort((short) 0)
+                .putLong(firstSequence).putLong(System.currentTimeMillis()).flip();
+        while (header.hasRemaining()) {
+            created.write(header);
+        }
+        created.force(true);
+        channel = created;
+        currentFile = path;
+    }
+    
+    /**
+     * 校验最后一个文件，截掉不完整的尾部，并从最后一条完整记录继续编号
+     */
+    private void recover() throws IOException {
+        List<Path> files = listFiles();
+        if (files.isEmpty()) {
+            return;
+        }
+        Path last = files.get(files.size() - 1);
+        fileSequence = fileSequenceOf(last);
+        if (BlockCompression.isCompressed(last)) {
+            // 压缩的文件不再追加，从下一个文件继续
+            lastSequence = lastSequenceBefore(files, files.size());
+            durableSequence = lastSequence;
+            return;
+        }
+        long validLength;
+        long lastRecord;
+        try (AuditJournalReader reader = AuditJournalReader.open(last)) {
+            lastRecord = reader.getFirstSequence() - 1;
+            while (reader.next()) {
+                lastRecord = reader.getSequence();
+            }
+            validLength = reader.getValidLength();
+            if (reader.isTruncated()) {
+                log.warn("Audit journal {} has an incomplete tail after offset {}, truncating", last, validLength);
+            }
+        } catch (IOException e) {
+            // 文件头不完整说明上次在创建文件时崩溃，文件里没有记录，删除后新文件接着编号
+            if (Files.size(last) < JournalFormat.HEADER_SIZE) {
+                Files.delete(last);
+            } else {
+                log.warn("Audit journal {} is unreadable ({}), starting a new file", last, e.getMessage());
+            }
+            lastSequence = lastSequenceBefore(files, files.size() - 1);
+            durableSequence = lastSequence;
+            return;
+        }
+        FileChannel reopened = FileChannel.open(last, StandardOpenOption.WRITE);
+        reopened.truncate(validLength);
+        reopened.position(validLength);
+        reopened.force(true);
+        channel = reopened;
+        currentFile = last;
+        lastSequence = lastRecord;
+        durableSequence = lastRecord;
+    }
+    
+    /**
+     * 前 {@code count} 个文件中最后一条完整记录的序号
+     */
+    private long lastSequenceBefore(List<Path> files, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            try (AuditJournalReader reader = AuditJournalReader.open(files.get(i))) {
+                long lastRecord = reader.getFirstSequence() - 1;
+                while (reader.next()) {
+                    lastRecord = reader.getSequence();
+                }
+                return lastRecord;
+            } catch (IOException e) {
+                log.warn("Audit journal {} is unreadable ({})", files.get(i), e.getMessage());
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * 目录下属于本审计日志的文件（含压缩的文件），按文件序号升序；
+     * 压缩尚未完成、两种形式同时存在时返回未压缩的文件
+     */
+    public List<Path> listFiles() {
+        return listFiles(directory, filePrefix);
+    }
+    
+    static List<Path> listFiles(Path directory, String filePrefix) {
+        Map<String, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                filePrefix + "-*" + JournalFormat.SUFFIX + "{," + BlockCompression.SUFFIX + "}")) {
+            for (Path path : stream) {
+                String name = BlockCompression.uncompressedPath(path).getFileName().toString();
+                if (!files.containsKey(name) || !BlockCompression.isCompressed(path)) {
+                    files.put(name, path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list audit journal files in {}", directory, e);
+        }
+        return new ArrayList<>(files.values());
+    }
+    
+    private long fileSequenceOf(Path path) {
+        String name = BlockCompression.uncompressedPath(path).getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(filePrefix.length() + 1, name.length() - JournalFormat.SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * 提交剩余记录并关闭文件
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeQuietly();
+    }
+    
+    private void closeQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit journal {}", currentFile, e);
+        }
+        channel = null;
+    }
+    
+    /**
+     * 已落盘的最大序号
+     */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+    
+    public long getAppendedRecords() {
+        return appendedRecords.sum();
+    }
+    
+    /**
+     * 刷盘次数，与记录数之比即组提交的平均批次大小
+     */
+    public long getCommits() {
+        return commits.sum();
+    }
+    
+    public long getCommittedBytes() {
+        return committedBytes.sum();
+    }
+    
+    /**
+     * 因待提交数据超限而阻塞的写入次数
+     */
+    public long getBlockedAppends() {
+        return blockedAppends.sum();
+    }
+    
+    /**
+     * 一个待提交批次：已编码好的记录帧
+     */
+    private static final class Batch {
+        private byte[] data = new byte[64 * 1024];
+        private int size;
+        private int records;
+        private long firstSequence;
+        private long lastSequence;
+        
+        private void add(long sequence, byte[] payload, int length, CRC32 crc) {
+            ensure(JournalFormat.RECORD_HEADER_SIZE + length);
+            ByteBuffer header = ByteBuffer.wrap(data, size, JournalFormat.RECORD_HEADER_SIZE);
+            header.putInt(length).putInt(0).putLong(sequence);
+            crc.reset();
+            crc.update(data, size + 8, 8);
+            crc.update(payload, 0, length);
+            header.putInt(size + 4, (int) crc.getValue());
+            System.arraycopy(payload, 0, data, size + JournalFormat.RECORD_HEADER_SIZE, length);
+            size += JournalFormat.RECORD_HEADER_SIZE + length;
+            if (records++ == 0) {
+                firstSequence = sequence;
+            }
+            lastSequence = sequence;
+        }
+        
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+        
+        private void clear() {
+            size = 0;
+            records = 0;
+        }
+    }
+}
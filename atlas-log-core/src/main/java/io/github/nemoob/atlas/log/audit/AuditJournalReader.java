@@ -0,0 +1,180 @@
+package io.github.nemoob.atlas.log.audit;
+
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * 审计日志文件读取器
+ * <p>
+ * 顺序读取记录并校验 CRC。遇到文件结尾正常结束；遇到不完整或 CRC 不匹配的记录时停止，
+ * 通过 {@link #isTruncated()} 报告，{@link #getValidLength()} 为最后一条完整记录的结束位置。
+ * 压缩后的文件（{@code .journal.z}）边读边解压，位置均为解压后的偏移。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class AuditJournalReader implements Closeable {
+    
+    private final InputStream in;
+    private final long size;
+    private final long firstSequence;
+    private final long createdAt;
+    private final ByteBuffer recordHeader = ByteBuffer.allocate(JournalFormat.RECORD_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    
+    private ByteBuffer payload = ByteBuffer.allocate(1024);
+    private long position = JournalFormat.HEADER_SIZE;
+    private long sequence;
+    private long recordOffset;
+    private boolean truncated;
+    
+    private AuditJournalReader(InputStream in, long size) throws IOException {
+        this.in = in;
+        this.size = size;
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE);
+        if (!readFully(header)) {
+            throw new IOException("Not an Atlas audit journal: header is incomplete");
+        }
+        header.flip();
+        if (header.getInt() != JournalFormat.MAGIC) {
+            throw new IOException("Not an Atlas audit journal: bad magic");
+        }
+        short version = header.getShort();
+        if (version != JournalFormat.VERSION) {
+            throw new IOException("Unsupported Atlas audit journal version: " + version);
+        }
+        header.getShort();
+        this.firstSequence = header.getLong();
+        this.createdAt = header.getLong();
+    }
+    
+    /**
+     * 打开审计日志文件，压缩的文件自动解压
+     * 
+     * @throws IOException 文件不存在或不是审计日志
+     */
+    public static AuditJournalReader open(Path path) throws IOException {
+        long size = BlockCompression.originalSize(path);
+        InputStream in = BlockCompression.newInputStream(path);
+        try {
+            return new AuditJournalReader(in, size);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 读取下一条记录
+     * 
+     * @return 没有更多完整记录时返回 false
+     */
+    public boolean next() throws IOException {
+        if (truncated) {
+            return false;
+        }
+        recordHeader.clear();
+        if (!readFully(recordHeader)) {
+            // 文件恰好在记录边界结束是正常结尾，否则是写了一半的记录头
+            truncated = recordHeader.position() > 0;
+            return false;
+        }
+        recordHeader.flip();
+        int length = recordHeader.getInt();
+        int expectedCrc = recordHeader.getInt();
+        long recordSequence = recordHeader.getLong();
+        if (length <= 0 || position + JournalFormat.RECORD_HEADER_SIZE + length > size) {
+            truncated = true;
+            return false;
+        }
+        if (payload.capacity() < length) {
+            payload = ByteBuffer.allocate(Math.max(length, payload.capacity() * 2));
+        }
+        payload.clear().limit(length);
+        if (!readFully(payload)) {
+            truncated = true;
+            return false;
+        }
+        crc.reset();
+        crc.update(recordHeader.array(), 8, 8);
+        crc.update(payload.array(), 0, length);
+        if ((int) crc.getValue() != expectedCrc) {
+            truncated = true;
+            return false;
+        }
+        recordOffset = position;
+        sequence = recordSequence;
+        position += JournalFormat.RECORD_HEADER_SIZE + length;
+        return true;
+    }
+    
+    private boolean readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer.array(), buffer.position(), buffer.remaining());
+            if (read < 0) {
+                return false;
+            }
+            buffer.position(buffer.position() + read);
+        }
+        return true;
+    }
+    
+    /**
+     * 当前记录的序号
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * 当前记录的内容（JSON 事件）
+     */
+    public String getPayload() {
+        return new String(payload.array(), 0, payload.limit(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 当前记录在文件中的起始位置
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+    
+    /**
+     * 最后一条完整记录的结束位置
+     */
+    public long getValidLength() {
+        return position;
+    }
+    
+    /**
+     * 是否在不完整或损坏的记录处提前结束
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+    
+    /**
+     * 文件中第一条记录应有的序号
+     */
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+    
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
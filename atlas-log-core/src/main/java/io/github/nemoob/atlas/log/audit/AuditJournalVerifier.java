@@ -0,0 +1,182 @@
+package io.github.nemoob.atlas.log.audit;
+
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 审计日志校验与修复工具
+ * <p>
+ * 逐个文件读取并校验每条记录的 CRC，检查序号是否连续，报告丢失、重复的序号以及损坏的位置。
+ * 开启修复时，只截断最后一个文件末尾写了一半的记录（崩溃时正在提交的批次）；
+ * 其他文件中的损坏说明数据已被破坏，只报告不修改。压缩的文件（{@code .journal.z}）边读边校验。
+ * </p>
+ *
+ * <pre>
+ * java -cp atlas-log-core.jar:slf4j-api.jar io.github.nemoob.atlas.log.audit.AuditJournalVerifier logs/audit audit [--repair]
+ * </pre>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class AuditJournalVerifier {
+    
+    private AuditJournalVerifier() {
+    }
+    
+    /**
+     * 校验目录下的审计日志
+     *
+     * @param directory 审计日志目录
+     * @param filePrefix 文件名前缀
+     * @param repair 是否截断最后一个文件末尾不完整的记录
+     */
+    public static Report verify(Path directory, String filePrefix, boolean repair) {
+        Report report = new Report();
+        List<Path> files = AuditJournal.listFiles(directory, filePrefix);
+        long expected = -1;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            boolean last = i == files.size() - 1;
+            report.files++;
+            try (AuditJournalReader reader = AuditJournalReader.open(file)) {
+                if (expected >= 0 && reader.getFirstSequence() != expected) {
+                    report.problems.add(file + ": file starts at sequence " + reader.getFirstSequence()
+                            + ", expected " + expected);
+                }
+                while (reader.next()) {
+                    long sequence = reader.getSequence();
+                    if (report.records == 0) {
+                        report.firstSequence = sequence;
+                    } else if (sequence <= report.lastSequence) {
+                        report.duplicates++;
+                        report.problems.add(file + "@" + reader.getRecordOffset() + ": sequence " + sequence
+                                + " is not after " + report.lastSequence);
+                    } else if (sequence != report.lastSequence + 1) {
+                        report.missing += sequence - report.lastSequence - 1;
+                        report.problems.add(file + "@" + reader.getRecordOffset() + ": sequences "
+                                + (report.lastSequence + 1) + "-" + (sequence - 1) + " are missing");
+                    }
+                    report.records++;
+                    report.lastSequence = Math.max(report.lastSequence, sequence);
+                }
+                expected = report.records > 0 ? report.lastSequence + 1 : -1;
+                if (reader.isTruncated()) {
+                    // 压缩的文件是滚动后生成的，不会有写了一半的尾部，损坏只报告
+                    boolean repairable = last && repair && !BlockCompression.isCompressed(file);
+                    handleTruncated(report, file, reader.getValidLength(), repairable, last);
+                }
+            } catch (IOException e) {
+                report.problems.add(file + ": " + e.getMessage());
+            }
+        }
+        return report;
+    }
+    
+    private static void handleTruncated(Report report, Path file, long validLength, boolean repair, boolean last) {
+        if (!repair) {
+            report.problems.add(file + "@" + validLength + (last
+                    ? ": incomplete or corrupt record at the tail"
+                    : ": corrupt record, the rest of the file is unreadable"));
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength);
+            channel.force(true);
+            report.repaired.add(file + ": truncated torn tail at " + validLength);
+        } catch (IOException e) {
+            report.problems.add(file + ": failed to truncate at " + validLength + ": " + e.getMessage());
+        }
+    }
+    
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: AuditJournalVerifier <directory> [filePrefix] [--repair]");
+            System.exit(2);
+        }
+        String prefix = args.length > 1 && !args[1].startsWith("--") ? args[1] : "audit";
+        boolean repair = args[args.length - 1].equals("--repair");
+        Report report = verify(Paths.get(args[0]), prefix, repair);
+        System.out.println(report);
+        System.exit(report.isValid() ? 0 : 1);
+    }
+    
+    /**
+     * 校验结果
+     */
+    public static final class Report {
+        private int files;
+        private long records;
+        private long firstSequence = -1;
+        private long lastSequence = -1;
+        private long missing;
+        private long duplicates;
+        private final List<String> problems = new ArrayList<>();
+        private final List<String> repaired = new ArrayList<>();
+        
+        /**
+         * 是否没有发现问题，已修复的问题不计入
+         */
+        public boolean isValid() {
+            return problems.isEmpty();
+        }
+        
+        public int getFiles() {
+            return files;
+        }
+        
+        public long getRecords() {
+            return records;
+        }
+        
+        public long getFirstSequence() {
+            return firstSequence;
+        }
+        
+        public long getLastSequence() {
+            return lastSequence;
+        }
+        
+        /**
+         * 序号不连续导致缺失的记录数
+         */
+        public long getMissing() {
+            return missing;
+        }
+        
+        public long getDuplicates() {
+            return duplicates;
+        }
+        
+        public List<String> getProblems() {
+            return problems;
+        }
+        
+        public List<String> getRepaired() {
+            return repaired;
+        }
+        
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("files=").append(files)
+                    .append(", records=").append(records)
+                    .append(", sequences=").append(firstSequence).append('-').append(lastSequence)
+                    .append(", missing=").append(missing)
+                    .append(", duplicates=").append(duplicates);
+            for (String problem : problems) {
+                sb.append("\nPROBLEM  ").append(problem);
+            }
+            for (String fix : repaired) {
+                sb.append("\nREPAIRED ").append(fix);
+            }
+            return sb.toString();
+        }
+    }
+}
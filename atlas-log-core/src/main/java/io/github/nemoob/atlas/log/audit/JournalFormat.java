@@ -0,0 +1,27 @@
+package io.github.nemoob.atlas.log.audit;
+
+/**
+ * 审计日志文件格式
+ * <pre>
+ * 文件头  magic(4) | version(2) | reserved(2) | firstSequence(8) | createdAt(8)
+ * 记录    length(4) | crc32(4) | sequence(8) | payload(length)
+ * </pre>
+ * <p>
+ * crc32 覆盖 sequence 和 payload，payload 是一个 UTF-8 JSON 事件。文件只追加，
+ * 序号在文件之间连续递增，校验工具据此发现丢失或重复的记录。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class JournalFormat {
+    
+    static final int MAGIC = 0x41544C4A;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_HEADER_SIZE = 16;
+    static final String SUFFIX = ".journal";
+    
+    private JournalFormat() {
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.nemoob.atlas.log.compress;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 后台压缩已关闭的日志文件
+ * <p>
+ * 段文件 Sink 封存段、审计日志滚动文件后提交到这里，由单个低优先级线程压缩成 {@code 原文件名.z}，
+ * 写入线程只做一次入队。压缩先写临时文件并刷盘，再原子改名，最后删除原文件，
+ * 任何一步中断都不会丢失数据：原文件和压缩文件同时存在时读取方使用原文件，下次启动重新压缩。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class BackgroundCompressor implements AutoCloseable {
+    
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private final BlockCompressor compressor;
+    private final ThreadPoolExecutor executor;
+    
+    private final LongAdder compressedFiles = new LongAdder();
+    private final LongAdder failedFiles = new LongAdder();
+    private final LongAdder inputBytes = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+    
+    /**
+     * @param level Deflate 压缩级别（1-9）
+     * @param blockSize 块大小（字节）
+     */
+    public BackgroundCompressor(int level, int blockSize) {
+        this.compressor = new BlockCompressor(level, blockSize);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "atlas-log-compressor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+    
+    /**
+     * 提交一个已关闭、不会再写入的文件
+     */
+    public void submit(Path file) {
+        try {
+            executor.execute(() -> compress(file));
+        } catch (RejectedExecutionException e) {
+            // 已关闭，文件保持未压缩，下次启动时重新提交
+            log.debug("Atlas log compressor is closed, leaving {} uncompressed", file);
+        }
+    }
+    
+    private void compress(Path file) {
+        Path target = BlockCompression.compressedPath(file);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            long originalSize = Files.size(file);
+            long compressedSize = compressor.compress(file, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(file);
+            compressedFiles.increment();
+            inputBytes.add(originalSize);
+            outputBytes.add(compressedSize);
+            log.debug("Compressed {} from {} to {} bytes", file, originalSize, compressedSize);
+        } catch (NoSuchFileException e) {
+            // 压缩前已被保留策略删除
+            deleteQuietly(temp);
+        } catch (IOException | RuntimeException e) {
+            failedFiles.increment();
+            deleteQuietly(temp);
+            log.warn("Failed to compress {}, keeping it uncompressed", file, e);
+        }
+    }
+    
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}", path, e);
+        }
+    }
+    
+    /**
+     * 等待已提交的文件压缩完成（最多 {@code timeoutMillis}）后关闭，未完成的文件保持未压缩
+     */
+    public void close(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (executor.isTerminated()) {
+            compressor.close();
+        }
+    }
+    
+    @Override
+    public void close() {
+        close(TimeUnit.SECONDS.toMillis(10));
+    }
+    
+    public long getCompressedFiles() {
+        return compressedFiles.sum();
+    }
+    
+    public long getFailedFiles() {
+        return failedFiles.sum();
+    }
+    
+    /**
+     * 已压缩文件的原始总字节数
+     */
+    public long getInputBytes() {
+        return inputBytes.sum();
+    }
+    
+    /**
+     * 已压缩文件压缩后的总字节数
+     */
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+    
+    /**
+     * 等待压缩的文件数
+     */
+    public int getQueuedFiles() {
+        return executor.getQueue().size();
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.nemoob.atlas.log.compress;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 分块压缩文件格式
+ * <pre>
+ * 文件头  magic(4) | version(2) | level(2) | blockSize(4) | reserved(4) | originalSize(8)
+ * 块      rawLength(4) | storedLength(4) | crc32(4) | data(storedLength)
+ * </pre>
+ * <p>
+ * 原文件按 blockSize 切块，每块独立用 Deflate（无 zlib 头）压缩，crc32 覆盖解压后的内容。
+ * 压缩后不变小的块原样存储，此时 storedLength 等于 rawLength。读取时逐块解压，内存占用与块大小相当，
+ * 与原文件大小无关。压缩文件名为原文件名加 {@link #SUFFIX}。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class BlockCompression {
+    
+    static final int MAGIC = 0x41544C5A;
+    static final short VERSION = 1;
+    
+    /**
+     * 压缩文件后缀
+     */
+    public static final String SUFFIX = ".z";
+    
+    private BlockCompression() {
+    }
+    
+    /**
+     * 是否为压缩文件（按文件名判断）
+     */
+    public static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(SUFFIX);
+    }
+    
+    /**
+     * 压缩文件对应的路径
+     */
+    public static Path compressedPath(Path path) {
+        return path.resolveSibling(path.getFileName() + SUFFIX);
+    }
+    
+    /**
+     * 原文件对应的路径
+     */
+    public static Path uncompressedPath(Path path) {
+        String name = path.getFileName().toString();
+        return isCompressed(path) ? path.resolveSibling(name.substring(0, name.length() - SUFFIX.length())) : path;
+    }
+    
+    /**
+     * 打开文件的原始内容：压缩文件边读边解压，普通文件直接读取
+     */
+    public static InputStream newInputStream(Path path) throws IOException {
+        if (isCompressed(path)) {
+            return BlockInputStream.open(path);
+        }
+        return new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+    }
+    
+    /**
+     * 文件的原始大小：压缩文件读取文件头，普通文件即文件大小
+     */
+    public static long originalSize(Path path) throws IOException {
+        if (!isCompressed(path)) {
+            return Files.size(path);
+        }
+        try (BlockInputStream in = BlockInputStream.open(path)) {
+            return in.getOriginalSize();
+        }
+    }
+}
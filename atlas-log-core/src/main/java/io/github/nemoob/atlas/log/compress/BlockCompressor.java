@@ -0,0 +1,128 @@
+package io.github.nemoob.atlas.log.compress;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 分块压缩器
+ * <p>
+ * 把文件按块压缩成 {@link BlockCompression} 格式。Deflater 和块缓冲区在多次压缩之间复用，
+ * 实例不是线程安全的，由 {@link BackgroundCompressor} 在压缩线程上独占使用。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class BlockCompressor implements AutoCloseable {
+    
+    private final int level;
+    private final int blockSize;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] block;
+    private byte[] compressed;
+    
+    /**
+     * @param level Deflate 压缩级别（1-9），日志这类重复度高的文本用 1 即可获得大部分压缩率
+     * @param blockSize 块大小（字节）
+     */
+    public BlockCompressor(int level, int blockSize) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("level must be between 1 and 9, got: " + level);
+        }
+        if (blockSize < 4096) {
+            throw new IllegalArgumentException("blockSize must be at least 4096, got: " + blockSize);
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        this.deflater = new Deflater(level, true);
+        this.block = new byte[blockSize];
+        this.compressed = new byte[blockSize + (blockSize >> 3) + 64];
+    }
+    
+    /**
+     * 压缩文件并刷盘
+     *
+     * @param source 原文件
+     * @param target 压缩文件，已存在时覆盖
+     * @return 压缩文件大小
+     */
+    public long compress(Path source, Path target) throws IOException {
+        long originalSize = Files.size(source);
+        try (InputStream in = Files.newInputStream(source);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                     64 * 1024))) {
+            out.writeInt(BlockCompression.MAGIC);
+            out.writeShort(BlockCompression.VERSION);
+            out.writeShort(level);
+            out.writeInt(blockSize);
+            out.writeInt(0);
+            out.writeLong(originalSize);
+            long remaining = originalSize;
+            while (remaining > 0) {
+                int length = readBlock(in, (int) Math.min(blockSize, remaining));
+                if (length == 0) {
+                    throw new IOException(source + " shrank while being compressed");
+                }
+                writeBlock(out, length);
+                remaining -= length;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.force(true);
+            return channel.size();
+        }
+    }
+    
+    private int readBlock(InputStream in, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = in.read(block, total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+    
+    private void writeBlock(DataOutputStream out, int length) throws IOException {
+        crc.reset();
+        crc.update(block, 0, length);
+        deflater.reset();
+        deflater.setInput(block, 0, length);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        // 压缩后没有变小（如已压缩的数据）时原样存储
+        boolean stored = compressedLength >= length;
+        out.writeInt(length);
+        out.writeInt(stored ? length : compressedLength);
+        out.writeInt((int) crc.getValue());
+        if (stored) {
+            out.write(block, 0, length);
+        } else {
+            out.write(compressed, 0, compressedLength);
+        }
+    }
+    
+    @Override
+    public void close() {
+        deflater.end();
+    }
+}
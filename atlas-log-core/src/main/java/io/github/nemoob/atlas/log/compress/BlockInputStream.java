@@ -0,0 +1,179 @@
+package io.github.nemoob.atlas.log.compress;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 分块压缩文件的解压输入流
+ * <p>
+ * 每次解压一个块，校验 CRC 后再交给调用方；块损坏时抛出 {@link IOException}。
+ * 格式见 {@link BlockCompression}。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class BlockInputStream extends InputStream {
+    
+    private final DataInputStream in;
+    private final long originalSize;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    
+    private byte[] stored = new byte[0];
+    private byte[] block = new byte[0];
+    private int blockLength;
+    private int blockPosition;
+    private long consumed;
+    private boolean closed;
+    
+    private BlockInputStream(InputStream source) throws IOException {
+        this.in = new DataInputStream(source);
+        try {
+            if (in.readInt() != BlockCompression.MAGIC) {
+                throw new IOException("Not an Atlas compressed file: bad magic");
+            }
+            short version = in.readShort();
+            if (version != BlockCompression.VERSION) {
+                throw new IOException("Unsupported Atlas compressed file version: " + version);
+            }
+            in.readShort();
+            in.readInt();
+            in.readInt();
+            this.originalSize = in.readLong();
+        } catch (EOFException e) {
+            throw new IOException("Not an Atlas compressed file: header is incomplete");
+        }
+    }
+    
+    /**
+     * 打开压缩文件
+     *
+     * @throws IOException 文件不存在或不是压缩文件
+     */
+    public static BlockInputStream open(Path path) throws IOException {
+        InputStream source = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        try {
+            return new BlockInputStream(source);
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 解压后的总字节数
+     */
+    public long getOriginalSize() {
+        return originalSize;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        if (blockPosition == blockLength && !nextBlock()) {
+            return -1;
+        }
+        return block[blockPosition++] & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (blockPosition == blockLength && !nextBlock()) {
+            return -1;
+        }
+        int count = Math.min(length, blockLength - blockPosition);
+        System.arraycopy(block, blockPosition, buffer, offset, count);
+        blockPosition += count;
+        return count;
+    }
+    
+    @Override
+    public int available() {
+        return blockLength - blockPosition;
+    }
+    
+    private boolean nextBlock() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (consumed >= originalSize) {
+            return false;
+        }
+        int rawLength;
+        int storedLength;
+        int expectedCrc;
+        try {
+            rawLength = in.readInt();
+            storedLength = in.readInt();
+            expectedCrc = in.readInt();
+        } catch (EOFException e) {
+            throw new IOException("Compressed file ends at " + consumed + " of " + originalSize + " bytes");
+        }
+        if (rawLength <= 0 || storedLength <= 0 || storedLength > rawLength || rawLength > originalSize - consumed) {
+            throw new IOException("Corrupt compressed block at " + consumed);
+        }
+        if (block.length < rawLength) {
+            block = new byte[rawLength];
+        }
+        if (storedLength == rawLength) {
+            in.readFully(block, 0, rawLength);
+        } else {
+            if (stored.length < storedLength) {
+                stored = new byte[storedLength];
+            }
+            in.readFully(stored, 0, storedLength);
+            inflate(storedLength, rawLength);
+        }
+        crc.reset();
+        crc.update(block, 0, rawLength);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Compressed block at " + consumed + " fails CRC check");
+        }
+        consumed += rawLength;
+        blockLength = rawLength;
+        blockPosition = 0;
+        return true;
+    }
+    
+    private void inflate(int storedLength, int rawLength) throws IOException {
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+        int inflated = 0;
+        try {
+            while (inflated < rawLength && !inflater.finished()) {
+                int count = inflater.inflate(block, inflated, rawLength - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed block at " + consumed, e);
+        }
+        if (inflated != rawLength) {
+            throw new IOException("Compressed block at " + consumed + " inflates to " + inflated
+                    + " bytes, expected " + rawLength);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inflater.end();
+        in.close();
+    }
+}
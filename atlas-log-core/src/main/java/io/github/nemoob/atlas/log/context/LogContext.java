@@ -32,6 +32,21 @@ public class LogContext {
      */
     private long executionTime;
     
+    /**
+     * 是否慢调用
+     */
+    private boolean slowCall;
+    
+    /**
+     * 调用线程 CPU 时间（纳秒），未统计时为 -1
+     */
+    private long cpuTime = -1;
+    
+    /**
+     * 调用线程分配的字节数，未统计时为 -1
+     */
+    private long allocatedBytes = -1;
+    
     /**
      * 类名
      */
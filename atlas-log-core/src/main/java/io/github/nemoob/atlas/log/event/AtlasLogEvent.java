@@ -0,0 +1,166 @@
+package io.github.nemoob.atlas.log.event;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 结构化日志事件
+ * <p>
+ * 结构化模式下切面把事件作为唯一参数交给 SLF4J（{@code logger.info("{}", event)}），JSON 编码器直接读取各个字段输出，
+ * 不再拼接字符串；普通文本 appender 会调用 {@link #toString()}，得到与文本模式完全相同的
+ * {@code "TraceId: ... | Args: ... | 消息"} 格式，因此切换模式不影响现有的文本日志。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Data
+@Accessors(chain = true)
+public class AtlasLogEvent {
+    
+    private static final String SEPARATOR = " | ";
+    
+    /**
+     * 日志阶段
+     */
+    public enum Phase {
+        ENTER, EXIT, EXCEPTION
+    }
+    
+    /**
+     * 日志阶段
+     */
+    private Phase phase;
+    
+    /**
+     * 链路追踪ID
+     */
+    private String traceId;
+    
+    /**
+     * 方法签名，如 {@code UserService.getUser(Long)}
+     */
+    private String method;
+    
+    /**
+     * 求值后的日志消息
+     */
+    private String message;
+    
+    /**
+     * 注解上的标签
+     */
+    private String[] tags = new String[0];
+    
+    /**
+     * 序列化后的参数，未记录时为 null
+     */
+    private String args;
+    
+    /**
+     * 序列化后的返回值，未记录时为 null
+     */
+    private String result;
+    
+    /**
+     * 执行时间（毫秒），未记录时为 -1
+     */
+    private long executionTime = -1;
+    
+    /**
+     * 是否为慢调用
+     */
+    private boolean slowCall;
+    
+    /**
+     * 调用线程的 CPU 时间（纳秒），未统计时为 -1
+     */
+    private long cpuTime = -1;
+    
+    /**
+     * 调用线程的内存分配（字节），未统计时为 -1
+     */
+    private long allocatedBytes = -1;
+    
+    /**
+     * 方法抛出的异常
+     */
+    private Throwable exception;
+    
+    /**
+     * 裁剪后的异常堆栈，设置后代替异常对象输出，未裁剪时为 null
+     */
+    private String stackTrace;
+    
+    /**
+     * 文本模式下的详情部分：{@code "TraceId: ... | Tags: [...] | Args: ... | ExecutionTime: 12ms"}
+     */
+    public String formatDetails() {
+        StringBuilder details = new StringBuilder();
+        appendDetails(details);
+        return details.toString();
+    }
+    
+    /**
+     * 把完整日志行（详情在前，消息在后）追加到给定的缓冲区，供支持复用缓冲区的日志后端直接写入
+     */
+    public void formatTo(StringBuilder buffer) {
+        appendDetails(buffer);
+        buffer.append(SEPARATOR).append(message);
+        if (stackTrace != null) {
+            buffer.append(System.lineSeparator()).append(stackTrace);
+        }
+    }
+    
+    private void appendDetails(StringBuilder details) {
+        int start = details.length();
+        if (traceId != null) {
+            details.append("TraceId: ").append(traceId).append(SEPARATOR);
+        }
+        if (tags != null && tags.length > 0) {
+            details.append("Tags: [");
+            for (int i = 0; i < tags.length; i++) {
+                if (i > 0) {
+                    details.append(", ");
+                }
+                details.append(tags[i]);
+            }
+            details.append(']').append(SEPARATOR);
+        }
+        if (args != null) {
+            details.append("Args: ").append(args).append(SEPARATOR);
+        }
+        if (result != null) {
+            details.append("Result: ").append(result).append(SEPARATOR);
+        }
+        if (executionTime >= 0) {
+            details.append("ExecutionTime: ").append(executionTime).append("ms").append(SEPARATOR);
+        }
+        if (slowCall) {
+            details.append("SlowCall: true").append(SEPARATOR);
+        }
+        if (cpuTime >= 0) {
+            details.append("CpuTime: ").append(Math.round(cpuTime / 10_000.0) / 100.0).append("ms").append(SEPARATOR);
+        }
+        if (allocatedBytes >= 0) {
+            details.append("Allocated: ").append(allocatedBytes).append("B").append(SEPARATOR);
+        }
+        if (exception != null) {
+            details.append("Exception: ").append(exception.getClass().getSimpleName())
+                   .append(": ").append(exception.getMessage()).append(SEPARATOR);
+        }
+        if (details.length() - start > SEPARATOR.length()) {
+            details.setLength(details.length() - SEPARATOR.length());
+        }
+    }
+    
+    /**
+     * 与文本模式相同的完整日志行：详情在前，消息在后
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        formatTo(line);
+        return line.toString();
+    }
+}
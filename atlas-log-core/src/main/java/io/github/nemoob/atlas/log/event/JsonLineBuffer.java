@@ -0,0 +1,277 @@
+package io.github.nemoob.atlas.log.event;
+
+import java.util.Arrays;
+
+/**
+ * 可复用的 UTF-8 JSON 行缓冲区
+ * <p>
+ * 字符按 UTF-8 直接写入内部字节数组，不创建中间 String 或 JSON 对象，供日志编码器和文件 Sink 复用。
+ * 非线程安全，调用方按线程持有。
+ * </p>
+ * <p>
+ * 参数和返回值默认作为 JSON 字符串写入（序列化结果被转义一次）。参数格式为 JSON 时调用方可以开启嵌入：
+ * 合法的单行 JSON 原样写成对象/数组/数值，截断或预算摘要等不合法的内容仍按字符串写入，
+ * 因此开启后这两个字段的类型随内容变化。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class JsonLineBuffer {
+    
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private final int initialCapacity;
+    private byte[] bytes;
+    private int size;
+    
+    public JsonLineBuffer(int capacity) {
+        this.initialCapacity = capacity;
+        this.bytes = new byte[capacity];
+    }
+    
+    /**
+     * 写入日志事件的各个字段（以逗号开头，未设置的字段跳过），参数和返回值按字符串写入
+     */
+    public JsonLineBuffer eventFields(AtlasLogEvent event) {
+        return eventFields(event, false);
+    }
+    
+    /**
+     * 写入日志事件的各个字段
+     * 
+     * @param embedJsonPayloads 参数和返回值是合法 JSON 时是否原样嵌入
+     */
+    public JsonLineBuffer eventFields(AtlasLogEvent event, boolean embedJsonPayloads) {
+        field("traceId", event.getTraceId());
+        if (event.getPhase() != null) {
+            field("phase", event.getPhase().name());
+        }
+        field("method", event.getMethod());
+        field("message", event.getMessage());
+        String[] tags = event.getTags();
+        if (tags != null && tags.length > 0) {
+            raw(',').key("tags").raw('[');
+            for (int i = 0; i < tags.length; i++) {
+                if (i > 0) {
+                    raw(',');
+                }
+                string(tags[i]);
+            }
+            raw(']');
+        }
+        if (embedJsonPayloads) {
+            jsonField("args", event.getArgs());
+            jsonField("result", event.getResult());
+        } else {
+            field("args", event.getArgs());
+            field("result", event.getResult());
+        }
+        if (event.getExecutionTime() >= 0) {
+            raw(',').key("executionTimeMs").number(event.getExecutionTime());
+        }
+        if (event.isSlowCall()) {
+            raw(',').key("slowCall").raw("true");
+        }
+        if (event.getCpuTime() >= 0) {
+            raw(',').key("cpuTimeNanos").number(event.getCpuTime());
+        }
+        if (event.getAllocatedBytes() >= 0) {
+            raw(',').key("allocatedBytes").number(event.getAllocatedBytes());
+        }
+        Throwable exception = event.getException();
+        if (exception != null) {
+            raw(',').key("exception").raw('{');
+            key("type").string(exception.getClass().getName());
+            field("message", exception.getMessage());
+            raw('}');
+        }
+        field("stackTrace", event.getStackTrace());
+        return this;
+    }
+    
+    /**
+     * 写入 {@code ,"name":"value"}，value 为 null 时跳过
+     */
+    public JsonLineBuffer field(String name, String value) {
+        if (value != null) {
+            raw(',').key(name).string(value);
+        }
+        return this;
+    }
+    
+    /**
+     * 写入 {@code ,"name":value}：value 是合法的单行 JSON 时原样嵌入，否则按字符串写入；value 为 null 时跳过
+     */
+    public JsonLineBuffer jsonField(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        if (!JsonSyntax.isValue(value)) {
+            return field(name, value);
+        }
+        raw(',').key(name);
+        utf8(value, false);
+        return this;
+    }
+    
+    /**
+     * 写入 {@code "name":}
+     */
+    public JsonLineBuffer key(String name) {
+        return string(name).raw(':');
+    }
+    
+    public JsonLineBuffer number(long value) {
+        if (value == Long.MIN_VALUE) {
+            return raw(Long.toString(value));
+        }
+        if (value < 0) {
+            raw('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+    
+    public JsonLineBuffer string(String value) {
+        if (value == null) {
+            return raw("null");
+        }
+        raw('"');
+        utf8(value, true);
+        return raw('"');
+    }
+    
+    /**
+     * 按 UTF-8 写入字符；escape 为 false 时 ASCII 字符原样写入（用于已校验的 JSON）
+     */
+    private void utf8(String value, boolean escape) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (escape) {
+                    writeAscii(c);
+                } else {
+                    raw(c);
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 孤立的代理字符不是合法 UTF-8，按转义输出
+                unicodeEscape(c);
+            } else {
+                ensure(3);
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+    
+    private void writeAscii(char c) {
+        switch (c) {
+            case '"':
+                raw('\\').raw('"');
+                break;
+            case '\\':
+                raw('\\').raw('\\');
+                break;
+            case '\n':
+                raw('\\').raw('n');
+                break;
+            case '\r':
+                raw('\\').raw('r');
+                break;
+            case '\t':
+                raw('\\').raw('t');
+                break;
+            default:
+                if (c < 0x20) {
+                    unicodeEscape(c);
+                } else {
+                    raw(c);
+                }
+        }
+    }
+    
+    private void unicodeEscape(char c) {
+        ensure(6);
+        bytes[size++] = '\\';
+        bytes[size++] = 'u';
+        bytes[size++] = (byte) HEX[(c >> 12) & 0xF];
+        bytes[size++] = (byte) HEX[(c >> 8) & 0xF];
+        bytes[size++] = (byte) HEX[(c >> 4) & 0xF];
+        bytes[size++] = (byte) HEX[c & 0xF];
+    }
+    
+    public JsonLineBuffer raw(char c) {
+        ensure(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+    
+    public JsonLineBuffer raw(String ascii) {
+        int length = ascii.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) ascii.charAt(i);
+        }
+        return this;
+    }
+    
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+    
+    /**
+     * 内部数组，有效内容为 {@code [0, size())}，扩容后会变化，不能长期持有
+     */
+    public byte[] array() {
+        return bytes;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+    
+    public int capacity() {
+        return bytes.length;
+    }
+    
+    /**
+     * 清空内容，容量超过上限时缩回初始大小
+     */
+    public void reset(int maxRetainedBytes) {
+        size = 0;
+        if (bytes.length > maxRetainedBytes) {
+            bytes = new byte[initialCapacity];
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.nemoob.atlas.log.event;
+
+/**
+ * 单行 JSON 语法检查
+ * <p>
+ * 只扫描一遍字符，不构建任何对象，供 {@link JsonLineBuffer} 判断序列化结果能否原样嵌入。
+ * 换行不算空白（嵌入后会破坏 JSON 行），嵌套超过 {@link #MAX_DEPTH} 层按不合法处理。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class JsonSyntax {
+
+    static final int MAX_DEPTH = 64;
+
+    private JsonSyntax() {
+    }
+
+    /**
+     * 是否恰好是一个合法的 JSON 值（前后允许空格）
+     */
+    static boolean isValue(String text) {
+        if (text == null) {
+            return false;
+        }
+        int end = skipValue(text, skipSpaces(text, 0), 0);
+        return end >= 0 && skipSpaces(text, end) == text.length();
+    }
+
+    /**
+     * 跳过从 i 开始的一个值，返回其后的位置，不合法时返回 -1
+     */
+    private static int skipValue(String text, int i, int depth) {
+        if (i >= text.length() || depth >= MAX_DEPTH) {
+            return -1;
+        }
+        switch (text.charAt(i)) {
+            case '{':
+                return skipContainer(text, i + 1, depth + 1, '}', true);
+            case '[':
+                return skipContainer(text, i + 1, depth + 1, ']', false);
+            case '"':
+                return skipString(text, i);
+            case 't':
+                return skipLiteral(text, i, "true");
+            case 'f':
+                return skipLiteral(text, i, "false");
+            case 'n':
+                return skipLiteral(text, i, "null");
+            default:
+                return skipNumber(text, i);
+        }
+    }
+
+    private static int skipContainer(String text, int i, int depth, char close, boolean object) {
+        i = skipSpaces(text, i);
+        if (i < text.length() && text.charAt(i) == close) {
+            return i + 1;
+        }
+        while (true) {
+            if (object) {
+                if (i >= text.length() || text.charAt(i) != '"') {
+                    return -1;
+                }
+                i = skipSpaces(text, skipString(text, i));
+                if (i < 0 || i >= text.length() || text.charAt(i) != ':') {
+                    return -1;
+                }
+                i = skipSpaces(text, i + 1);
+            }
+            i = skipValue(text, i, depth);
+            if (i < 0) {
+                return -1;
+            }
+            i = skipSpaces(text, i);
+            if (i >= text.length()) {
+                return -1;
+            }
+            char c = text.charAt(i);
+            if (c == close) {
+                return i + 1;
+            }
+            if (c != ',') {
+                return -1;
+            }
+            i = skipSpaces(text, i + 1);
+        }
+    }
+
+    private static int skipString(String text, int i) {
+        int length = text.length();
+        for (i++; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c < 0x20) {
+                return -1;
+            }
+            if (c == '\\') {
+                if (++i >= length) {
+                    return -1;
+                }
+                char escaped = text.charAt(i);
+                if (escaped == 'u') {
+                    if (i + 4 >= length) {
+                        return -1;
+                    }
+                    for (int k = 1; k <= 4; k++) {
+                        if (Character.digit(text.charAt(i + k), 16) < 0) {
+                            return -1;
+                        }
+                    }
+                    i += 4;
+                } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int skipLiteral(String text, int i, String literal) {
+        return text.startsWith(literal, i) ? i + literal.length() : -1;
+    }
+
+    private static int skipNumber(String text, int i) {
+        int length = text.length();
+        if (i < length && text.charAt(i) == '-') {
+            i++;
+        }
+        int end = skipDigits(text, i);
+        if (end == i || (text.charAt(i) == '0' && end > i + 1)) {
+            return -1;
+        }
+        i = end;
+        if (i < length && text.charAt(i) == '.') {
+            end = skipDigits(text, i + 1);
+            if (end == i + 1) {
+                return -1;
+            }
+            i = end;
+        }
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                i++;
+            }
+            end = skipDigits(text, i);
+            if (end == i) {
+                return -1;
+            }
+            i = end;
+        }
+        return i;
+    }
+
+    private static int skipDigits(String text, int i) {
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(String text, int i) {
+        if (i < 0) {
+            return -1;
+        }
+        while (i < text.length() && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.nemoob.atlas.log.event;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+
+/**
+ * 日志事件输出器
+ * <p>
+ * 切面默认通过 SLF4J 输出日志。日志后端提供了更高效的接口时（如 Log4j2 的可复用消息），
+ * 可以实现此接口直接输出 {@link AtlasLogEvent}，省去中间字符串。
+ * 实现必须在 {@link #emit} 返回前完成对事件的读取，切面不保证事件之后不被修改。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public interface LogEventEmitter {
+    
+    /**
+     * 输出日志事件
+     * 
+     * @param loggerType 日志记录器所属的类（被拦截方法的声明类）
+     * @param level 日志级别
+     * @param event 日志事件，消息已设置
+     * @param exception 需要输出堆栈的异常，可为 null
+     */
+    void emit(Class<?> loggerType, LogLevel level, AtlasLogEvent event, Throwable exception);
+}
@@ -0,0 +1,232 @@
+package io.github.nemoob.atlas.log.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 重复异常折叠
+ * <p>
+ * 下游故障时同一个异常每分钟会被记录成千上万次，完整堆栈的日志 I/O 会加重故障。
+ * 去重器按异常类型、栈顶若干帧和根因类型计算指纹：一个窗口内第一次出现时输出完整堆栈，
+ * 之后只输出一行 "同指纹 X（第 N 次）"，每个窗口结束时再为被折叠的指纹输出一条汇总。
+ * </p>
+ * <p>
+ * 指纹缓存以异常类和栈帧哈希为键，判定只需一次哈希计算和一次查表；
+ * 缓存有容量上限，满了之后新的指纹不参与去重（照常输出完整堆栈），长时间未出现的指纹在汇总时清理。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class ExceptionDeduplicator implements AutoCloseable {
+    
+    /**
+     * 连续多少个窗口未出现的指纹从缓存中清理
+     */
+    private static final int IDLE_WINDOWS = 5;
+    
+    private final long windowMillis;
+    private final int frames;
+    private final int maxFingerprints;
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    
+    /**
+     * @param windowMillis 去重窗口（毫秒），每个窗口内每个指纹输出一次完整堆栈
+     * @param frames 参与指纹计算的栈顶帧数
+     * @param maxFingerprints 缓存的最大指纹数
+     */
+    public ExceptionDeduplicator(long windowMillis, int frames, int maxFingerprints) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be positive, got: " + windowMillis);
+        }
+        if (frames <= 0) {
+            throw new IllegalArgumentException("frames must be positive, got: " + frames);
+        }
+        this.windowMillis = windowMillis;
+        this.frames = frames;
+        this.maxFingerprints = maxFingerprints;
+    }
+    
+    /**
+     * 启动汇总线程，每个窗口输出一次被折叠异常的汇总
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "atlas-log-exception-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::safeSummarize, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private void safeSummarize() {
+        try {
+            summarize(System.currentTimeMillis());
+        } catch (Throwable t) {
+            // 异常会终止周期任务，这里吞掉以保证汇总继续运行
+            log.warn("Exception summary failed", t);
+        }
+    }
+    
+    /**
+     * 记录一次异常
+     */
+    public ExceptionOccurrence record(Throwable exception) {
+        return record(exception, System.currentTimeMillis());
+    }
+    
+    ExceptionOccurrence record(Throwable exception, long now) {
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        long frameHash = frameHash(exception, stackTrace);
+        Key key = new Key(exception.getClass(), frameHash);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxFingerprints) {
+                return new ExceptionOccurrence(fingerprint(key), 1, true);
+            }
+            Entry created = new Entry(fingerprint(key), exception.getClass().getName(),
+                    stackTrace.length > 0 ? stackTrace[0].toString() : "unknown");
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry.record(now);
+    }
+    
+    private long frameHash(Throwable exception, StackTraceElement[] stackTrace) {
+        long hash = 17;
+        int count = Math.min(frames, stackTrace.length);
+        for (int i = 0; i < count; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = 31 * hash + frame.getClassName().hashCode();
+            hash = 31 * hash + frame.getMethodName().hashCode();
+            hash = 31 * hash + frame.getLineNumber();
+        }
+        // 同一位置包装的不同下游异常分开计数
+        Throwable root = exception;
+        for (int depth = 0; root.getCause() != null && root.getCause() != root && depth < 16; depth++) {
+            root = root.getCause();
+        }
+        if (root != exception) {
+            hash = 31 * hash + root.getClass().getName().hashCode();
+        }
+        return hash;
+    }
+    
+    private static String fingerprint(Key key) {
+        long h = key.frameHash * 0x9E3779B97F4A7C15L + key.type.getName().hashCode();
+        h ^= h >>> 29;
+        return String.format("%08x", (int) (h ^ (h >>> 32)));
+    }
+    
+    /**
+     * 为当前窗口被折叠的指纹输出汇总，并清理长时间未出现的指纹
+     */
+    void summarize(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            long suppressed;
+            long lastSeen;
+            synchronized (entry) {
+                suppressed = entry.suppressed;
+                entry.suppressed = 0;
+                lastSeen = entry.lastSeen;
+            }
+            if (suppressed > 0) {
+                log.warn("Exception fingerprint {} ({} at {}) repeated {} times without stack trace in the last {}s",
+                        entry.fingerprint, entry.type, entry.location, suppressed,
+                        TimeUnit.MILLISECONDS.toSeconds(windowMillis));
+            } else if (now - lastSeen > IDLE_WINDOWS * windowMillis) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * 当前缓存的指纹数
+     */
+    public int getFingerprintCount() {
+        return entries.size();
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        summarize(System.currentTimeMillis());
+    }
+    
+    private static final class Key {
+        
+        private final Class<?> type;
+        private final long frameHash;
+        
+        Key(Class<?> type, long frameHash) {
+            this.type = type;
+            this.frameHash = frameHash;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type == other.type && frameHash == other.frameHash;
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + Long.hashCode(frameHash);
+        }
+    }
+    
+    private final class Entry {
+        
+        private final String fingerprint;
+        private final String type;
+        private final String location;
+        
+        // 以下字段由 this 保护
+        private long windowStart;
+        private long windowOccurrences;
+        private long suppressed;
+        private long lastSeen;
+        
+        Entry(String fingerprint, String type, String location) {
+            this.fingerprint = fingerprint;
+            this.type = type;
+            this.location = location;
+        }
+        
+        synchronized ExceptionOccurrence record(long now) {
+            lastSeen = now;
+            if (windowOccurrences == 0 || now - windowStart >= windowMillis) {
+                windowStart = now;
+                windowOccurrences = 1;
+                return new ExceptionOccurrence(fingerprint, 1, true);
+            }
+            windowOccurrences++;
+            suppressed++;
+            return new ExceptionOccurrence(fingerprint, windowOccurrences, false);
+        }
+    }
+}
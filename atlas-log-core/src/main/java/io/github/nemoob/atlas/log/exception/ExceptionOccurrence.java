@@ -0,0 +1,41 @@
+package io.github.nemoob.atlas.log.exception;
+
+/**
+ * 一次异常在去重器中的判定结果
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class ExceptionOccurrence {
+    
+    private final String fingerprint;
+    private final long occurrences;
+    private final boolean first;
+    
+    public ExceptionOccurrence(String fingerprint, long occurrences, boolean first) {
+        this.fingerprint = fingerprint;
+        this.occurrences = occurrences;
+        this.first = first;
+    }
+    
+    /**
+     * 异常指纹，由异常类型、栈顶若干帧和根因类型计算
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * 当前窗口内该指纹出现的次数（含本次）
+     */
+    public long getOccurrences() {
+        return occurrences;
+    }
+    
+    /**
+     * 是否为窗口内第一次出现，第一次出现时输出完整堆栈
+     */
+    public boolean isFirst() {
+        return first;
+    }
+}
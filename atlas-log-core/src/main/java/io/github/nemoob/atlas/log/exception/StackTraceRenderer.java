@@ -0,0 +1,181 @@
+package io.github.nemoob.atlas.log.exception;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 裁剪后的异常堆栈渲染
+ * <p>
+ * 经过 Spring AOP、CGLIB、Tomcat 的调用栈动辄上百帧，真正有用的往往只是其中的业务帧。
+ * 渲染时连续匹配框架包前缀的帧折叠为一行 {@code ... 23 framework frames}，每个异常最多输出
+ * {@code maxDepth} 帧（折叠行不计），超出的帧记为一行 {@code ... N frames truncated}；原因链最多
+ * {@code maxCauses} 层，与上一层相同的尾部帧照常省略为 {@code ... N more}。suppressed 异常按
+ * {@link Throwable#printStackTrace()} 的方式缩进一级输出在所属异常的帧之后，帧数、折叠和原因层数规则相同。
+ * 除折叠行和截断行外格式与 {@link Throwable#printStackTrace()} 一致，现有的日志解析不受影响。
+ * </p>
+ * <p>
+ * 帧的文本和是否属于框架按 {@link StackTraceElement} 缓存，同一位置反复抛出的异常不再重复格式化；
+ * 缓存有容量上限，满了之后新的帧直接格式化。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class StackTraceRenderer {
+    
+    // 按引用比较，不会与任何帧的文本混淆
+    private static final String FRAMEWORK = new String("framework");
+    private static final StackTraceElement[] NO_FRAMES = new StackTraceElement[0];
+    
+    private final int maxDepth;
+    private final String[] foldPackages;
+    private final int maxCauses;
+    private final int maxCachedFrames;
+    private final ConcurrentMap<StackTraceElement, String> frames = new ConcurrentHashMap<>();
+    
+    /**
+     * @param maxDepth 每个异常最多输出的帧数（折叠行不计）
+     * @param foldPackages 需要折叠的框架包前缀，如 {@code org.springframework.aop}
+     * @param maxCauses 最多输出的原因层数
+     * @param maxCachedFrames 缓存的最大帧数
+     */
+    public StackTraceRenderer(int maxDepth, List<String> foldPackages, int maxCauses, int maxCachedFrames) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be positive, got: " + maxDepth);
+        }
+        if (maxCauses < 0) {
+            throw new IllegalArgumentException("maxCauses must not be negative, got: " + maxCauses);
+        }
+        this.maxDepth = maxDepth;
+        this.foldPackages = foldPackages.toArray(new String[0]);
+        this.maxCauses = maxCauses;
+        this.maxCachedFrames = maxCachedFrames;
+    }
+    
+    /**
+     * 渲染异常及其 suppressed 异常和原因链，不以换行结尾
+     */
+    public String render(Throwable exception) {
+        StringBuilder out = new StringBuilder(1024);
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        appendChain(out, exception, NO_FRAMES, "", "", seen);
+        return out.toString();
+    }
+    
+    /**
+     * 输出异常及其原因链；每一层的 suppressed 异常紧跟在该层的帧之后，多缩进一级并带有自己的原因链
+     */
+    private void appendChain(StringBuilder out, Throwable exception, StackTraceElement[] enclosing,
+                             String caption, String prefix, Set<Throwable> seen) {
+        Throwable current = exception;
+        int depth = 0;
+        while (current != null) {
+            if (seen.contains(current)) {
+                out.append(System.lineSeparator()).append(prefix)
+                        .append("[CIRCULAR REFERENCE: ").append(current).append(']');
+                return;
+            }
+            if (depth > maxCauses) {
+                int omitted = 0;
+                for (Throwable t = current; t != null && seen.add(t); t = t.getCause()) {
+                    omitted++;
+                }
+                out.append(System.lineSeparator()).append(prefix).append("... ").append(omitted).append(" more causes");
+                return;
+            }
+            seen.add(current);
+            if (out.length() > 0) {
+                out.append(System.lineSeparator());
+            }
+            out.append(prefix).append(depth > 0 ? "Caused by: " : caption).append(current);
+            StackTraceElement[] trace = current.getStackTrace();
+            appendFrames(out, trace, enclosing, prefix);
+            for (Throwable suppressed : current.getSuppressed()) {
+                appendChain(out, suppressed, trace, "Suppressed: ", prefix + "\t", seen);
+            }
+            enclosing = trace;
+            current = current.getCause();
+            depth++;
+        }
+    }
+    
+    private void appendFrames(StringBuilder out, StackTraceElement[] trace, StackTraceElement[] enclosing,
+                              String prefix) {
+        // 与上一层相同的尾部帧
+        int m = trace.length - 1;
+        int n = enclosing.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosing[n])) {
+            m--;
+            n--;
+        }
+        int common = trace.length - 1 - m;
+        
+        int printed = 0;
+        int folded = 0;
+        int i = 0;
+        for (; i <= m && printed < maxDepth; i++) {
+            String line = frameLine(trace[i]);
+            if (line == FRAMEWORK) {
+                folded++;
+                continue;
+            }
+            if (folded > 0) {
+                appendFolded(out, folded, prefix);
+                folded = 0;
+            }
+            out.append(System.lineSeparator()).append(prefix).append(line);
+            printed++;
+        }
+        if (folded > 0) {
+            appendFolded(out, folded, prefix);
+        }
+        int truncated = m + 1 - i;
+        if (truncated > 0) {
+            out.append(System.lineSeparator()).append(prefix).append("\t... ").append(truncated)
+                    .append(truncated == 1 ? " frame truncated" : " frames truncated");
+        }
+        if (common > 0) {
+            out.append(System.lineSeparator()).append(prefix).append("\t... ").append(common).append(" more");
+        }
+    }
+    
+    private static void appendFolded(StringBuilder out, int folded, String prefix) {
+        out.append(System.lineSeparator()).append(prefix).append("\t... ").append(folded)
+                .append(folded == 1 ? " framework frame" : " framework frames");
+    }
+    
+    /**
+     * 帧的输出文本；属于框架的帧返回 {@link #FRAMEWORK}
+     */
+    private String frameLine(StackTraceElement frame) {
+        String line = frames.get(frame);
+        if (line != null) {
+            return line;
+        }
+        line = isFramework(frame.getClassName()) ? FRAMEWORK : "\tat " + frame;
+        if (frames.size() < maxCachedFrames) {
+            frames.putIfAbsent(frame, line);
+        }
+        return line;
+    }
+    
+    private boolean isFramework(String className) {
+        for (String prefix : foldPackages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 当前缓存的帧数
+     */
+    public int getCachedFrames() {
+        return frames.size();
+    }
+}
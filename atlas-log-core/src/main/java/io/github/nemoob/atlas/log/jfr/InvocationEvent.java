@@ -0,0 +1,46 @@
+package io.github.nemoob.atlas.log.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@code @Log} 方法调用的 JFR 事件
+ * <p>
+ * 事件时长即方法执行时间，可在录制配置中用 {@code threshold} 只保留慢调用，例如
+ * {@code <setting name="threshold">20 ms</setting>}。未录制该事件时只有一次 {@link #isEnabled()} 判断。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Name(InvocationEvent.NAME)
+@Label("Atlas Log Invocation")
+@Category("Atlas Log")
+@Description("@Log 方法调用，时长为方法执行时间")
+@StackTrace(false)
+public class InvocationEvent extends Event {
+    
+    /**
+     * 事件名称，用于录制配置和 {@code jfr print --events}
+     */
+    public static final String NAME = "io.github.nemoob.atlas.log.Invocation";
+    
+    @Label("Method")
+    @Description("方法签名，如 UserService.getUser(Long)")
+    String method;
+    
+    @Label("Trace Id")
+    String traceId;
+    
+    @Label("Error Class")
+    @Description("抛出的异常类型，正常返回时为空")
+    String errorClass;
+    
+    @Label("Tags")
+    @Description("@Log 注解上的标签，以逗号分隔")
+    String tags;
+}
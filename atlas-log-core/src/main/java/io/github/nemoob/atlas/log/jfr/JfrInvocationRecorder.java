@@ -0,0 +1,75 @@
+package io.github.nemoob.atlas.log.jfr;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 为 {@code @Log} 方法调用生成 {@link InvocationEvent}
+ * <p>
+ * 调用开始时 {@link #begin()}，结束时 {@link #commit}。未录制该事件时 {@link #begin()} 返回 null，
+ * 事件对象在 JIT 逃逸分析后通常不会真正分配；超过录制阈值的事件才会填充字段，
+ * 方法签名和标签按方法缓存。这里只引用 {@code jdk.jfr}，切面不直接依赖它，
+ * 因此在没有 JFR 的 JDK 上只要不创建本类就不会加载 JFR 相关的类。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class JfrInvocationRecorder {
+    
+    private final ConcurrentMap<Method, String[]> descriptors = new ConcurrentHashMap<>();
+    
+    /**
+     * 开始一次调用
+     *
+     * @return 事件句柄，未录制该事件时为 null
+     */
+    public Object begin() {
+        InvocationEvent event = new InvocationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * 结束一次调用并提交事件，未超过录制阈值时丢弃
+     *
+     * @param handle {@link #begin()} 的返回值，为 null 时什么也不做
+     * @param exception 方法抛出的异常，正常返回时为 null
+     */
+    public void commit(Object handle, Method method, String traceId, Throwable exception, List<Log> logAnnotations) {
+        if (handle == null) {
+            return;
+        }
+        InvocationEvent event = (InvocationEvent) handle;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        String[] descriptor = descriptors.computeIfAbsent(method, m -> describe(m, logAnnotations));
+        event.method = descriptor[0];
+        event.tags = descriptor[1];
+        event.traceId = traceId;
+        event.errorClass = exception != null ? exception.getClass().getName() : null;
+        event.commit();
+    }
+    
+    private static String[] describe(Method method, List<Log> logAnnotations) {
+        Set<String> tags = new LinkedHashSet<>();
+        for (Log logAnnotation : logAnnotations) {
+            for (String tag : logAnnotation.tags()) {
+                tags.add(tag);
+            }
+        }
+        return new String[] {ReflectionUtils.formatMethodSignature(method), tags.isEmpty() ? null : String.join(",", tags)};
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import io.github.nemoob.atlas.log.util.ReflectionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 错误突增检测
+ * <p>
+ * 每个方法维护一个按时间分片滚动的调用数和错误数（时间片的轮转方式与 {@link RollingLatencySketch} 相同）。
+ * 窗口内调用数达到下限且错误率超过阈值时进入诊断期：诊断期内该方法的调用即使 {@code logArgs = false}
+ * 或处于采样降级，也完整记录参数和返回值，每秒最多记录指定次数；诊断期结束后自动恢复。
+ * 进入和结束诊断期各输出一条日志。
+ * </p>
+ * <p>
+ * 热路径上只有原子自增和一次 volatile 读；错误率只在出现错误且不在诊断期时计算。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class ErrorBurstDetector {
+    
+    private final long slotMillis;
+    private final int slots;
+    private final int minCalls;
+    private final double errorRateThreshold;
+    private final long diagnosticMillis;
+    private final int maxCapturesPerSecond;
+    private final int maxTracked;
+    
+    private final ConcurrentMap<Method, ErrorWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    
+    /**
+     * @param windowMillis 错误率统计窗口（毫秒）
+     * @param slots 窗口切分的时间片数
+     * @param minCalls 窗口内少于该调用数时不判定
+     * @param errorRateThreshold 触发诊断期的错误率（0 到 1）
+     * @param diagnosticMillis 诊断期长度（毫秒）
+     * @param maxCapturesPerSecond 诊断期内每个方法每秒最多完整记录的调用数
+     * @param maxTracked 最多跟踪的方法数
+     */
+    public ErrorBurstDetector(long windowMillis, int slots, int minCalls, double errorRateThreshold,
+                              long diagnosticMillis, int maxCapturesPerSecond, int maxTracked) {
+        if (errorRateThreshold <= 0 || errorRateThreshold > 1) {
+            throw new IllegalArgumentException("errorRateThreshold must be in (0, 1], got: " + errorRateThreshold);
+        }
+        this.slots = Math.max(1, slots);
+        this.slotMillis = Math.max(1, windowMillis / this.slots);
+        this.minCalls = Math.max(1, minCalls);
+        this.errorRateThreshold = errorRateThreshold;
+        this.diagnosticMillis = Math.max(1, diagnosticMillis);
+        this.maxCapturesPerSecond = maxCapturesPerSecond;
+        this.maxTracked = maxTracked;
+    }
+    
+    /**
+     * 记录一次调用结果
+     *
+     * @param error 是否以异常结束
+     */
+    public void record(Method method, boolean error) {
+        record(method, error, System.currentTimeMillis());
+    }
+    
+    void record(Method method, boolean error, long nowMillis) {
+        ErrorWindow window = getOrCreate(method);
+        if (window == null) {
+            return;
+        }
+        window.record(error, nowMillis);
+        if (error && window.diagnosticUntil.get() <= nowMillis) {
+            window.evaluate(method, nowMillis);
+        }
+    }
+    
+    /**
+     * 本次调用是否需要完整记录参数和返回值：处于诊断期且未超出每秒次数上限时返回 true
+     */
+    public boolean tryCapture(Method method) {
+        return tryCapture(method, System.currentTimeMillis());
+    }
+    
+    boolean tryCapture(Method method, long nowMillis) {
+        ErrorWindow window = windows.get(method);
+        if (window == null) {
+            return false;
+        }
+        long until = window.diagnosticUntil.get();
+        if (until == 0) {
+            return false;
+        }
+        if (until <= nowMillis) {
+            window.finish(method, until);
+            return false;
+        }
+        return window.acquireCapture(nowMillis);
+    }
+    
+    /**
+     * 方法当前是否处于诊断期
+     */
+    public boolean isDiagnostic(Method method) {
+        ErrorWindow window = windows.get(method);
+        return window != null && window.diagnosticUntil.get() > System.currentTimeMillis();
+    }
+    
+    private ErrorWindow getOrCreate(Method method) {
+        ErrorWindow window = windows.get(method);
+        if (window != null) {
+            return window;
+        }
+        if (tracked.incrementAndGet() > maxTracked) {
+            tracked.decrementAndGet();
+            return null;
+        }
+        ErrorWindow created = new ErrorWindow();
+        ErrorWindow existing = windows.putIfAbsent(method, created);
+        if (existing != null) {
+            tracked.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+    
+    /**
+     * 当前跟踪的方法数
+     */
+    public int getTrackedCount() {
+        return tracked.get();
+    }
+    
+    private final class ErrorWindow {
+        
+        // 每个时间片两个计数：调用数、错误数
+        private final AtomicLongArray slotEpochs = new AtomicLongArray(slots);
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(slots * 2);
+        // 诊断期结束时间，0 表示不在诊断期
+        private final AtomicLong diagnosticUntil = new AtomicLong();
+        private final AtomicLong captureSecond = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger capturesThisSecond = new AtomicInteger();
+        private final AtomicLong captured = new AtomicLong();
+        
+        ErrorWindow() {
+            for (int i = 0; i < slots; i++) {
+                slotEpochs.set(i, Long.MIN_VALUE);
+            }
+        }
+        
+        void record(boolean error, long nowMillis) {
+            long epoch = nowMillis / slotMillis;
+            int slot = (int) (epoch % slots);
+            long slotEpoch = slotEpochs.get(slot);
+            if (slotEpoch != epoch) {
+                if (slotEpoch < epoch && slotEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+                    counts.set(slot * 2, 0);
+                    counts.set(slot * 2 + 1, 0);
+                } else if (slotEpochs.get(slot) != epoch) {
+                    // 时钟回拨或时间片已被更新的时间占用，丢弃该样本
+                    return;
+                }
+            }
+            counts.getAndIncrement(slot * 2);
+            if (error) {
+                counts.getAndIncrement(slot * 2 + 1);
+            }
+        }
+        
+        void evaluate(Method method, long nowMillis) {
+            long epoch = nowMillis / slotMillis;
+            long calls = 0;
+            long errors = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                long slotEpoch = slotEpochs.get(slot);
+                if (slotEpoch <= epoch && slotEpoch > epoch - slots) {
+                    calls += counts.get(slot * 2);
+                    errors += counts.get(slot * 2 + 1);
+                }
+            }
+            if (calls < minCalls || errors < errorRateThreshold * calls) {
+                return;
+            }
+            long until = diagnosticUntil.get();
+            if (until <= nowMillis && diagnosticUntil.compareAndSet(until, nowMillis + diagnosticMillis)) {
+                if (until != 0) {
+                    // 上一个诊断期结束后没有调用经过 tryCapture，在这里补上结束日志
+                    logFinished(method);
+                }
+                log.warn("Error burst in {}: {} of {} calls failed in the last {}ms, capturing args and results for {}ms",
+                        ReflectionUtils.formatMethodSignature(method), errors, calls, slotMillis * slots, diagnosticMillis);
+            }
+        }
+        
+        boolean acquireCapture(long nowMillis) {
+            long second = nowMillis / 1000L;
+            long current = captureSecond.get();
+            if (current < second && captureSecond.compareAndSet(current, second)) {
+                capturesThisSecond.set(0);
+            }
+            if (capturesThisSecond.incrementAndGet() > maxCapturesPerSecond) {
+                return false;
+            }
+            captured.incrementAndGet();
+            return true;
+        }
+        
+        void finish(Method method, long until) {
+            if (diagnosticUntil.compareAndSet(until, 0)) {
+                logFinished(method);
+            }
+        }
+        
+        private void logFinished(Method method) {
+            log.info("Error burst diagnostics for {} ended, captured {} calls",
+                    ReflectionUtils.formatMethodSignature(method), captured.getAndSet(0));
+        }
+    }
+}
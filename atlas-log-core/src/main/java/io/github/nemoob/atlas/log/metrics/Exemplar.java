@@ -0,0 +1,38 @@
+package io.github.nemoob.atlas.log.metrics;
+
+/**
+ * 直方图桶上的样例：落入该桶的某次调用的 TraceId，用于从分位数跳转到具体请求
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class Exemplar {
+    
+    private final String traceId;
+    private final long valueMicros;
+    private final long timestamp;
+    
+    public Exemplar(String traceId, long valueMicros, long timestamp) {
+        this.traceId = traceId;
+        this.valueMicros = valueMicros;
+        this.timestamp = timestamp;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    /**
+     * 该次调用的耗时（微秒）
+     */
+    public long getValueMicros() {
+        return valueMicros;
+    }
+    
+    /**
+     * 记录时间（毫秒时间戳）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
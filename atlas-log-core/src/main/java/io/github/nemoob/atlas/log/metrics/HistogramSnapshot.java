@@ -0,0 +1,113 @@
+package io.github.nemoob.atlas.log.metrics;
+
+/**
+ * 延迟直方图快照（微秒），不可变
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class HistogramSnapshot {
+    
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final Exemplar[] exemplars;
+    
+    public HistogramSnapshot(long[] counts, long count, long sum, long max) {
+        this(counts, count, sum, max, null);
+    }
+    
+    /**
+     * @param exemplars 每个桶的样例，可为 null
+     */
+    public HistogramSnapshot(long[] counts, long count, long sum, long max, Exemplar[] exemplars) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.exemplars = exemplars;
+    }
+    
+    /**
+     * 计算分位数（微秒），返回所在桶的上界且不超过最大值
+     * 
+     * @param quantile 0 到 1 之间的分位，如 0.99
+     */
+    public long getPercentile(double quantile) {
+        int bucket = percentileBucket(quantile);
+        if (bucket < 0) {
+            return count <= 0 ? 0 : max;
+        }
+        return Math.min(LatencyHistogram.bucketUpperBound(bucket), max);
+    }
+    
+    /**
+     * 分位数所在桶的样例；该桶没有样例时取更高的桶中最近的一个，都没有时返回 null
+     * 
+     * @param quantile 0 到 1 之间的分位，如 0.99
+     */
+    public Exemplar getPercentileExemplar(double quantile) {
+        if (exemplars == null) {
+            return null;
+        }
+        int bucket = percentileBucket(quantile);
+        if (bucket < 0) {
+            return null;
+        }
+        for (int i = bucket; i < exemplars.length; i++) {
+            if (exemplars[i] != null) {
+                return exemplars[i];
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 指定桶的样例，未启用样例或该桶没有样例时返回 null
+     */
+    public Exemplar getExemplar(int index) {
+        return exemplars != null ? exemplars[index] : null;
+    }
+    
+    private int percentileBucket(double quantile) {
+        if (count <= 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getSum() {
+        return sum;
+    }
+    
+    public long getMax() {
+        return max;
+    }
+    
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+    
+    /**
+     * 指定桶的计数
+     */
+    public long getBucketCount(int index) {
+        return counts[index];
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次正在执行的 {@code @Log} 调用
+ * <p>
+ * 由执行线程创建，看门狗线程只读取线程、起始时间，并在超过阈值后向 {@link StackProfile} 追加栈采样。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class InFlightInvocation {
+    
+    private final Thread thread;
+    private final Method method;
+    private final String traceId;
+    private final long startNanos;
+    private final long startMillis;
+    final int slot;
+    private volatile StackProfile profile;
+    
+    InFlightInvocation(Thread thread, Method method, String traceId, long startNanos, long startMillis, int slot) {
+        this.thread = thread;
+        this.method = method;
+        this.traceId = traceId;
+        this.startNanos = startNanos;
+        this.startMillis = startMillis;
+        this.slot = slot;
+    }
+    
+    public Thread getThread() {
+        return thread;
+    }
+    
+    public Method getMethod() {
+        return method;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    /**
+     * 开始时间（{@link System#nanoTime()}）
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+    
+    /**
+     * 开始时间（毫秒时间戳）
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+    
+    /**
+     * 栈采样汇总，未被采样时为 null
+     */
+    public StackProfile getProfile() {
+        return profile;
+    }
+    
+    StackProfile getOrCreateProfile(int maxStacks) {
+        StackProfile current = profile;
+        if (current == null) {
+            // 只有看门狗线程会创建，无需 CAS
+            current = new StackProfile(maxStacks);
+            profile = current;
+        }
+        return current;
+    }
+}
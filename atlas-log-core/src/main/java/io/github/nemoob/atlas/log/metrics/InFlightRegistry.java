@@ -0,0 +1,103 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 正在执行的 {@code @Log} 调用注册表
+ * <p>
+ * 固定大小的槽位数组，起始槽位由线程 ID 决定，冲突时向后线性探测最多 {@value #MAX_PROBES} 个槽位，
+ * 登记和注销都只是一次 CAS，不加锁、不扩容。探测不到空槽时不登记，调用照常执行，只是不会被看门狗采样。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class InFlightRegistry {
+    
+    private static final int MAX_PROBES = 16;
+    
+    private final AtomicReferenceArray<InFlightInvocation> slots;
+    private final int mask;
+    
+    /**
+     * @param capacity 槽位数，向上取整为 2 的幂
+     */
+    public InFlightRegistry(int capacity) {
+        int size = 1;
+        while (size < Math.max(1, capacity)) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+    
+    /**
+     * 登记当前线程开始执行的调用
+     * 
+     * @return 登记凭证，槽位已满时返回 null
+     */
+    public InFlightInvocation enter(Method method, String traceId) {
+        Thread thread = Thread.currentThread();
+        long id = thread.getId();
+        int start = (int) (id ^ (id >>> 16)) * 0x9E3779B9;
+        int probes = Math.min(MAX_PROBES, mask + 1);
+        for (int i = 0; i < probes; i++) {
+            int slot = (start + i) & mask;
+            if (slots.get(slot) == null) {
+                InFlightInvocation invocation = new InFlightInvocation(thread, method, traceId,
+                        System.nanoTime(), System.currentTimeMillis(), slot);
+                if (slots.compareAndSet(slot, null, invocation)) {
+                    return invocation;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 注销调用，之后看门狗不会再对它采样
+     */
+    public void exit(InFlightInvocation invocation) {
+        if (invocation != null) {
+            slots.compareAndSet(invocation.slot, invocation, null);
+        }
+    }
+    
+    /**
+     * 调用是否仍在登记中
+     */
+    public boolean isActive(InFlightInvocation invocation) {
+        return slots.get(invocation.slot) == invocation;
+    }
+    
+    /**
+     * 遍历当前登记的调用（弱一致）
+     */
+    public void forEach(Consumer<InFlightInvocation> action) {
+        for (int i = 0; i < slots.length(); i++) {
+            InFlightInvocation invocation = slots.get(i);
+            if (invocation != null) {
+                action.accept(invocation);
+            }
+        }
+    }
+    
+    /**
+     * 当前登记的调用数（遍历计数，仅用于监控）
+     */
+    public int size() {
+        int count = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.nemoob.atlas.log.metrics;
+
+/**
+ * 一次慢调用的现场：耗时、TraceId、时间以及进入 Top-K 时才渲染的参数和返回值
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class InvocationSample {
+    
+    private final long latencyMicros;
+    private final String traceId;
+    private final long timestamp;
+    private final String args;
+    private final String result;
+    private final String exception;
+    
+    public InvocationSample(long latencyMicros, String traceId, long timestamp,
+                            String args, String result, String exception) {
+        this.latencyMicros = latencyMicros;
+        this.traceId = traceId;
+        this.timestamp = timestamp;
+        this.args = args;
+        this.result = result;
+        this.exception = exception;
+    }
+    
+    /**
+     * 耗时（微秒）
+     */
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    /**
+     * 调用完成时间（毫秒时间戳）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * 序列化后的参数，未采集时为 null
+     */
+    public String getArgs() {
+        return args;
+    }
+    
+    /**
+     * 序列化后的返回值，未采集时为 null
+     */
+    public String getResult() {
+        return result;
+    }
+    
+    /**
+     * 异常摘要（类名: 消息），正常返回时为 null
+     */
+    public String getException() {
+        return exception;
+    }
+}
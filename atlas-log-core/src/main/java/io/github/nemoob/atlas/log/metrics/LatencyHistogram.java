@@ -0,0 +1,199 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁分条延迟直方图
+ * <p>
+ * 以微秒为单位，采用对数-线性分桶：16 微秒以内每微秒一个桶，之后每个 2 的幂区间再均分为 8 个子桶，
+ * 相对误差不超过 12.5%，最大可记录约 12 天，固定 {@value #BUCKET_COUNT} 个桶。
+ * 写入按线程分散到多个条带，每个条带是一个独立的 {@link AtomicLongArray}，只使用 CAS/原子自增，
+ * 读取时合并所有条带生成 {@link HistogramSnapshot}。
+ * 可选地为每个桶保留一个 {@link Exemplar}（TraceId），同一个桶每秒最多替换一次，避免每次记录都分配对象。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+    private static final int MAX_EXPONENT = 40;
+    
+    /**
+     * 桶数量
+     */
+    public static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    
+    /**
+     * 可记录的最大值（微秒），超出部分计入最后一个桶
+     */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    
+    private static final int COUNT_SLOT = BUCKET_COUNT;
+    private static final int SUM_SLOT = BUCKET_COUNT + 1;
+    private static final int MAX_SLOT = BUCKET_COUNT + 2;
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 3;
+    private static final long EXEMPLAR_REFRESH_MILLIS = 1000L;
+    
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final AtomicReferenceArray<Exemplar> exemplars;
+    
+    /**
+     * 按 CPU 数量选择条带数（最多 8 个）
+     */
+    public LatencyHistogram() {
+        this(Math.min(8, Runtime.getRuntime().availableProcessors()));
+    }
+    
+    /**
+     * @param stripeCount 条带数，向上取整为 2 的幂
+     */
+    public LatencyHistogram(int stripeCount) {
+        this(stripeCount, false);
+    }
+    
+    /**
+     * @param stripeCount 条带数，向上取整为 2 的幂，不大于 0 时按 CPU 数量选择
+     * @param exemplars 是否为每个桶保留 TraceId 样例
+     */
+    public LatencyHistogram(int stripeCount, boolean exemplars) {
+        int requested = stripeCount > 0 ? stripeCount : Math.min(8, Runtime.getRuntime().availableProcessors());
+        int size = 1;
+        while (size < requested) {
+            size <<= 1;
+        }
+        this.stripes = new AtomicLongArray[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+        this.stripeMask = size - 1;
+        this.exemplars = exemplars ? new AtomicReferenceArray<>(BUCKET_COUNT) : null;
+    }
+    
+    /**
+     * 记录一次耗时（纳秒）
+     */
+    public void recordNanos(long nanos) {
+        record(nanos / 1000L);
+    }
+    
+    /**
+     * 记录一次耗时（微秒）
+     */
+    public void record(long micros) {
+        recordValue(micros < 0 ? 0 : Math.min(micros, MAX_VALUE));
+    }
+    
+    /**
+     * 记录一次耗时（纳秒），并以 traceId 作为所在桶的样例
+     */
+    public void recordNanos(long nanos, String traceId) {
+        record(nanos / 1000L, traceId);
+    }
+    
+    /**
+     * 记录一次耗时（微秒），并以 traceId 作为所在桶的样例
+     */
+    public void record(long micros, String traceId) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+        int bucket = recordValue(value);
+        if (exemplars == null || traceId == null) {
+            return;
+        }
+        Exemplar current = exemplars.get(bucket);
+        long now = System.currentTimeMillis();
+        if (current == null || now - current.getTimestamp() >= EXEMPLAR_REFRESH_MILLIS) {
+            exemplars.lazySet(bucket, new Exemplar(traceId, value, now));
+        }
+    }
+    
+    private int recordValue(long value) {
+        int bucket = bucketIndex(value);
+        AtomicLongArray stripe = stripes[(int) (Thread.currentThread().getId() & stripeMask)];
+        stripe.getAndIncrement(bucket);
+        stripe.getAndIncrement(COUNT_SLOT);
+        stripe.getAndAdd(SUM_SLOT, value);
+        long max;
+        while (value > (max = stripe.get(MAX_SLOT))) {
+            if (stripe.compareAndSet(MAX_SLOT, max, value)) {
+                break;
+            }
+        }
+        return bucket;
+    }
+    
+    /**
+     * 合并所有条带生成快照；并发写入时快照只保证近似一致
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            count += stripe.get(COUNT_SLOT);
+            sum += stripe.get(SUM_SLOT);
+            max = Math.max(max, stripe.get(MAX_SLOT));
+        }
+        Exemplar[] exemplarCopy = null;
+        if (exemplars != null) {
+            exemplarCopy = new Exemplar[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                exemplarCopy[i] = exemplars.get(i);
+            }
+        }
+        return new HistogramSnapshot(counts, count, sum, max, exemplarCopy);
+    }
+    
+    /**
+     * 清空所有计数（与并发写入之间不保证原子性）
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < STRIPE_LENGTH; i++) {
+                stripe.set(i, 0);
+            }
+        }
+        if (exemplars != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                exemplars.set(i, null);
+            }
+        }
+    }
+    
+    /**
+     * 计算值所在的桶
+     */
+    public static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) Math.max(0, micros);
+        }
+        long value = Math.min(micros, MAX_VALUE);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * 桶的上界（包含，微秒）
+     */
+    public static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = offset % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = ((long) (SUB_BUCKETS + subBucket)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import io.github.nemoob.atlas.log.util.ReflectionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 按方法统计的延迟注册表
+ * <p>
+ * 每个被切面拦截的方法一个带 TraceId 样例的 {@link LatencyHistogram} 和一个 {@link SlowestInvocations}。
+ * 开启资源统计的方法还会累计 CPU 时间和分配字节数。方法数量超过上限后统一计入 {@value #OVERFLOW}，保证内存有界。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class MethodLatencyRegistry {
+    
+    /**
+     * 超过方法上限后的汇总项
+     */
+    public static final String OVERFLOW = "OTHER";
+    
+    private final ConcurrentMap<Method, MethodLatency> methods = new ConcurrentHashMap<>();
+    private final AtomicInteger methodCount = new AtomicInteger();
+    private final int maxMethods;
+    private final int stripes;
+    private final int slowestSize;
+    private final long slowestWindowMillis;
+    private final MethodLatency overflow;
+    
+    /**
+     * @param maxMethods 最多跟踪的方法数
+     * @param stripes 直方图条带数，0 表示按 CPU 数量自动选择
+     * @param slowestSize 每个方法保留的最慢调用数，0 表示不保留
+     * @param slowestWindowMillis 最慢调用的保留时长（毫秒）
+     */
+    public MethodLatencyRegistry(int maxMethods, int stripes, int slowestSize, long slowestWindowMillis) {
+        this.maxMethods = maxMethods;
+        this.stripes = stripes;
+        this.slowestSize = slowestSize;
+        this.slowestWindowMillis = slowestWindowMillis;
+        this.overflow = new MethodLatency(OVERFLOW, stripes, 0, slowestWindowMillis);
+    }
+    
+    /**
+     * 记录一次调用
+     *
+     * @param method 被拦截的方法
+     * @param elapsedNanos 耗时（纳秒）
+     * @param traceId TraceId
+     * @param args 参数渲染，只有进入 Top-K 时才会调用，可为 null
+     * @param result 返回值渲染，只有进入 Top-K 时才会调用，可为 null
+     * @param exception 调用抛出的异常，可为 null
+     */
+    public void record(Method method, long elapsedNanos, String traceId,
+                       Supplier<String> args, Supplier<String> result, Throwable exception) {
+        MethodLatency latency = getOrCreate(method);
+        long micros = elapsedNanos / 1000L;
+        latency.histogram.record(micros, traceId);
+        if (latency.slowest != null) {
+            latency.slowest.offer(micros, traceId, System.currentTimeMillis(), args, result, exception);
+        }
+    }
+    
+    /**
+     * 累计一次调用的资源消耗
+     */
+    public void recordResources(Method method, ResourceUsage usage) {
+        MethodLatency latency = getOrCreate(method);
+        latency.resourceSamples.increment();
+        if (usage.getCpuNanos() >= 0) {
+            latency.cpuNanos.add(usage.getCpuNanos());
+        }
+        if (usage.getAllocatedBytes() >= 0) {
+            latency.allocatedBytes.add(usage.getAllocatedBytes());
+        }
+    }
+    
+    private MethodLatency getOrCreate(Method method) {
+        MethodLatency latency = methods.get(method);
+        if (latency != null) {
+            return latency;
+        }
+        if (methodCount.incrementAndGet() > maxMethods) {
+            methodCount.decrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Method latency registry is full ({}), recording {} as {}", maxMethods, method.getName(), OVERFLOW);
+            }
+            return overflow;
+        }
+        MethodLatency created = new MethodLatency(ReflectionUtils.formatMethodSignature(method),
+                stripes, slowestSize, slowestWindowMillis);
+        MethodLatency existing = methods.putIfAbsent(method, created);
+        if (existing != null) {
+            methodCount.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+    
+    /**
+     * 所有方法的统计快照，按方法名排序
+     */
+    public List<MethodLatencySnapshot> snapshot() {
+        long now = System.currentTimeMillis();
+        List<MethodLatencySnapshot> result = new ArrayList<>();
+        for (MethodLatency latency : methods.values()) {
+            result.add(latency.snapshot(now));
+        }
+        result.sort(Comparator.comparing(MethodLatencySnapshot::getName));
+        MethodLatencySnapshot overflowSnapshot = overflow.snapshot(now);
+        if (overflowSnapshot.getHistogram().getCount() > 0) {
+            result.add(overflowSnapshot);
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * 当前跟踪的方法数量（不含汇总项）
+     */
+    public int getMethodCount() {
+        return methodCount.get();
+    }
+    
+    public int getMaxMethods() {
+        return maxMethods;
+    }
+    
+    private static final class MethodLatency {
+        private final String name;
+        private final LatencyHistogram histogram;
+        private final SlowestInvocations slowest;
+        private final LongAdder resourceSamples = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        
+        private MethodLatency(String name, int stripes, int slowestSize, long slowestWindowMillis) {
+            this.name = name;
+            this.histogram = new LatencyHistogram(stripes, true);
+            this.slowest = slowestSize > 0 ? new SlowestInvocations(slowestSize, slowestWindowMillis) : null;
+        }
+        
+        private MethodLatencySnapshot snapshot(long now) {
+            List<InvocationSample> samples = slowest != null
+                    ? slowest.snapshot(now) : Collections.<InvocationSample>emptyList();
+            return new MethodLatencySnapshot(name, histogram.snapshot(), samples,
+                    resourceSamples.sum(), cpuNanos.sum(), allocatedBytes.sum());
+        }
+    }
+    
+    /**
+     * 单个方法的统计快照
+     */
+    public static final class MethodLatencySnapshot {
+        private final String name;
+        private final HistogramSnapshot histogram;
+        private final List<InvocationSample> slowest;
+        private final long resourceSamples;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        
+        MethodLatencySnapshot(String name, HistogramSnapshot histogram, List<InvocationSample> slowest,
+                              long resourceSamples, long cpuNanos, long allocatedBytes) {
+            this.name = name;
+            this.histogram = histogram;
+            this.slowest = slowest;
+            this.resourceSamples = resourceSamples;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+        
+        /**
+         * 方法签名，如 {@code UserService.getUser(Long)}
+         */
+        public String getName() {
+            return name;
+        }
+        
+        public HistogramSnapshot getHistogram() {
+            return histogram;
+        }
+        
+        /**
+         * 窗口内最慢的调用，按耗时降序
+         */
+        public List<InvocationSample> getSlowest() {
+            return slowest;
+        }
+        
+        /**
+         * 统计了资源消耗的调用次数
+         */
+        public long getResourceSamples() {
+            return resourceSamples;
+        }
+        
+        /**
+         * 累计 CPU 时间（纳秒）
+         */
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+        
+        /**
+         * 累计分配字节数
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
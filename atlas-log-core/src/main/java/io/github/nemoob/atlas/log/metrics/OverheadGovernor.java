@@ -0,0 +1,209 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 日志开销自监控与熔断
+ * <p>
+ * 切面把每次调用中 Atlas Log 自身花费的时间（表达式求值、序列化、格式化、输出）与业务方法执行时间分开上报。
+ * 自身开销进入直方图，并按窗口计算开销占方法时间的比例和平均每次开销。某个窗口超出预算时逐级降级：
+ * {@link OverheadLevel#NO_PAYLOAD} → {@link OverheadLevel#SAMPLED} → {@link OverheadLevel#DISABLED}；
+ * 连续若干个窗口回到预算内（或调用量低于最小样本数）后逐级恢复。每次切换都会输出一条日志。
+ * </p>
+ * <p>
+ * 窗口在上报线程中滚动，由 CAS 选出唯一的线程做判定，不需要后台线程。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class OverheadGovernor {
+    
+    private static final OverheadLevel[] LEVELS = OverheadLevel.values();
+    
+    private final double maxRatio;
+    private final long maxOverheadMicros;
+    private final long windowMillis;
+    private final long minSamples;
+    private final int sampleRate;
+    private final int recoveryWindows;
+    
+    private final LatencyHistogram overheadHistogram = new LatencyHistogram();
+    private final LongAdder totalOverheadNanos = new LongAdder();
+    private final LongAdder totalMethodNanos = new LongAdder();
+    private final LongAdder windowCalls = new LongAdder();
+    private final LongAdder windowOverheadNanos = new LongAdder();
+    private final LongAdder windowMethodNanos = new LongAdder();
+    private final AtomicLong windowEnd = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong transitions = new AtomicLong();
+    
+    private volatile OverheadLevel level = OverheadLevel.FULL;
+    private volatile double lastWindowRatio;
+    private volatile long lastWindowAvgMicros;
+    private int healthyWindows;
+    
+    /**
+     * @param maxRatio 自身开销占方法执行时间的上限（如 0.05），不大于 0 表示不按比例判定
+     * @param maxOverheadMicros 平均每次调用的自身开销上限（微秒），不大于 0 表示不按绝对值判定
+     * @param windowMillis 判定窗口（毫秒）
+     * @param minSamples 窗口内少于该调用数时不判定超预算
+     * @param sampleRate 采样级别下每多少次调用输出一次
+     * @param recoveryWindows 连续多少个正常窗口后恢复一级
+     */
+    public OverheadGovernor(double maxRatio, long maxOverheadMicros, long windowMillis, long minSamples,
+                            int sampleRate, int recoveryWindows) {
+        this.maxRatio = maxRatio;
+        this.maxOverheadMicros = maxOverheadMicros;
+        this.windowMillis = Math.max(1, windowMillis);
+        this.minSamples = minSamples;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.recoveryWindows = Math.max(1, recoveryWindows);
+    }
+    
+    /**
+     * 本次调用生效的级别；采样级别在这里决定是否采中，返回 {@link OverheadLevel#NO_PAYLOAD} 或 {@link OverheadLevel#DISABLED}
+     */
+    public OverheadLevel admit() {
+        OverheadLevel current = level;
+        if (current != OverheadLevel.SAMPLED) {
+            return current;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleRate) == 0 ? OverheadLevel.NO_PAYLOAD : OverheadLevel.DISABLED;
+    }
+    
+    /**
+     * 上报一次调用
+     *
+     * @param overheadNanos Atlas Log 自身耗时（纳秒）
+     * @param methodNanos 业务方法执行时间（纳秒）
+     */
+    public void record(long overheadNanos, long methodNanos) {
+        record(overheadNanos, methodNanos, System.currentTimeMillis());
+    }
+    
+    /**
+     * 上报一次调用（指定当前时间）
+     */
+    public void record(long overheadNanos, long methodNanos, long nowMillis) {
+        long overhead = Math.max(0, overheadNanos);
+        long method = Math.max(0, methodNanos);
+        overheadHistogram.recordNanos(overhead);
+        totalOverheadNanos.add(overhead);
+        totalMethodNanos.add(method);
+        windowCalls.increment();
+        windowOverheadNanos.add(overhead);
+        windowMethodNanos.add(method);
+        
+        long end = windowEnd.get();
+        if (end == Long.MIN_VALUE) {
+            windowEnd.compareAndSet(Long.MIN_VALUE, nowMillis + windowMillis);
+        } else if (nowMillis >= end && windowEnd.compareAndSet(end, nowMillis + windowMillis)) {
+            evaluateWindow();
+        }
+    }
+    
+    /**
+     * 结束当前窗口并判定是否需要降级或恢复；由赢得 CAS 的线程调用，同一时刻只有一个线程执行
+     */
+    private synchronized void evaluateWindow() {
+        long calls = windowCalls.sumThenReset();
+        long overhead = windowOverheadNanos.sumThenReset();
+        long method = windowMethodNanos.sumThenReset();
+        double ratio = method > 0 ? (double) overhead / method : (overhead > 0 ? Double.POSITIVE_INFINITY : 0);
+        long avgMicros = calls > 0 ? overhead / calls / 1000L : 0;
+        lastWindowRatio = ratio;
+        lastWindowAvgMicros = avgMicros;
+        
+        boolean exceeded = calls >= minSamples
+                && ((maxRatio > 0 && ratio > maxRatio) || (maxOverheadMicros > 0 && avgMicros > maxOverheadMicros));
+        OverheadLevel current = level;
+        if (exceeded) {
+            healthyWindows = 0;
+            if (current != OverheadLevel.DISABLED) {
+                OverheadLevel next = LEVELS[current.ordinal() + 1];
+                transition(next);
+                log.warn("Atlas Log overhead {}% of method time, avg {}us per call over {} calls exceeds budget, stepping down {} -> {}",
+                        formatPercent(ratio), avgMicros, calls, current, next);
+            }
+        } else if (current != OverheadLevel.FULL && ++healthyWindows >= recoveryWindows) {
+            healthyWindows = 0;
+            OverheadLevel next = LEVELS[current.ordinal() - 1];
+            transition(next);
+            log.info("Atlas Log overhead {}% of method time, avg {}us per call over {} calls is within budget, recovering {} -> {}",
+                    formatPercent(ratio), avgMicros, calls, current, next);
+        }
+    }
+    
+    private void transition(OverheadLevel next) {
+        level = next;
+        transitions.incrementAndGet();
+    }
+    
+    private static String formatPercent(double ratio) {
+        return Double.isInfinite(ratio) ? "∞" : String.valueOf(Math.round(ratio * 10_000) / 100.0);
+    }
+    
+    /**
+     * 当前级别
+     */
+    public OverheadLevel getLevel() {
+        return level;
+    }
+    
+    /**
+     * 每次调用自身开销的分布（微秒）
+     */
+    public HistogramSnapshot getOverheadSnapshot() {
+        return overheadHistogram.snapshot();
+    }
+    
+    /**
+     * 启动以来自身开销占方法执行时间的比例
+     */
+    public double getOverheadRatio() {
+        long method = totalMethodNanos.sum();
+        return method > 0 ? (double) totalOverheadNanos.sum() / method : 0;
+    }
+    
+    /**
+     * 上一个窗口的开销比例
+     */
+    public double getLastWindowRatio() {
+        return lastWindowRatio;
+    }
+    
+    /**
+     * 上一个窗口平均每次调用的自身开销（微秒）
+     */
+    public long getLastWindowAvgMicros() {
+        return lastWindowAvgMicros;
+    }
+    
+    public long getTotalOverheadNanos() {
+        return totalOverheadNanos.sum();
+    }
+    
+    public long getTotalMethodNanos() {
+        return totalMethodNanos.sum();
+    }
+    
+    /**
+     * 级别切换次数
+     */
+    public long getTransitions() {
+        return transitions.get();
+    }
+    
+    public double getMaxRatio() {
+        return maxRatio;
+    }
+    
+    public long getMaxOverheadMicros() {
+        return maxOverheadMicros;
+    }
+}
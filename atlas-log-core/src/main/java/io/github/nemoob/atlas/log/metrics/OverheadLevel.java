@@ -0,0 +1,44 @@
+package io.github.nemoob.atlas.log.metrics;
+
+/**
+ * 日志开销降级级别，按顺序逐级降级、逐级恢复
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public enum OverheadLevel {
+    
+    /**
+     * 完整记录
+     */
+    FULL,
+    
+    /**
+     * 照常输出日志，但不序列化参数和返回值
+     */
+    NO_PAYLOAD,
+    
+    /**
+     * 按比例采样输出，采中的调用也不序列化参数和返回值
+     */
+    SAMPLED,
+    
+    /**
+     * 不输出进入/退出日志，异常日志仍然输出（不含参数）
+     */
+    DISABLED;
+    
+    /**
+     * 是否输出进入/退出日志
+     */
+    public boolean isLogging() {
+        return this != DISABLED;
+    }
+    
+    /**
+     * 是否序列化参数和返回值
+     */
+    public boolean isPayloadAllowed() {
+        return this == FULL;
+    }
+}
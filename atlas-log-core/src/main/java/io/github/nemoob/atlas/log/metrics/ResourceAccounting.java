@@ -0,0 +1,127 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 单次调用的资源统计：调用线程的 CPU 时间和堆内存分配
+ * <p>
+ * 基于 {@link ThreadMXBean#getCurrentThreadCpuTime()} 和
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}，两者都有一定开销，
+ * 因此只对 {@code @Log(logResources = true)} 或带有指定标签的方法启用，判定结果按方法缓存。
+ * 只统计 {@code proceed()} 期间调用线程上的消耗，异步返回值在其他线程上的执行不计入。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class ResourceAccounting {
+    
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final boolean cpuTimeSupported;
+    private final Set<String> tags;
+    private final ConcurrentMap<Method, Boolean> decisions = new ConcurrentHashMap<>();
+    
+    /**
+     * @param tags 带有其中任一标签的方法也启用统计（只进入方法统计，不写入日志）
+     */
+    public ResourceAccounting(Collection<String> tags) {
+        this.tags = tags == null || tags.isEmpty() ? Collections.<String>emptySet() : new HashSet<>(tags);
+        this.cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported() && enableCpuTime();
+        this.allocationMXBean = resolveAllocationMXBean(threadMXBean);
+        log.debug("Resource accounting: cpuTime={}, allocatedBytes={}", cpuTimeSupported, allocationMXBean != null);
+    }
+    
+    /**
+     * 该方法是否需要统计资源，结果按方法缓存
+     */
+    public boolean isEnabled(Method method, List<Log> logAnnotations) {
+        Boolean decision = decisions.get(method);
+        if (decision == null) {
+            decision = decide(logAnnotations);
+            decisions.putIfAbsent(method, decision);
+        }
+        return decision;
+    }
+    
+    private boolean decide(List<Log> logAnnotations) {
+        for (Log logAnnotation : logAnnotations) {
+            if (logAnnotation.logResources()) {
+                return true;
+            }
+            for (String tag : logAnnotation.tags()) {
+                if (tags.contains(tag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 当前线程累计 CPU 时间（纳秒），不支持时返回 -1
+     */
+    public long currentThreadCpuNanos() {
+        return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+    
+    /**
+     * 当前线程累计分配字节数，不支持时返回 -1
+     */
+    public long currentThreadAllocatedBytes() {
+        return allocationMXBean != null ? allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+    
+    /**
+     * 根据开始时的读数计算本次调用的消耗
+     */
+    public ResourceUsage since(long startCpuNanos, long startAllocatedBytes) {
+        long cpu = startCpuNanos >= 0 ? Math.max(0, currentThreadCpuNanos() - startCpuNanos) : -1;
+        long allocated = startAllocatedBytes >= 0 ? Math.max(0, currentThreadAllocatedBytes() - startAllocatedBytes) : -1;
+        return new ResourceUsage(cpu, allocated);
+    }
+    
+    private boolean enableCpuTime() {
+        try {
+            if (!threadMXBean.isThreadCpuTimeEnabled()) {
+                threadMXBean.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread CPU time measurement is not available: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    private static com.sun.management.ThreadMXBean resolveAllocationMXBean(ThreadMXBean threadMXBean) {
+        try {
+            if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (!bean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            log.warn("Thread allocated bytes measurement is not available: {}", e.getMessage());
+            return null;
+        }
+    }
+}
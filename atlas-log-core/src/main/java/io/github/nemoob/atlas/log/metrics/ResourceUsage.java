@@ -0,0 +1,36 @@
+package io.github.nemoob.atlas.log.metrics;
+
+/**
+ * 一次调用在调用线程上消耗的 CPU 时间和分配的堆内存
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class ResourceUsage {
+    
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    
+    /**
+     * @param cpuNanos CPU 时间（纳秒），不支持时为 -1
+     * @param allocatedBytes 分配字节数，不支持时为 -1
+     */
+    public ResourceUsage(long cpuNanos, long allocatedBytes) {
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+    
+    /**
+     * CPU 时间（纳秒），JVM 不支持时为 -1
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+    
+    /**
+     * 分配的字节数，JVM 不支持时为 -1
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按时间分片滚动的延迟分布
+ * <p>
+ * 把统计窗口切成固定数量的时间片，每个时间片一组计数（分桶方式与 {@link LatencyHistogram} 相同），
+ * 时间片按环形复用，内存大小在创建时即确定，不随调用量增长。
+ * 写入只使用原子自增；时间片轮转时通过 CAS 认领并清零，轮转瞬间的少量写入可能被清掉，结果是近似值。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class RollingLatencySketch {
+    
+    private static final int SLOT_LENGTH = LatencyHistogram.BUCKET_COUNT + 1;
+    private static final int COUNT_OFFSET = LatencyHistogram.BUCKET_COUNT;
+    
+    private final int slots;
+    private final long slotMillis;
+    private final AtomicLongArray slotEpochs;
+    private final AtomicIntegerArray counts;
+    
+    private volatile long cachedEpoch = Long.MIN_VALUE;
+    private volatile long cachedPercentile = -1;
+    
+    /**
+     * @param windowMillis 统计窗口长度（毫秒）
+     * @param slots 时间片数量
+     */
+    public RollingLatencySketch(long windowMillis, int slots) {
+        this.slots = Math.max(1, slots);
+        this.slotMillis = Math.max(1, windowMillis / this.slots);
+        this.slotEpochs = new AtomicLongArray(this.slots);
+        for (int i = 0; i < this.slots; i++) {
+            slotEpochs.set(i, Long.MIN_VALUE);
+        }
+        this.counts = new AtomicIntegerArray(this.slots * SLOT_LENGTH);
+    }
+    
+    /**
+     * 记录一次耗时
+     * 
+     * @param micros 耗时（微秒）
+     * @param nowMillis 当前时间（毫秒）
+     */
+    public void record(long micros, long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        int slot = (int) (epoch % slots);
+        long slotEpoch = slotEpochs.get(slot);
+        if (slotEpoch != epoch) {
+            if (slotEpoch < epoch && slotEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+                int base = slot * SLOT_LENGTH;
+                for (int i = 0; i < SLOT_LENGTH; i++) {
+                    counts.set(base + i, 0);
+                }
+            } else if (slotEpochs.get(slot) != epoch) {
+                // 时钟回拨或时间片已被更新的时间占用，丢弃该样本
+                return;
+            }
+        }
+        int base = slot * SLOT_LENGTH;
+        counts.getAndIncrement(base + LatencyHistogram.bucketIndex(micros));
+        counts.getAndIncrement(base + COUNT_OFFSET);
+    }
+    
+    /**
+     * 窗口内的分位数（微秒），样本不足时返回 -1
+     * <p>
+     * 结果按时间片缓存，每个时间片最多重新计算一次，热路径上只是一次 volatile 读。
+     * </p>
+     * 
+     * @param quantile 分位，如 0.99
+     * @param minSamples 最少样本数
+     * @param nowMillis 当前时间（毫秒）
+     */
+    public long getPercentile(double quantile, int minSamples, long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        if (cachedEpoch == epoch) {
+            return cachedPercentile;
+        }
+        long percentile = computePercentile(quantile, minSamples, epoch);
+        cachedPercentile = percentile;
+        cachedEpoch = epoch;
+        return percentile;
+    }
+    
+    private long computePercentile(double quantile, int minSamples, long epoch) {
+        long total = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (isLive(slot, epoch)) {
+                total += counts.get(slot * SLOT_LENGTH + COUNT_OFFSET);
+            }
+        }
+        if (total <= 0 || total < minSamples) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (isLive(slot, epoch)) {
+                    seen += counts.get(slot * SLOT_LENGTH + bucket);
+                }
+            }
+            if (seen >= rank) {
+                return LatencyHistogram.bucketUpperBound(bucket);
+            }
+        }
+        return LatencyHistogram.MAX_VALUE;
+    }
+    
+    private boolean isLive(int slot, long epoch) {
+        long slotEpoch = slotEpochs.get(slot);
+        return slotEpoch <= epoch && slotEpoch > epoch - slots;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 慢调用判定
+ * <p>
+ * 固定模式下与调用方给出的固定阈值比较；自适应模式下每个方法（或 HTTP 端点）维护一个
+ * {@link RollingLatencySketch}，超过自身近期 p99 的指定倍数即视为慢调用，
+ * 样本不足或超出跟踪数量上限时退回固定阈值。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class SlowCallDetector {
+    
+    private static final double QUANTILE = 0.99;
+    
+    private final long defaultThresholdMillis;
+    private final boolean adaptive;
+    private final double multiplier;
+    private final long windowMillis;
+    private final int slots;
+    private final int minSamples;
+    private final long minThresholdMicros;
+    private final int maxTracked;
+    
+    private final ConcurrentMap<Object, RollingLatencySketch> sketches = new ConcurrentHashMap<>();
+    private final AtomicInteger tracked = new AtomicInteger();
+    
+    /**
+     * 只使用固定阈值
+     * 
+     * @param defaultThresholdMillis 默认固定阈值（毫秒）
+     */
+    public SlowCallDetector(long defaultThresholdMillis) {
+        this(defaultThresholdMillis, false, 0, 0, 1, 0, 0, 0);
+    }
+    
+    /**
+     * @param defaultThresholdMillis 默认固定阈值（毫秒）
+     * @param adaptive 是否启用自适应阈值
+     * @param multiplier p99 倍数
+     * @param windowMillis 统计窗口（毫秒）
+     * @param slots 窗口切分的时间片数
+     * @param minSamples 启用自适应阈值所需的最少样本数
+     * @param minThresholdMillis 自适应阈值下限（毫秒），避免极快方法的抖动被判为慢调用
+     * @param maxTracked 最多跟踪的方法/端点数
+     */
+    public SlowCallDetector(long defaultThresholdMillis, boolean adaptive, double multiplier, long windowMillis,
+                            int slots, int minSamples, long minThresholdMillis, int maxTracked) {
+        this.defaultThresholdMillis = defaultThresholdMillis;
+        this.adaptive = adaptive;
+        this.multiplier = multiplier;
+        this.windowMillis = windowMillis;
+        this.slots = slots;
+        this.minSamples = minSamples;
+        this.minThresholdMicros = TimeUnit.MILLISECONDS.toMicros(minThresholdMillis);
+        this.maxTracked = maxTracked;
+    }
+    
+    /**
+     * 使用默认固定阈值判定是否慢调用
+     * 
+     * @see #isSlow(Object, long, long)
+     */
+    public boolean isSlow(Object key, long elapsedNanos) {
+        return isSlow(key, elapsedNanos, defaultThresholdMillis);
+    }
+    
+    /**
+     * 判定是否慢调用，并把本次耗时计入该 key 的滚动分布
+     * 
+     * @param key 方法或端点标识，null 时只使用固定阈值
+     * @param elapsedNanos 耗时（纳秒）
+     * @param fixedThresholdMillis 固定阈值（毫秒）
+     */
+    public boolean isSlow(Object key, long elapsedNanos, long fixedThresholdMillis) {
+        long elapsedMicros = elapsedNanos / 1000L;
+        RollingLatencySketch sketch = adaptive && key != null ? getOrCreate(key) : null;
+        if (sketch == null) {
+            return elapsedMicros > TimeUnit.MILLISECONDS.toMicros(fixedThresholdMillis);
+        }
+        long now = System.currentTimeMillis();
+        long threshold = adaptiveThresholdMicros(sketch, now);
+        // 先判定再记录，避免本次调用抬高自己的阈值
+        sketch.record(elapsedMicros, now);
+        if (threshold < 0) {
+            return elapsedMicros > TimeUnit.MILLISECONDS.toMicros(fixedThresholdMillis);
+        }
+        return elapsedMicros > threshold;
+    }
+    
+    /**
+     * 使用默认固定阈值时当前生效的阈值（毫秒）
+     */
+    public long getThresholdMillis(Object key) {
+        return getThresholdMillis(key, defaultThresholdMillis);
+    }
+    
+    /**
+     * 当前生效的阈值（毫秒），用于日志展示
+     */
+    public long getThresholdMillis(Object key, long fixedThresholdMillis) {
+        RollingLatencySketch sketch = adaptive && key != null ? sketches.get(key) : null;
+        if (sketch == null) {
+            return fixedThresholdMillis;
+        }
+        long threshold = adaptiveThresholdMicros(sketch, System.currentTimeMillis());
+        return threshold < 0 ? fixedThresholdMillis : TimeUnit.MICROSECONDS.toMillis(threshold);
+    }
+    
+    private long adaptiveThresholdMicros(RollingLatencySketch sketch, long now) {
+        long p99 = sketch.getPercentile(QUANTILE, minSamples, now);
+        if (p99 < 0) {
+            return -1;
+        }
+        return Math.max(minThresholdMicros, (long) (p99 * multiplier));
+    }
+    
+    private RollingLatencySketch getOrCreate(Object key) {
+        RollingLatencySketch sketch = sketches.get(key);
+        if (sketch != null) {
+            return sketch;
+        }
+        if (tracked.incrementAndGet() > maxTracked) {
+            tracked.decrementAndGet();
+            return null;
+        }
+        RollingLatencySketch created = new RollingLatencySketch(windowMillis, slots);
+        RollingLatencySketch existing = sketches.putIfAbsent(key, created);
+        if (existing != null) {
+            tracked.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+    
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+    
+    /**
+     * 当前跟踪的方法/端点数
+     */
+    public int getTrackedCount() {
+        return tracked.get();
+    }
+}
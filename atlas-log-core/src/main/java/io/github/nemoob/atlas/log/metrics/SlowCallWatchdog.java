@@ -0,0 +1,140 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢调用看门狗
+ * <p>
+ * 单个守护线程按固定间隔扫描 {@link InFlightRegistry}，对执行时间超过阈值的调用所在线程做栈采样，
+ * 采样结果累积到该调用的 {@link StackProfile}，由调用线程在结束时输出。
+ * 多个慢调用的线程在一次 {@link ThreadMXBean#getThreadInfo(long[], int)} 中批量采样；
+ * 每次调用的采样次数有上限，卡死的调用不会无限占用内存。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class SlowCallWatchdog implements AutoCloseable {
+    
+    private static final int MAX_STACKS = 32;
+    
+    private final InFlightRegistry registry;
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private final int maxDepth;
+    private final int maxSamples;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private ScheduledExecutorService scheduler;
+    
+    /**
+     * @param registry 正在执行的调用
+     * @param thresholdMillis 超过该时间（毫秒）的调用开始采样
+     * @param intervalMillis 扫描和采样间隔（毫秒）
+     * @param maxDepth 每次采样的最大栈深度（从栈顶算起）
+     * @param maxSamples 每次调用的最大采样次数
+     */
+    public SlowCallWatchdog(InFlightRegistry registry, long thresholdMillis, long intervalMillis,
+                            int maxDepth, int maxSamples) {
+        this.registry = registry;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.intervalMillis = intervalMillis;
+        this.maxDepth = maxDepth;
+        this.maxSamples = maxSamples;
+    }
+    
+    /**
+     * 启动看门狗线程
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "atlas-log-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::safeSample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Atlas Log slow call watchdog started, threshold: {}ms, interval: {}ms",
+                TimeUnit.NANOSECONDS.toMillis(thresholdNanos), intervalMillis);
+    }
+    
+    private void safeSample() {
+        try {
+            sample();
+        } catch (Throwable t) {
+            // 异常会终止周期任务，这里吞掉以保证看门狗继续运行
+            log.warn("Slow call watchdog sampling failed", t);
+        }
+    }
+    
+    /**
+     * 扫描一次并对超时调用采样
+     */
+    void sample() {
+        long now = System.nanoTime();
+        List<InFlightInvocation> slowCalls = new ArrayList<>();
+        registry.forEach(invocation -> {
+            if (now - invocation.getStartNanos() < thresholdNanos) {
+                return;
+            }
+            StackProfile profile = invocation.getProfile();
+            if (profile == null || profile.getSamples() < maxSamples) {
+                slowCalls.add(invocation);
+            }
+        });
+        if (slowCalls.isEmpty()) {
+            return;
+        }
+        
+        // 同一线程上嵌套的多个慢调用共享一次采样
+        Map<Long, ThreadInfo> infos = new HashMap<>();
+        long[] threadIds = new long[slowCalls.size()];
+        int distinct = 0;
+        for (InFlightInvocation invocation : slowCalls) {
+            long id = invocation.getThread().getId();
+            if (!infos.containsKey(id)) {
+                infos.put(id, null);
+                threadIds[distinct++] = id;
+            }
+        }
+        long[] ids = distinct == threadIds.length ? threadIds : Arrays.copyOf(threadIds, distinct);
+        for (ThreadInfo info : threadMXBean.getThreadInfo(ids, maxDepth)) {
+            if (info != null) {
+                infos.put(info.getThreadId(), info);
+            }
+        }
+        
+        for (InFlightInvocation invocation : slowCalls) {
+            ThreadInfo info = infos.get(invocation.getThread().getId());
+            // 采样期间调用可能已经结束，线程在执行别的代码，此时丢弃该样本
+            if (info != null && registry.isActive(invocation)) {
+                invocation.getOrCreateProfile(MAX_STACKS).add(info.getStackTrace());
+            }
+        }
+    }
+    
+    /**
+     * 停止看门狗线程
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 最近一段时间内最慢的 K 次调用
+ * <p>
+ * 入选门槛（当前第 K 慢的耗时）和最早过期时间保存在 volatile 字段中，绝大多数调用只做两次比较即可返回，
+ * 不加锁、不渲染参数。只有可能进入 Top-K 的调用才会序列化参数和返回值，然后在锁内完成替换。
+ * 超过窗口的样本会被淘汰，因此列表反映的是“最近”的慢调用，而不是启动以来的历史最慢。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class SlowestInvocations {
+    
+    private static final String RENDER_FAILED = "[序列化失败]";
+    
+    private final int capacity;
+    private final long windowMillis;
+    private final InvocationSample[] samples;
+    private int size;
+    
+    private volatile long admissionMicros = -1;
+    private volatile long admissionExpiresAt = Long.MAX_VALUE;
+    
+    /**
+     * @param capacity 保留的调用数
+     * @param windowMillis 样本保留时长（毫秒）
+     */
+    public SlowestInvocations(int capacity, long windowMillis) {
+        this.capacity = Math.max(1, capacity);
+        this.windowMillis = windowMillis;
+        this.samples = new InvocationSample[this.capacity];
+    }
+    
+    /**
+     * 本次耗时是否可能进入 Top-K（无锁快速判断）
+     */
+    public boolean isCandidate(long latencyMicros, long nowMillis) {
+        return latencyMicros > admissionMicros || nowMillis >= admissionExpiresAt;
+    }
+    
+    /**
+     * 尝试加入一次调用，只有可能入选时才会调用 args/result 进行渲染
+     *
+     * @param latencyMicros 耗时（微秒）
+     * @param traceId TraceId
+     * @param nowMillis 当前时间（毫秒）
+     * @param args 参数渲染，可为 null
+     * @param result 返回值渲染，可为 null
+     * @param exception 调用抛出的异常，可为 null
+     * @return 是否入选
+     */
+    public boolean offer(long latencyMicros, String traceId, long nowMillis,
+                         Supplier<String> args, Supplier<String> result, Throwable exception) {
+        if (!isCandidate(latencyMicros, nowMillis)) {
+            return false;
+        }
+        // 渲染放在锁外，并发入选时可能白做一次，但不会阻塞其他线程
+        InvocationSample sample = new InvocationSample(latencyMicros, traceId, nowMillis,
+                render(args), render(result), describe(exception));
+        synchronized (this) {
+            evictExpired(nowMillis);
+            if (size < capacity) {
+                samples[size++] = sample;
+            } else {
+                int fastest = 0;
+                for (int i = 1; i < size; i++) {
+                    if (samples[i].getLatencyMicros() < samples[fastest].getLatencyMicros()) {
+                        fastest = i;
+                    }
+                }
+                if (latencyMicros <= samples[fastest].getLatencyMicros()) {
+                    return false;
+                }
+                samples[fastest] = sample;
+            }
+            updateAdmission();
+            return true;
+        }
+    }
+    
+    /**
+     * 窗口内的样本，按耗时降序
+     */
+    public List<InvocationSample> snapshot(long nowMillis) {
+        List<InvocationSample> result = new ArrayList<>(capacity);
+        synchronized (this) {
+            for (int i = 0; i < size; i++) {
+                if (nowMillis - samples[i].getTimestamp() < windowMillis) {
+                    result.add(samples[i]);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(InvocationSample::getLatencyMicros).reversed());
+        return Collections.unmodifiableList(result);
+    }
+    
+    private void evictExpired(long nowMillis) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (nowMillis - samples[i].getTimestamp() < windowMillis) {
+                samples[kept++] = samples[i];
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            samples[i] = null;
+        }
+        size = kept;
+    }
+    
+    private void updateAdmission() {
+        long oldest = Long.MAX_VALUE;
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            oldest = Math.min(oldest, samples[i].getTimestamp());
+            fastest = Math.min(fastest, samples[i].getLatencyMicros());
+        }
+        admissionMicros = size < capacity ? -1 : fastest;
+        admissionExpiresAt = size == 0 ? Long.MAX_VALUE : oldest + windowMillis;
+    }
+    
+    private static String render(Supplier<String> supplier) {
+        if (supplier == null) {
+            return null;
+        }
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            return RENDER_FAILED;
+        }
+    }
+    
+    private static String describe(Throwable exception) {
+        if (exception == null) {
+            return null;
+        }
+        return exception.getClass().getName() + ": " + exception.getMessage();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单次慢调用的栈采样汇总
+ * <p>
+ * 相同的栈只计数，不重复保存；栈以折叠格式（根在前，{@code ;} 分隔）作为键，可直接用于火焰图工具。
+ * 不同栈的数量超过上限后，新出现的栈只计入 {@link #getDroppedSamples()}。
+ * 采样深度受限时只保留靠近栈顶的帧，折叠栈的根部会被截断。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class StackProfile {
+    
+    private final int maxStacks;
+    private final Map<String, int[]> stacks = new HashMap<>();
+    private int samples;
+    private int droppedSamples;
+    
+    StackProfile(int maxStacks) {
+        this.maxStacks = maxStacks;
+    }
+    
+    /**
+     * 追加一次采样
+     * 
+     * @param frames 栈帧，栈顶在前（与 {@link Thread#getStackTrace()} 相同）
+     */
+    synchronized void add(StackTraceElement[] frames) {
+        samples++;
+        String key = fold(frames);
+        int[] count = stacks.get(key);
+        if (count != null) {
+            count[0]++;
+        } else if (stacks.size() < maxStacks) {
+            stacks.put(key, new int[] {1});
+        } else {
+            droppedSamples++;
+        }
+    }
+    
+    /**
+     * 采样总次数
+     */
+    public synchronized int getSamples() {
+        return samples;
+    }
+    
+    /**
+     * 因不同栈过多而未单独记录的采样数
+     */
+    public synchronized int getDroppedSamples() {
+        return droppedSamples;
+    }
+    
+    /**
+     * 出现次数最多的若干个栈，按次数降序，每个元素为“次数 折叠栈”
+     */
+    public synchronized List<String> top(int limit) {
+        List<Map.Entry<String, int[]>> entries = new ArrayList<>(stacks.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+        List<String> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            result.add(entries.get(i).getValue()[0] + " " + entries.get(i).getKey());
+        }
+        return result;
+    }
+    
+    private static String fold(StackTraceElement[] frames) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = frames.length - 1; i >= 0; i--) {
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            StackTraceElement frame = frames[i];
+            sb.append(frame.getClassName()).append('.').append(frame.getMethodName());
+            if (frame.getLineNumber() > 0) {
+                sb.append(':').append(frame.getLineNumber());
+            }
+        }
+        return sb.toString();
+    }
+}
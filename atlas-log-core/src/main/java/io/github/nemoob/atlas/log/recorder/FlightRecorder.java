@@ -0,0 +1,275 @@
+package io.github.nemoob.atlas.log.recorder;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.JsonLineBuffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 最近日志事件的内存飞行记录器
+ * <p>
+ * 事件渲染成 JSON 后拷贝进一块固定大小的字节环，元数据（序号、时间、级别、位置、同 TraceId 的上一条）
+ * 保存在按槽位索引的基本类型数组里，记录事件不产生需要长期保留的对象。
+ * 槽位数或字节环任一写满后，最旧的事件被覆盖。
+ * </p>
+ * <p>
+ * TraceId 索引是一个开放寻址哈希表，键是 TraceId 的 64 位哈希，值是该 TraceId 最新一条事件的序号；
+ * 同一 TraceId 的事件通过槽位上的 "上一条序号" 串成链表。探测长度有上限，表满时复用已过期或最旧的位置，
+ * 因此查询和写入的开销都是常数级；被覆盖的事件通过序号校验自动失效。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class FlightRecorder {
+    
+    private static final int MAX_PROBES = 8;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    
+    private final int slotMask;
+    private final long[] sequences;
+    private final long[] timestamps;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final byte[] levels;
+    private final long[] previousInTrace;
+    private final String[] traceIds;
+    private final byte[] data;
+    
+    private final int indexMask;
+    private final long[] indexKeys;
+    private final long[] indexHeads;
+    
+    private final ThreadLocal<JsonLineBuffer> encoders = ThreadLocal.withInitial(() -> new JsonLineBuffer(1024));
+    private final LongAdder recordedEvents = new LongAdder();
+    private final LongAdder oversizedEvents = new LongAdder();
+    private volatile boolean embedJsonPayloads;
+    
+    // 以下字段由 this 保护
+    private long nextSequence = 1;
+    private long writtenBytes;
+    
+    /**
+     * @param capacity 最多保留的事件数，向上取整为 2 的幂
+     * @param maxBytes 事件内容占用的最大字节数，超过 1/4 的单个事件不记录
+     */
+    public FlightRecorder(int capacity, int maxBytes) {
+        if (capacity <= 0 || capacity > (1 << 24)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 16777216, got: " + capacity);
+        }
+        if (maxBytes < 4096) {
+            throw new IllegalArgumentException("maxBytes must be at least 4096, got: " + maxBytes);
+        }
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slotMask = slots - 1;
+        this.sequences = new long[slots];
+        this.timestamps = new long[slots];
+        this.offsets = new long[slots];
+        this.lengths = new int[slots];
+        this.levels = new byte[slots];
+        this.previousInTrace = new long[slots];
+        this.traceIds = new String[slots];
+        this.data = new byte[maxBytes];
+        this.indexMask = slots * 2 - 1;
+        this.indexKeys = new long[slots * 2];
+        this.indexHeads = new long[slots * 2];
+    }
+    
+    /**
+     * 参数和返回值是合法 JSON 时是否原样嵌入，默认按字符串写入
+     */
+    public void setEmbedJsonPayloads(boolean embedJsonPayloads) {
+        this.embedJsonPayloads = embedJsonPayloads;
+    }
+    
+    /**
+     * 记录一条事件
+     */
+    public void record(LogLevel level, AtlasLogEvent event) {
+        long timestamp = System.currentTimeMillis();
+        JsonLineBuffer encoder = encoders.get();
+        try {
+            encoder.raw('{').key("timestamp").number(timestamp);
+            encoder.field("level", level.name());
+            encoder.field("thread", Thread.currentThread().getName());
+            encoder.eventFields(event, embedJsonPayloads).raw('}');
+            if (encoder.size() > data.length / 4) {
+                oversizedEvents.increment();
+                return;
+            }
+            append(timestamp, level, event.getTraceId(), encoder.array(), encoder.size());
+        } finally {
+            encoder.reset(MAX_RETAINED_BUFFER);
+        }
+    }
+    
+    private synchronized void append(long timestamp, LogLevel level, String traceId, byte[] bytes, int length) {
+        long sequence = nextSequence++;
+        int slot = (int) (sequence & slotMask);
+        int position = (int) (writtenBytes % data.length);
+        int first = Math.min(length, data.length - position);
+        System.arraycopy(bytes, 0, data, position, first);
+        if (first < length) {
+            System.arraycopy(bytes, first, data, 0, length - first);
+        }
+        sequences[slot] = sequence;
+        timestamps[slot] = timestamp;
+        offsets[slot] = writtenBytes;
+        lengths[slot] = length;
+        levels[slot] = (byte) level.ordinal();
+        traceIds[slot] = traceId;
+        previousInTrace[slot] = traceId != null ? index(traceId, sequence) : 0;
+        writtenBytes += length;
+        recordedEvents.increment();
+    }
+    
+    /**
+     * 把事件登记为该 TraceId 的最新事件，返回同一 TraceId 的上一条事件序号（没有时为 0）
+     */
+    private long index(String traceId, long sequence) {
+        long key = hash(traceId);
+        int start = (int) (key & indexMask);
+        int reusable = -1;
+        int oldest = start;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int position = (start + i) & indexMask;
+            if (indexKeys[position] == key) {
+                long previous = indexHeads[position];
+                indexHeads[position] = sequence;
+                return isLive(previous) ? previous : 0;
+            }
+            if (reusable < 0 && (indexKeys[position] == 0 || !isLive(indexHeads[position]))) {
+                reusable = position;
+            }
+            if (indexHeads[position] < indexHeads[oldest]) {
+                oldest = position;
+            }
+        }
+        int position = reusable >= 0 ? reusable : oldest;
+        indexKeys[position] = key;
+        indexHeads[position] = sequence;
+        return 0;
+    }
+    
+    /**
+     * 事件是否还在记录器中：槽位未被新事件占用，内容也未被字节环覆盖
+     */
+    private boolean isLive(long sequence) {
+        if (sequence <= 0) {
+            return false;
+        }
+        int slot = (int) (sequence & slotMask);
+        return sequences[slot] == sequence && offsets[slot] >= writtenBytes - data.length;
+    }
+    
+    private static long hash(String traceId) {
+        long h = 1125899906842597L;
+        for (int i = 0; i < traceId.length(); i++) {
+            h = 31 * h + traceId.charAt(i);
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        // 0 表示空位置
+        return h != 0 ? h : 1;
+    }
+    
+    /**
+     * 某个 TraceId 仍在记录器中的事件，按时间先后排列
+     */
+    public synchronized List<RecordedEvent> findByTraceId(String traceId, int limit) {
+        long key = hash(traceId);
+        int start = (int) (key & indexMask);
+        List<RecordedEvent> events = new ArrayList<>();
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int position = (start + i) & indexMask;
+            if (indexKeys[position] != key) {
+                continue;
+            }
+            long sequence = indexHeads[position];
+            while (isLive(sequence) && events.size() < limit) {
+                int slot = (int) (sequence & slotMask);
+                if (traceId.equals(traceIds[slot])) {
+                    events.add(snapshot(slot));
+                }
+                sequence = previousInTrace[slot];
+            }
+            break;
+        }
+        Collections.reverse(events);
+        return events;
+    }
+    
+    /**
+     * 时间窗口内的事件，按时间先后排列；超过 {@code limit} 时返回最近的 {@code limit} 条
+     *
+     * @param fromMillis 起始时间（含），毫秒时间戳
+     * @param toMillis 结束时间（含），毫秒时间戳
+     */
+    public synchronized List<RecordedEvent> findByTime(long fromMillis, long toMillis, int limit) {
+        List<RecordedEvent> events = new ArrayList<>();
+        for (long sequence = nextSequence - 1; sequence > 0 && events.size() < limit; sequence--) {
+            if (!isLive(sequence)) {
+                break;
+            }
+            int slot = (int) (sequence & slotMask);
+            long timestamp = timestamps[slot];
+            if (timestamp >= fromMillis && timestamp <= toMillis) {
+                events.add(snapshot(slot));
+            }
+        }
+        Collections.reverse(events);
+        return events;
+    }
+    
+    private RecordedEvent snapshot(int slot) {
+        int length = lengths[slot];
+        byte[] bytes = new byte[length];
+        int position = (int) (offsets[slot] % data.length);
+        int first = Math.min(length, data.length - position);
+        System.arraycopy(data, position, bytes, 0, first);
+        if (first < length) {
+            System.arraycopy(data, 0, bytes, first, length - first);
+        }
+        return new RecordedEvent(sequences[slot], timestamps[slot], LogLevel.values()[levels[slot]],
+                traceIds[slot], new String(bytes, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 仍在记录器中的事件数
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (long sequence = nextSequence - 1; sequence > 0 && isLive(sequence); sequence--) {
+            size++;
+        }
+        return size;
+    }
+    
+    public int getCapacity() {
+        return slotMask + 1;
+    }
+    
+    public int getMaxBytes() {
+        return data.length;
+    }
+    
+    /**
+     * 启动以来记录的事件总数（含已被覆盖的）
+     */
+    public long getRecordedEvents() {
+        return recordedEvents.sum();
+    }
+    
+    /**
+     * 因超过字节环 1/4 而未记录的事件数
+     */
+    public long getOversizedEvents() {
+        return oversizedEvents.sum();
+    }
+}
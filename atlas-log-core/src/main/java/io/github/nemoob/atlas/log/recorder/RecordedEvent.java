@@ -0,0 +1,60 @@
+package io.github.nemoob.atlas.log.recorder;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+
+/**
+ * 飞行记录器中的一条事件：查询时从字节环中拷贝出来的快照
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class RecordedEvent {
+    
+    private final long sequence;
+    private final long timestamp;
+    private final LogLevel level;
+    private final String traceId;
+    private final String json;
+    
+    public RecordedEvent(long sequence, long timestamp, LogLevel level, String traceId, String json) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.traceId = traceId;
+        this.json = json;
+    }
+    
+    /**
+     * 记录器内的递增序号
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * 记录时间（毫秒时间戳）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public LogLevel getLevel() {
+        return level;
+    }
+    
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    /**
+     * 事件的 JSON 表示，字段与结构化日志相同
+     */
+    public String getJson() {
+        return json;
+    }
+    
+    @Override
+    public String toString() {
+        return json;
+    }
+}
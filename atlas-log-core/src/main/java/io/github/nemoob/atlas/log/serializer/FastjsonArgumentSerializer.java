@@ -23,6 +23,7 @@ public class FastjsonArgumentSerializer implements ArgumentSerializer {
     
     private final SensitiveDataMasker sensitiveDataMasker;
     private final ArgumentFormatConfig argumentFormatConfig;
+    private volatile SerializationBudget serializationBudget;
     
     public FastjsonArgumentSerializer(SensitiveDataMasker sensitiveDataMasker, 
                                      ArgumentFormatConfig argumentFormatConfig) {
@@ -36,6 +37,13 @@ public class FastjsonArgumentSerializer implements ArgumentSerializer {
         this.argumentFormatConfig = new ArgumentFormatConfig();
     }
     
+    /**
+     * 设置序列化内存预算，为 null 时不限制
+     */
+    public void setSerializationBudget(SerializationBudget serializationBudget) {
+        this.serializationBudget = serializationBudget;
+    }
+    
     @Override
     public String serializeArgs(Object[] args, Log annotation) {
         if (args == null || args.length == 0) {
@@ -52,20 +60,33 @@ public class FastjsonArgumentSerializer implements ArgumentSerializer {
                 maskedArgs.add(maskedArg);
             }
             
-            // 根据配置选择序列化格式
-            String result;
-            if (argumentFormatConfig.getType() == ArgumentFormatType.KEY_VALUE) {
-                result = serializeArgsAsKeyValue(maskedArgs);
-            } else {
-                // 使用 Fastjson 序列化，禁用循环引用检测
-                result = JSON.toJSONString(maskedArgs, 
-                    JSONWriter.Feature.ReferenceDetection,
-                    JSONWriter.Feature.IgnoreNonFieldGetter,
-                    JSONWriter.Feature.WriteNullListAsEmpty,
-                    JSONWriter.Feature.WriteNullStringAsEmpty);
+            // 预算不足时只输出摘要
+            SerializationBudget budget = serializationBudget;
+            long reserved = budget != null ? PayloadSizeEstimator.estimate(maskedArgs) : 0;
+            if (budget != null && !budget.tryReserve(reserved)) {
+                return summarize(filteredArgs, maskedArgs);
             }
             
-            return truncateIfNecessary(result, annotation.maxArgLength());
+            try {
+                // 根据配置选择序列化格式
+                String result;
+                if (argumentFormatConfig.getType() == ArgumentFormatType.KEY_VALUE) {
+                    result = serializeArgsAsKeyValue(maskedArgs);
+                } else {
+                    // 使用 Fastjson 序列化，禁用循环引用检测
+                    result = JSON.toJSONString(maskedArgs, 
+                        JSONWriter.Feature.ReferenceDetection,
+                        JSONWriter.Feature.IgnoreNonFieldGetter,
+                        JSONWriter.Feature.WriteNullListAsEmpty,
+                        JSONWriter.Feature.WriteNullStringAsEmpty);
+                }
+                
+                return truncateIfNecessary(result, annotation.maxArgLength());
+            } finally {
+                if (budget != null) {
+                    budget.release(reserved);
+                }
+            }
         } catch (Exception e) {
             log.warn("Fastjson parameter serialization failed", e);
             return serializeArgsWithFallback(args, annotation, e);
@@ -80,15 +101,7 @@ public class FastjsonArgumentSerializer implements ArgumentSerializer {
         
         try {
             Object maskedResult = sensitiveDataMasker.maskSensitiveData(result);
-            
-            // 使用 Fastjson 序列化，禁用循环引用检测
-            String serialized = JSON.toJSONString(maskedResult,
-                JSONWriter.Feature.ReferenceDetection,
-                JSONWriter.Feature.IgnoreNonFieldGetter,
-                JSONWriter.Feature.WriteNullListAsEmpty,
-                JSONWriter.Feature.WriteNullStringAsEmpty);
-            
-            return truncateIfNecessary(serialized, annotation.maxResultLength());
+            return toBudgetedJson(result, maskedResult, annotation.maxResultLength());
         } catch (Exception e) {
             log.warn("Fastjson result serialization failed", e);
             return serializeResultWithFallback(result, annotation, e);
@@ -103,19 +116,57 @@ public class FastjsonArgumentSerializer implements ArgumentSerializer {
         
         try {
             Object maskedObj = sensitiveDataMasker.maskSensitiveData(obj);
-            
+            return toBudgetedJson(obj, maskedObj, maxLength);
+        } catch (Exception e) {
+            log.warn("Fastjson object serialization failed: {}", obj.getClass().getSimpleName(), e);
+            return serializeObjectWithFallback(obj, maxLength, e);
+        }
+    }
+    
+    /**
+     * 在预算内把单个对象序列化为 JSON，预算不足时输出摘要
+     */
+    private String toBudgetedJson(Object original, Object masked, int maxLength) {
+        SerializationBudget budget = serializationBudget;
+        long reserved = budget != null ? PayloadSizeEstimator.estimate(masked) : 0;
+        if (budget != null && !budget.tryReserve(reserved)) {
+            return SerializationBudget.BUDGET_EXCEEDED + describe(original, reserved) + "]";
+        }
+        try {
             // 使用 Fastjson 序列化，禁用循环引用检测
-            String result = JSON.toJSONString(maskedObj,
+            String result = JSON.toJSONString(masked,
                 JSONWriter.Feature.ReferenceDetection,
                 JSONWriter.Feature.IgnoreNonFieldGetter,
                 JSONWriter.Feature.WriteNullListAsEmpty,
                 JSONWriter.Feature.WriteNullStringAsEmpty);
             
             return truncateIfNecessary(result, maxLength);
-        } catch (Exception e) {
-            log.warn("Fastjson object serialization failed: {}", obj.getClass().getSimpleName(), e);
-            return serializeObjectWithFallback(obj, maxLength, e);
+        } finally {
+            if (budget != null) {
+                budget.release(reserved);
+            }
+        }
+    }
+    
+    /**
+     * 预算不足时的参数摘要：基本类型原样输出，其他对象输出类型和估算大小
+     */
+    private String summarize(List<Object> originalArgs, List<Object> maskedArgs) {
+        StringBuilder sb = new StringBuilder(SerializationBudget.BUDGET_EXCEEDED);
+        for (int i = 0; i < originalArgs.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(describe(originalArgs.get(i), PayloadSizeEstimator.estimate(maskedArgs.get(i))));
+        }
+        return sb.append(']').toString();
+    }
+    
+    private String describe(Object obj, long estimatedBytes) {
+        if (obj == null || isPrimitiveOrWrapper(obj)) {
+            return String.valueOf(obj);
         }
+        return PayloadSizeEstimator.describe(obj) + " ~" + PayloadSizeEstimator.formatBytes(estimatedBytes);
     }
     
     /**
@@ -0,0 +1,210 @@
+package io.github.nemoob.atlas.log.serializer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 估算对象序列化为 JSON 后的字节数（按 UTF-16 字符串计）
+ * <p>
+ * 只做有界的抽样遍历：集合、数组、Map 取前几个元素求平均再乘以元素个数，普通对象按字段递归，
+ * 遍历的节点数和深度都有上限，超出部分按固定值估算。估算值用于 {@link SerializationBudget} 预留，
+ * 不追求精确，只需要在数量级上反映大对象。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class PayloadSizeEstimator {
+    
+    private static final int SAMPLE_ELEMENTS = 8;
+    private static final int MAX_NODES = 256;
+    private static final int MAX_DEPTH = 4;
+    private static final long SCALAR_BYTES = 16;
+    private static final long OPAQUE_BYTES = 64;
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return serializableFields(type);
+        }
+    };
+    
+    private PayloadSizeEstimator() {
+    }
+    
+    /**
+     * 估算序列化后的字节数
+     */
+    public static long estimate(Object obj) {
+        return new Walk().estimate(obj, 0);
+    }
+    
+    /**
+     * 对象的简短描述，如 {@code ArrayList[size=10000]}、{@code String[length=5242880]}
+     */
+    public static String describe(Object obj) {
+        if (obj == null) {
+            return "null";
+        }
+        String type = obj.getClass().getSimpleName();
+        if (obj instanceof CharSequence) {
+            return type + "[length=" + ((CharSequence) obj).length() + "]";
+        }
+        if (obj instanceof Collection) {
+            return type + "[size=" + ((Collection<?>) obj).size() + "]";
+        }
+        if (obj instanceof Map) {
+            return type + "[size=" + ((Map<?, ?>) obj).size() + "]";
+        }
+        if (obj.getClass().isArray()) {
+            return obj.getClass().getComponentType().getSimpleName() + "[length=" + Array.getLength(obj) + "]";
+        }
+        return type;
+    }
+    
+    /**
+     * 以 B/KB/MB 表示字节数
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        }
+        if (bytes < 1024 * 1024) {
+            return Math.round(bytes / 102.4) / 10.0 + "KB";
+        }
+        return Math.round(bytes / 104857.6) / 10.0 + "MB";
+    }
+    
+    private static final class Walk {
+        private int nodes;
+        
+        private long estimate(Object obj, int depth) {
+            if (obj == null) {
+                return 4;
+            }
+            if (++nodes > MAX_NODES || depth > MAX_DEPTH) {
+                return OPAQUE_BYTES;
+            }
+            if (obj instanceof CharSequence) {
+                // UTF-16 字符加引号和少量转义
+                return 2L * ((CharSequence) obj).length() + 8;
+            }
+            if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character || obj instanceof Enum) {
+                return SCALAR_BYTES;
+            }
+            Class<?> clazz = obj.getClass();
+            if (clazz.isArray()) {
+                return estimateArray(obj, depth);
+            }
+            if (obj instanceof Collection) {
+                Collection<?> collection = (Collection<?>) obj;
+                return estimateElements(collection.iterator(), collection.size(), depth);
+            }
+            if (obj instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) obj;
+                return estimateElements(map.entrySet().iterator(), map.size(), depth);
+            }
+            if (obj instanceof Map.Entry) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+                return estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1) + 2;
+            }
+            return estimateFields(obj, clazz, depth);
+        }
+        
+        private long estimateArray(Object array, int depth) {
+            int length = Array.getLength(array);
+            Class<?> component = array.getClass().getComponentType();
+            if (component.isPrimitive()) {
+                return charsPerElement(component) * 2L * length + 8;
+            }
+            List<Object> sample = new ArrayList<>(Math.min(length, SAMPLE_ELEMENTS));
+            for (int i = 0; i < length && i < SAMPLE_ELEMENTS; i++) {
+                sample.add(Array.get(array, i));
+            }
+            return estimateElements(sample.iterator(), length, depth);
+        }
+        
+        private long estimateElements(Iterator<?> iterator, int size, int depth) {
+            if (size == 0) {
+                return 2;
+            }
+            long sampled = 0;
+            int count = 0;
+            try {
+                while (iterator.hasNext() && count < SAMPLE_ELEMENTS) {
+                    sampled += estimate(iterator.next(), depth + 1) + 2;
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                // 并发修改等情况按已抽样的部分估算
+            }
+            if (count == 0) {
+                return OPAQUE_BYTES * size;
+            }
+            return sampled / count * size + 2;
+        }
+        
+        private long estimateFields(Object obj, Class<?> clazz, int depth) {
+            Field[] fields = FIELDS.get(clazz);
+            if (fields.length == 0) {
+                return OPAQUE_BYTES;
+            }
+            long total = 2;
+            for (Field field : fields) {
+                try {
+                    total += 2L * field.getName().length() + 6 + estimate(field.get(obj), depth + 1);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    total += OPAQUE_BYTES;
+                }
+            }
+            return total;
+        }
+    }
+    
+    /**
+     * 基本类型数组每个元素输出的大致字符数（含分隔符）
+     */
+    private static int charsPerElement(Class<?> component) {
+        if (component == char.class) {
+            return 1;
+        }
+        if (component == long.class || component == double.class) {
+            return 20;
+        }
+        if (component == int.class || component == float.class) {
+            return 12;
+        }
+        return 6;
+    }
+    
+    /**
+     * 可读取的实例字段；JDK 内部类型不反射，按固定大小估算
+     */
+    private static Field[] serializableFields(Class<?> clazz) {
+        String name = clazz.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.")) {
+            return NO_FIELDS;
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    fields.add(field);
+                } catch (RuntimeException e) {
+                    // 模块系统不允许访问的字段跳过
+                }
+            }
+        }
+        return fields.toArray(NO_FIELDS);
+    }
+}
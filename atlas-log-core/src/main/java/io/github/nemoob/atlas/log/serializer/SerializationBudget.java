@@ -0,0 +1,122 @@
+package io.github.nemoob.atlas.log.serializer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程级的序列化内存预算
+ * <p>
+ * 每次序列化参数或返回值前按估算大小预留字节数，结束后归还。所有线程共享一个无锁计数器，
+ * 预留失败（在途字节数将超过上限）的调用改为输出摘要（类型和估算大小），因此无论并发多高，
+ * 日志渲染产生的临时字符串总量都有上限。单个超过上限的对象永远不会被完整序列化。
+ * 默认序列化器自行预留，注解指定的自定义格式化器由切面在调用前预留。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class SerializationBudget {
+    
+    /**
+     * 预算不足时摘要的前缀
+     */
+    public static final String BUDGET_EXCEEDED = "[BUDGET_EXCEEDED: ";
+    
+    private static final long WARN_INTERVAL_MILLIS = 60_000;
+    
+    private final long maxInFlightBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicLong peakBytes = new AtomicLong();
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final AtomicLong lastWarnAt = new AtomicLong();
+    
+    /**
+     * @param maxInFlightBytes 同时处于渲染中的最大字节数
+     */
+    public SerializationBudget(long maxInFlightBytes) {
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+    
+    /**
+     * 尝试预留字节数，成功后必须调用 {@link #release(long)} 归还
+     *
+     * @return 是否预留成功
+     */
+    public boolean tryReserve(long bytes) {
+        long current;
+        long next;
+        do {
+            current = inFlightBytes.get();
+            next = current + bytes;
+            if (bytes > maxInFlightBytes || next > maxInFlightBytes) {
+                reject(bytes, current);
+                return false;
+            }
+        } while (!inFlightBytes.compareAndSet(current, next));
+        reservations.increment();
+        updatePeak(next);
+        return true;
+    }
+    
+    /**
+     * 归还预留的字节数
+     */
+    public void release(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+    }
+    
+    private void reject(long bytes, long current) {
+        rejections.increment();
+        long now = System.currentTimeMillis();
+        long last = lastWarnAt.get();
+        if (now - last >= WARN_INTERVAL_MILLIS && lastWarnAt.compareAndSet(last, now)) {
+            log.warn("Serialization budget exhausted ({} of {} bytes in flight, requested {}), logging summaries instead; {} rejections so far",
+                    current, maxInFlightBytes, bytes, rejections.sum());
+        }
+    }
+    
+    private void updatePeak(long value) {
+        long peak;
+        while (value > (peak = peakBytes.get())) {
+            if (peakBytes.compareAndSet(peak, value)) {
+                return;
+            }
+        }
+    }
+    
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+    
+    /**
+     * 当前在途字节数
+     */
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+    
+    /**
+     * 启动以来在途字节数的峰值
+     */
+    public long getPeakBytes() {
+        return peakBytes.get();
+    }
+    
+    /**
+     * 预留成功次数
+     */
+    public long getReservations() {
+        return reservations.sum();
+    }
+    
+    /**
+     * 预留失败（降级为摘要）次数
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.nemoob.atlas.log.sink;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+
+/**
+ * 日志事件 Sink
+ * <p>
+ * 与 SLF4J 并列的输出通道：切面在正常输出日志之外，把每个 {@link AtlasLogEvent} 交给 Sink。
+ * 适合方法级日志量非常大、通用 Appender（每条加锁、逐条写 OutputStream）成为瓶颈的场景。
+ * 实现必须在 {@link #append} 返回前完成对事件的读取，并且不能抛出异常影响业务调用。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public interface LogSink extends AutoCloseable {
+    
+    /**
+     * 追加一个日志事件
+     * 
+     * @param level 日志级别
+     * @param event 日志事件，消息已设置
+     */
+    void append(LogLevel level, AtlasLogEvent event);
+    
+    /**
+     * 把已缓冲的事件写出
+     */
+    void flush();
+    
+    /**
+     * 写出剩余事件并释放资源
+     */
+    @Override
+    void close();
+}
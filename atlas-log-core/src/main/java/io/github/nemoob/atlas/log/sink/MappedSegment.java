@@ -0,0 +1,120 @@
+package io.github.nemoob.atlas.log.sink;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * 预分配并映射到内存的段文件
+ * <p>
+ * 非线程安全，由 {@link MappedSegmentSink} 在段锁内访问。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class MappedSegment {
+    
+    private final Path path;
+    private final long createdAt;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int position = SegmentFormat.HEADER_SIZE;
+    private boolean sealed;
+    
+    MappedSegment(Path path, int capacity, long createdAt) throws IOException {
+        this.path = path;
+        this.capacity = capacity;
+        this.createdAt = createdAt;
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            file.setLength(capacity);
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        buffer.putInt(SegmentFormat.MAGIC_OFFSET, SegmentFormat.MAGIC);
+        buffer.putShort(SegmentFormat.VERSION_OFFSET, SegmentFormat.VERSION);
+        buffer.putShort(SegmentFormat.FLAGS_OFFSET, (short) 0);
+        buffer.putLong(SegmentFormat.CREATED_AT_OFFSET, createdAt);
+        buffer.putLong(SegmentFormat.COMMITTED_OFFSET, position);
+    }
+    
+    /**
+     * 单个批次最多能写入的字节数
+     */
+    static int maxPayload(int capacity) {
+        return capacity - SegmentFormat.HEADER_SIZE - SegmentFormat.FRAME_HEADER_SIZE;
+    }
+    
+    /**
+     * 追加一个批次帧
+     * 
+     * @return 剩余空间不足时返回 false，不写入任何内容
+     */
+    boolean append(byte[] data, int offset, int length, CRC32 crc) {
+        if (sealed || length <= 0 || position + SegmentFormat.FRAME_HEADER_SIZE + length > capacity) {
+            return false;
+        }
+        int payloadStart = position + SegmentFormat.FRAME_HEADER_SIZE;
+        buffer.position(payloadStart);
+        buffer.put(data, offset, length);
+        crc.reset();
+        crc.update(data, offset, length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // length 最后写入，写了一半的帧读起来就是尾部标记
+        buffer.putInt(position, length);
+        position = payloadStart + length;
+        buffer.putLong(SegmentFormat.COMMITTED_OFFSET, position);
+        return true;
+    }
+    
+    /**
+     * 把已写入的页刷到磁盘
+     */
+    void force() {
+        if (!sealed) {
+            buffer.force();
+        }
+    }
+    
+    /**
+     * 标记为已封存、刷盘，截掉预分配的空白区并关闭文件
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        buffer.putShort(SegmentFormat.FLAGS_OFFSET, SegmentFormat.FLAG_SEALED);
+        buffer.force();
+        sealed = true;
+        try {
+            file.getChannel().truncate(position);
+        } catch (IOException e) {
+            // 部分平台不允许截断仍被映射的文件，保留预分配大小不影响读取
+        } finally {
+            file.close();
+        }
+    }
+    
+    boolean isEmpty() {
+        return position == SegmentFormat.HEADER_SIZE;
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    long getCreatedAt() {
+        return createdAt;
+    }
+    
+    int getPosition() {
+        return position;
+    }
+}
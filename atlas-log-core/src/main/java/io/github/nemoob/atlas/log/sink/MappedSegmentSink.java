@@ -0,0 +1,376 @@
+package io.github.nemoob.atlas.log.sink;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.compress.BackgroundCompressor;
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.JsonLineBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * 写入内存映射段文件的日志 Sink
+ * <p>
+ * 每个线程把事件编码成 JSON 行追加到自己的缓冲区（只有该线程和刷写线程会竞争这把锁），
+ * 缓冲区满 {@code bufferBytes} 后作为一个批次拷贝进当前段；后台刷写线程按固定间隔把所有线程缓冲区的剩余内容写入段、
+ * 刷盘，并按时间滚动。段按大小或时间滚动，超过 {@code maxSegments} 后删除最旧的段。
+ * 段文件格式见 {@link SegmentFormat}，读取使用 {@link SegmentReader}。
+ * 设置了 {@link BackgroundCompressor} 时，封存的段在后台压缩为 {@code .seg.z}，保留策略和读取同样适用于压缩的段。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class MappedSegmentSink implements LogSink {
+    
+    private final Path directory;
+    private final String filePrefix;
+    private final int segmentBytes;
+    private final long rollIntervalMillis;
+    private final int bufferBytes;
+    private final int maxSegments;
+    private final BackgroundCompressor compressor;
+    
+    private final List<ThreadBuffer> threadBuffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> localBuffer = ThreadLocal.withInitial(this::registerThreadBuffer);
+    private final Object segmentLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService flusher;
+    
+    private final LongAdder appendedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder writtenBatches = new LongAdder();
+    private final LongAdder writtenBytes = new LongAdder();
+    private final LongAdder rolledSegments = new LongAdder();
+    
+    private MappedSegment segment;
+    private long nextSequence;
+    private boolean terminated;
+    private volatile boolean closed;
+    private volatile boolean embedJsonPayloads;
+    
+    /**
+     * @param directory 段文件目录，不存在时自动创建
+     * @param filePrefix 段文件名前缀
+     * @param segmentBytes 单个段文件大小（预分配）
+     * @param rollIntervalMillis 按时间滚动的间隔（毫秒），0 表示只按大小滚动
+     * @param flushIntervalMillis 后台刷写间隔（毫秒）
+     * @param bufferBytes 每个线程缓冲区的批次大小
+     * @param maxSegments 最多保留的段文件数，0 表示不限制
+     */
+    public MappedSegmentSink(Path directory, String filePrefix, int segmentBytes, long rollIntervalMillis,
+                             long flushIntervalMillis, int bufferBytes, int maxSegments) throws IOException {
+        this(directory, filePrefix, segmentBytes, rollIntervalMillis, flushIntervalMillis, bufferBytes, maxSegments, null);
+    }
+    
+    /**
+     * @param compressor 压缩封存段的后台压缩器，为 null 时不压缩；上次运行遗留的未压缩段会重新提交
+     */
+    public MappedSegmentSink(Path directory, String filePrefix, int segmentBytes, long rollIntervalMillis,
+                             long flushIntervalMillis, int bufferBytes, int maxSegments,
+                             BackgroundCompressor compressor) throws IOException {
+        if (segmentBytes <= SegmentFormat.HEADER_SIZE + SegmentFormat.FRAME_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentBytes is too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.segmentBytes = segmentBytes;
+        this.rollIntervalMillis = rollIntervalMillis;
+        this.bufferBytes = bufferBytes;
+        this.maxSegments = maxSegments;
+        this.compressor = compressor;
+        Files.createDirectories(directory);
+        List<Path> existing = listSegments();
+        this.nextSequence = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+        if (compressor != null) {
+            for (Path path : existing) {
+                if (!BlockCompression.isCompressed(path)) {
+                    compressor.submit(path);
+                }
+            }
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "atlas-log-sink-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::backgroundFlush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 参数和返回值是合法 JSON 时是否原样嵌入，默认按字符串写入
+     */
+    public void setEmbedJsonPayloads(boolean embedJsonPayloads) {
+        this.embedJsonPayloads = embedJsonPayloads;
+    }
+    
+    @Override
+    public void append(LogLevel level, AtlasLogEvent event) {
+        if (closed) {
+            droppedEvents.increment();
+            return;
+        }
+        ThreadBuffer threadBuffer = localBuffer.get();
+        synchronized (threadBuffer) {
+            JsonLineBuffer buffer = threadBuffer.buffer;
+            buffer.raw('{').key("timestamp").number(System.currentTimeMillis());
+            buffer.field("level", level.name());
+            buffer.field("thread", Thread.currentThread().getName());
+            buffer.eventFields(event, embedJsonPayloads).raw('}').raw('\n');
+            threadBuffer.events++;
+            appendedEvents.increment();
+            if (buffer.size() >= bufferBytes) {
+                drain(threadBuffer);
+            }
+        }
+    }
+    
+    @Override
+    public void flush() {
+        for (ThreadBuffer threadBuffer : threadBuffers) {
+            synchronized (threadBuffer) {
+                drain(threadBuffer);
+            }
+        }
+        synchronized (segmentLock) {
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (segmentLock) {
+            sealCurrent();
+            terminated = true;
+        }
+    }
+    
+    private ThreadBuffer registerThreadBuffer() {
+        ThreadBuffer threadBuffer = new ThreadBuffer(Thread.currentThread(), Math.min(bufferBytes, 8192));
+        threadBuffers.add(threadBuffer);
+        return threadBuffer;
+    }
+    
+    /**
+     * 把线程缓冲区作为一个批次写入当前段，调用方持有该缓冲区的锁
+     */
+    private void drain(ThreadBuffer threadBuffer) {
+        JsonLineBuffer buffer = threadBuffer.buffer;
+        if (buffer.size() == 0) {
+            return;
+        }
+        writeBatch(buffer.array(), buffer.size(), threadBuffer.events);
+        threadBuffer.events = 0;
+        buffer.reset(bufferBytes * 2);
+    }
+    
+    private void writeBatch(byte[] data, int length, int events) {
+        synchronized (segmentLock) {
+            if (length > MappedSegment.maxPayload(segmentBytes)) {
+                droppedEvents.add(events);
+                log.warn("Atlas log sink batch of {} bytes exceeds segment size {}, dropped {} events",
+                        length, segmentBytes, events);
+                return;
+            }
+            if (segment == null || !segment.append(data, 0, length, crc)) {
+                roll();
+                if (segment == null || !segment.append(data, 0, length, crc)) {
+                    droppedEvents.add(events);
+                    return;
+                }
+            }
+            writtenBatches.increment();
+            writtenBytes.add(length);
+        }
+    }
+    
+    private void backgroundFlush() {
+        try {
+            flush();
+            synchronized (segmentLock) {
+                if (segment != null && rollIntervalMillis > 0 && !segment.isEmpty()
+                        && System.currentTimeMillis() - segment.getCreatedAt() >= rollIntervalMillis) {
+                    // 下一个段在有新数据时才创建，空闲期不会产生空文件
+                    sealCurrent();
+                }
+            }
+            // 已结束线程的缓冲区刚刚写空，可以移除
+            for (ThreadBuffer threadBuffer : threadBuffers) {
+                Thread owner = threadBuffer.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    synchronized (threadBuffer) {
+                        drain(threadBuffer);
+                        threadBuffers.remove(threadBuffer);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Atlas log sink background flush failed", e);
+        }
+    }
+    
+    /**
+     * 封存当前段并打开下一个段，调用方持有段锁
+     */
+    private void roll() {
+        sealCurrent();
+        if (terminated) {
+            return;
+        }
+        Path path = directory.resolve(String.format("%s-%010d%s", filePrefix, nextSequence++, SegmentFormat.SUFFIX));
+        try {
+            segment = new MappedSegment(path, segmentBytes, System.currentTimeMillis());
+        } catch (IOException e) {
+            segment = null;
+            log.warn("Failed to create Atlas log segment {}", path, e);
+            return;
+        }
+        enforceRetention();
+    }
+    
+    private void sealCurrent() {
+        if (segment == null) {
+            return;
+        }
+        MappedSegment sealed = segment;
+        segment = null;
+        try {
+            sealed.seal();
+            rolledSegments.increment();
+            onSegmentSealed(sealed.getPath());
+        } catch (IOException e) {
+            log.warn("Failed to seal Atlas log segment {}", sealed.getPath(), e);
+        }
+    }
+    
+    /**
+     * 段封存后的回调，在段锁内调用；默认实现在设置了压缩器时提交后台压缩，
+     * 子类可在此安排上传等后续处理，覆盖时应调用父类实现
+     */
+    protected void onSegmentSealed(Path path) {
+        if (compressor != null) {
+            compressor.submit(path);
+        }
+    }
+    
+    private void enforceRetention() {
+        if (maxSegments <= 0) {
+            return;
+        }
+        List<Path> files = listSegments();
+        for (int i = 0; i < files.size() - maxSegments; i++) {
+            try {
+                // 压缩中的段可能同时存在两种形式
+                Path path = BlockCompression.uncompressedPath(files.get(i));
+                Files.deleteIfExists(path);
+                Files.deleteIfExists(BlockCompression.compressedPath(path));
+            } catch (IOException e) {
+                log.warn("Failed to delete old Atlas log segment {}", files.get(i), e);
+            }
+        }
+    }
+    
+    /**
+     * 目录下属于本 Sink 的段文件（含压缩的段），按序号升序；
+     * 压缩尚未完成、两种形式同时存在时返回未压缩的段
+     */
+    public List<Path> listSegments() {
+        Map<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                filePrefix + "-*" + SegmentFormat.SUFFIX + "{," + BlockCompression.SUFFIX + "}")) {
+            for (Path path : stream) {
+                long sequence = sequenceOf(path);
+                if (sequence >= 0 && (!files.containsKey(sequence) || !BlockCompression.isCompressed(path))) {
+                    files.put(sequence, path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list Atlas log segments in {}", directory, e);
+        }
+        return new ArrayList<>(files.values());
+    }
+    
+    private long sequenceOf(Path path) {
+        String name = BlockCompression.uncompressedPath(path).getFileName().toString();
+        String sequence = name.substring(filePrefix.length() + 1, name.length() - SegmentFormat.SUFFIX.length());
+        if (sequence.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!Character.isDigit(sequence.charAt(i))) {
+                return -1;
+            }
+        }
+        return Long.parseLong(sequence);
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    public long getAppendedEvents() {
+        return appendedEvents.sum();
+    }
+    
+    /**
+     * 因关闭、批次过大或段文件创建失败而丢弃的事件数
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+    
+    public long getWrittenBatches() {
+        return writtenBatches.sum();
+    }
+    
+    public long getWrittenBytes() {
+        return writtenBytes.sum();
+    }
+    
+    public long getRolledSegments() {
+        return rolledSegments.sum();
+    }
+    
+    /**
+     * 线程缓冲区，持有者线程追加、刷写线程定期取走
+     */
+    private static final class ThreadBuffer {
+        private final WeakReference<Thread> owner;
+        private final JsonLineBuffer buffer;
+        private int events;
+        
+        private ThreadBuffer(Thread owner, int initialCapacity) {
+            this.owner = new WeakReference<>(owner);
+            this.buffer = new JsonLineBuffer(initialCapacity);
+        }
+    }
+}
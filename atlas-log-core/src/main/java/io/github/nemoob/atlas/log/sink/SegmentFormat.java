@@ -0,0 +1,43 @@
+package io.github.nemoob.atlas.log.sink;
+
+/**
+ * 段文件格式
+ * <p>
+ * 段文件预分配为固定大小，开头是 32 字节的文件头，之后是连续的批次帧：
+ * </p>
+ * <pre>
+ * 文件头  magic(4) | version(2) | flags(2) | createdAt(8) | committed(8) | reserved(8)
+ * 批次帧  length(4) | crc32(4) | payload(length)
+ * </pre>
+ * <p>
+ * payload 是若干 UTF-8 JSON 行。写入顺序为 payload → crc → length，最后更新文件头的 committed，
+ * length 为 0 的位置（预分配的空白区）即为尾部标记。进程崩溃后最多丢失正在写入的一个批次：
+ * 写了一半的帧 length 仍为 0 或 CRC 不匹配，读取时会在此停止。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class SegmentFormat {
+    
+    static final int MAGIC = 0x41544C53;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int FRAME_HEADER_SIZE = 8;
+    
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int FLAGS_OFFSET = 6;
+    static final int CREATED_AT_OFFSET = 8;
+    static final int COMMITTED_OFFSET = 16;
+    
+    /**
+     * 段已写满或已关闭，不会再追加
+     */
+    static final short FLAG_SEALED = 1;
+    
+    static final String SUFFIX = ".seg";
+    
+    private SegmentFormat() {
+    }
+}
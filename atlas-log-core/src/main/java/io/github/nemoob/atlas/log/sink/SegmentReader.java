@@ -0,0 +1,234 @@
+package io.github.nemoob.atlas.log.sink;
+
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+import io.github.nemoob.atlas.log.compress.BlockInputStream;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 段文件读取器
+ * <p>
+ * 逐行返回段文件中的 JSON 事件。遇到尾部标记（length 为 0）或文件结尾时正常结束；
+ * 遇到越界或 CRC 不匹配的帧（进程崩溃时写了一半）时停止，并通过 {@link #isTruncated()} 报告。
+ * 正在写入的段也可以读取，只能看到读取时已经提交的批次。
+ * 压缩后的段（{@code .seg.z}）边读边解压，解压失败同样视为损坏。
+ * </p>
+ *
+ * <pre>
+ * try (SegmentReader reader = SegmentReader.open(path)) {
+ *     String line;
+ *     while ((line = reader.nextLine()) != null) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class SegmentReader implements Closeable {
+    
+    private final Closeable source;
+    private final ByteBuffer buffer;
+    private final DataInputStream stream;
+    private final long size;
+    private final long createdAt;
+    private final boolean sealed;
+    private final CRC32 crc = new CRC32();
+    
+    private byte[] payload = new byte[0];
+    private int payloadLength;
+    private int lineStart;
+    private long position = SegmentFormat.HEADER_SIZE;
+    private boolean truncated;
+    private boolean finished;
+    
+    /**
+     * 未压缩的段：整个文件映射到内存
+     */
+    private SegmentReader(FileChannel channel) throws IOException {
+        this.source = channel;
+        this.size = channel.size();
+        if (size < SegmentFormat.HEADER_SIZE) {
+            throw new IOException("Not an Atlas log segment: file is only " + size + " bytes");
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        this.stream = null;
+        this.createdAt = readHeader(buffer);
+        this.sealed = (buffer.getShort(SegmentFormat.FLAGS_OFFSET) & SegmentFormat.FLAG_SEALED) != 0;
+    }
+    
+    /**
+     * 压缩的段：顺序解压，内存占用与压缩块大小相当
+     */
+    private SegmentReader(BlockInputStream in) throws IOException {
+        this.source = in;
+        this.size = in.getOriginalSize();
+        this.buffer = null;
+        this.stream = new DataInputStream(in);
+        ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_SIZE);
+        try {
+            stream.readFully(header.array());
+        } catch (EOFException e) {
+            throw new IOException("Not an Atlas log segment: header is incomplete");
+        }
+        this.createdAt = readHeader(header);
+        this.sealed = (header.getShort(SegmentFormat.FLAGS_OFFSET) & SegmentFormat.FLAG_SEALED) != 0;
+    }
+    
+    private static long readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(SegmentFormat.MAGIC_OFFSET) != SegmentFormat.MAGIC) {
+            throw new IOException("Not an Atlas log segment: bad magic");
+        }
+        short version = buffer.getShort(SegmentFormat.VERSION_OFFSET);
+        if (version != SegmentFormat.VERSION) {
+            throw new IOException("Unsupported Atlas log segment version: " + version);
+        }
+        return buffer.getLong(SegmentFormat.CREATED_AT_OFFSET);
+    }
+    
+    /**
+     * 打开段文件，压缩的段（{@code .seg.z}）自动解压
+     * 
+     * @throws IOException 文件不存在或不是段文件
+     */
+    public static SegmentReader open(Path path) throws IOException {
+        if (BlockCompression.isCompressed(path)) {
+            BlockInputStream in = BlockInputStream.open(path);
+            try {
+                return new SegmentReader(in);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new SegmentReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * 下一行事件（不含换行符），读完返回 null
+     */
+    public String nextLine() {
+        while (true) {
+            for (int i = lineStart; i < payloadLength; i++) {
+                if (payload[i] == '\n') {
+                    String line = new String(payload, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                    lineStart = i + 1;
+                    return line;
+                }
+            }
+            if (lineStart < payloadLength) {
+                // 批次末尾没有换行符的残留内容
+                String line = new String(payload, lineStart, payloadLength - lineStart, StandardCharsets.UTF_8);
+                lineStart = payloadLength;
+                return line;
+            }
+            if (!nextFrame()) {
+                return null;
+            }
+        }
+    }
+    
+    private boolean nextFrame() {
+        if (finished) {
+            return false;
+        }
+        if (position + SegmentFormat.FRAME_HEADER_SIZE > size) {
+            finished = true;
+            return false;
+        }
+        int length;
+        int expectedCrc;
+        try {
+            length = readInt();
+            if (length == 0) {
+                finished = true;
+                return false;
+            }
+            expectedCrc = readInt();
+            if (length < 0 || position + length > size) {
+                truncated = true;
+                finished = true;
+                return false;
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            read(payload, length);
+        } catch (IOException e) {
+            // 压缩块损坏
+            truncated = true;
+            finished = true;
+            return false;
+        }
+        crc.reset();
+        crc.update(payload, 0, length);
+        if ((int) crc.getValue() != expectedCrc) {
+            truncated = true;
+            finished = true;
+            return false;
+        }
+        payloadLength = length;
+        lineStart = 0;
+        return true;
+    }
+    
+    private int readInt() throws IOException {
+        int value;
+        if (stream != null) {
+            value = stream.readInt();
+        } else {
+            value = buffer.getInt((int) position);
+        }
+        position += 4;
+        return value;
+    }
+    
+    private void read(byte[] target, int length) throws IOException {
+        if (stream != null) {
+            stream.readFully(target, 0, length);
+        } else {
+            buffer.position((int) position);
+            buffer.get(target, 0, length);
+        }
+        position += length;
+    }
+    
+    /**
+     * 是否在损坏的帧处提前结束
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+    
+    /**
+     * 段是否已封存（写满或 Sink 已关闭）
+     */
+    public boolean isSealed() {
+        return sealed;
+    }
+    
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
@@ -0,0 +1,302 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.annotation.Logs;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.metrics.HistogramSnapshot;
+import io.github.nemoob.atlas.log.metrics.LatencyHistogram;
+import io.github.nemoob.atlas.log.metrics.ResourceAccounting;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 切面分配与延迟回归测试
+ * <p>
+ * 对几种标准场景测量每次调用的分配字节数（线程分配计数器）和延迟分位数，与
+ * {@code performance-baseline.properties} 中的基线比较，超出容差即失败并列出差异。
+ * 分配量在同一 JDK 下非常稳定，是主要的判定依据；延迟只比较 p50，p99 受机器负载影响太大，只输出不判定。
+ * 不同 JDK 的分配量差异较大，场景基线按 {@code java.specification.version} 分开保存（如 {@code 17.noop.allocatedBytes}），
+ * 当前 JDK 没有任何基线时整个测试类跳过，并在输出中明确提示回归保护未生效。
+ * </p>
+ * <p>
+ * 重新生成基线：{@code mvn test -pl atlas-log-core -Dtest=AspectPerformanceRegressionTest -Datlas.log.perf.updateBaseline=true}，
+ * 实测值写入 {@code target/performance-baseline.properties}，确认后覆盖 {@code src/test/resources} 下的文件。
+ * 不需要运行时可用 {@code -DexcludedGroups=performance} 排除。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Tag("performance")
+class AspectPerformanceRegressionTest {
+    
+    private static final String BASELINE_RESOURCE = "/performance-baseline.properties";
+    private static final String UPDATE_PROPERTY = "atlas.log.perf.updateBaseline";
+    private static final String JAVA_VERSION = System.getProperty("java.specification.version");
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 10_000;
+    
+    private static final ResourceAccounting accounting = new ResourceAccounting(null);
+    private static final Map<String, Measurement> measurements = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static Properties baseline;
+    
+    private PerformanceFixture proxy;
+    
+    @BeforeAll
+    static void loadBaseline() throws IOException {
+        assumeTrue(accounting.currentThreadAllocatedBytes() >= 0, "Thread allocation counters are not available");
+        baseline = new Properties();
+        try (InputStream in = AspectPerformanceRegressionTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            assertNotNull(in, "Missing baseline " + BASELINE_RESOURCE);
+            baseline.load(in);
+        }
+        if (!Boolean.getBoolean(UPDATE_PROPERTY) && !hasBaselineForCurrentJdk()) {
+            String message = "AspectPerformanceRegressionTest is INACTIVE on Java " + JAVA_VERSION + ": "
+                    + BASELINE_RESOURCE + " has no '" + JAVA_VERSION + ".*' entries, rerun with -D"
+                    + UPDATE_PROPERTY + "=true on this JDK to generate them";
+            System.out.println("WARNING: " + message);
+            assumeTrue(false, message);
+        }
+        // 日志照常生成事件，但不做格式化和输出，避免控制台 I/O 干扰测量
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(PerformanceFixture.class);
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+    
+    @AfterAll
+    static void writeMeasurements() throws IOException {
+        if (!Boolean.getBoolean(UPDATE_PROPERTY) || measurements.isEmpty()) {
+            return;
+        }
+        Properties updated = new Properties();
+        updated.putAll(baseline);
+        for (Map.Entry<String, Measurement> entry : measurements.entrySet()) {
+            updated.setProperty(scenarioKey(entry.getKey(), "allocatedBytes"), String.valueOf(entry.getValue().allocatedBytes));
+            updated.setProperty(scenarioKey(entry.getKey(), "p50Micros"), String.valueOf(entry.getValue().p50Micros));
+        }
+        Path target = Paths.get("target", "performance-baseline.properties");
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            updated.store(out, "Measured on Java " + System.getProperty("java.version"));
+        }
+        System.out.println("Performance baseline written to " + target.toAbsolutePath());
+    }
+    
+    @BeforeEach
+    void setUp() {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PerformanceFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+        TraceIdHolder.setTraceId("perf-regression-trace");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TraceIdHolder.clear();
+    }
+    
+    @Test
+    void testNoop() {
+        verify("noop", () -> proxy.noop(1));
+    }
+    
+    @Test
+    void testTemplateExpression() {
+        Order order = new Order("ORD-1001", 10001L);
+        verify("template", () -> proxy.template(order));
+    }
+    
+    @Test
+    void testArgsAndResult() {
+        Order order = new Order("ORD-1001", 10001L);
+        verify("argsAndResult", () -> proxy.argsAndResult(order));
+    }
+    
+    @Test
+    void testStacked() {
+        Order order = new Order("ORD-1001", 10001L);
+        verify("stacked", () -> proxy.stacked(order));
+    }
+    
+    private void verify(String scenario, Runnable call) {
+        boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+        assumeTrue(update || baseline.containsKey(scenarioKey(scenario, "allocatedBytes")),
+                () -> "No " + scenario + " baseline for Java " + JAVA_VERSION + ", rerun with -D" + UPDATE_PROPERTY
+                        + "=true to generate it");
+        Measurement measurement = measure(call);
+        measurements.put(scenario, measurement);
+        if (update) {
+            System.out.println("[" + scenario + "] " + measurement);
+            return;
+        }
+        
+        List<String> regressions = new ArrayList<>();
+        long allocationSlack = baselineLong("allocation.slackBytes");
+        double allocationTolerance = baselineDouble("allocation.tolerance");
+        double latencyTolerance = baselineDouble("latency.tolerance");
+        compare(regressions, scenario, "allocatedBytes", "B", measurement.allocatedBytes, allocationTolerance, allocationSlack);
+        compare(regressions, scenario, "p50Micros", "us", measurement.p50Micros, latencyTolerance, 0);
+        assertTrue(regressions.isEmpty(), () -> "Performance regression against " + BASELINE_RESOURCE
+                + " on Java " + JAVA_VERSION + " (rerun with -D" + UPDATE_PROPERTY + "=true if the change is intended):\n"
+                + String.join("\n", regressions) + "\n  measured: " + measurement);
+    }
+    
+    private static void compare(List<String> regressions, String scenario, String metric, String unit,
+                                long actual, double tolerance, long slack) {
+        long expected = baselineLong(scenarioKey(scenario, metric));
+        long limit = (long) (expected * (1 + tolerance)) + slack;
+        if (actual > limit) {
+            regressions.add(String.format("  %s.%s: baseline %d%s, actual %d%s (%+.1f%%), limit %d%s",
+                    scenario, metric, expected, unit, actual, unit,
+                    expected > 0 ? (actual - expected) * 100.0 / expected : 100.0, limit, unit));
+        }
+    }
+    
+    private static Measurement measure(Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        
+        long startAllocated = accounting.currentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            call.run();
+        }
+        long allocatedPerCall = (accounting.currentThreadAllocatedBytes() - startAllocated) / MEASURED_CALLS;
+        
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            long start = System.nanoTime();
+            call.run();
+            histogram.recordNanos(System.nanoTime() - start);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        return new Measurement(allocatedPerCall, snapshot.getPercentile(0.50), snapshot.getPercentile(0.99));
+    }
+    
+    private static boolean hasBaselineForCurrentJdk() {
+        String prefix = JAVA_VERSION + ".";
+        return baseline.stringPropertyNames().stream().anyMatch(key -> key.startsWith(prefix));
+    }
+    
+    private static String scenarioKey(String scenario, String metric) {
+        return JAVA_VERSION + "." + scenario + "." + metric;
+    }
+    
+    private static long baselineLong(String key) {
+        String value = baseline.getProperty(key);
+        assertNotNull(value, () -> "Baseline " + BASELINE_RESOURCE + " has no entry '" + key
+                + "', rerun with -D" + UPDATE_PROPERTY + "=true to generate it");
+        return Long.parseLong(value.trim());
+    }
+    
+    private static double baselineDouble(String key) {
+        String value = baseline.getProperty(key);
+        assertNotNull(value, () -> "Baseline " + BASELINE_RESOURCE + " has no entry '" + key + "'");
+        return Double.parseDouble(value.trim());
+    }
+    
+    private static final class Measurement {
+        private final long allocatedBytes;
+        private final long p50Micros;
+        private final long p99Micros;
+        
+        private Measurement(long allocatedBytes, long p50Micros, long p99Micros) {
+            this.allocatedBytes = allocatedBytes;
+            this.p50Micros = p50Micros;
+            this.p99Micros = p99Micros;
+        }
+        
+        @Override
+        public String toString() {
+            return "allocated " + allocatedBytes + "B/call, p50 " + p50Micros + "us, p99 " + p99Micros + "us";
+        }
+    }
+    
+    static class PerformanceFixture {
+        
+        @Log("noop")
+        public int noop(int value) {
+            return value + 1;
+        }
+        
+        @Log("用户 #{args[0].userId} 查询订单 #{args[0].orderId}")
+        public Order template(Order order) {
+            return order;
+        }
+        
+        @Log(value = "下单", logArgs = true, logResult = true)
+        public Order argsAndResult(Order order) {
+            return order;
+        }
+        
+        @Logs({
+            @Log(value = "审计: #{args[0].orderId}", tags = "audit"),
+            @Log(value = "业务", logArgs = true, tags = "business"),
+            @Log(value = "结果", logResult = true, tags = "result")
+        })
+        public Order stacked(Order order) {
+            return order;
+        }
+    }
+    
+    public static class Order {
+        private final String orderId;
+        private final Long userId;
+        
+        public Order(String orderId, Long userId) {
+            this.orderId = orderId;
+            this.userId = userId;
+        }
+        
+        public String getOrderId() {
+            return orderId;
+        }
+        
+        public Long getUserId() {
+            return userId;
+        }
+    }
+}
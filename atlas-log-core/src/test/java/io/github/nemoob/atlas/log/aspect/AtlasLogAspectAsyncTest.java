@@ -0,0 +1,211 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.exception.ExceptionDeduplicator;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.metrics.OverheadGovernor;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 切面异步返回值测试：每次调用在真正完成时输出一条退出或异常日志
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogAspectAsyncTest {
+    
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(60_000, 8, 100);
+    // 不设预算，只统计
+    private final OverheadGovernor governor = new OverheadGovernor(0, 0, 60_000, 10, 10, 1);
+    private ch.qos.logback.classic.Logger logger;
+    private AsyncFixture proxy;
+    
+    @BeforeEach
+    void setUp() {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+        aspect.setExceptionDeduplicator(deduplicator);
+        aspect.setOverheadGovernor(governor);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AsyncFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+        
+        logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(AsyncFixture.class);
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        TraceIdHolder.setTraceId("async-trace");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        TraceIdHolder.clear();
+    }
+    
+    private List<String> messages(Level level) {
+        return appender.list.stream()
+                .filter(event -> event.getLevel() == level)
+                .map(ILoggingEvent::getFormattedMessage)
+                .collect(Collectors.toList());
+    }
+    
+    @Test
+    void testCompletableFutureLogsOnCompletion() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> returned = proxy.future(pending);
+        assertTrue(appender.list.isEmpty(), "logged before completion");
+        
+        pending.complete("done");
+        assertEquals("done", returned.join());
+        assertEquals(1, appender.list.size());
+        assertTrue(messages(Level.INFO).get(0).contains("future"));
+        assertTrue(messages(Level.INFO).get(0).contains("async-trace"));
+    }
+    
+    @Test
+    void testCompletableFutureFailureIsUnwrapped() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> returned = proxy.future(source.thenApply(value -> value));
+        
+        source.completeExceptionally(new IllegalStateException("stock exhausted"));
+        assertThrows(CompletionException.class, returned::join);
+        
+        List<String> errors = messages(Level.ERROR);
+        assertEquals(1, appender.list.size());
+        assertEquals(1, errors.size());
+        assertEquals(IllegalStateException.class.getName(),
+                appender.list.get(0).getThrowableProxy().getClassName());
+    }
+    
+    @Test
+    void testListenableFutureLogsOnCompletion() {
+        SettableListenableFuture<String> pending = new SettableListenableFuture<>();
+        proxy.listenable(pending);
+        assertTrue(appender.list.isEmpty(), "logged before completion");
+        
+        pending.set("done");
+        assertEquals(1, messages(Level.INFO).size());
+    }
+    
+    @Test
+    void testMonoSuccessErrorAndEmpty() {
+        Mono<String> mono = proxy.mono(Mono.just("ok"));
+        assertTrue(appender.list.isEmpty(), "logged before subscription");
+        mono.block();
+        assertEquals(1, messages(Level.INFO).size());
+        
+        appender.list.clear();
+        assertThrows(IllegalStateException.class,
+                () -> proxy.mono(Mono.<String>error(new IllegalStateException("boom"))).block());
+        assertEquals(1, appender.list.size());
+        assertEquals(1, messages(Level.ERROR).size());
+        
+        appender.list.clear();
+        proxy.mono(Mono.<String>empty()).block();
+        assertEquals(1, messages(Level.INFO).size());
+        assertEquals(1, appender.list.size());
+    }
+    
+    @Test
+    void testCompletedThenCancelledMonoLogsOnce() {
+        Mono<String> mono = proxy.mono(Mono.just("first"));
+        
+        assertEquals("first", Flux.concat(mono, Mono.just("second")).next().block());
+        assertEquals("first", mono.flux().take(1).blockFirst());
+        
+        assertEquals(2, appender.list.size());
+        assertEquals(2, messages(Level.INFO).size());
+        assertEquals(0, deduplicator.getFingerprintCount());
+    }
+    
+    @Test
+    void testCancelledFluxIsNotAnError() {
+        assertEquals(2, proxy.flux(Flux.range(1, 100)).take(2).count().block());
+        proxy.flux(Flux.just(1, 2, 3)).blockLast();
+        
+        assertEquals(2, appender.list.size());
+        assertTrue(messages(Level.ERROR).isEmpty());
+        assertEquals(0, deduplicator.getFingerprintCount());
+    }
+    
+    @Test
+    void testResubscribedMonoReportsMethodTimeOnce() {
+        Mono<String> mono = proxy.slowAssembly(Mono.just("ok"));
+        mono.block();
+        mono.block();
+        
+        // 订阅耗时很短：方法返回前的 20ms 只计一次，调用方开销不能从订阅耗时中扣除
+        long methodMillis = TimeUnit.NANOSECONDS.toMillis(governor.getTotalMethodNanos());
+        assertTrue(methodMillis >= 20 && methodMillis < 40, "method time " + methodMillis + "ms");
+        assertTrue(governor.getOverheadRatio() < 1, "ratio " + governor.getOverheadRatio());
+    }
+    
+    static class AsyncFixture {
+        
+        @Log("future")
+        public CompletableFuture<String> future(CompletableFuture<String> future) {
+            return future;
+        }
+        
+        @Log("listenable")
+        public ListenableFuture<String> listenable(ListenableFuture<String> future) {
+            return future;
+        }
+        
+        @Log("mono")
+        public Mono<String> mono(Mono<String> mono) {
+            return mono;
+        }
+        
+        @Log("slowAssembly")
+        public Mono<String> slowAssembly(Mono<String> mono) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return mono;
+        }
+        
+        @Log("flux")
+        public Flux<Integer> flux(Flux<Integer> flux) {
+            return flux;
+        }
+    }
+}
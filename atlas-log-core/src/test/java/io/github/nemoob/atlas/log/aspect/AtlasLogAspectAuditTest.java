@@ -0,0 +1,104 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.audit.AuditJournal;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.metrics.OverheadGovernor;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 切面审计调用测试：等待审计落盘的时间不计入开销统计，不会使其他方法被降级
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogAspectAuditTest {
+
+    // 不设预算，只统计
+    private final OverheadGovernor governor = new OverheadGovernor(0, 0, 60_000, 10, 10, 1);
+    private Path directory;
+    private AuditJournal journal;
+    private AuditFixture proxy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+        directory = Files.createTempDirectory("atlas-audit");
+        // 提交间隔较长，每次审计调用都要等待一段时间才能落盘
+        journal = new AuditJournal(directory, "audit", 1024 * 1024, 20, 64 * 1024, 1024 * 1024);
+        aspect.setAuditJournal(journal);
+        aspect.setAuditWaitForDurability(true);
+        aspect.setOverheadGovernor(governor);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new AuditFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+        TraceIdHolder.setTraceId("audit-trace");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        TraceIdHolder.clear();
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testAuditedCallsAreNotChargedAsOverhead() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ok", proxy.transfer("id-" + i));
+            assertEquals("ok", proxy.transferAsync("id-" + i).join());
+        }
+
+        assertTrue(journal.awaitDurable(10, 5000));
+        assertEquals(0, governor.getTotalOverheadNanos());
+        assertEquals(0, governor.getTotalMethodNanos());
+
+        assertEquals("ok", proxy.query("id"));
+        assertTrue(governor.getTotalOverheadNanos() > 0);
+    }
+
+    static class AuditFixture {
+
+        @Log(value = "transfer", audit = true)
+        public String transfer(String id) {
+            return "ok";
+        }
+
+        @Log(value = "transferAsync", audit = true)
+        public CompletableFuture<String> transferAsync(String id) {
+            return CompletableFuture.completedFuture("ok");
+        }
+
+        @Log("query")
+        public String query(String id) {
+            return "ok";
+        }
+    }
+}
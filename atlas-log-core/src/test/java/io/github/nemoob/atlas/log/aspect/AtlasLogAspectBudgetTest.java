@@ -0,0 +1,138 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import io.github.nemoob.atlas.log.serializer.SerializationBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 切面序列化预算测试：注解指定的自定义格式化器同样受预算约束
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogAspectBudgetTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AtomicInteger formatted = new AtomicInteger();
+    private ch.qos.logback.classic.Logger logger;
+    private SerializationBudget budget;
+    private BudgetFixture proxy;
+
+    @BeforeEach
+    void setUp() {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        ArgumentFormatterManager formatterManager = new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json");
+        formatterManager.registerFormatter("counting", new CountingFormatter());
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                formatterManager);
+        budget = new SerializationBudget(64 * 1024);
+        aspect.setSerializationBudget(budget);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BudgetFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+
+        logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(BudgetFixture.class);
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+    }
+
+    private String output() {
+        StringBuilder builder = new StringBuilder();
+        for (ILoggingEvent event : appender.list) {
+            builder.append(event.getFormattedMessage()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testCustomFormatterRunsWithinBudget() {
+        assertEquals("OK", proxy.echo("ok"));
+
+        assertEquals(2, formatted.get());
+        assertTrue(output().contains("counting:[ok]"), output());
+        assertTrue(output().contains("counting:OK"), output());
+        assertEquals(2, budget.getReservations());
+        assertEquals(0, budget.getInFlightBytes());
+    }
+
+    @Test
+    void testCustomFormatterSkippedWhenBudgetExceeded() {
+        String huge = String.join("", Collections.nCopies(100_000, "x"));
+
+        proxy.echo(huge);
+
+        assertEquals(0, formatted.get());
+        assertTrue(output().contains(SerializationBudget.BUDGET_EXCEEDED + "Object[length=1]"), output());
+        assertTrue(output().contains(SerializationBudget.BUDGET_EXCEEDED + "String[length=100000]"), output());
+        assertEquals(2, budget.getRejections());
+        assertEquals(0, budget.getInFlightBytes());
+    }
+
+    class CountingFormatter implements ArgumentFormatter {
+
+        @Override
+        public String formatArguments(Object[] args, FormatterContext context) {
+            formatted.incrementAndGet();
+            return "counting:" + Arrays.toString(args);
+        }
+
+        @Override
+        public String formatResult(Object result, FormatterContext context) {
+            formatted.incrementAndGet();
+            return "counting:" + result;
+        }
+
+        @Override
+        public String formatHttpParameters(Map<String, String[]> parameters, FormatterContext context) {
+            return "counting:" + parameters.keySet();
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+    }
+
+    static class BudgetFixture {
+
+        @Log(value = "echo", logArgs = true, logResult = true, argumentFormatter = "counting", resultFormatter = "counting")
+        public String echo(String value) {
+            return value.toUpperCase();
+        }
+    }
+}
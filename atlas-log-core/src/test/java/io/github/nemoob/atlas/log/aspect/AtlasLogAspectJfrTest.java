@@ -0,0 +1,190 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.audit.AuditJournal;
+import io.github.nemoob.atlas.log.audit.AuditJournalReader;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.jfr.InvocationEvent;
+import io.github.nemoob.atlas.log.jfr.JfrInvocationRecorder;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 切面 JFR 独占模式测试：普通调用只生成 JFR 事件，审计调用仍写入审计日志
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogAspectJfrTest {
+    
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private ch.qos.logback.classic.Logger logger;
+    private Path directory;
+    private AuditJournal journal;
+    private Recording recording;
+    private JfrFixture proxy;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+        directory = Files.createTempDirectory("atlas-audit");
+        journal = new AuditJournal(directory, "audit", 1024 * 1024, 2, 64 * 1024, 1024 * 1024);
+        aspect.setAuditJournal(journal);
+        aspect.setJfrRecorder(new JfrInvocationRecorder());
+        aspect.setJfrExclusive(true);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new JfrFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    
+        logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(JfrFixture.class);
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    
+        recording = new Recording();
+        recording.enable(InvocationEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        TraceIdHolder.setTraceId("jfr-trace");
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        TraceIdHolder.clear();
+        recording.close();
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    private List<RecordedEvent> stopAndRead() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("atlas-jfr", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(InvocationEvent.NAME)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    private List<String> readAudit() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        for (Path file : journal.listFiles()) {
+            try (AuditJournalReader reader = AuditJournalReader.open(file)) {
+                while (reader.next()) {
+                    payloads.add(reader.getPayload());
+                }
+            }
+        }
+        return payloads;
+    }
+    
+    @Test
+    void testExclusiveModeSkipsPlainExitLogs() throws Exception {
+        assertEquals("ok", proxy.query("id-1"));
+    
+        assertTrue(appender.list.isEmpty(), "exit log written in exclusive mode");
+        List<RecordedEvent> events = stopAndRead();
+        assertEquals(1, events.size());
+        assertEquals("jfr-trace", events.get(0).getString("traceId"));
+    }
+    
+    @Test
+    void testAuditedCallsBypassExclusiveMode() throws Exception {
+        assertEquals("ok", proxy.transfer("id-2"));
+        assertTrue(journal.awaitDurable(1, 5000));
+    
+        List<String> payloads = readAudit();
+        assertEquals(1, payloads.size());
+        assertTrue(payloads.get(0).contains("\"traceId\":\"jfr-trace\""), payloads.get(0));
+        assertTrue(payloads.get(0).contains("transfer"), payloads.get(0));
+        assertEquals(1, appender.list.size());
+        assertEquals(1, stopAndRead().size());
+    }
+    
+    @Test
+    void testResubscribedMonoCommitsOneEvent() throws Exception {
+        Mono<String> mono = proxy.mono(Mono.just("ok"));
+        assertEquals("ok", mono.block());
+        assertEquals("ok", mono.block());
+        
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> flaky = Mono.fromCallable(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("retry me");
+            }
+            return "recovered";
+        });
+        assertEquals("recovered", proxy.mono(flaky).retry(2).block());
+        
+        List<RecordedEvent> events = stopAndRead();
+        assertEquals(2, events.size());
+        assertNull(events.get(0).getString("errorClass"));
+        // 第一次订阅失败时提交，之后的重试不再改写同一个事件
+        assertEquals(IllegalStateException.class.getName(), events.get(1).getString("errorClass"));
+    }
+    
+    static class JfrFixture {
+    
+        @Log("query")
+        public String query(String id) {
+            return "ok";
+        }
+    
+        @Log(value = "transfer", audit = true)
+        public String transfer(String id) {
+            return "ok";
+        }
+        
+        @Log("mono")
+        public Mono<String> mono(Mono<String> mono) {
+            return mono;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.nemoob.atlas.log.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.annotation.Log;
+import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.metrics.ResourceAccounting;
+import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatterManager;
+import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
+import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
+import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 切面资源统计测试：只统计 proceed() 期间的消耗，切面自身的参数序列化和日志输出不计入
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogAspectResourceTest {
+
+    private static final Pattern ALLOCATED = Pattern.compile("Allocated: (\\d+)B");
+    // 参数序列化需要数 MB，方法本身几乎不分配
+    private static final long MAX_METHOD_BYTES = 64 * 1024;
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final ResourceAccounting accounting = new ResourceAccounting(null);
+    private ch.qos.logback.classic.Logger logger;
+    private ResourceFixture proxy;
+    private List<String> items;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(accounting.currentThreadAllocatedBytes() >= 0, "Thread allocation counters are not available");
+        SensitiveDataMasker masker = new SensitiveDataMasker(true);
+        AtlasLogAspect aspect = new AtlasLogAspect(
+                new SpelExpressionEvaluator(null, true, 1000, true),
+                new FastjsonArgumentSerializer(masker),
+                new JsonPathCompareProcessor(new JsonPathValueExtractor(true)),
+                new ArgumentFormatterManager(new JsonArgumentFormatter(masker), "json"));
+        aspect.setResourceAccounting(accounting);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ResourceFixture());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+
+        logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ResourceFixture.class);
+        appender.setContext(logger.getLoggerContext());
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        TraceIdHolder.setTraceId("resource-trace");
+
+        items = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            items.add("item-" + i + "-with-some-padding-to-serialize");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        TraceIdHolder.clear();
+    }
+
+    /**
+     * 最后一条带资源消耗的日志中的分配字节数
+     */
+    private long lastAllocatedBytes() {
+        for (int i = appender.list.size() - 1; i >= 0; i--) {
+            Matcher matcher = ALLOCATED.matcher(appender.list.get(i).getFormattedMessage());
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return fail("no resource usage logged");
+    }
+
+    @Test
+    void testArgumentSerializationNotChargedToMethod() {
+        // 第一次调用包含类加载等一次性开销
+        proxy.count(items);
+        assertEquals(items.size(), proxy.count(items));
+
+        long allocated = lastAllocatedBytes();
+        assertTrue(allocated < MAX_METHOD_BYTES, "allocated " + allocated);
+    }
+
+    @Test
+    void testAsyncResultMeasuresProceedOnly() {
+        proxy.countAsync(items).join();
+        assertEquals(items.size(), proxy.countAsync(items).join());
+
+        long allocated = lastAllocatedBytes();
+        assertTrue(allocated < MAX_METHOD_BYTES, "allocated " + allocated);
+    }
+
+    @Test
+    void testMethodAllocationsAreCounted() {
+        proxy.allocate(4 * 1024 * 1024);
+
+        long allocated = lastAllocatedBytes();
+        assertTrue(allocated >= 4 * 1024 * 1024, "allocated " + allocated);
+    }
+
+    static class ResourceFixture {
+
+        @Log(value = "count", enterMessage = "counting", logArgs = true, logResources = true)
+        public int count(List<String> items) {
+            return items.size();
+        }
+
+        @Log(value = "countAsync", enterMessage = "counting", logArgs = true, logResources = true)
+        public CompletableFuture<Integer> countAsync(List<String> items) {
+            return CompletableFuture.completedFuture(items.size());
+        }
+
+        @Log(value = "allocate", logResources = true)
+        public int allocate(int bytes) {
+            return new byte[bytes].length;
+        }
+    }
+}
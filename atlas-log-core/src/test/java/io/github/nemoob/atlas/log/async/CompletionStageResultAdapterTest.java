@@ -0,0 +1,66 @@
+package io.github.nemoob.atlas.log.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompletionStage 适配器测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class CompletionStageResultAdapterTest {
+    
+    private final CompletionStageResultAdapter adapter = new CompletionStageResultAdapter();
+    private final List<Object[]> outcomes = new ArrayList<>();
+    private final AsyncCompletionCallback callback =
+            (value, error, cancelled, elapsedNanos) -> outcomes.add(new Object[] {value, error, cancelled});
+    
+    @Test
+    void testCompletesOnceWithValue() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        
+        assertSame(future, adapter.attach(future, System.nanoTime(), callback));
+        assertTrue(outcomes.isEmpty(), "callback before completion");
+        future.complete("done");
+        future.complete("again");
+        
+        assertEquals(1, outcomes.size());
+        assertEquals("done", outcomes.get(0)[0]);
+        assertNull(outcomes.get(0)[1]);
+        assertEquals(false, outcomes.get(0)[2]);
+    }
+    
+    @Test
+    void testCompletionExceptionIsUnwrapped() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        CompletableFuture<String> source = new CompletableFuture<>();
+        // 依赖阶段收到的是 CompletionException 包装
+        CompletableFuture<String> dependent = source.thenApply(value -> value);
+        
+        adapter.attach(dependent, System.nanoTime(), callback);
+        source.completeExceptionally(failure);
+        
+        assertTrue(dependent.handle((value, error) -> error).join() instanceof CompletionException);
+        assertEquals(1, outcomes.size());
+        assertSame(failure, outcomes.get(0)[1]);
+    }
+    
+    @Test
+    void testCancellationIsNotAnError() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        
+        adapter.attach(future, System.nanoTime(), callback);
+        future.cancel(true);
+        
+        assertEquals(1, outcomes.size());
+        assertNull(outcomes.get(0)[1]);
+        assertEquals(true, outcomes.get(0)[2]);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.nemoob.atlas.log.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ListenableFuture 适配器测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class ListenableFutureResultAdapterTest {
+    
+    private final ListenableFutureResultAdapter adapter = new ListenableFutureResultAdapter();
+    private final List<Object[]> outcomes = new ArrayList<>();
+    private final AsyncCompletionCallback callback =
+            (value, error, cancelled, elapsedNanos) -> outcomes.add(new Object[] {value, error, cancelled});
+    
+    @Test
+    void testSuccessAndFailure() {
+        SettableListenableFuture<String> success = new SettableListenableFuture<>();
+        SettableListenableFuture<String> failure = new SettableListenableFuture<>();
+        IllegalStateException error = new IllegalStateException("boom");
+        
+        assertSame(success, adapter.attach(success, System.nanoTime(), callback));
+        adapter.attach(failure, System.nanoTime(), callback);
+        assertTrue(outcomes.isEmpty(), "callback before completion");
+        success.set("done");
+        failure.setException(error);
+        
+        assertEquals(2, outcomes.size());
+        assertEquals("done", outcomes.get(0)[0]);
+        assertNull(outcomes.get(0)[1]);
+        assertSame(error, outcomes.get(1)[1]);
+        assertEquals(false, outcomes.get(1)[2]);
+    }
+    
+    @Test
+    void testCancellationIsNotAnError() {
+        SettableListenableFuture<String> future = new SettableListenableFuture<>();
+        
+        adapter.attach(future, System.nanoTime(), callback);
+        future.cancel(true);
+        
+        assertEquals(1, outcomes.size());
+        assertNull(outcomes.get(0)[1]);
+        assertEquals(true, outcomes.get(0)[2]);
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.nemoob.atlas.log.async;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reactor 适配器测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class ReactorResultAdapterTest {
+    
+    private final ReactorResultAdapter adapter = new ReactorResultAdapter();
+    private final List<Outcome> outcomes = new CopyOnWriteArrayList<>();
+    private final AsyncCompletionCallback callback =
+            (value, error, cancelled, elapsedNanos) -> outcomes.add(new Outcome(value, error, cancelled, elapsedNanos));
+    
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> decorate(Mono<T> mono) {
+        return (Mono<T>) adapter.attach(mono, System.nanoTime(), callback);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> Flux<T> decorate(Flux<T> flux) {
+        return (Flux<T>) adapter.attach(flux, System.nanoTime(), callback);
+    }
+    
+    private Outcome single() {
+        assertEquals(1, outcomes.size(), "callbacks: " + outcomes);
+        return outcomes.get(0);
+    }
+    
+    @Test
+    void testMonoSuccessErrorAndEmpty() {
+        assertEquals("ok", decorate(Mono.just("ok")).block());
+        Outcome success = single();
+        assertEquals("ok", success.value);
+        assertNull(success.error);
+        assertFalse(success.cancelled);
+        
+        outcomes.clear();
+        IllegalStateException failure = new IllegalStateException("boom");
+        assertThrows(IllegalStateException.class, () -> decorate(Mono.error(failure)).block());
+        assertSame(failure, single().error);
+        
+        outcomes.clear();
+        assertNull(decorate(Mono.empty()).block());
+        Outcome empty = single();
+        assertNull(empty.value);
+        assertNull(empty.error);
+        assertFalse(empty.cancelled);
+    }
+    
+    @Test
+    void testMonoCompletedThenCancelledCallsBackOnce() {
+        Mono<String> mono = decorate(Mono.just("first"));
+        
+        // next() 收到元素后取消上游，doOnSuccess 之后还会收到取消信号
+        assertEquals("first", Flux.concat(mono, Mono.just("second")).next().block());
+        assertEquals("first", single().value);
+        assertFalse(single().cancelled);
+        
+        outcomes.clear();
+        assertEquals("first", mono.flux().take(1).blockFirst());
+        assertEquals("first", single().value);
+        assertNull(single().error);
+    }
+    
+    @Test
+    void testMonoCancelledBeforeCompletion() {
+        Mono<Long> never = decorate(Mono.delay(Duration.ofSeconds(10)));
+        
+        Throwable thrown = assertThrows(RuntimeException.class, () -> never.timeout(Duration.ofMillis(20)).block());
+        assertTrue(thrown.getCause() instanceof TimeoutException, String.valueOf(thrown));
+        Outcome cancelled = single();
+        assertTrue(cancelled.cancelled);
+        assertNull(cancelled.error);
+        assertEquals("Mono[cancelled]", cancelled.value);
+    }
+    
+    @Test
+    void testFluxCompleteErrorAndTake() {
+        assertEquals(3, decorate(Flux.just(1, 2, 3)).collectList().block().size());
+        assertEquals("Flux[3 elements]", single().value);
+        
+        outcomes.clear();
+        IllegalArgumentException failure = new IllegalArgumentException("bad");
+        assertThrows(IllegalArgumentException.class,
+                () -> decorate(Flux.just(1).concatWith(Flux.error(failure))).blockLast());
+        assertSame(failure, single().error);
+        
+        outcomes.clear();
+        assertEquals(2, decorate(Flux.range(1, 100)).take(2).count().block());
+        Outcome taken = single();
+        assertTrue(taken.cancelled);
+        assertNull(taken.error);
+        assertEquals("Flux[cancelled after 2 elements]", taken.value);
+    }
+    
+    @Test
+    void testFluxTimeoutIsCancellationNotError() {
+        Flux<Long> slow = decorate(Flux.interval(Duration.ofSeconds(10)));
+        
+        Throwable thrown = assertThrows(RuntimeException.class, () -> slow.timeout(Duration.ofMillis(20)).blockFirst());
+        assertTrue(thrown.getCause() instanceof TimeoutException, String.valueOf(thrown));
+        assertTrue(single().cancelled);
+        assertNull(single().error);
+    }
+    
+    @Test
+    void testTimingStartsAtSubscription() throws Exception {
+        Mono<String> mono = decorate(Mono.just("lazy"));
+        Thread.sleep(50);
+        
+        mono.block();
+        assertTrue(single().elapsedNanos < TimeUnit.MILLISECONDS.toNanos(40),
+                "elapsed " + single().elapsedNanos + "ns includes time before subscription");
+        
+        // 每次订阅单独计时、单独回调
+        outcomes.clear();
+        mono.block();
+        mono.block();
+        assertEquals(2, outcomes.size());
+    }
+    
+    private static final class Outcome {
+        
+        private final Object value;
+        private final Throwable error;
+        private final boolean cancelled;
+        private final long elapsedNanos;
+        
+        Outcome(Object value, Throwable error, boolean cancelled, long elapsedNanos) {
+            this.value = value;
+            this.error = error;
+            this.cancelled = cancelled;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return "Outcome{value=" + value + ", error=" + error + ", cancelled=" + cancelled + "}";
+        }
+    }
+}
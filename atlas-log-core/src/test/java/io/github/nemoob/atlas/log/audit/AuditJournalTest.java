@@ -0,0 +1,248 @@
+package io.github.nemoob.atlas.log.audit;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.compress.BackgroundCompressor;
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 审计日志测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AuditJournalTest {
+    
+    private static AtlasLogEvent event(int i) {
+        return new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXIT)
+                .setTraceId("trace-" + i)
+                .setMethod("PaymentService.transfer(TransferRequest)")
+                .setArgs("[{\"id\":" + i + "}]")
+                .setMessage("转账完成");
+    }
+    
+    private static AuditJournal open(Path directory) throws IOException {
+        return new AuditJournal(directory, "audit", 1024 * 1024, 2, 64 * 1024, 1024 * 1024);
+    }
+    
+    private static List<String> readAll(Path directory) throws IOException {
+        List<String> payloads = new ArrayList<>();
+        for (Path file : AuditJournal.listFiles(directory, "audit")) {
+            try (AuditJournalReader reader = AuditJournalReader.open(file)) {
+                while (reader.next()) {
+                    assertEquals(payloads.size() + 1, reader.getSequence());
+                    payloads.add(reader.getPayload());
+                }
+                assertFalse(reader.isTruncated(), file.toString());
+            }
+        }
+        return payloads;
+    }
+    
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    void testRecordsRoundTrip() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            AuditJournal journal = open(directory);
+            long last = 0;
+            for (int i = 0; i < 10; i++) {
+                last = journal.append(LogLevel.INFO, event(i));
+            }
+            assertTrue(journal.awaitDurable(last, 5000));
+            assertEquals(10, journal.getDurableSequence());
+            journal.close();
+            
+            List<String> payloads = readAll(directory);
+            assertEquals(10, payloads.size());
+            assertTrue(payloads.get(3).contains("\"traceId\":\"trace-3\""), payloads.get(3));
+            assertTrue(payloads.get(3).contains("\"level\":\"INFO\""));
+            assertThrows(IllegalStateException.class, () -> journal.append(LogLevel.INFO, event(11)));
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testConcurrentWritersShareCommits() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            AuditJournal journal = open(directory);
+            int threads = 8;
+            int perThread = 200;
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread writer = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            long sequence = journal.append(LogLevel.INFO, event(i));
+                            assertTrue(journal.awaitDurable(sequence, 5000));
+                        }
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    }
+                });
+                writer.start();
+                writers.add(writer);
+            }
+            start.countDown();
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            journal.close();
+            
+            assertNull(failure.get());
+            assertEquals(threads * perThread, journal.getAppendedRecords());
+            assertTrue(journal.getCommits() < threads * perThread, "commits: " + journal.getCommits());
+            assertEquals(threads * perThread, readAll(directory).size());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testRolledFilesAreCompressed() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            BackgroundCompressor compressor = new BackgroundCompressor(1, 16 * 1024);
+            // 每条记录单独提交，文件很快超过 4KB 后滚动
+            AuditJournal journal = new AuditJournal(directory, "audit", 4096, 1, 1, 1024 * 1024, compressor);
+            for (int i = 0; i < 200; i++) {
+                assertTrue(journal.awaitDurable(journal.append(LogLevel.INFO, event(i)), 5000));
+            }
+            journal.close();
+            compressor.close();
+            
+            List<Path> files = journal.listFiles();
+            assertTrue(files.size() > 2);
+            for (int i = 0; i < files.size() - 1; i++) {
+                assertTrue(BlockCompression.isCompressed(files.get(i)), files.get(i).toString());
+            }
+            assertFalse(BlockCompression.isCompressed(files.get(files.size() - 1)));
+            assertEquals(200, readAll(directory).size());
+            AuditJournalVerifier.Report report = AuditJournalVerifier.verify(directory, "audit", false);
+            assertTrue(report.isValid(), report.toString());
+            assertEquals(200, report.getRecords());
+            
+            AuditJournal reopened = open(directory);
+            assertEquals(201, reopened.append(LogLevel.INFO, event(200)));
+            reopened.close();
+            assertEquals(201, readAll(directory).size());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testRecoveryTruncatesTornTailAndContinuesSequence() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            AuditJournal journal = open(directory);
+            for (int i = 0; i < 5; i++) {
+                journal.append(LogLevel.INFO, event(i));
+            }
+            journal.close();
+            
+            // 模拟崩溃时写了一半的记录
+            Path file = journal.listFiles().get(0);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.seek(raf.length());
+                raf.writeInt(100);
+                raf.writeInt(0);
+                raf.write(new byte[20]);
+            }
+            assertFalse(AuditJournalVerifier.verify(directory, "audit", false).isValid());
+            
+            AuditJournal reopened = open(directory);
+            assertEquals(5, reopened.getDurableSequence());
+            assertEquals(6, reopened.append(LogLevel.WARN, event(5)));
+            reopened.close();
+            
+            assertEquals(6, readAll(directory).size());
+            AuditJournalVerifier.Report report = AuditJournalVerifier.verify(directory, "audit", false);
+            assertTrue(report.isValid(), report.toString());
+            assertEquals(1, report.getFirstSequence());
+            assertEquals(6, report.getLastSequence());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testVerifierReportsCorruptionAndRepairsTail() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            AuditJournal journal = open(directory);
+            for (int i = 0; i < 5; i++) {
+                journal.append(LogLevel.INFO, event(i));
+            }
+            journal.close();
+            
+            // 破坏最后一条记录的内容
+            Path file = journal.listFiles().get(0);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.seek(raf.length() - 2);
+                raf.write('x');
+            }
+            
+            AuditJournalVerifier.Report report = AuditJournalVerifier.verify(directory, "audit", false);
+            assertFalse(report.isValid());
+            assertEquals(4, report.getRecords());
+            
+            AuditJournalVerifier.Report repaired = AuditJournalVerifier.verify(directory, "audit", true);
+            assertTrue(repaired.isValid(), repaired.toString());
+            assertEquals(1, repaired.getRepaired().size());
+            assertTrue(AuditJournalVerifier.verify(directory, "audit", false).isValid());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testVerifierReportsDuplicateSequences() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-audit");
+        try {
+            AuditJournal journal = open(directory);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(journal.awaitDurable(journal.append(LogLevel.INFO, event(i)), 5000));
+            }
+            journal.close();
+            // 第二个文件重复了第一个文件的记录，且文件头声明的起始序号与实际不符
+            Files.copy(journal.listFiles().get(0), directory.resolve("audit-0000000002.journal"));
+            try (RandomAccessFile raf = new RandomAccessFile(directory.resolve("audit-0000000002.journal").toFile(), "rw")) {
+                raf.seek(8);
+                raf.writeLong(10);
+            }
+            
+            AuditJournalVerifier.Report report = AuditJournalVerifier.verify(directory, "audit", false);
+            assertFalse(report.isValid());
+            assertEquals(2, report.getFiles());
+            assertEquals(3, report.getDuplicates());
+        } finally {
+            delete(directory);
+        }
+    }
+}
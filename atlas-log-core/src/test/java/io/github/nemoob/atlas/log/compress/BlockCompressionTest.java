@@ -0,0 +1,139 @@
+package io.github.nemoob.atlas.log.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分块压缩测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class BlockCompressionTest {
+    
+    private static byte[] logLines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("{\"timestamp\":").append(1700000000000L + i)
+                    .append(",\"level\":\"INFO\",\"method\":\"OrderService.create(Order)\",\"args\":\"[{\\\"id\\\":")
+                    .append(i).append("}]\",\"executionTimeMs\":").append(i % 50).append("}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] readAll(Path path) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = BlockCompression.newInputStream(path)) {
+            byte[] buffer = new byte[1000];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    void testRoundTripAcrossBlocks() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-compress");
+        try (BlockCompressor compressor = new BlockCompressor(1, 8192)) {
+            byte[] original = logLines(2000);
+            Path source = Files.write(directory.resolve("events.seg"), original);
+            Path target = BlockCompression.compressedPath(source);
+            
+            long compressedSize = compressor.compress(source, target);
+            
+            assertEquals(Files.size(target), compressedSize);
+            assertTrue(compressedSize * 5 < original.length, "compressed " + compressedSize + " of " + original.length);
+            assertEquals(original.length, BlockCompression.originalSize(target));
+            assertArrayEquals(original, readAll(target));
+            assertEquals(source, BlockCompression.uncompressedPath(target));
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testIncompressibleBlocksAreStored() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-compress");
+        try (BlockCompressor compressor = new BlockCompressor(9, 4096)) {
+            byte[] original = new byte[10000];
+            new Random(42).nextBytes(original);
+            Path source = Files.write(directory.resolve("random.bin"), original);
+            Path target = BlockCompression.compressedPath(source);
+            
+            compressor.compress(source, target);
+            
+            assertTrue(Files.size(target) <= original.length + 24 + 3 * 12);
+            assertArrayEquals(original, readAll(target));
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testCorruptBlockIsDetected() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-compress");
+        try (BlockCompressor compressor = new BlockCompressor(1, 8192)) {
+            Path source = Files.write(directory.resolve("events.seg"), logLines(500));
+            Path target = BlockCompression.compressedPath(source);
+            compressor.compress(source, target);
+            try (RandomAccessFile raf = new RandomAccessFile(target.toFile(), "rw")) {
+                long position = raf.length() - 10;
+                raf.seek(position);
+                int value = raf.read();
+                raf.seek(position);
+                raf.write(~value);
+            }
+            
+            assertThrows(IOException.class, () -> readAll(target));
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testBackgroundCompressorReplacesFile() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-compress");
+        try {
+            byte[] original = logLines(1000);
+            Path source = Files.write(directory.resolve("events.seg"), original);
+            BackgroundCompressor compressor = new BackgroundCompressor(1, 64 * 1024);
+            compressor.submit(source);
+            compressor.submit(directory.resolve("missing.seg"));
+            compressor.close();
+            
+            assertFalse(Files.exists(source));
+            assertArrayEquals(original, readAll(BlockCompression.compressedPath(source)));
+            assertEquals(1, compressor.getCompressedFiles());
+            assertEquals(0, compressor.getFailedFiles());
+            assertEquals(original.length, compressor.getInputBytes());
+            assertTrue(compressor.getOutputBytes() < original.length);
+            
+            // 关闭后提交的文件保持原样
+            Path late = Files.write(directory.resolve("late.seg"), original);
+            compressor.submit(late);
+            assertTrue(Files.exists(late));
+        } finally {
+            delete(directory);
+        }
+    }
+}
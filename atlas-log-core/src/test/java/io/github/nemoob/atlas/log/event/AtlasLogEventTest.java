@@ -0,0 +1,58 @@
+package io.github.nemoob.atlas.log.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结构化日志事件测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class AtlasLogEventTest {
+    
+    @Test
+    void testFormatDetailsMatchesTextFormat() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setTraceId("abc123")
+                .setTags(new String[]{"order"})
+                .setArgs("[1]")
+                .setResult("\"ok\"")
+                .setExecutionTime(12)
+                .setSlowCall(true)
+                .setCpuTime(1_234_567)
+                .setAllocatedBytes(2048)
+                .setException(new IllegalStateException("库存不足"))
+                .setMessage("订单已创建");
+        
+        assertEquals("TraceId: abc123 | Tags: [order] | Args: [1] | Result: \"ok\" | ExecutionTime: 12ms"
+                + " | SlowCall: true | CpuTime: 1.23ms | Allocated: 2048B"
+                + " | Exception: IllegalStateException: 库存不足", event.formatDetails());
+        assertEquals(event.formatDetails() + " | 订单已创建", event.toString());
+    }
+    
+    @Test
+    void testUnsetFieldsAreOmitted() {
+        AtlasLogEvent event = new AtlasLogEvent().setMessage("进入");
+        
+        assertEquals("", event.formatDetails());
+        assertEquals(" | 进入", event.toString());
+        
+        event.setExecutionTime(0);
+        assertEquals("ExecutionTime: 0ms", event.formatDetails());
+    }
+    
+    @Test
+    void testFormatToAppendsToBuffer() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setTraceId("abc123")
+                .setTags(new String[]{"order", "write"})
+                .setMessage("订单已创建");
+        StringBuilder buffer = new StringBuilder("> ");
+        
+        event.formatTo(buffer);
+        
+        assertEquals("> TraceId: abc123 | Tags: [order, write] | 订单已创建", buffer.toString());
+    }
+}
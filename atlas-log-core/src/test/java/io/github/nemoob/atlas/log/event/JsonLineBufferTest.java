@@ -0,0 +1,118 @@
+package io.github.nemoob.atlas.log.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON 行缓冲区测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class JsonLineBufferTest {
+    
+    private static String text(JsonLineBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    void testNumbers() {
+        JsonLineBuffer buffer = new JsonLineBuffer(4);
+        buffer.number(0).raw(',').number(-42).raw(',').number(Long.MAX_VALUE).raw(',').number(Long.MIN_VALUE);
+        
+        assertEquals("0,-42," + Long.MAX_VALUE + "," + Long.MIN_VALUE, text(buffer));
+    }
+    
+    @Test
+    void testStringEscapingAndUtf8() {
+        JsonLineBuffer buffer = new JsonLineBuffer(4);
+        buffer.string("a\"b\\c\nd\te\u0001f中😀\uD800");
+        
+        assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001f中😀\\ud800\"", text(buffer));
+        assertArrayEquals(text(buffer).getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+    }
+    
+    @Test
+    void testEventFields() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXCEPTION)
+                .setTraceId("abc")
+                .setTags(new String[]{"pay"})
+                .setExecutionTime(3)
+                .setException(new IllegalArgumentException("bad"));
+        JsonLineBuffer buffer = new JsonLineBuffer(16);
+        buffer.raw('{').key("level").string("ERROR").eventFields(event).raw('}');
+        
+        assertEquals("{\"level\":\"ERROR\",\"traceId\":\"abc\",\"phase\":\"EXCEPTION\",\"tags\":[\"pay\"],"
+                + "\"executionTimeMs\":3,\"exception\":{\"type\":\"java.lang.IllegalArgumentException\",\"message\":\"bad\"}}",
+                text(buffer));
+    }
+    
+    @Test
+    void testPayloadsEscapedByDefault() {
+        AtlasLogEvent event = new AtlasLogEvent().setArgs("[1,\"a\"]").setResult("{\"ok\":true}");
+        JsonLineBuffer buffer = new JsonLineBuffer(16);
+        buffer.raw('{').eventFields(event).raw('}');
+        
+        assertEquals("{,\"args\":\"[1,\\\"a\\\"]\",\"result\":\"{\\\"ok\\\":true}\"}", text(buffer));
+    }
+    
+    @Test
+    void testEmbedJsonPayloads() {
+        AtlasLogEvent event = new AtlasLogEvent().setArgs("[1, \"中\\n😀\", {\"a\": null}]").setResult("-1.5e3");
+        JsonLineBuffer buffer = new JsonLineBuffer(16);
+        buffer.raw('{').eventFields(event, true).raw('}');
+        
+        assertEquals("{,\"args\":[1, \"中\\n😀\", {\"a\": null}],\"result\":-1.5e3}", text(buffer));
+        assertArrayEquals(text(buffer).getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+    }
+    
+    @Test
+    void testInvalidJsonPayloadsFallBackToStrings() {
+        String[] invalid = {"", "[1,2", "{\"a\":1}...", "[BUDGET_EXCEEDED: Object[length=1] ~1KB]",
+                "arg0=1, arg1=2", "{\"a\":1,}", "01", "[1]\n", "\"a\nb\"", "\"\\x\"", "tru",
+                "[".repeat(JsonSyntax.MAX_DEPTH + 1) + "]".repeat(JsonSyntax.MAX_DEPTH + 1)};
+        for (String value : invalid) {
+            JsonLineBuffer buffer = new JsonLineBuffer(16);
+            buffer.jsonField("args", value);
+            JsonLineBuffer expected = new JsonLineBuffer(16);
+            expected.field("args", value);
+            
+            assertEquals(text(expected), text(buffer), value);
+        }
+        assertTrue(JsonSyntax.isValue("[".repeat(JsonSyntax.MAX_DEPTH) + "]".repeat(JsonSyntax.MAX_DEPTH)));
+        assertTrue(JsonSyntax.isValue(" {\"a\":[true,false,null,0,-0.5,1E+2,\"\\u00e9\\/\"]} "));
+    }
+    
+    @Test
+    void testRenderedStackTrace() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setMessage("failed")
+                .setException(new IllegalStateException("bad"))
+                .setStackTrace("java.lang.IllegalStateException: bad\n\tat A.b(A.java:1)");
+        JsonLineBuffer buffer = new JsonLineBuffer(16);
+        buffer.raw('{').eventFields(event).raw('}');
+        
+        assertTrue(text(buffer).endsWith(",\"stackTrace\":\"java.lang.IllegalStateException: bad\\n\\tat A.b(A.java:1)\"}"),
+                text(buffer));
+        assertTrue(event.toString().endsWith("failed" + System.lineSeparator() + event.getStackTrace()));
+    }
+    
+    @Test
+    void testResetShrinksOversizedBuffer() {
+        JsonLineBuffer buffer = new JsonLineBuffer(16);
+        buffer.raw(new String(new char[10000]).replace('\0', 'x'));
+        
+        buffer.reset(4096);
+        
+        assertEquals(0, buffer.size());
+        assertEquals(16, buffer.capacity());
+        
+        buffer.raw("abc");
+        buffer.reset(4096);
+        assertEquals(16, buffer.capacity());
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.nemoob.atlas.log.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 重复异常折叠测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class ExceptionDeduplicatorTest {
+    
+    private static IllegalStateException downstreamFailure() {
+        return new IllegalStateException("connection refused");
+    }
+    
+    private static IllegalStateException otherFailure() {
+        return new IllegalStateException("connection refused");
+    }
+    
+    private static RuntimeException wrapped(Throwable cause) {
+        return new RuntimeException("call failed", cause);
+    }
+    
+    @Test
+    void testRepeatedExceptionIsCollapsedWithinWindow() {
+        ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(60_000, 8, 100);
+        
+        // 同一调用点抛出的异常栈完全相同
+        long[] times = {1000, 2000, 3000, 62_000};
+        ExceptionOccurrence[] occurrences = new ExceptionOccurrence[times.length];
+        for (int i = 0; i < times.length; i++) {
+            occurrences[i] = deduplicator.record(downstreamFailure(), times[i]);
+        }
+        
+        assertTrue(occurrences[0].isFirst());
+        assertFalse(occurrences[1].isFirst());
+        assertFalse(occurrences[2].isFirst());
+        assertEquals(3, occurrences[2].getOccurrences());
+        assertEquals(occurrences[0].getFingerprint(), occurrences[2].getFingerprint());
+        assertEquals(8, occurrences[0].getFingerprint().length());
+        assertEquals(1, deduplicator.getFingerprintCount());
+        
+        // 下一个窗口重新输出完整堆栈
+        assertTrue(occurrences[3].isFirst());
+        assertEquals(1, occurrences[3].getOccurrences());
+    }
+    
+    @Test
+    void testDifferentSitesAndCausesHaveDifferentFingerprints() {
+        ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(60_000, 8, 100);
+        
+        ExceptionOccurrence site1 = deduplicator.record(downstreamFailure(), 1000);
+        ExceptionOccurrence site2 = deduplicator.record(otherFailure(), 1000);
+        ExceptionOccurrence wrappedState = deduplicator.record(wrapped(new IllegalStateException()), 1000);
+        ExceptionOccurrence wrappedIo = deduplicator.record(wrapped(new IOException()), 1000);
+        
+        assertTrue(site2.isFirst());
+        assertNotEquals(site1.getFingerprint(), site2.getFingerprint());
+        assertTrue(wrappedIo.isFirst());
+        assertNotEquals(wrappedState.getFingerprint(), wrappedIo.getFingerprint());
+        assertEquals(4, deduplicator.getFingerprintCount());
+    }
+    
+    @Test
+    void testCacheIsBoundedAndIdleEntriesAreRemoved() {
+        ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(1000, 8, 1);
+        
+        deduplicator.record(downstreamFailure(), 0);
+        // 缓存已满：新的指纹不去重
+        assertTrue(deduplicator.record(otherFailure(), 10).isFirst());
+        assertTrue(deduplicator.record(otherFailure(), 20).isFirst());
+        assertEquals(1, deduplicator.getFingerprintCount());
+        
+        // 长时间未出现的指纹在汇总时清理
+        deduplicator.summarize(1000);
+        assertEquals(1, deduplicator.getFingerprintCount());
+        deduplicator.summarize(100_000);
+        assertEquals(0, deduplicator.getFingerprintCount());
+    }
+}
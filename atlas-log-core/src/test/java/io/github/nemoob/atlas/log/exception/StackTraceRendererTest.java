@@ -0,0 +1,161 @@
+package io.github.nemoob.atlas.log.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异常堆栈裁剪测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class StackTraceRendererTest {
+    
+    private static final List<String> FRAMEWORK_PACKAGES = Arrays.asList("org.springframework.aop", "org.apache.catalina");
+    private static final String NL = System.lineSeparator();
+    
+    private static StackTraceElement frame(String className, String method, int line) {
+        return new StackTraceElement(className, method, className.substring(className.lastIndexOf('.') + 1) + ".java", line);
+    }
+    
+    /**
+     * 业务帧 - 3 个 AOP 帧 - 业务帧 - 2 个 Tomcat 帧
+     */
+    private static StackTraceElement[] requestStack() {
+        return new StackTraceElement[] {
+                frame("com.example.OrderService", "create", 42),
+                frame("org.springframework.aop.framework.ReflectiveMethodInvocation", "proceed", 186),
+                frame("org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint", "proceed", 88),
+                frame("org.springframework.aop.framework.CglibAopProxy", "intercept", 704),
+                frame("com.example.OrderController", "post", 17),
+                frame("org.apache.catalina.core.StandardWrapperValve", "invoke", 197),
+                frame("org.apache.catalina.core.StandardContextValve", "invoke", 97),
+        };
+    }
+    
+    private static String[] lines(String rendered) {
+        return rendered.split(NL);
+    }
+    
+    @Test
+    void testFrameworkFramesAreFolded() {
+        StackTraceRenderer renderer = new StackTraceRenderer(50, FRAMEWORK_PACKAGES, 5, 1000);
+        IllegalStateException exception = new IllegalStateException("stock exhausted");
+        exception.setStackTrace(requestStack());
+        
+        String[] lines = lines(renderer.render(exception));
+        
+        assertEquals(5, lines.length);
+        assertEquals("java.lang.IllegalStateException: stock exhausted", lines[0]);
+        assertEquals("\tat com.example.OrderService.create(OrderService.java:42)", lines[1]);
+        assertEquals("\t... 3 framework frames", lines[2]);
+        assertEquals("\tat com.example.OrderController.post(OrderController.java:17)", lines[3]);
+        assertEquals("\t... 2 framework frames", lines[4]);
+        assertEquals(7, renderer.getCachedFrames());
+    }
+    
+    @Test
+    void testMaxDepthAndCommonFrames() {
+        StackTraceRenderer renderer = new StackTraceRenderer(1, FRAMEWORK_PACKAGES, 5, 1000);
+        RuntimeException cause = new RuntimeException("io");
+        StackTraceElement[] stack = requestStack();
+        List<StackTraceElement> causeStack = new ArrayList<>();
+        causeStack.add(frame("com.example.StockClient", "reserve", 9));
+        causeStack.add(frame("com.example.StockClient", "send", 31));
+        causeStack.addAll(Arrays.asList(stack));
+        cause.setStackTrace(causeStack.toArray(new StackTraceElement[0]));
+        IllegalStateException exception = new IllegalStateException("stock exhausted", cause);
+        exception.setStackTrace(stack);
+        
+        String[] lines = lines(renderer.render(exception));
+        
+        assertEquals("\tat com.example.OrderService.create(OrderService.java:42)", lines[1]);
+        assertEquals("\t... 6 frames truncated", lines[2]);
+        assertEquals("Caused by: java.lang.RuntimeException: io", lines[3]);
+        assertEquals("\tat com.example.StockClient.reserve(StockClient.java:9)", lines[4]);
+        // 被 maxDepth 截掉的帧和与上一层相同的帧分开计数
+        assertEquals("\t... 1 frame truncated", lines[5]);
+        assertEquals("\t... 7 more", lines[6]);
+        assertEquals(7, lines.length);
+    }
+    
+    @Test
+    void testSuppressedExceptionsAreRendered() {
+        StackTraceRenderer renderer = new StackTraceRenderer(50, FRAMEWORK_PACKAGES, 5, 1000);
+        StackTraceElement[] stack = requestStack();
+        IllegalStateException exception = new IllegalStateException("stock exhausted", new RuntimeException("io"));
+        exception.setStackTrace(stack);
+        exception.getCause().setStackTrace(new StackTraceElement[0]);
+        IOException suppressed = new IOException("close failed", new RuntimeException("disk"));
+        List<StackTraceElement> suppressedStack = new ArrayList<>();
+        suppressedStack.add(frame("com.example.Cleanup", "close", 5));
+        suppressedStack.add(frame("org.springframework.aop.framework.ReflectiveMethodInvocation", "invokeJoinpoint", 160));
+        suppressedStack.addAll(Arrays.asList(stack));
+        suppressed.setStackTrace(suppressedStack.toArray(new StackTraceElement[0]));
+        suppressed.getCause().setStackTrace(new StackTraceElement[0]);
+        exception.addSuppressed(suppressed);
+        
+        String[] lines = lines(renderer.render(exception));
+        
+        assertEquals("\t... 2 framework frames", lines[4]);
+        assertEquals("\tSuppressed: java.io.IOException: close failed", lines[5]);
+        assertEquals("\t\tat com.example.Cleanup.close(Cleanup.java:5)", lines[6]);
+        assertEquals("\t\t... 1 framework frame", lines[7]);
+        assertEquals("\t\t... 7 more", lines[8]);
+        assertEquals("\tCaused by: java.lang.RuntimeException: disk", lines[9]);
+        assertEquals("Caused by: java.lang.RuntimeException: io", lines[10]);
+        assertEquals(11, lines.length);
+    }
+    
+    @Test
+    void testMatchesPrintStackTraceWithoutLimits() {
+        StackTraceRenderer renderer = new StackTraceRenderer(10_000, Collections.emptyList(), 10, 1000);
+        IllegalStateException exception = new IllegalStateException("top", new IOException("cause"));
+        IOException suppressed = new IOException("suppressed", new RuntimeException("nested"));
+        suppressed.addSuppressed(new RuntimeException("deeper"));
+        exception.addSuppressed(suppressed);
+        StringWriter expected = new StringWriter();
+        exception.printStackTrace(new PrintWriter(expected));
+        
+        assertEquals(expected.toString().trim(), renderer.render(exception));
+    }
+    
+    @Test
+    void testCauseChainIsLimited() {
+        StackTraceRenderer renderer = new StackTraceRenderer(10, FRAMEWORK_PACKAGES, 1, 1000);
+        Throwable root = new IllegalArgumentException("root");
+        Throwable middle = new RuntimeException("middle", root);
+        Throwable top = new RuntimeException("top", middle);
+        for (Throwable t : Arrays.asList(root, middle, top)) {
+            t.setStackTrace(new StackTraceElement[0]);
+        }
+        
+        String[] lines = lines(renderer.render(top));
+        
+        assertEquals("java.lang.RuntimeException: top", lines[0]);
+        assertEquals("Caused by: java.lang.RuntimeException: middle", lines[1]);
+        assertEquals("... 1 more causes", lines[2]);
+        assertEquals(3, lines.length);
+    }
+    
+    @Test
+    void testRealStackTraceIsShorter() {
+        StackTraceRenderer renderer = new StackTraceRenderer(5, FRAMEWORK_PACKAGES, 5, 0);
+        Exception exception = new Exception("real");
+        
+        String rendered = renderer.render(exception);
+        
+        assertTrue(rendered.startsWith("java.lang.Exception: real" + NL + "\tat "), rendered);
+        assertTrue(lines(rendered).length <= 7, rendered);
+        assertEquals(0, renderer.getCachedFrames());
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.nemoob.atlas.log.jfr;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JFR 调用事件测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class JfrInvocationRecorderTest {
+    
+    private final JfrInvocationRecorder recorder = new JfrInvocationRecorder();
+    
+    @Log(tags = {"order", "payment"})
+    public void createOrder(String id) {
+    }
+    
+    private Method createOrderMethod() throws NoSuchMethodException {
+        return JfrInvocationRecorderTest.class.getMethod("createOrder", String.class);
+    }
+    
+    private static List<Log> logAnnotations(Method method) {
+        return Collections.singletonList(method.getAnnotation(Log.class));
+    }
+    
+    private static List<RecordedEvent> stopAndRead(Recording recording) throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("atlas-jfr", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(InvocationEvent.NAME)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    @Test
+    void testEventsAreRecorded() throws Exception {
+        Method method = createOrderMethod();
+        Recording recording = new Recording();
+        recording.enable(InvocationEvent.NAME).withThreshold(Duration.ZERO);
+        recording.start();
+        
+        Object handle = recorder.begin();
+        assertNotNull(handle);
+        Thread.sleep(5);
+        recorder.commit(handle, method, "trace-1", null, logAnnotations(method));
+        recorder.commit(recorder.begin(), method, "trace-2", new IllegalStateException("boom"), logAnnotations(method));
+        
+        List<RecordedEvent> events = stopAndRead(recording);
+        assertEquals(2, events.size());
+        RecordedEvent first = events.get(0);
+        assertEquals("JfrInvocationRecorderTest.createOrder(String)", first.getString("method"));
+        assertEquals("trace-1", first.getString("traceId"));
+        assertEquals("order,payment", first.getString("tags"));
+        assertNull(first.getString("errorClass"));
+        assertTrue(first.getDuration().toMillis() >= 5, "duration " + first.getDuration());
+        RecordedEvent second = events.get(1);
+        assertEquals("trace-2", second.getString("traceId"));
+        assertEquals(IllegalStateException.class.getName(), second.getString("errorClass"));
+    }
+    
+    @Test
+    void testThresholdDropsFastInvocations() throws Exception {
+        Method method = createOrderMethod();
+        Recording recording = new Recording();
+        recording.enable(InvocationEvent.NAME).withThreshold(Duration.ofMillis(20));
+        recording.start();
+        
+        recorder.commit(recorder.begin(), method, "fast", null, logAnnotations(method));
+        Object slow = recorder.begin();
+        Thread.sleep(30);
+        recorder.commit(slow, method, "slow", null, logAnnotations(method));
+        
+        List<RecordedEvent> events = stopAndRead(recording);
+        assertEquals(1, events.size());
+        assertEquals("slow", events.get(0).getString("traceId"));
+    }
+    
+    @Test
+    void testDisabledWithoutRecording() throws Exception {
+        assertNull(recorder.begin());
+        // 空句柄直接忽略
+        recorder.commit(null, createOrderMethod(), "trace", null, Collections.emptyList());
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 错误突增检测测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class ErrorBurstDetectorTest {
+    
+    public void createOrder() {
+    }
+    
+    public void queryOrder() {
+    }
+    
+    private static Method method(String name) throws NoSuchMethodException {
+        return ErrorBurstDetectorTest.class.getMethod(name);
+    }
+    
+    @Test
+    void testBurstStartsDiagnosticsAndExpires() throws Exception {
+        ErrorBurstDetector detector = new ErrorBurstDetector(10_000, 10, 10, 0.5, 5_000, 100, 10);
+        Method method = method("createOrder");
+        
+        // 调用数不足时不判定
+        for (int i = 0; i < 5; i++) {
+            detector.record(method, true, 1000);
+        }
+        assertFalse(detector.tryCapture(method, 1000));
+        
+        // 10 次调用中 5 次失败，达到阈值
+        for (int i = 0; i < 5; i++) {
+            detector.record(method, false, 1000);
+        }
+        assertFalse(detector.tryCapture(method, 1000));
+        detector.record(method, true, 1000);
+        assertTrue(detector.tryCapture(method, 1000));
+        assertTrue(detector.tryCapture(method, 5999));
+        
+        // 诊断期结束后恢复
+        assertFalse(detector.tryCapture(method, 6000));
+        assertFalse(detector.tryCapture(method, 6001));
+    }
+    
+    @Test
+    void testLowErrorRateDoesNotTrigger() throws Exception {
+        ErrorBurstDetector detector = new ErrorBurstDetector(10_000, 10, 10, 0.5, 5_000, 100, 10);
+        Method method = method("createOrder");
+        
+        for (int i = 0; i < 100; i++) {
+            detector.record(method, i % 10 == 0, 1000 + i);
+        }
+        assertFalse(detector.tryCapture(method, 1100));
+        
+        // 旧的时间片滚出窗口后不再计入
+        for (int i = 0; i < 10; i++) {
+            detector.record(method, true, 20_000);
+        }
+        assertTrue(detector.tryCapture(method, 20_000));
+    }
+    
+    @Test
+    void testCapturesAreRateLimitedPerMethod() throws Exception {
+        ErrorBurstDetector detector = new ErrorBurstDetector(10_000, 10, 1, 0.5, 60_000, 2, 10);
+        Method failing = method("createOrder");
+        Method healthy = method("queryOrder");
+        
+        detector.record(failing, true, 1000);
+        detector.record(healthy, false, 1000);
+        
+        assertTrue(detector.tryCapture(failing, 1000));
+        assertTrue(detector.tryCapture(failing, 1500));
+        assertFalse(detector.tryCapture(failing, 1999));
+        // 下一秒重新计数
+        assertTrue(detector.tryCapture(failing, 2000));
+        assertFalse(detector.tryCapture(healthy, 2000));
+        assertEquals(2, detector.getTrackedCount());
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class LatencyHistogramTest {
+    
+    @Test
+    void testBucketBoundsCoverEveryValue() {
+        for (long value = 0; value < 200_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long lower = index == 0 ? 0 : LatencyHistogram.bucketUpperBound(index - 1) + 1;
+            assertTrue(value >= lower && value <= LatencyHistogram.bucketUpperBound(index), "value " + value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+    
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5_000, snapshot.getPercentile(0.5), 5_000 * 0.125);
+        assertEquals(9_900, snapshot.getPercentile(0.99), 9_900 * 0.125);
+        assertEquals(5_000.5, snapshot.getMean(), 0.001);
+    }
+    
+    @Test
+    void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.recordNanos(1_500_000L);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(400_000, snapshot.getCount());
+        assertEquals(1_500, snapshot.getMax());
+    }
+    
+    @Test
+    void testExemplarsFollowPercentileBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram(1, true);
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000, "fast");
+        }
+        histogram.record(80_000, "slow-trace");
+        
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals("fast", snapshot.getPercentileExemplar(0.5).getTraceId());
+        assertEquals("slow-trace", snapshot.getPercentileExemplar(1.0).getTraceId());
+        assertEquals(80_000, snapshot.getPercentileExemplar(1.0).getValueMicros());
+        assertNull(new LatencyHistogram(1).snapshot().getPercentileExemplar(0.99));
+    }
+}
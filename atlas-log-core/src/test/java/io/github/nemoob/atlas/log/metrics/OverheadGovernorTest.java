@@ -0,0 +1,115 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志开销熔断测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class OverheadGovernorTest {
+    
+    private static final long WINDOW = 1000;
+    
+    @Test
+    void testStepsDownOneLevelPerWindow() {
+        OverheadGovernor governor = new OverheadGovernor(0.05, 0, WINDOW, 10, 10, 2);
+        long now = 0;
+        
+        // 开销 10%，超出 5% 预算
+        now = window(governor, now, 100_000, 1_000_000);
+        assertEquals(OverheadLevel.NO_PAYLOAD, governor.getLevel());
+        now = window(governor, now, 100_000, 1_000_000);
+        assertEquals(OverheadLevel.SAMPLED, governor.getLevel());
+        now = window(governor, now, 100_000, 1_000_000);
+        assertEquals(OverheadLevel.DISABLED, governor.getLevel());
+        window(governor, now, 100_000, 1_000_000);
+        assertEquals(OverheadLevel.DISABLED, governor.getLevel());
+        assertEquals(3, governor.getTransitions());
+        assertEquals(0.1, governor.getLastWindowRatio(), 0.001);
+    }
+    
+    @Test
+    void testRecoversAfterHealthyWindows() {
+        OverheadGovernor governor = new OverheadGovernor(0.05, 0, WINDOW, 10, 10, 2);
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            now = window(governor, now, 100_000, 1_000_000);
+        }
+        assertEquals(OverheadLevel.DISABLED, governor.getLevel());
+        
+        now = window(governor, now, 1_000, 1_000_000);
+        assertEquals(OverheadLevel.DISABLED, governor.getLevel());
+        now = window(governor, now, 1_000, 1_000_000);
+        assertEquals(OverheadLevel.SAMPLED, governor.getLevel());
+        now = window(governor, now, 1_000, 1_000_000);
+        now = window(governor, now, 1_000, 1_000_000);
+        assertEquals(OverheadLevel.NO_PAYLOAD, governor.getLevel());
+        now = window(governor, now, 1_000, 1_000_000);
+        window(governor, now, 1_000, 1_000_000);
+        assertEquals(OverheadLevel.FULL, governor.getLevel());
+    }
+    
+    @Test
+    void testAbsoluteBudgetAndMinSamples() {
+        OverheadGovernor governor = new OverheadGovernor(0, 50, WINDOW, 10, 10, 1);
+        
+        // 样本不足的窗口不判定超预算
+        for (int i = 0; i < 5; i++) {
+            governor.record(1_000_000, 1_000_000_000L, 0);
+        }
+        governor.record(1_000_000, 1_000_000_000L, WINDOW);
+        assertEquals(OverheadLevel.FULL, governor.getLevel());
+        
+        // 平均 100us 超过 50us 上限，比例很低也会降级
+        window(governor, WINDOW, 100_000, 1_000_000_000L);
+        assertEquals(OverheadLevel.NO_PAYLOAD, governor.getLevel());
+        assertEquals(100, governor.getLastWindowAvgMicros());
+    }
+    
+    @Test
+    void testAdmitSamplesOnlyAtSampledLevel() {
+        OverheadGovernor governor = new OverheadGovernor(0.05, 0, WINDOW, 1, 4, 1);
+        assertEquals(OverheadLevel.FULL, governor.admit());
+        
+        long now = window(governor, 0, 100_000, 1_000_000);
+        window(governor, now, 100_000, 1_000_000);
+        assertEquals(OverheadLevel.SAMPLED, governor.getLevel());
+        
+        int logged = 0;
+        for (int i = 0; i < 4000; i++) {
+            OverheadLevel admitted = governor.admit();
+            assertNotEquals(OverheadLevel.SAMPLED, admitted);
+            if (admitted.isLogging()) {
+                assertFalse(admitted.isPayloadAllowed());
+                logged++;
+            }
+        }
+        assertTrue(logged > 700 && logged < 1300, "logged " + logged);
+    }
+    
+    @Test
+    void testOverheadStatistics() {
+        OverheadGovernor governor = new OverheadGovernor(0.05, 0, WINDOW, 10, 10, 1);
+        governor.record(20_000, 1_000_000, 0);
+        governor.record(40_000, 1_000_000, 0);
+        
+        assertEquals(2, governor.getOverheadSnapshot().getCount());
+        assertEquals(60_000, governor.getTotalOverheadNanos());
+        assertEquals(0.03, governor.getOverheadRatio(), 0.0001);
+    }
+    
+    /**
+     * 在一个窗口内上报 20 次调用，最后一次落在窗口边界上触发判定，返回下一个窗口的开始时间
+     */
+    private static long window(OverheadGovernor governor, long start, long overheadNanos, long methodNanos) {
+        for (int i = 0; i < 19; i++) {
+            governor.record(overheadNanos, methodNanos, start);
+        }
+        governor.record(overheadNanos, methodNanos, start + WINDOW);
+        return start + WINDOW;
+    }
+}
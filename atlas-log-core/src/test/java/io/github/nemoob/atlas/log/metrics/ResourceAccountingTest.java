@@ -0,0 +1,72 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 资源消耗统计测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class ResourceAccountingTest {
+    
+    @Test
+    void testEnabledByAnnotationOrTag() throws NoSuchMethodException {
+        ResourceAccounting accounting = new ResourceAccounting(Collections.singletonList("report"));
+        
+        assertTrue(accounting.isEnabled(method("annotated"), annotations("annotated")));
+        assertTrue(accounting.isEnabled(method("tagged"), annotations("tagged")));
+        assertFalse(accounting.isEnabled(method("plain"), annotations("plain")));
+    }
+    
+    @Test
+    void testMeasuresAllocatedBytes() {
+        ResourceAccounting accounting = new ResourceAccounting(null);
+        long startCpu = accounting.currentThreadCpuNanos();
+        long startAllocated = accounting.currentThreadAllocatedBytes();
+        
+        byte[][] chunks = new byte[16][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new byte[64 * 1024];
+        }
+        ResourceUsage usage = accounting.since(startCpu, startAllocated);
+        
+        assertEquals(16, chunks.length);
+        if (startAllocated >= 0) {
+            assertTrue(usage.getAllocatedBytes() >= 16 * 64 * 1024, "allocated " + usage.getAllocatedBytes());
+        } else {
+            assertEquals(-1, usage.getAllocatedBytes());
+        }
+        assertTrue(startCpu < 0 ? usage.getCpuNanos() == -1 : usage.getCpuNanos() >= 0);
+    }
+    
+    private static Method method(String name) throws NoSuchMethodException {
+        return Target.class.getDeclaredMethod(name);
+    }
+    
+    private static List<Log> annotations(String name) throws NoSuchMethodException {
+        return Collections.singletonList(method(name).getAnnotation(Log.class));
+    }
+    
+    static class Target {
+        
+        @Log(logResources = true)
+        void annotated() {
+        }
+        
+        @Log(tags = "report")
+        void tagged() {
+        }
+        
+        @Log(tags = "other")
+        void plain() {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 慢调用判定测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class SlowCallDetectorTest {
+
+    @Test
+    void testFixedThreshold() {
+        SlowCallDetector detector = new SlowCallDetector(100);
+
+        assertFalse(detector.isAdaptive());
+        assertFalse(detector.isSlow("method", TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(detector.isSlow("method", TimeUnit.MILLISECONDS.toNanos(101)));
+        assertTrue(detector.isSlow("method", TimeUnit.MILLISECONDS.toNanos(20), 10));
+        assertEquals(0, detector.getTrackedCount());
+    }
+
+    @Test
+    void testAdaptiveFallsBackWithoutEnoughSamples() {
+        SlowCallDetector detector = new SlowCallDetector(1000, true, 3.0, 60_000, 4, 50, 1, 10);
+
+        assertFalse(detector.isSlow("method", TimeUnit.MILLISECONDS.toNanos(500)));
+        assertTrue(detector.isSlow("method", TimeUnit.MILLISECONDS.toNanos(1500)));
+        assertEquals(1000, detector.getThresholdMillis("method"));
+        // 无法识别的调用不参与自适应统计
+        assertFalse(detector.isSlow(null, TimeUnit.MILLISECONDS.toNanos(500)));
+        assertEquals(1, detector.getTrackedCount());
+    }
+
+    @Test
+    void testTrackedKeysAreCapped() {
+        SlowCallDetector detector = new SlowCallDetector(1000, true, 3.0, 60_000, 4, 50, 1, 2);
+
+        for (int i = 0; i < 10; i++) {
+            detector.isSlow("method-" + i, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(2, detector.getTrackedCount());
+        assertTrue(detector.isSlow("method-9", TimeUnit.MILLISECONDS.toNanos(1001)));
+    }
+
+    @Test
+    void testSketchPercentileRequiresMinSamples() {
+        RollingLatencySketch sketch = new RollingLatencySketch(4000, 4);
+        long now = 10_000;
+        for (int i = 0; i < 49; i++) {
+            sketch.record(2000, now);
+        }
+
+        assertEquals(-1, sketch.getPercentile(0.99, 50, now));
+        // 同一时间片内结果被缓存，进入下一个时间片后重新计算
+        sketch.record(2000, now);
+        long p99 = sketch.getPercentile(0.99, 50, now + 1000);
+        assertTrue(p99 >= 2000 && p99 <= 2000 * 1.125, "p99 " + p99);
+    }
+
+    @Test
+    void testSketchExpiresOldSlots() {
+        RollingLatencySketch sketch = new RollingLatencySketch(4000, 4);
+        for (int i = 0; i < 100; i++) {
+            sketch.record(50_000, 10_000);
+        }
+        for (int i = 0; i < 100; i++) {
+            sketch.record(1000, 14_500);
+        }
+
+        // 10 秒处的时间片已滑出 4 秒窗口，只剩 1ms 的样本
+        long p99 = sketch.getPercentile(0.99, 10, 14_500);
+        assertTrue(p99 >= 1000 && p99 <= 1125, "p99 " + p99);
+        assertEquals(-1, sketch.getPercentile(0.99, 10, 30_000));
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 正在执行调用注册表与慢调用看门狗测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class SlowCallWatchdogTest {
+    
+    private static final Method METHOD = findMethod();
+    
+    @Test
+    void testEnterAndExit() {
+        InFlightRegistry registry = new InFlightRegistry(4);
+        
+        InFlightInvocation outer = registry.enter(METHOD, "trace-1");
+        InFlightInvocation inner = registry.enter(METHOD, "trace-1");
+        assertNotNull(outer);
+        assertNotNull(inner);
+        assertEquals(2, registry.size());
+        assertSame(Thread.currentThread(), outer.getThread());
+        
+        registry.exit(inner);
+        assertFalse(registry.isActive(inner));
+        assertTrue(registry.isActive(outer));
+        registry.exit(outer);
+        assertEquals(0, registry.size());
+    }
+    
+    @Test
+    void testFullRegistryDoesNotTrack() {
+        InFlightRegistry registry = new InFlightRegistry(2);
+        assertNotNull(registry.enter(METHOD, "a"));
+        assertNotNull(registry.enter(METHOD, "b"));
+        assertNull(registry.enter(METHOD, "c"));
+    }
+    
+    @Test
+    void testWatchdogSamplesSlowCalls() throws InterruptedException {
+        InFlightRegistry registry = new InFlightRegistry(16);
+        SlowCallWatchdog watchdog = new SlowCallWatchdog(registry, 0, 10, 16, 3);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InFlightInvocation[] holder = new InFlightInvocation[1];
+        
+        Thread worker = new Thread(() -> {
+            holder[0] = registry.enter(METHOD, "slow-trace");
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            registry.exit(holder[0]);
+        });
+        worker.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        
+        for (int i = 0; i < 5; i++) {
+            watchdog.sample();
+        }
+        release.countDown();
+        worker.join();
+        
+        StackProfile profile = holder[0].getProfile();
+        assertNotNull(profile);
+        // 达到采样上限后不再采样
+        assertEquals(3, profile.getSamples());
+        List<String> top = profile.top(5);
+        assertFalse(top.isEmpty());
+        assertTrue(top.get(0).startsWith("3 "), top.get(0));
+        assertTrue(top.get(0).contains("CountDownLatch.await"), top.get(0));
+        
+        // 已结束的调用不再被采样
+        watchdog.sample();
+        assertEquals(3, profile.getSamples());
+    }
+    
+    private static Method findMethod() {
+        try {
+            return Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.nemoob.atlas.log.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 最慢调用 Top-K 测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class SlowestInvocationsTest {
+    
+    @Test
+    void testKeepsSlowestAndRendersLazily() {
+        SlowestInvocations slowest = new SlowestInvocations(3, 60_000);
+        AtomicInteger renders = new AtomicInteger();
+        Supplier<String> args = () -> "args-" + renders.incrementAndGet();
+        
+        long now = 1_000_000;
+        for (int latency = 1; latency <= 100; latency++) {
+            slowest.offer(latency * 1000L, "trace-" + latency, now, args, null, null);
+        }
+        // 递增序列每次都会入选
+        assertEquals(100, renders.get());
+        
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(slowest.offer(50_000, "fast", now, args, null, null));
+        }
+        assertEquals(100, renders.get(), "calls below the top-K floor must not be rendered");
+        
+        List<InvocationSample> samples = slowest.snapshot(now);
+        assertEquals(3, samples.size());
+        assertEquals("trace-100", samples.get(0).getTraceId());
+        assertEquals(100_000, samples.get(0).getLatencyMicros());
+        assertEquals("trace-98", samples.get(2).getTraceId());
+        assertNull(samples.get(0).getResult());
+    }
+    
+    @Test
+    void testExpiredSamplesMakeRoomForNewOnes() {
+        SlowestInvocations slowest = new SlowestInvocations(2, 1_000);
+        slowest.offer(90_000, "old-1", 0, null, null, null);
+        slowest.offer(80_000, "old-2", 0, null, null, null);
+        
+        assertFalse(slowest.isCandidate(1_000, 500));
+        assertTrue(slowest.isCandidate(1_000, 1_000));
+        assertTrue(slowest.offer(1_000, "recent", 1_000, null, null, new IllegalStateException("boom")));
+        
+        List<InvocationSample> samples = slowest.snapshot(1_000);
+        assertEquals(1, samples.size());
+        assertEquals("recent", samples.get(0).getTraceId());
+        assertEquals("java.lang.IllegalStateException: boom", samples.get(0).getException());
+    }
+    
+    @Test
+    void testRenderFailureDoesNotPropagate() {
+        SlowestInvocations slowest = new SlowestInvocations(1, 1_000);
+        slowest.offer(1_000, "trace", 0, () -> {
+            throw new IllegalArgumentException("unserializable");
+        }, () -> "ok", null);
+        
+        InvocationSample sample = slowest.snapshot(0).get(0);
+        assertEquals("[序列化失败]", sample.getArgs());
+        assertEquals("ok", sample.getResult());
+    }
+}
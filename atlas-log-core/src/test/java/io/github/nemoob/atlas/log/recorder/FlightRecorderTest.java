@@ -0,0 +1,166 @@
+package io.github.nemoob.atlas.log.recorder;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 飞行记录器测试
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+class FlightRecorderTest {
+    
+    private static AtlasLogEvent event(String traceId, String message) {
+        return new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXIT)
+                .setTraceId(traceId)
+                .setMethod("OrderService.create(Order)")
+                .setMessage(message);
+    }
+    
+    private static List<String> messages(List<RecordedEvent> events) {
+        List<String> messages = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            String json = event.getJson();
+            int start = json.indexOf("\"message\":\"") + 11;
+            messages.add(json.substring(start, json.indexOf('"', start)));
+        }
+        return messages;
+    }
+    
+    @Test
+    void testFindByTraceIdAcrossInterleavedTraces() {
+        FlightRecorder recorder = new FlightRecorder(64, 64 * 1024);
+        for (int i = 0; i < 10; i++) {
+            recorder.record(LogLevel.INFO, event("trace-a", "a" + i));
+            recorder.record(LogLevel.DEBUG, event("trace-b", "b" + i));
+            recorder.record(LogLevel.INFO, event(null, "untraced" + i));
+        }
+        
+        List<RecordedEvent> events = recorder.findByTraceId("trace-b", 100);
+        
+        assertEquals(10, events.size());
+        assertEquals("b0", messages(events).get(0));
+        assertEquals("b9", messages(events).get(9));
+        assertEquals(LogLevel.DEBUG, events.get(0).getLevel());
+        assertEquals("trace-b", events.get(0).getTraceId());
+        assertTrue(events.get(0).getJson().startsWith("{\"timestamp\":"));
+        assertTrue(events.get(0).getJson().contains("\"level\":\"DEBUG\""));
+        assertTrue(events.get(0).getSequence() < events.get(1).getSequence());
+        
+        // limit 保留最近的事件
+        assertEquals("b9", messages(recorder.findByTraceId("trace-b", 3)).get(2));
+        assertEquals(3, recorder.findByTraceId("trace-b", 3).size());
+        assertEquals(0, recorder.findByTraceId("trace-c", 100).size());
+    }
+    
+    @Test
+    void testOldestEventsAreOverwrittenBySlotCount() {
+        FlightRecorder recorder = new FlightRecorder(10, 64 * 1024);
+        assertEquals(16, recorder.getCapacity());
+        for (int i = 0; i < 40; i++) {
+            recorder.record(LogLevel.INFO, event(i % 2 == 0 ? "even" : "odd", "m" + i));
+        }
+        
+        assertEquals(16, recorder.size());
+        assertEquals(40, recorder.getRecordedEvents());
+        List<String> even = messages(recorder.findByTraceId("even", 100));
+        assertEquals(8, even.size());
+        assertEquals("m24", even.get(0));
+        assertEquals("m38", even.get(7));
+    }
+    
+    @Test
+    void testOldestEventsAreOverwrittenByBytes() {
+        FlightRecorder recorder = new FlightRecorder(1024, 4096);
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            padding.append('x');
+        }
+        for (int i = 0; i < 100; i++) {
+            recorder.record(LogLevel.INFO, event("trace", "m" + i + padding));
+        }
+        
+        List<RecordedEvent> events = recorder.findByTraceId("trace", 1000);
+        assertTrue(events.size() < 20, "retained " + events.size());
+        assertEquals(events.size(), recorder.size());
+        // 跨越字节环末尾的事件也完整可读
+        for (RecordedEvent event : events) {
+            assertTrue(event.getJson().endsWith("}"), event.getJson());
+            assertTrue(event.getJson().startsWith("{"), event.getJson());
+        }
+        assertTrue(events.get(events.size() - 1).getJson().contains("\"m99x"));
+        
+        recorder.record(LogLevel.INFO, event("trace", new String(new char[2000]).replace('\0', 'y')));
+        assertEquals(1, recorder.getOversizedEvents());
+    }
+    
+    @Test
+    void testIndexIsReusedAfterEviction() {
+        FlightRecorder recorder = new FlightRecorder(16, 64 * 1024);
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(LogLevel.INFO, event("trace-" + i, "m" + i));
+        }
+        
+        assertEquals(0, recorder.findByTraceId("trace-0", 10).size());
+        for (int i = 984; i < 1000; i++) {
+            List<RecordedEvent> events = recorder.findByTraceId("trace-" + i, 10);
+            assertEquals(1, events.size(), "trace-" + i);
+            assertEquals("m" + i, messages(events).get(0));
+        }
+    }
+    
+    @Test
+    void testFindByTime() throws Exception {
+        FlightRecorder recorder = new FlightRecorder(64, 64 * 1024);
+        recorder.record(LogLevel.INFO, event("t", "before"));
+        Thread.sleep(20);
+        long from = System.currentTimeMillis();
+        recorder.record(LogLevel.INFO, event("t", "inside1"));
+        recorder.record(LogLevel.WARN, event("t", "inside2"));
+        long to = System.currentTimeMillis();
+        Thread.sleep(20);
+        recorder.record(LogLevel.INFO, event("t", "after"));
+        
+        List<String> inside = messages(recorder.findByTime(from, to, 100));
+        assertEquals(2, inside.size());
+        assertEquals("inside1", inside.get(0));
+        assertEquals("inside2", inside.get(1));
+        assertEquals(1, recorder.findByTime(from, to, 1).size());
+        assertEquals(4, recorder.findByTime(0, Long.MAX_VALUE, 100).size());
+    }
+    
+    @Test
+    void testConcurrentRecording() throws Exception {
+        FlightRecorder recorder = new FlightRecorder(4096, 1024 * 1024);
+        int threads = 4;
+        int perThread = 500;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            String traceId = "thread-" + t;
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(LogLevel.INFO, event(traceId, "m" + i));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        
+        assertEquals(threads * perThread, recorder.getRecordedEvents());
+        for (int t = 0; t < threads; t++) {
+            List<String> messages = messages(recorder.findByTraceId("thread-" + t, 10000));
+            assertEquals(perThread, messages.size());
+            assertEquals("m0", messages.get(0));
+            assertEquals("m" + (perThread - 1), messages.get(perThread - 1));
+        }
+    }
+}
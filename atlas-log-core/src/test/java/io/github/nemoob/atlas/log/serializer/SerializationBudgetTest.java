@@ -0,0 +1,94 @@
+package io.github.nemoob.atlas.log.serializer;
+
+import io.github.nemoob.atlas.log.annotation.Log;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 序列化内存预算测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class SerializationBudgetTest {
+    
+    @Test
+    void testReserveAndRelease() {
+        SerializationBudget budget = new SerializationBudget(1000);
+        
+        assertTrue(budget.tryReserve(600));
+        assertFalse(budget.tryReserve(600));
+        assertTrue(budget.tryReserve(400));
+        assertEquals(1000, budget.getInFlightBytes());
+        
+        budget.release(600);
+        budget.release(400);
+        assertEquals(0, budget.getInFlightBytes());
+        assertEquals(1000, budget.getPeakBytes());
+        assertEquals(2, budget.getReservations());
+        assertEquals(1, budget.getRejections());
+        
+        // 单个超过上限的请求永远不能预留
+        assertFalse(budget.tryReserve(1001));
+    }
+    
+    @Test
+    void testEstimateReflectsPayloadSize() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orders.add(new Order("ORD-" + i, "note-" + i));
+        }
+        char[] chars = new char[1_000_000];
+        
+        long small = PayloadSizeEstimator.estimate(new Order("ORD-1", "x"));
+        long large = PayloadSizeEstimator.estimate(orders);
+        
+        assertTrue(small < 200, "small " + small);
+        assertTrue(large > 10_000 * small / 2 && large < 10_000 * small * 2, "large " + large);
+        assertTrue(PayloadSizeEstimator.estimate(new String(chars)) >= 2_000_000);
+        assertEquals("ArrayList[size=10000]", PayloadSizeEstimator.describe(orders));
+        assertEquals("1.5MB", PayloadSizeEstimator.formatBytes(1536 * 1024));
+    }
+    
+    @Test
+    void testSerializerFallsBackToSummary() throws NoSuchMethodException {
+        Log annotation = Target.class.getDeclaredMethod("handle", String.class, int.class).getAnnotation(Log.class);
+        FastjsonArgumentSerializer serializer = new FastjsonArgumentSerializer(new SensitiveDataMasker(true));
+        SerializationBudget budget = new SerializationBudget(64 * 1024);
+        serializer.setSerializationBudget(budget);
+        String huge = String.join("", Collections.nCopies(100_000, "x"));
+        
+        String summary = serializer.serializeArgs(new Object[]{huge, 42}, annotation);
+        String normal = serializer.serializeArgs(new Object[]{"ok", 42}, annotation);
+        
+        assertTrue(summary.startsWith("[BUDGET_EXCEEDED: String[length=100000] ~"), summary);
+        assertTrue(summary.endsWith(", 42]"), summary);
+        assertEquals("[\"ok\",42]", normal);
+        assertTrue(serializer.serializeResult(huge, annotation).startsWith("[BUDGET_EXCEEDED: "));
+        assertEquals(1, budget.getReservations());
+        assertEquals(2, budget.getRejections());
+        assertEquals(0, budget.getInFlightBytes());
+    }
+    
+    static class Target {
+        
+        @Log(logArgs = true)
+        void handle(String payload, int count) {
+        }
+    }
+    
+    static class Order {
+        private final String orderId;
+        private final String note;
+        
+        Order(String orderId, String note) {
+            this.orderId = orderId;
+            this.note = note;
+        }
+    }
+}
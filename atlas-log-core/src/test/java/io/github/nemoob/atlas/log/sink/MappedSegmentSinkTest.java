@@ -0,0 +1,266 @@
+package io.github.nemoob.atlas.log.sink;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.compress.BackgroundCompressor;
+import io.github.nemoob.atlas.log.compress.BlockCompression;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内存映射段文件 Sink 测试
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+class MappedSegmentSinkTest {
+    
+    private static final long NO_BACKGROUND_FLUSH = 60_000;
+    
+    private static AtlasLogEvent event(int i) {
+        return new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXIT)
+                .setTraceId("trace-" + i)
+                .setMethod("OrderService.create(Order)")
+                .setArgs("[{\"id\":" + i + "}]")
+                .setExecutionTime(i)
+                .setMessage("订单已创建");
+    }
+    
+    private static List<String> readAll(MappedSegmentSink sink) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Path segment : sink.listSegments()) {
+            lines.addAll(read(segment));
+        }
+        return lines;
+    }
+    
+    private static List<String> read(Path segment) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (SegmentReader reader = SegmentReader.open(segment)) {
+            String line;
+            while ((line = reader.nextLine()) != null) {
+                lines.add(line);
+            }
+            assertFalse(reader.isTruncated(), segment.toString());
+        }
+        return lines;
+    }
+    
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    void testEventsRoundTrip() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 1024 * 1024, 0,
+                    NO_BACKGROUND_FLUSH, 4096, 0);
+            for (int i = 0; i < 100; i++) {
+                sink.append(LogLevel.INFO, event(i));
+            }
+            sink.close();
+            
+            List<Path> segments = sink.listSegments();
+            assertEquals(1, segments.size());
+            List<String> lines = read(segments.get(0));
+            assertEquals(100, lines.size());
+            assertTrue(lines.get(0).startsWith("{\"timestamp\":"));
+            assertTrue(lines.get(7).contains("\"level\":\"INFO\""));
+            assertTrue(lines.get(7).contains("\"traceId\":\"trace-7\""));
+            assertTrue(lines.get(99).contains("\"args\":\"[{\\\"id\\\":99}]\""));
+            try (SegmentReader reader = SegmentReader.open(segments.get(0))) {
+                assertTrue(reader.isSealed());
+            }
+            // 封存时截掉预分配的空白区
+            assertTrue(Files.size(segments.get(0)) < 1024 * 1024);
+            assertEquals(100, sink.getAppendedEvents());
+            assertEquals(0, sink.getDroppedEvents());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testRollsBySizeAndKeepsNewestSegments() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 4096, 0,
+                    NO_BACKGROUND_FLUSH, 512, 0);
+            for (int i = 0; i < 500; i++) {
+                sink.append(LogLevel.INFO, event(i));
+            }
+            sink.close();
+            
+            assertTrue(sink.listSegments().size() > 2);
+            assertEquals(500, readAll(sink).size());
+            
+            MappedSegmentSink retained = new MappedSegmentSink(directory, "events", 4096, 0,
+                    NO_BACKGROUND_FLUSH, 512, 2);
+            for (int i = 0; i < 500; i++) {
+                retained.append(LogLevel.INFO, event(i));
+            }
+            retained.close();
+            
+            List<Path> segments = retained.listSegments();
+            assertTrue(segments.size() <= 2);
+            // 新 Sink 的序号接在已有文件之后
+            assertTrue(segments.get(segments.size() - 1).getFileName().toString().compareTo("events-0000000003.seg") > 0);
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testConcurrentWriters() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 256 * 1024, 0, 10, 1024, 0);
+            Thread[] writers = new Thread[4];
+            for (int t = 0; t < writers.length; t++) {
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        sink.append(LogLevel.DEBUG, event(i));
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            sink.close();
+            
+            assertEquals(8000, readAll(sink).size());
+            assertEquals(0, sink.getDroppedEvents());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testBackgroundFlushMakesEventsReadableBeforeClose() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 64 * 1024, 0, 20, 4096, 0);
+            sink.append(LogLevel.INFO, event(1));
+            
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sink.getWrittenBatches() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            
+            List<Path> segments = sink.listSegments();
+            assertEquals(1, segments.size());
+            try (SegmentReader reader = SegmentReader.open(segments.get(0))) {
+                assertFalse(reader.isSealed());
+                assertTrue(reader.nextLine().contains("trace-1"));
+                assertNull(reader.nextLine());
+            }
+            sink.close();
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testTornFrameStopsReading() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 64 * 1024, 0,
+                    NO_BACKGROUND_FLUSH, 256, 0);
+            for (int i = 0; i < 20; i++) {
+                sink.append(LogLevel.INFO, event(i));
+            }
+            sink.close();
+            Path segment = sink.listSegments().get(0);
+            int complete = read(segment).size();
+            
+            // 模拟崩溃时写了一半的最后一帧：改坏最后一个字节
+            try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+                file.seek(file.length() - 2);
+                file.write('#');
+            }
+            
+            int recovered = 0;
+            try (SegmentReader reader = SegmentReader.open(segment)) {
+                while (reader.nextLine() != null) {
+                    recovered++;
+                }
+                assertTrue(reader.isTruncated());
+            }
+            assertTrue(recovered > 0 && recovered < complete, recovered + " of " + complete);
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testSealedSegmentsAreCompressed() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            BackgroundCompressor compressor = new BackgroundCompressor(1, 16 * 1024);
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 16 * 1024, 0,
+                    NO_BACKGROUND_FLUSH, 1024, 3, compressor);
+            for (int i = 0; i < 500; i++) {
+                sink.append(LogLevel.INFO, event(i));
+            }
+            sink.close();
+            compressor.close();
+            
+            List<Path> segments = sink.listSegments();
+            assertEquals(3, segments.size());
+            for (Path segment : segments) {
+                assertTrue(BlockCompression.isCompressed(segment), segment.toString());
+                try (SegmentReader reader = SegmentReader.open(segment)) {
+                    assertTrue(reader.isSealed());
+                }
+            }
+            List<String> lines = readAll(sink);
+            assertTrue(lines.get(lines.size() - 1).contains("\"traceId\":\"trace-499\""));
+            assertTrue(compressor.getOutputBytes() * 3 < compressor.getInputBytes());
+            
+            // 重启后序号接在压缩的段之后，保留数量同样计算压缩的段
+            MappedSegmentSink reopened = new MappedSegmentSink(directory, "events", 16 * 1024, 0,
+                    NO_BACKGROUND_FLUSH, 1024, 3);
+            reopened.append(LogLevel.INFO, event(500));
+            reopened.close();
+            segments = reopened.listSegments();
+            assertEquals(3, segments.size());
+            Path newest = segments.get(segments.size() - 1);
+            assertFalse(BlockCompression.isCompressed(newest));
+            assertEquals(1, read(newest).size());
+        } finally {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    void testAppendAfterCloseIsDropped() throws Exception {
+        Path directory = Files.createTempDirectory("atlas-sink");
+        try {
+            MappedSegmentSink sink = new MappedSegmentSink(directory, "events", 64 * 1024, 0,
+                    NO_BACKGROUND_FLUSH, 4096, 0);
+            sink.close();
+            sink.append(LogLevel.INFO, event(1));
+            sink.flush();
+            
+            assertEquals(1, sink.getDroppedEvents());
+            assertTrue(sink.listSegments().isEmpty());
+        } finally {
+            delete(directory);
+        }
+    }
+}
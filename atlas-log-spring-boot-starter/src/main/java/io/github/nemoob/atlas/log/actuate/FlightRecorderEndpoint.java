@@ -0,0 +1,59 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import com.alibaba.fastjson2.JSON;
+import io.github.nemoob.atlas.log.recorder.FlightRecorder;
+import io.github.nemoob.atlas.log.recorder.RecordedEvent;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 飞行记录器 Actuator 端点
+ * <p>
+ * 访问 {@code /actuator/atlasflight?traceId=...} 返回该 TraceId 仍在内存中的事件，
+ * {@code /actuator/atlasflight?from=...&to=...}（毫秒时间戳，可只给一端）返回时间窗口内的事件，
+ * 不带参数时返回最近的事件。{@code limit} 限制返回条数，默认 {@value #DEFAULT_LIMIT}。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Endpoint(id = "atlasflight")
+public class FlightRecorderEndpoint {
+    
+    private static final int DEFAULT_LIMIT = 200;
+    
+    private final FlightRecorder recorder;
+    
+    public FlightRecorderEndpoint(FlightRecorder recorder) {
+        this.recorder = recorder;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> events(@Nullable String traceId, @Nullable Long from, @Nullable Long to,
+                                      @Nullable Integer limit) {
+        int max = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        List<RecordedEvent> recorded = traceId != null && !traceId.isEmpty()
+                ? recorder.findByTraceId(traceId, max)
+                : recorder.findByTime(from != null ? from : 0, to != null ? to : Long.MAX_VALUE, max);
+        
+        List<Object> events = new ArrayList<>(recorded.size());
+        for (RecordedEvent event : recorded) {
+            events.add(JSON.parseObject(event.getJson()));
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capacity", recorder.getCapacity());
+        result.put("maxBytes", recorder.getMaxBytes());
+        result.put("retained", recorder.size());
+        result.put("recorded", recorder.getRecordedEvents());
+        result.put("oversized", recorder.getOversizedEvents());
+        result.put("events", events);
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import io.github.nemoob.atlas.log.web.EndpointLatencyRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP 端点延迟统计 Actuator 端点
+ * <p>
+ * 访问 {@code /actuator/atlashttp}，按 URI 模板返回请求数、p50/p90/p99/max（毫秒）、对应的 TraceId 样例和状态码分布。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Endpoint(id = "atlashttp")
+public class HttpLatencyEndpoint {
+    
+    private final EndpointLatencyRegistry registry;
+    
+    public HttpLatencyEndpoint(EndpointLatencyRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> latencies() {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointLatencyRegistry.EndpointLatencySnapshot snapshot : registry.snapshot()) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("method", snapshot.getMethod());
+            endpoint.put("pattern", snapshot.getPattern());
+            LatencyViews.putLatencies(endpoint, snapshot.getHistogram());
+            
+            Map<String, Long> status = new LinkedHashMap<>();
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                status.put(statusClass + "xx", snapshot.getStatusCount(statusClass));
+            }
+            endpoint.put("status", status);
+            endpoints.add(endpoint);
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trackedEndpoints", registry.getEndpointCount());
+        result.put("maxEndpoints", registry.getMaxEndpoints());
+        result.put("endpoints", endpoints);
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import io.github.nemoob.atlas.log.metrics.Exemplar;
+import io.github.nemoob.atlas.log.metrics.HistogramSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator 端点共用的延迟统计输出格式（毫秒，保留两位小数）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class LatencyViews {
+    
+    private LatencyViews() {
+    }
+    
+    /**
+     * 写入 count/mean/p50/p90/p99/max，以及 p99 和 max 所在桶的 TraceId 样例
+     */
+    static void putLatencies(Map<String, Object> target, HistogramSnapshot histogram) {
+        target.put("count", histogram.getCount());
+        target.put("meanMs", toMillis(histogram.getMean()));
+        target.put("p50Ms", toMillis(histogram.getPercentile(0.50)));
+        target.put("p90Ms", toMillis(histogram.getPercentile(0.90)));
+        target.put("p99Ms", toMillis(histogram.getPercentile(0.99)));
+        target.put("maxMs", toMillis(histogram.getMax()));
+        
+        Map<String, Object> exemplars = new LinkedHashMap<>();
+        putExemplar(exemplars, "p99", histogram.getPercentileExemplar(0.99));
+        putExemplar(exemplars, "max", histogram.getPercentileExemplar(1.0));
+        if (!exemplars.isEmpty()) {
+            target.put("exemplars", exemplars);
+        }
+    }
+    
+    private static void putExemplar(Map<String, Object> target, String name, Exemplar exemplar) {
+        if (exemplar == null) {
+            return;
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("traceId", exemplar.getTraceId());
+        view.put("valueMs", toMillis(exemplar.getValueMicros()));
+        view.put("timestamp", exemplar.getTimestamp());
+        target.put(name, view);
+    }
+    
+    static double toMillis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import io.github.nemoob.atlas.log.metrics.InvocationSample;
+import io.github.nemoob.atlas.log.metrics.MethodLatencyRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 方法延迟统计 Actuator 端点
+ * <p>
+ * 访问 {@code /actuator/atlasmethods}，按 {@code @Log} 方法返回 p50/p90/p99/max（毫秒）、
+ * 分位数对应的 TraceId 样例、资源消耗（开启时），以及最近窗口内最慢的几次调用（含参数和返回值）。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Endpoint(id = "atlasmethods")
+public class MethodLatencyEndpoint {
+    
+    private final MethodLatencyRegistry registry;
+    
+    public MethodLatencyEndpoint(MethodLatencyRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> methods() {
+        List<Map<String, Object>> methods = new ArrayList<>();
+        for (MethodLatencyRegistry.MethodLatencySnapshot snapshot : registry.snapshot()) {
+            Map<String, Object> method = new LinkedHashMap<>();
+            method.put("method", snapshot.getName());
+            LatencyViews.putLatencies(method, snapshot.getHistogram());
+            if (snapshot.getResourceSamples() > 0) {
+                Map<String, Object> resources = new LinkedHashMap<>();
+                resources.put("samples", snapshot.getResourceSamples());
+                resources.put("avgCpuMs", LatencyViews.toMillis(snapshot.getCpuNanos() / 1000.0 / snapshot.getResourceSamples()));
+                resources.put("avgAllocatedBytes", snapshot.getAllocatedBytes() / snapshot.getResourceSamples());
+                resources.put("totalAllocatedBytes", snapshot.getAllocatedBytes());
+                method.put("resources", resources);
+            }
+            
+            List<Map<String, Object>> slowest = new ArrayList<>();
+            for (InvocationSample sample : snapshot.getSlowest()) {
+                Map<String, Object> invocation = new LinkedHashMap<>();
+                invocation.put("latencyMs", LatencyViews.toMillis(sample.getLatencyMicros()));
+                invocation.put("traceId", sample.getTraceId());
+                invocation.put("timestamp", sample.getTimestamp());
+                if (sample.getArgs() != null) {
+                    invocation.put("args", sample.getArgs());
+                }
+                if (sample.getResult() != null) {
+                    invocation.put("result", sample.getResult());
+                }
+                if (sample.getException() != null) {
+                    invocation.put("exception", sample.getException());
+                }
+                slowest.add(invocation);
+            }
+            method.put("slowest", slowest);
+            methods.add(method);
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trackedMethods", registry.getMethodCount());
+        result.put("maxMethods", registry.getMaxMethods());
+        result.put("methods", methods);
+        return result;
+    }
+}
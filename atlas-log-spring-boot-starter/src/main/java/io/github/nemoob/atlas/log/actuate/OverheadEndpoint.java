@@ -0,0 +1,52 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import io.github.nemoob.atlas.log.metrics.OverheadGovernor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 日志开销 Actuator 端点
+ * <p>
+ * 访问 {@code /actuator/atlasoverhead}，返回当前降级级别、预算、Atlas Log 自身开销的分布（毫秒），
+ * 以及自身开销占方法执行时间的比例（启动以来和上一个窗口）。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Endpoint(id = "atlasoverhead")
+public class OverheadEndpoint {
+    
+    private final OverheadGovernor governor;
+    
+    public OverheadEndpoint(OverheadGovernor governor) {
+        this.governor = governor;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> overhead() {
+        Map<String, Object> budget = new LinkedHashMap<>();
+        budget.put("maxRatio", governor.getMaxRatio());
+        budget.put("maxMicros", governor.getMaxOverheadMicros());
+        
+        Map<String, Object> perCall = new LinkedHashMap<>();
+        LatencyViews.putLatencies(perCall, governor.getOverheadSnapshot());
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("level", governor.getLevel().name());
+        result.put("transitions", governor.getTransitions());
+        result.put("budget", budget);
+        result.put("ratio", ratio(governor.getOverheadRatio()));
+        result.put("lastWindowRatio", ratio(governor.getLastWindowRatio()));
+        result.put("lastWindowAvgMicros", governor.getLastWindowAvgMicros());
+        result.put("perCall", perCall);
+        return result;
+    }
+    
+    private static Object ratio(double ratio) {
+        return Double.isInfinite(ratio) ? "Infinity" : Math.round(ratio * 10_000) / 10_000.0;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.nemoob.atlas.log.actuate;
+
+import io.github.nemoob.atlas.log.serializer.SerializationBudget;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 序列化内存预算 Actuator 端点
+ * <p>
+ * 访问 {@code /actuator/atlasserialization}，返回预算上限、当前和峰值在途字节数，
+ * 以及预留成功和失败（降级为摘要）的次数。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Endpoint(id = "atlasserialization")
+public class SerializationBudgetEndpoint {
+    
+    private final SerializationBudget budget;
+    
+    public SerializationBudgetEndpoint(SerializationBudget budget) {
+        this.budget = budget;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> serialization() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxInFlightBytes", budget.getMaxInFlightBytes());
+        result.put("inFlightBytes", budget.getInFlightBytes());
+        result.put("peakBytes", budget.getPeakBytes());
+        result.put("reservations", budget.getReservations());
+        result.put("rejections", budget.getRejections());
+        return result;
+    }
+}
@@ -167,6 +167,15 @@ public class AnnotationConfigValidator {
         validatePerformanceConfig(config.getPerformance());
         validateConditionConfig(config.getCondition());
         validateSensitiveConfig(config.getSensitive());
+        validateHttpLogConfig(config.getHttpLog());
+        validateMetricsConfig(config.getMetrics());
+        validateSinkConfig(config.getSink());
+        validateAuditConfig(config.getAudit());
+        validateCompressionConfig(config.getCompression());
+        validateFlightRecorderConfig(config.getFlightRecorder());
+        validateJfrConfig(config.getJfr());
+        validateExceptionConfig(config.getException());
+        validateErrorBurstConfig(config.getErrorBurst());
         
         logger.debug("Nested configurations validation passed");
     }
@@ -211,6 +220,68 @@ public class AnnotationConfigValidator {
         if (config.getSlowThreshold() > 60000) {
             logger.warn("Performance slowThreshold is very large ({}ms), consider reducing it", config.getSlowThreshold());
         }
+        
+        // 验证自适应阈值
+        LogConfigProperties.AdaptiveConfig adaptive = config.getAdaptive();
+        if (adaptive != null && adaptive.isEnabled()) {
+            if (adaptive.getMultiplier() <= 0) {
+                throw new IllegalArgumentException("Performance adaptive.multiplier must be positive, got: " + adaptive.getMultiplier());
+            }
+            if (adaptive.getWindowSeconds() <= 0 || adaptive.getSlots() <= 0) {
+                throw new IllegalArgumentException("Performance adaptive.windowSeconds and adaptive.slots must be positive");
+            }
+            if (adaptive.getMinSamples() < 0 || adaptive.getMinThreshold() < 0 || adaptive.getMaxTracked() <= 0) {
+                throw new IllegalArgumentException("Performance adaptive.minSamples and adaptive.minThreshold must be non-negative, adaptive.maxTracked must be positive");
+            }
+            if (adaptive.getSlots() > 60) {
+                logger.warn("Performance adaptive.slots is very large ({}), each tracked method keeps one histogram per slot", adaptive.getSlots());
+            }
+        }
+        
+        // 验证看门狗
+        LogConfigProperties.WatchdogConfig watchdog = config.getWatchdog();
+        if (watchdog != null && watchdog.isEnabled()) {
+            if (watchdog.getThreshold() < 0) {
+                throw new IllegalArgumentException("Performance watchdog.threshold must be non-negative, got: " + watchdog.getThreshold());
+            }
+            if (watchdog.getInterval() <= 0 || watchdog.getCapacity() <= 0) {
+                throw new IllegalArgumentException("Performance watchdog.interval and watchdog.capacity must be positive");
+            }
+            if (watchdog.getMaxDepth() <= 0 || watchdog.getMaxSamples() <= 0) {
+                throw new IllegalArgumentException("Performance watchdog.maxDepth and watchdog.maxSamples must be positive");
+            }
+            if (watchdog.getInterval() < 10) {
+                logger.warn("Performance watchdog.interval is very small ({}ms), each sample pauses the sampled threads briefly", watchdog.getInterval());
+            }
+        }
+        
+        // 验证开销熔断
+        LogConfigProperties.OverheadConfig overhead = config.getOverhead();
+        if (overhead != null && overhead.isEnabled()) {
+            if (overhead.getMaxRatio() < 0 || overhead.getMaxMicros() < 0) {
+                throw new IllegalArgumentException("Performance overhead.maxRatio and overhead.maxMicros must be non-negative");
+            }
+            if (overhead.getMaxRatio() == 0 && overhead.getMaxMicros() == 0) {
+                logger.warn("Performance overhead has neither maxRatio nor maxMicros set, overhead is measured but never limited");
+            }
+            if (overhead.getWindowSeconds() <= 0 || overhead.getSampleRate() <= 0 || overhead.getRecoveryWindows() <= 0) {
+                throw new IllegalArgumentException("Performance overhead.windowSeconds, overhead.sampleRate and overhead.recoveryWindows must be positive");
+            }
+            if (overhead.getMinSamples() < 0) {
+                throw new IllegalArgumentException("Performance overhead.minSamples must be non-negative, got: " + overhead.getMinSamples());
+            }
+        }
+        
+        // 验证序列化内存预算
+        LogConfigProperties.SerializationConfig serialization = config.getSerialization();
+        if (serialization != null && serialization.isEnabled()) {
+            if (serialization.getMaxInFlightBytes() <= 0) {
+                throw new IllegalArgumentException("Performance serialization.maxInFlightBytes must be positive, got: " + serialization.getMaxInFlightBytes());
+            }
+            if (serialization.getMaxInFlightBytes() < 1024 * 1024) {
+                logger.warn("Performance serialization.maxInFlightBytes is very small ({} bytes), most arguments will be logged as summaries", serialization.getMaxInFlightBytes());
+            }
+        }
     }
     
     /**
@@ -249,6 +320,325 @@ public class AnnotationConfigValidator {
         validateNonEmptyElements(config.getCustomFields(), "sensitive.customFields");
     }
     
+    /**
+     * 验证HTTP日志配置
+     */
+    private void validateHttpLogConfig(LogConfigProperties.HttpLogConfig config) {
+        if (config == null) {
+            return;
+        }
+        
+        // 验证报文体捕获上限
+        if ((config.isLogRequestBody() || config.isLogResponseBody()) && config.getMaxBodyLength() <= 0) {
+            throw new IllegalArgumentException("HttpLog maxBodyLength must be positive, got: " + config.getMaxBodyLength());
+        }
+        
+        if (config.getMaxBodyLength() > 1024 * 1024) {
+            logger.warn("HttpLog maxBodyLength is very large ({} bytes), each pooled buffer is pre-allocated", config.getMaxBodyLength());
+        }
+        
+        // 验证路径模式
+        validatePathPatterns(config.getIncludePaths(), "httpLog.includePaths");
+        validatePathPatterns(config.getExcludePaths(), "httpLog.excludePaths");
+        
+        // 验证按路径策略
+        if (config.getPathPolicies() != null) {
+            for (int i = 0; i < config.getPathPolicies().size(); i++) {
+                LogConfigProperties.PathPolicy policy = config.getPathPolicies().get(i);
+                String fieldName = "httpLog.pathPolicies[" + i + "]";
+                if (policy == null) {
+                    throw new IllegalArgumentException(fieldName + " cannot be null");
+                }
+                validatePathPattern(policy.getPattern(), fieldName + ".pattern");
+                if (policy.getLevel() != null && !VALID_LOG_LEVELS.contains(policy.getLevel().toUpperCase())) {
+                    throw new IllegalArgumentException("Invalid log level in " + fieldName + ": " + policy.getLevel() +
+                        ". Valid levels are: " + VALID_LOG_LEVELS);
+                }
+                if (policy.getSlowThreshold() != null && policy.getSlowThreshold() < 0) {
+                    throw new IllegalArgumentException(fieldName + ".slowThreshold must be non-negative, got: " + policy.getSlowThreshold());
+                }
+            }
+        }
+    }
+    
+    /**
+     * 验证延迟统计配置
+     */
+    private void validateMetricsConfig(LogConfigProperties.MetricsConfig config) {
+        if (config == null) {
+            return;
+        }
+        
+        if (config.getMaxEndpoints() <= 0) {
+            throw new IllegalArgumentException("Metrics maxEndpoints must be positive, got: " + config.getMaxEndpoints());
+        }
+        
+        if (config.getStripes() < 0) {
+            throw new IllegalArgumentException("Metrics stripes must be non-negative, got: " + config.getStripes());
+        }
+        
+        if (config.getMaxEndpoints() > 5000) {
+            logger.warn("Metrics maxEndpoints is very large ({}), each endpoint keeps its own histogram", config.getMaxEndpoints());
+        }
+        
+        if (config.getMaxMethods() <= 0) {
+            throw new IllegalArgumentException("Metrics maxMethods must be positive, got: " + config.getMaxMethods());
+        }
+        
+        if (config.getSlowestSize() < 0) {
+            throw new IllegalArgumentException("Metrics slowestSize must be non-negative, got: " + config.getSlowestSize());
+        }
+        
+        if (config.getSlowestSize() > 0 && config.getSlowestWindowSeconds() <= 0) {
+            throw new IllegalArgumentException("Metrics slowestWindowSeconds must be positive, got: " + config.getSlowestWindowSeconds());
+        }
+        
+        if (config.getSlowestSize() > 100) {
+            logger.warn("Metrics slowestSize is very large ({}), each method keeps serialized args and results for its slowest calls", config.getSlowestSize());
+        }
+    }
+    
+    /**
+     * 验证段文件 Sink 配置
+     */
+    private void validateSinkConfig(LogConfigProperties.SinkConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.getDirectory() == null || config.getDirectory().trim().isEmpty()) {
+            throw new IllegalArgumentException("Sink directory cannot be empty");
+        }
+        
+        if (config.getFilePrefix() == null || config.getFilePrefix().trim().isEmpty()) {
+            throw new IllegalArgumentException("Sink filePrefix cannot be empty");
+        }
+        
+        if (config.getSegmentBytes() < 64 * 1024) {
+            throw new IllegalArgumentException("Sink segmentBytes must be at least 64KB, got: " + config.getSegmentBytes());
+        }
+        
+        if (config.getBufferBytes() <= 0 || config.getBufferBytes() > config.getSegmentBytes() / 4) {
+            throw new IllegalArgumentException("Sink bufferBytes must be positive and at most a quarter of segmentBytes, got: "
+                    + config.getBufferBytes());
+        }
+        
+        if (config.getFlushIntervalMillis() <= 0) {
+            throw new IllegalArgumentException("Sink flushIntervalMillis must be positive, got: " + config.getFlushIntervalMillis());
+        }
+        
+        if (config.getRollIntervalSeconds() < 0) {
+            throw new IllegalArgumentException("Sink rollIntervalSeconds must be non-negative, got: " + config.getRollIntervalSeconds());
+        }
+        
+        if (config.getMaxSegments() < 0) {
+            throw new IllegalArgumentException("Sink maxSegments must be non-negative, got: " + config.getMaxSegments());
+        }
+        
+        if (config.getMaxSegments() == 0) {
+            logger.warn("Sink maxSegments is 0, segment files in {} will never be deleted", config.getDirectory());
+        }
+    }
+    
+    /**
+     * 验证审计日志配置
+     */
+    private void validateAuditConfig(LogConfigProperties.AuditConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.getDirectory() == null || config.getDirectory().trim().isEmpty()) {
+            throw new IllegalArgumentException("Audit directory cannot be empty");
+        }
+        
+        if (config.getFilePrefix() == null || config.getFilePrefix().trim().isEmpty()) {
+            throw new IllegalArgumentException("Audit filePrefix cannot be empty");
+        }
+        
+        if (config.getCommitIntervalMillis() <= 0) {
+            throw new IllegalArgumentException("Audit commitIntervalMillis must be positive, got: " + config.getCommitIntervalMillis());
+        }
+        
+        if (config.getMaxBatchBytes() <= 0) {
+            throw new IllegalArgumentException("Audit maxBatchBytes must be positive, got: " + config.getMaxBatchBytes());
+        }
+        
+        if (config.getMaxPendingBytes() < config.getMaxBatchBytes()) {
+            throw new IllegalArgumentException("Audit maxPendingBytes must be at least maxBatchBytes, got: "
+                    + config.getMaxPendingBytes());
+        }
+        
+        if (config.getMaxFileBytes() < 1024 * 1024) {
+            throw new IllegalArgumentException("Audit maxFileBytes must be at least 1MB, got: " + config.getMaxFileBytes());
+        }
+        
+        if (config.getAwaitTimeoutMillis() < 0) {
+            throw new IllegalArgumentException("Audit awaitTimeoutMillis must be non-negative, got: " + config.getAwaitTimeoutMillis());
+        }
+        
+        if (!config.isWaitForDurability()) {
+            logger.warn("Audit waitForDurability is disabled, audit records written within the last commit interval may be lost on crash");
+        }
+    }
+    
+    /**
+     * 验证压缩配置
+     */
+    private void validateCompressionConfig(LogConfigProperties.CompressionConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.getLevel() < 1 || config.getLevel() > 9) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9, got: " + config.getLevel());
+        }
+        
+        if (config.getBlockBytes() < 4096 || config.getBlockBytes() > 16 * 1024 * 1024) {
+            throw new IllegalArgumentException("Compression blockBytes must be between 4KB and 16MB, got: " + config.getBlockBytes());
+        }
+    }
+    
+    /**
+     * 验证飞行记录器配置
+     */
+    private void validateFlightRecorderConfig(LogConfigProperties.FlightRecorderConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.getCapacity() <= 0 || config.getCapacity() > (1 << 24)) {
+            throw new IllegalArgumentException("Flight recorder capacity must be between 1 and 16777216, got: " + config.getCapacity());
+        }
+        
+        if (config.getMaxBytes() < 4096) {
+            throw new IllegalArgumentException("Flight recorder maxBytes must be at least 4KB, got: " + config.getMaxBytes());
+        }
+        
+        if (config.isIncludeBelowLevel()) {
+            logger.warn("Flight recorder records events below the log level; every such event is rendered to JSON");
+        }
+    }
+    
+    /**
+     * 验证 JFR 调用事件配置
+     */
+    private void validateJfrConfig(LogConfigProperties.JfrConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.isExclusive()) {
+            logger.warn("JFR exclusive mode is enabled; enter and exit logs of non-audited methods are only available in JFR recordings");
+        }
+    }
+    
+    /**
+     * 验证错误突增诊断配置
+     */
+    private void validateErrorBurstConfig(LogConfigProperties.ErrorBurstConfig config) {
+        if (config == null || !config.isEnabled()) {
+            return;
+        }
+        
+        if (config.getWindowSeconds() <= 0) {
+            throw new IllegalArgumentException("Error burst windowSeconds must be positive, got: " + config.getWindowSeconds());
+        }
+        
+        if (config.getSlots() <= 0 || config.getSlots() > 60) {
+            throw new IllegalArgumentException("Error burst slots must be between 1 and 60, got: " + config.getSlots());
+        }
+        
+        if (config.getMinCalls() <= 0) {
+            throw new IllegalArgumentException("Error burst minCalls must be positive, got: " + config.getMinCalls());
+        }
+        
+        if (config.getErrorRateThreshold() <= 0 || config.getErrorRateThreshold() > 1) {
+            throw new IllegalArgumentException("Error burst errorRateThreshold must be in (0, 1], got: " + config.getErrorRateThreshold());
+        }
+        
+        if (config.getCaptureSeconds() <= 0) {
+            throw new IllegalArgumentException("Error burst captureSeconds must be positive, got: " + config.getCaptureSeconds());
+        }
+        
+        if (config.getMaxCapturesPerSecond() <= 0) {
+            throw new IllegalArgumentException("Error burst maxCapturesPerSecond must be positive, got: " + config.getMaxCapturesPerSecond());
+        }
+        
+        if (config.getMaxTrackedMethods() <= 0) {
+            throw new IllegalArgumentException("Error burst maxTrackedMethods must be positive, got: " + config.getMaxTrackedMethods());
+        }
+        
+        if (config.getMinCalls() < 5) {
+            logger.warn("Error burst minCalls is very low ({}), a few failures on a quiet method will start capturing", config.getMinCalls());
+        }
+    }
+    
+    /**
+     * 验证异常日志配置
+     */
+    private void validateExceptionConfig(LogConfigProperties.ExceptionConfig config) {
+        if (config == null) {
+            return;
+        }
+        
+        LogConfigProperties.DedupConfig dedup = config.getDedup();
+        if (dedup != null && dedup.isEnabled()) {
+            if (dedup.getWindowSeconds() <= 0) {
+                throw new IllegalArgumentException("Exception dedup windowSeconds must be positive, got: " + dedup.getWindowSeconds());
+            }
+            if (dedup.getFrames() <= 0) {
+                throw new IllegalArgumentException("Exception dedup frames must be positive, got: " + dedup.getFrames());
+            }
+            if (dedup.getMaxFingerprints() <= 0) {
+                throw new IllegalArgumentException("Exception dedup maxFingerprints must be positive, got: " + dedup.getMaxFingerprints());
+            }
+        }
+        
+        LogConfigProperties.StackTraceConfig stackTrace = config.getStackTrace();
+        if (stackTrace != null && stackTrace.isEnabled()) {
+            if (stackTrace.getMaxDepth() <= 0) {
+                throw new IllegalArgumentException("Stack trace maxDepth must be positive, got: " + stackTrace.getMaxDepth());
+            }
+            if (stackTrace.getMaxCauses() < 0) {
+                throw new IllegalArgumentException("Stack trace maxCauses must not be negative, got: " + stackTrace.getMaxCauses());
+            }
+            if (stackTrace.getMaxCachedFrames() < 0) {
+                throw new IllegalArgumentException("Stack trace maxCachedFrames must not be negative, got: " + stackTrace.getMaxCachedFrames());
+            }
+        }
+    }
+    
+    /**
+     * 验证路径模式列表
+     */
+    private void validatePathPatterns(List<String> patterns, String fieldName) {
+        if (patterns == null) {
+            return;
+        }
+        for (int i = 0; i < patterns.size(); i++) {
+            validatePathPattern(patterns.get(i), fieldName + "[" + i + "]");
+        }
+    }
+    
+    /**
+     * 验证路径模式：以 / 开头，每段最多一个 *（** 除外）
+     */
+    private void validatePathPattern(String pattern, String fieldName) {
+        if (pattern == null || pattern.trim().isEmpty()) {
+            throw new IllegalArgumentException(fieldName + " cannot be null or empty");
+        }
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Invalid path pattern in " + fieldName + ": " + pattern + ". Pattern must start with '/'");
+        }
+        for (String segment : pattern.split("/")) {
+            if (!"**".equals(segment) && segment.indexOf('*') != segment.lastIndexOf('*')) {
+                throw new IllegalArgumentException("Invalid path pattern in " + fieldName + ": " + pattern +
+                    ". Only one '*' per segment is supported, or '**' as a whole segment");
+            }
+        }
+    }
+    
     /**
      * 验证字符串列表
      */
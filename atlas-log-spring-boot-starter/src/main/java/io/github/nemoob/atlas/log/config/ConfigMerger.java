@@ -184,6 +184,9 @@ public class ConfigMerger implements BeanFactoryPostProcessor {
                                          propertiesConfig.isSpelEnabled(), true, "spelEnabled"));
         merged.setConditionEnabled(resolveValue(annotationConfig.isConditionEnabled(), 
                                                propertiesConfig.isConditionEnabled(), true, "conditionEnabled"));
+        // 结构化输出和日志后端只在配置文件中设置
+        merged.setStructuredEvents(propertiesConfig.isStructuredEvents());
+        merged.setLog4j2Events(propertiesConfig.isLog4j2Events());
     }
     
     /**
@@ -213,6 +216,30 @@ public class ConfigMerger implements BeanFactoryPostProcessor {
         mergeConditionConfig(merged, annotationConfig, propertiesConfig);
         mergeSensitiveConfig(merged, annotationConfig, propertiesConfig);
         mergeHttpLogConfig(merged, annotationConfig, propertiesConfig);
+        
+        // 延迟统计仅支持属性文件配置
+        merged.setMetrics(new LogConfigProperties.MetricsConfig(propertiesConfig.getMetrics()));
+        
+        // 段文件 Sink 仅支持属性文件配置
+        merged.setSink(new LogConfigProperties.SinkConfig(propertiesConfig.getSink()));
+        
+        // 审计日志仅支持属性文件配置
+        merged.setAudit(new LogConfigProperties.AuditConfig(propertiesConfig.getAudit()));
+        
+        // 压缩仅支持属性文件配置
+        merged.setCompression(new LogConfigProperties.CompressionConfig(propertiesConfig.getCompression()));
+        
+        // 飞行记录器仅支持属性文件配置
+        merged.setFlightRecorder(new LogConfigProperties.FlightRecorderConfig(propertiesConfig.getFlightRecorder()));
+        
+        // JFR 调用事件仅支持属性文件配置
+        merged.setJfr(new LogConfigProperties.JfrConfig(propertiesConfig.getJfr()));
+        
+        // 异常日志仅支持属性文件配置
+        merged.setException(new LogConfigProperties.ExceptionConfig(propertiesConfig.getException()));
+        
+        // 错误突增诊断仅支持属性文件配置
+        merged.setErrorBurst(new LogConfigProperties.ErrorBurstConfig(propertiesConfig.getErrorBurst()));
     }
     
     /**
@@ -232,6 +259,10 @@ public class ConfigMerger implements BeanFactoryPostProcessor {
                                              propertiesTrace.getHeaderName(), "X-Trace-Id", "trace.headerName"));
         mergedTrace.setGenerator(resolveValue(annotationTrace.getGenerator(), 
                                             propertiesTrace.getGenerator(), "uuid", "trace.generator"));
+        mergedTrace.setReactorContextBridge(resolveValue(annotationTrace.isReactorContextBridge(), 
+                                            propertiesTrace.isReactorContextBridge(), false, "trace.reactorContextBridge"));
+        mergedTrace.setReactorContextBridgeGlobal(resolveValue(annotationTrace.isReactorContextBridgeGlobal(), 
+                                            propertiesTrace.isReactorContextBridgeGlobal(), false, "trace.reactorContextBridgeGlobal"));
     }
     
     /**
@@ -251,6 +282,12 @@ public class ConfigMerger implements BeanFactoryPostProcessor {
                                                propertiesPerf.getSlowThreshold(), 1000L, "performance.slowThreshold"));
         mergedPerf.setLogSlowMethods(resolveValue(annotationPerf.isLogSlowMethods(), 
                                                 propertiesPerf.isLogSlowMethods(), true, "performance.logSlowMethods"));
+        // 自适应阈值仅支持属性文件配置
+        mergedPerf.setAdaptive(new LogConfigProperties.AdaptiveConfig(propertiesPerf.getAdaptive()));
+        mergedPerf.setWatchdog(new LogConfigProperties.WatchdogConfig(propertiesPerf.getWatchdog()));
+        mergedPerf.setResources(new LogConfigProperties.ResourcesConfig(propertiesPerf.getResources()));
+        mergedPerf.setOverhead(new LogConfigProperties.OverheadConfig(propertiesPerf.getOverhead()));
+        mergedPerf.setSerialization(new LogConfigProperties.SerializationConfig(propertiesPerf.getSerialization()));
     }
     
     /**
@@ -329,6 +366,22 @@ public class ConfigMerger implements BeanFactoryPostProcessor {
                 annotationHttpLog != null ? annotationHttpLog.getExcludeHeaders() : null,
                 propertiesHttpLog != null ? propertiesHttpLog.getExcludeHeaders() : null,
                 "httpLog.excludeHeaders"));
+            
+            // 报文体捕获、路径匹配与按路径策略仅支持属性文件配置
+            if (propertiesHttpLog != null) {
+                mergedHttpLog.setLogRequestBody(propertiesHttpLog.isLogRequestBody());
+                mergedHttpLog.setLogResponseBody(propertiesHttpLog.isLogResponseBody());
+                mergedHttpLog.setMaxBodyLength(propertiesHttpLog.getMaxBodyLength());
+                mergedHttpLog.setBodyBufferPoolSize(propertiesHttpLog.getBodyBufferPoolSize());
+                mergedHttpLog.setExcludeBodyContentTypes(new ArrayList<>(propertiesHttpLog.getExcludeBodyContentTypes()));
+                mergedHttpLog.setIncludePaths(new ArrayList<>(propertiesHttpLog.getIncludePaths()));
+                mergedHttpLog.setExcludePaths(new ArrayList<>(propertiesHttpLog.getExcludePaths()));
+                List<LogConfigProperties.PathPolicy> policies = new ArrayList<>();
+                for (LogConfigProperties.PathPolicy policy : propertiesHttpLog.getPathPolicies()) {
+                    policies.add(new LogConfigProperties.PathPolicy(policy));
+                }
+                mergedHttpLog.setPathPolicies(policies);
+            }
         }
     }
     
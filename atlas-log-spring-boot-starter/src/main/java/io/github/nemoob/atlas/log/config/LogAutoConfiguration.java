@@ -1,8 +1,27 @@
 package io.github.nemoob.atlas.log.config;
 
+import io.github.nemoob.atlas.log.actuate.FlightRecorderEndpoint;
+import io.github.nemoob.atlas.log.actuate.HttpLatencyEndpoint;
+import io.github.nemoob.atlas.log.actuate.MethodLatencyEndpoint;
+import io.github.nemoob.atlas.log.actuate.OverheadEndpoint;
+import io.github.nemoob.atlas.log.actuate.SerializationBudgetEndpoint;
 import io.github.nemoob.atlas.log.aspect.AtlasLogAspect;
 import io.github.nemoob.atlas.log.async.TraceIdTaskDecorator;
+import io.github.nemoob.atlas.log.audit.AuditJournal;
+import io.github.nemoob.atlas.log.compress.BackgroundCompressor;
+import io.github.nemoob.atlas.log.event.LogEventEmitter;
+import io.github.nemoob.atlas.log.exception.ExceptionDeduplicator;
+import io.github.nemoob.atlas.log.exception.StackTraceRenderer;
 import io.github.nemoob.atlas.log.expression.SpelExpressionEvaluator;
+import io.github.nemoob.atlas.log.jfr.JfrInvocationRecorder;
+import io.github.nemoob.atlas.log.log4j2.Log4j2LogEventEmitter;
+import io.github.nemoob.atlas.log.metrics.ErrorBurstDetector;
+import io.github.nemoob.atlas.log.metrics.InFlightRegistry;
+import io.github.nemoob.atlas.log.metrics.MethodLatencyRegistry;
+import io.github.nemoob.atlas.log.metrics.OverheadGovernor;
+import io.github.nemoob.atlas.log.metrics.ResourceAccounting;
+import io.github.nemoob.atlas.log.metrics.SlowCallDetector;
+import io.github.nemoob.atlas.log.metrics.SlowCallWatchdog;
 import io.github.nemoob.atlas.log.serializer.ArgumentSerializer;
 import io.github.nemoob.atlas.log.serializer.ArgumentFormatConfig;
 import io.github.nemoob.atlas.log.serializer.ArgumentFormatType;
@@ -12,12 +31,22 @@ import io.github.nemoob.atlas.log.serializer.FastjsonArgumentSerializer;
 import io.github.nemoob.atlas.log.serializer.JsonArgumentFormatter;
 import io.github.nemoob.atlas.log.serializer.KeyValueArgumentFormatter;
 import io.github.nemoob.atlas.log.serializer.SensitiveDataMasker;
+import io.github.nemoob.atlas.log.serializer.SerializationBudget;
+import io.github.nemoob.atlas.log.sink.LogSink;
+import io.github.nemoob.atlas.log.sink.MappedSegmentSink;
 import io.github.nemoob.atlas.log.comparator.JsonPathValueExtractor;
 import io.github.nemoob.atlas.log.processor.JsonPathCompareProcessor;
+import io.github.nemoob.atlas.log.recorder.FlightRecorder;
+import io.github.nemoob.atlas.log.web.EndpointLatencyRegistry;
 import io.github.nemoob.atlas.log.web.LoggingFilter;
+import io.github.nemoob.atlas.log.web.TraceIdCallableInterceptor;
 import io.github.nemoob.atlas.log.web.TraceIdInterceptor;
+import io.github.nemoob.atlas.log.web.reactive.ReactiveLoggingFilter;
+import io.github.nemoob.atlas.log.web.reactive.TraceIdContextBridge;
 // Jackson 相关导入已移除，使用 Fastjson 替代
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,10 +63,16 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.Ordered;
 import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.servlet.DispatcherType;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Atlas Log自动配置类
@@ -193,9 +228,25 @@ public class LogAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "com.alibaba.fastjson2.JSON")
     public FastjsonArgumentSerializer fastjsonArgumentSerializer(SensitiveDataMasker sensitiveDataMasker,
-                                                                 ArgumentFormatConfig argumentFormatConfig) {
+                                                                 ArgumentFormatConfig argumentFormatConfig,
+                                                                 ObjectProvider<SerializationBudget> serializationBudget) {
         log.info("Using Fastjson-based argument serializer with format: {}", argumentFormatConfig.getType());
-        return new FastjsonArgumentSerializer(sensitiveDataMasker, argumentFormatConfig);
+        FastjsonArgumentSerializer serializer = new FastjsonArgumentSerializer(sensitiveDataMasker, argumentFormatConfig);
+        serializer.setSerializationBudget(serializationBudget.getIfAvailable());
+        return serializer;
+    }
+    
+    /**
+     * 配置序列化内存预算
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance.serialization", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SerializationBudget atlasLogSerializationBudget(LogConfigProperties properties,
+                                                           ApplicationContext applicationContext) {
+        long maxInFlightBytes = getEffectiveConfig(applicationContext, properties).getPerformance().getSerialization().getMaxInFlightBytes();
+        log.info("Atlas Log serialization budget: {} bytes in flight", maxInFlightBytes);
+        return new SerializationBudget(maxInFlightBytes);
     }
     
     /**
@@ -262,6 +313,79 @@ public class LogAutoConfiguration {
         return new JsonPathCompareProcessor(null);
     }
     
+    /**
+     * 配置慢调用判定器（固定阈值或自适应阈值）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SlowCallDetector atlasLogSlowCallDetector(LogConfigProperties properties,
+                                                     ApplicationContext applicationContext) {
+        LogConfigProperties.PerformanceConfig performance = getEffectiveConfig(applicationContext, properties).getPerformance();
+        LogConfigProperties.AdaptiveConfig adaptive = performance.getAdaptive();
+        if (!adaptive.isEnabled()) {
+            return new SlowCallDetector(performance.getSlowThreshold());
+        }
+        log.info("Atlas Log adaptive slow threshold enabled: {}x p99 over {}s", adaptive.getMultiplier(), adaptive.getWindowSeconds());
+        return new SlowCallDetector(performance.getSlowThreshold(), true, adaptive.getMultiplier(),
+                TimeUnit.SECONDS.toMillis(adaptive.getWindowSeconds()), adaptive.getSlots(),
+                adaptive.getMinSamples(), adaptive.getMinThreshold(), adaptive.getMaxTracked());
+    }
+    
+    /**
+     * 配置正在执行调用的注册表（供看门狗扫描）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance.watchdog", name = "enabled", havingValue = "true")
+    public InFlightRegistry atlasLogInFlightRegistry(LogConfigProperties properties,
+                                                     ApplicationContext applicationContext) {
+        return new InFlightRegistry(getEffectiveConfig(applicationContext, properties).getPerformance().getWatchdog().getCapacity());
+    }
+    
+    /**
+     * 配置慢调用看门狗
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance.watchdog", name = "enabled", havingValue = "true")
+    public SlowCallWatchdog atlasLogSlowCallWatchdog(InFlightRegistry inFlightRegistry,
+                                                     LogConfigProperties properties,
+                                                     ApplicationContext applicationContext) {
+        LogConfigProperties.WatchdogConfig watchdog = getEffectiveConfig(applicationContext, properties).getPerformance().getWatchdog();
+        SlowCallWatchdog slowCallWatchdog = new SlowCallWatchdog(inFlightRegistry, watchdog.getThreshold(),
+                watchdog.getInterval(), watchdog.getMaxDepth(), watchdog.getMaxSamples());
+        slowCallWatchdog.start();
+        return slowCallWatchdog;
+    }
+    
+    /**
+     * 配置资源消耗统计（CPU 时间、内存分配）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance.resources", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ResourceAccounting atlasLogResourceAccounting(LogConfigProperties properties,
+                                                         ApplicationContext applicationContext) {
+        return new ResourceAccounting(getEffectiveConfig(applicationContext, properties).getPerformance().getResources().getTags());
+    }
+    
+    /**
+     * 配置日志开销熔断器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.performance.overhead", name = "enabled", havingValue = "true")
+    public OverheadGovernor atlasLogOverheadGovernor(LogConfigProperties properties,
+                                                     ApplicationContext applicationContext) {
+        LogConfigProperties.OverheadConfig overhead = getEffectiveConfig(applicationContext, properties).getPerformance().getOverhead();
+        log.info("Atlas Log overhead budget enabled: maxRatio {}, maxMicros {}, window {}s",
+                overhead.getMaxRatio(), overhead.getMaxMicros(), overhead.getWindowSeconds());
+        return new OverheadGovernor(overhead.getMaxRatio(), overhead.getMaxMicros(),
+                TimeUnit.SECONDS.toMillis(overhead.getWindowSeconds()), overhead.getMinSamples(),
+                overhead.getSampleRate(), overhead.getRecoveryWindows());
+    }
+    
     /**
      * 配置日志切面
      */
@@ -271,9 +395,51 @@ public class LogAutoConfiguration {
     public AtlasLogAspect atlasLogAspect(SpelExpressionEvaluator spelExpressionEvaluator,
                                     ArgumentSerializer argumentSerializer,
                                     JsonPathCompareProcessor jsonPathCompareProcessor,
-                                    ArgumentFormatterManager argumentFormatterManager) {
+                                    ArgumentFormatterManager argumentFormatterManager,
+                                    ObjectProvider<SlowCallDetector> slowCallDetector,
+                                    ObjectProvider<MethodLatencyRegistry> methodLatencyRegistry,
+                                    ObjectProvider<InFlightRegistry> inFlightRegistry,
+                                    ObjectProvider<ResourceAccounting> resourceAccounting,
+                                    ObjectProvider<OverheadGovernor> overheadGovernor,
+                                    ObjectProvider<LogEventEmitter> logEventEmitter,
+                                    ObjectProvider<LogSink> logSink,
+                                    ObjectProvider<AuditJournal> auditJournal,
+                                    ObjectProvider<FlightRecorder> flightRecorder,
+                                    ObjectProvider<JfrInvocationRecorder> jfrRecorder,
+                                    ObjectProvider<ExceptionDeduplicator> exceptionDeduplicator,
+                                    ObjectProvider<StackTraceRenderer> stackTraceRenderer,
+                                    ObjectProvider<ErrorBurstDetector> errorBurstDetector,
+                                    ObjectProvider<SerializationBudget> serializationBudget,
+                                    LogConfigProperties properties,
+                                    ApplicationContext applicationContext) {
+        AtlasLogAspect aspect = new AtlasLogAspect(spelExpressionEvaluator, argumentSerializer, jsonPathCompareProcessor, argumentFormatterManager);
+        LogConfigProperties effectiveConfig = getEffectiveConfig(applicationContext, properties);
+        if (effectiveConfig.getPerformance().isLogSlowMethods()) {
+            aspect.setSlowCallDetector(slowCallDetector.getIfAvailable());
+        }
+        aspect.setMethodLatencyRegistry(methodLatencyRegistry.getIfAvailable());
+        aspect.setInFlightRegistry(inFlightRegistry.getIfAvailable());
+        aspect.setResourceAccounting(resourceAccounting.getIfAvailable());
+        aspect.setOverheadGovernor(overheadGovernor.getIfAvailable());
+        aspect.setStructuredEvents(effectiveConfig.isStructuredEvents());
+        aspect.setLogEventEmitter(logEventEmitter.getIfAvailable());
+        aspect.setLogSink(logSink.getIfAvailable());
+        aspect.setSinkExclusive(effectiveConfig.getSink().isExclusive());
+        LogConfigProperties.AuditConfig auditConfig = effectiveConfig.getAudit();
+        aspect.setAuditJournal(auditJournal.getIfAvailable());
+        aspect.setAuditTags(new HashSet<>(auditConfig.getTags()));
+        aspect.setAuditWaitForDurability(auditConfig.isWaitForDurability());
+        aspect.setAuditAwaitTimeoutMillis(auditConfig.getAwaitTimeoutMillis());
+        aspect.setFlightRecorder(flightRecorder.getIfAvailable());
+        aspect.setFlightRecorderBelowLevel(effectiveConfig.getFlightRecorder().isIncludeBelowLevel());
+        aspect.setJfrRecorder(jfrRecorder.getIfAvailable());
+        aspect.setJfrExclusive(effectiveConfig.getJfr().isExclusive());
+        aspect.setExceptionDeduplicator(exceptionDeduplicator.getIfAvailable());
+        aspect.setStackTraceRenderer(stackTraceRenderer.getIfAvailable());
+        aspect.setErrorBurstDetector(errorBurstDetector.getIfAvailable());
+        aspect.setSerializationBudget(serializationBudget.getIfAvailable());
         log.info("Atlas Log aspect configured successfully");
-        return new AtlasLogAspect(spelExpressionEvaluator, argumentSerializer, jsonPathCompareProcessor, argumentFormatterManager);
+        return aspect;
     }
     
     /**
@@ -288,11 +454,255 @@ public class LogAutoConfiguration {
         return new TraceIdTaskDecorator();
     }
     
+    /**
+     * 配置HTTP端点延迟注册表
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public EndpointLatencyRegistry atlasLogEndpointLatencyRegistry(LogConfigProperties properties,
+                                                                   ApplicationContext applicationContext) {
+        LogConfigProperties.MetricsConfig metricsConfig = getEffectiveConfig(applicationContext, properties).getMetrics();
+        log.info("Atlas Log endpoint latency registry configured, max endpoints: {}", metricsConfig.getMaxEndpoints());
+        return new EndpointLatencyRegistry(metricsConfig.getMaxEndpoints(), metricsConfig.getStripes());
+    }
+    
+    /**
+     * 配置方法延迟注册表（含最慢调用 Top-K）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MethodLatencyRegistry atlasLogMethodLatencyRegistry(LogConfigProperties properties,
+                                                               ApplicationContext applicationContext) {
+        LogConfigProperties.MetricsConfig metricsConfig = getEffectiveConfig(applicationContext, properties).getMetrics();
+        log.info("Atlas Log method latency registry configured, max methods: {}, slowest per method: {}",
+                metricsConfig.getMaxMethods(), metricsConfig.getSlowestSize());
+        return new MethodLatencyRegistry(metricsConfig.getMaxMethods(), metricsConfig.getStripes(),
+                metricsConfig.getSlowestSize(), TimeUnit.SECONDS.toMillis(metricsConfig.getSlowestWindowSeconds()));
+    }
+    
+    /**
+     * 配置段文件 Sink
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(LogSink.class)
+    @ConditionalOnProperty(prefix = "atlas.log.sink", name = "enabled", havingValue = "true")
+    public MappedSegmentSink atlasLogSegmentSink(LogConfigProperties properties,
+                                                 ArgumentFormatConfig argumentFormatConfig,
+                                                 ObjectProvider<BackgroundCompressor> compressor,
+                                                 ApplicationContext applicationContext) throws IOException {
+        LogConfigProperties.SinkConfig sinkConfig = getEffectiveConfig(applicationContext, properties).getSink();
+        log.info("Atlas Log segment sink configured, directory: {}, segment size: {} bytes, exclusive: {}",
+                sinkConfig.getDirectory(), sinkConfig.getSegmentBytes(), sinkConfig.isExclusive());
+        MappedSegmentSink sink = new MappedSegmentSink(Paths.get(sinkConfig.getDirectory()), sinkConfig.getFilePrefix(),
+                sinkConfig.getSegmentBytes(), TimeUnit.SECONDS.toMillis(sinkConfig.getRollIntervalSeconds()),
+                sinkConfig.getFlushIntervalMillis(), sinkConfig.getBufferBytes(), sinkConfig.getMaxSegments(),
+                compressor.getIfAvailable());
+        sink.setEmbedJsonPayloads(argumentFormatConfig.getType() == ArgumentFormatType.JSON);
+        return sink;
+    }
+    
+    /**
+     * 配置审计日志
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.audit", name = "enabled", havingValue = "true")
+    public AuditJournal atlasLogAuditJournal(LogConfigProperties properties,
+                                             ArgumentFormatConfig argumentFormatConfig,
+                                             ObjectProvider<BackgroundCompressor> compressor,
+                                             ApplicationContext applicationContext) throws IOException {
+        LogConfigProperties.AuditConfig auditConfig = getEffectiveConfig(applicationContext, properties).getAudit();
+        log.info("Atlas Log audit journal configured, directory: {}, commit interval: {}ms, tags: {}",
+                auditConfig.getDirectory(), auditConfig.getCommitIntervalMillis(), auditConfig.getTags());
+        AuditJournal journal = new AuditJournal(Paths.get(auditConfig.getDirectory()), auditConfig.getFilePrefix(),
+                auditConfig.getMaxFileBytes(), auditConfig.getCommitIntervalMillis(),
+                auditConfig.getMaxBatchBytes(), auditConfig.getMaxPendingBytes(), compressor.getIfAvailable());
+        journal.setEmbedJsonPayloads(argumentFormatConfig.getType() == ArgumentFormatType.JSON);
+        return journal;
+    }
+    
+    /**
+     * 配置段文件和审计日志的后台压缩器
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.compression", name = "enabled", havingValue = "true")
+    public BackgroundCompressor atlasLogBackgroundCompressor(LogConfigProperties properties,
+                                                             ApplicationContext applicationContext) {
+        LogConfigProperties.CompressionConfig compressionConfig = getEffectiveConfig(applicationContext, properties).getCompression();
+        log.info("Atlas Log background compression enabled, level: {}, block size: {} bytes",
+                compressionConfig.getLevel(), compressionConfig.getBlockBytes());
+        return new BackgroundCompressor(compressionConfig.getLevel(), compressionConfig.getBlockBytes());
+    }
+    
+    /**
+     * 配置最近日志事件的飞行记录器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.flight-recorder", name = "enabled", havingValue = "true")
+    public FlightRecorder atlasLogFlightRecorder(LogConfigProperties properties,
+                                                 ArgumentFormatConfig argumentFormatConfig,
+                                                 ApplicationContext applicationContext) {
+        LogConfigProperties.FlightRecorderConfig recorderConfig = getEffectiveConfig(applicationContext, properties).getFlightRecorder();
+        log.info("Atlas Log flight recorder configured, capacity: {}, max bytes: {}, include below level: {}",
+                recorderConfig.getCapacity(), recorderConfig.getMaxBytes(), recorderConfig.isIncludeBelowLevel());
+        FlightRecorder recorder = new FlightRecorder(recorderConfig.getCapacity(), recorderConfig.getMaxBytes());
+        recorder.setEmbedJsonPayloads(argumentFormatConfig.getType() == ArgumentFormatType.JSON);
+        return recorder;
+    }
+    
+    /**
+     * 配置 JFR 调用事件记录器，只在 JDK 提供 JFR 时生效
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "jdk.jfr.Event")
+    @ConditionalOnProperty(prefix = "atlas.log.jfr", name = "enabled", havingValue = "true")
+    public JfrInvocationRecorder atlasLogJfrInvocationRecorder(LogConfigProperties properties,
+                                                               ApplicationContext applicationContext) {
+        log.info("Atlas Log JFR invocation events enabled, exclusive: {}",
+                getEffectiveConfig(applicationContext, properties).getJfr().isExclusive());
+        return new JfrInvocationRecorder();
+    }
+    
+    /**
+     * 配置重复异常折叠
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.exception.dedup", name = "enabled", havingValue = "true")
+    public ExceptionDeduplicator atlasLogExceptionDeduplicator(LogConfigProperties properties,
+                                                               ApplicationContext applicationContext) {
+        LogConfigProperties.DedupConfig dedup = getEffectiveConfig(applicationContext, properties).getException().getDedup();
+        log.info("Atlas Log exception dedup configured, window: {}s, frames: {}, max fingerprints: {}",
+                dedup.getWindowSeconds(), dedup.getFrames(), dedup.getMaxFingerprints());
+        ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(TimeUnit.SECONDS.toMillis(dedup.getWindowSeconds()),
+                dedup.getFrames(), dedup.getMaxFingerprints());
+        deduplicator.start();
+        return deduplicator;
+    }
+    
+    /**
+     * 配置异常堆栈裁剪
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.exception.stack-trace", name = "enabled", havingValue = "true")
+    public StackTraceRenderer atlasLogStackTraceRenderer(LogConfigProperties properties,
+                                                         ApplicationContext applicationContext) {
+        LogConfigProperties.StackTraceConfig stackTrace = getEffectiveConfig(applicationContext, properties).getException().getStackTrace();
+        log.info("Atlas Log stack trace trimming configured, max depth: {}, max causes: {}, fold packages: {}",
+                stackTrace.getMaxDepth(), stackTrace.getMaxCauses(), stackTrace.getFoldPackages());
+        return new StackTraceRenderer(stackTrace.getMaxDepth(), stackTrace.getFoldPackages(),
+                stackTrace.getMaxCauses(), stackTrace.getMaxCachedFrames());
+    }
+    
+    /**
+     * 配置错误突增诊断
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "atlas.log.error-burst", name = "enabled", havingValue = "true")
+    public ErrorBurstDetector atlasLogErrorBurstDetector(LogConfigProperties properties,
+                                                         ApplicationContext applicationContext) {
+        LogConfigProperties.ErrorBurstConfig burst = getEffectiveConfig(applicationContext, properties).getErrorBurst();
+        log.info("Atlas Log error burst diagnostics configured, threshold: {} over {}s (min {} calls), capture: {}s at {}/s",
+                burst.getErrorRateThreshold(), burst.getWindowSeconds(), burst.getMinCalls(),
+                burst.getCaptureSeconds(), burst.getMaxCapturesPerSecond());
+        return new ErrorBurstDetector(TimeUnit.SECONDS.toMillis(burst.getWindowSeconds()), burst.getSlots(),
+                burst.getMinCalls(), burst.getErrorRateThreshold(), TimeUnit.SECONDS.toMillis(burst.getCaptureSeconds()),
+                burst.getMaxCapturesPerSecond(), burst.getMaxTrackedMethods());
+    }
+    
+    /**
+     * Actuator 端点配置
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    public static class ActuatorConfiguration {
+        
+        /**
+         * 配置HTTP端点延迟统计端点
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "atlas.log.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public HttpLatencyEndpoint atlasHttpLatencyEndpoint(EndpointLatencyRegistry endpointLatencyRegistry) {
+            return new HttpLatencyEndpoint(endpointLatencyRegistry);
+        }
+        
+        /**
+         * 配置方法延迟统计端点
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "atlas.log.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public MethodLatencyEndpoint atlasMethodLatencyEndpoint(MethodLatencyRegistry methodLatencyRegistry) {
+            return new MethodLatencyEndpoint(methodLatencyRegistry);
+        }
+        
+        /**
+         * 配置日志开销端点
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "atlas.log.performance.overhead", name = "enabled", havingValue = "true")
+        public OverheadEndpoint atlasOverheadEndpoint(OverheadGovernor overheadGovernor) {
+            return new OverheadEndpoint(overheadGovernor);
+        }
+        
+        /**
+         * 配置序列化内存预算端点
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "atlas.log.performance.serialization", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public SerializationBudgetEndpoint atlasSerializationBudgetEndpoint(SerializationBudget serializationBudget) {
+            return new SerializationBudgetEndpoint(serializationBudget);
+        }
+        
+        /**
+         * 配置飞行记录器端点
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "atlas.log.flight-recorder", name = "enabled", havingValue = "true")
+        public FlightRecorderEndpoint atlasFlightRecorderEndpoint(FlightRecorder flightRecorder) {
+            return new FlightRecorderEndpoint(flightRecorder);
+        }
+    }
+    
+    /**
+     * Log4j2 后端配置
+     * <p>
+     * 只在 SLF4J 绑定到 Log4j2（log4j-slf4j-impl）时生效。仅有 log4j-api 不足以判断：
+     * Spring Boot 默认的 Logback 依赖里也带有 log4j-api（经 log4j-to-slf4j 桥接回 SLF4J）。
+     * </p>
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.apache.logging.log4j.core.LoggerContext", "org.apache.logging.slf4j.Log4jLoggerFactory"})
+    public static class Log4j2Configuration {
+        
+        /**
+         * 配置 Log4j2 可复用消息输出器
+         */
+        @Bean
+        @ConditionalOnMissingBean(LogEventEmitter.class)
+        @ConditionalOnProperty(prefix = "atlas.log", name = "log4j2-events", havingValue = "true", matchIfMissing = true)
+        public Log4j2LogEventEmitter atlasLogLog4j2EventEmitter() {
+            log.info("Atlas Log events will be emitted as Log4j2 reusable messages");
+            return new Log4j2LogEventEmitter();
+        }
+    }
+    
     /**
      * Web相关配置
      */
     @Configuration
-    @ConditionalOnWebApplication
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     @ConditionalOnClass(name = "javax.servlet.Filter")
     public static class WebConfiguration implements WebMvcConfigurer {
         
@@ -320,12 +730,20 @@ public class LogAutoConfiguration {
          */
         @Bean
         @ConditionalOnMissingBean(name = "atlasLogFilterRegistration")
-        public FilterRegistrationBean<LoggingFilter> atlasLogFilterRegistration(ArgumentFormatConfig argumentFormatConfig) {
+        public FilterRegistrationBean<LoggingFilter> atlasLogFilterRegistration(ArgumentFormatConfig argumentFormatConfig,
+                                                                                ObjectProvider<EndpointLatencyRegistry> endpointLatencyRegistry,
+                                                                                ObjectProvider<SlowCallDetector> slowCallDetector) {
             LogConfigProperties effectiveConfig = getEffectiveConfig();
             
+            LoggingFilter filter = new LoggingFilter(effectiveConfig, argumentFormatConfig);
+            filter.setLatencyRegistry(endpointLatencyRegistry.getIfAvailable());
+            filter.setSlowCallDetector(slowCallDetector.getIfAvailable());
+            
             FilterRegistrationBean<LoggingFilter> registration = new FilterRegistrationBean<>();
-            registration.setFilter(new LoggingFilter(effectiveConfig, argumentFormatConfig));
+            registration.setFilter(filter);
             registration.addUrlPatterns("/*");
+            // ASYNC 分派也经过过滤器，以便在异步线程恢复 TraceId
+            registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
             registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
             registration.setName("atlasLoggingFilter");
             
@@ -348,6 +766,14 @@ public class LogAutoConfiguration {
             }
         }
         
+        /**
+         * 注册异步处理拦截器，将 TraceId 传递到 Callable 执行线程
+         */
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.registerCallableInterceptors(new TraceIdCallableInterceptor());
+        }
+        
         /**
          * 获取有效配置
          */
@@ -369,6 +795,61 @@ public class LogAutoConfiguration {
         }
     }
     
+    /**
+     * WebFlux相关配置
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "org.springframework.web.server.WebFilter")
+    public static class ReactiveWebConfiguration {
+        
+        private final LogConfigProperties properties;
+        private final ApplicationContext applicationContext;
+        
+        public ReactiveWebConfiguration(LogConfigProperties properties, ApplicationContext applicationContext) {
+            this.properties = properties;
+            this.applicationContext = applicationContext;
+        }
+        
+        /**
+         * 配置响应式日志过滤器
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveLoggingFilter atlasLogReactiveLoggingFilter(ArgumentFormatConfig argumentFormatConfig,
+                                                                   ObjectProvider<EndpointLatencyRegistry> endpointLatencyRegistry,
+                                                                   ObjectProvider<SlowCallDetector> slowCallDetector) {
+            ReactiveLoggingFilter filter = new ReactiveLoggingFilter(getEffectiveConfig(), argumentFormatConfig);
+            filter.setLatencyRegistry(endpointLatencyRegistry.getIfAvailable());
+            filter.setSlowCallDetector(slowCallDetector.getIfAvailable());
+            log.info("Atlas Log reactive filter configured successfully with argument format: {}", argumentFormatConfig.getType());
+            return filter;
+        }
+        
+        /**
+         * 配置全局 Reactor Hook 的 TraceId 桥接，会使整个应用的操作符融合失效
+         * 应用关闭时自动卸载 Hook
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "atlas.log.trace-id", name = "reactor-context-bridge-global", havingValue = "true")
+        public DisposableBean atlasLogReactorContextBridge() {
+            TraceIdContextBridge.install();
+            return TraceIdContextBridge::uninstall;
+        }
+        
+        /**
+         * 获取有效配置
+         */
+        private LogConfigProperties getEffectiveConfig() {
+            try {
+                return applicationContext.getBean("atlasLogMergedConfig", LogConfigProperties.class);
+            } catch (Exception e) {
+                log.debug("Merged configuration not found, falling back to properties: {}", e.getMessage());
+                return properties;
+            }
+        }
+    }
+    
     /**
      * 条件配置：当没有启用SpEL时的默认配置
      */
@@ -105,6 +105,56 @@ public class LogConfigProperties {
      */
     private ResultLogConfig resultLog = new ResultLogConfig();
     
+    /**
+     * 延迟统计配置
+     */
+    private MetricsConfig metrics = new MetricsConfig();
+    
+    /**
+     * 段文件 Sink 配置
+     */
+    private SinkConfig sink = new SinkConfig();
+    
+    /**
+     * 审计日志配置
+     */
+    private AuditConfig audit = new AuditConfig();
+    
+    /**
+     * 段文件和审计日志的压缩配置
+     */
+    private CompressionConfig compression = new CompressionConfig();
+    
+    /**
+     * 飞行记录器配置
+     */
+    private FlightRecorderConfig flightRecorder = new FlightRecorderConfig();
+    
+    /**
+     * JFR 调用事件配置
+     */
+    private JfrConfig jfr = new JfrConfig();
+    
+    /**
+     * 异常日志配置
+     */
+    private ExceptionConfig exception = new ExceptionConfig();
+    
+    /**
+     * 错误突增诊断配置
+     */
+    private ErrorBurstConfig errorBurst = new ErrorBurstConfig();
+    
+    /**
+     * 是否以结构化事件输出（配合 AtlasJsonEncoder 输出 JSON 行）
+     */
+    private boolean structuredEvents = false;
+    
+    /**
+     * SLF4J 绑定到 Log4j2 时，是否以 Log4j2 可复用消息输出日志事件
+     */
+    private boolean log4j2Events = true;
+    
     /**
      * 复制构造函数（用于配置合并）
      */
@@ -127,6 +177,16 @@ public class LogConfigProperties {
             this.argumentFormat = new ArgumentFormatConfig(other.argumentFormat);
             this.httpLog = new HttpLogConfig(other.httpLog);
             this.resultLog = new ResultLogConfig(other.resultLog);
+            this.metrics = new MetricsConfig(other.metrics);
+            this.sink = new SinkConfig(other.sink);
+            this.audit = new AuditConfig(other.audit);
+            this.compression = new CompressionConfig(other.compression);
+            this.flightRecorder = new FlightRecorderConfig(other.flightRecorder);
+            this.jfr = new JfrConfig(other.jfr);
+            this.exception = new ExceptionConfig(other.exception);
+            this.errorBurst = new ErrorBurstConfig(other.errorBurst);
+            this.structuredEvents = other.structuredEvents;
+            this.log4j2Events = other.log4j2Events;
         }
     }
     
@@ -151,6 +211,8 @@ public class LogConfigProperties {
                 this.enabled = other.enabled;
                 this.headerName = other.headerName;
                 this.generator = other.generator;
+                this.reactorContextBridge = other.reactorContextBridge;
+                this.reactorContextBridgeGlobal = other.reactorContextBridgeGlobal;
             }
         }
         
@@ -174,6 +236,20 @@ public class LogConfigProperties {
          * 生成器类型：uuid, snowflake
          */
         private String generator = "uuid";
+        
+        /**
+         * 是否启用 Reactor Context 到 TraceIdHolder 的桥接（WebFlux）
+         * 启用后响应式过滤器在订阅处理链（同步调用的控制器方法）和终止信号期间恢复 TraceId 线程变量，
+         * 只作用于过滤器所在的一层，不影响其他操作符
+         */
+        private boolean reactorContextBridge = false;
+        
+        /**
+         * 是否以全局 Reactor Hook 桥接 TraceId（WebFlux）
+         * 在应用内每个操作符的每个信号处理期间恢复 TraceId，切换线程后也能读到；
+         * 代价是每个操作符都被包装成非 Fuseable 的订阅者，整个应用的操作符融合失效，每个信号多一次 Context 查找
+         */
+        private boolean reactorContextBridgeGlobal = false;
     }
     
     /**
@@ -190,6 +266,11 @@ public class LogConfigProperties {
                 this.enabled = other.enabled;
                 this.slowThreshold = other.slowThreshold;
                 this.logSlowMethods = other.logSlowMethods;
+                this.adaptive = new AdaptiveConfig(other.adaptive);
+                this.watchdog = new WatchdogConfig(other.watchdog);
+                this.resources = new ResourcesConfig(other.resources);
+                this.overhead = new OverheadConfig(other.overhead);
+                this.serialization = new SerializationConfig(other.serialization);
             }
         }
         
@@ -213,6 +294,290 @@ public class LogConfigProperties {
          * 是否记录慢方法日志
          */
         private boolean logSlowMethods = true;
+        
+        /**
+         * 自适应慢调用阈值
+         */
+        private AdaptiveConfig adaptive = new AdaptiveConfig();
+        
+        /**
+         * 慢调用看门狗（栈采样）
+         */
+        private WatchdogConfig watchdog = new WatchdogConfig();
+        
+        /**
+         * CPU 时间与内存分配统计
+         */
+        private ResourcesConfig resources = new ResourcesConfig();
+        
+        /**
+         * 日志自身开销预算与自动降级
+         */
+        private OverheadConfig overhead = new OverheadConfig();
+        
+        /**
+         * 序列化内存预算
+         */
+        private SerializationConfig serialization = new SerializationConfig();
+    }
+    
+    /**
+     * 序列化内存预算配置
+     * 限制所有线程同时处于序列化中的参数/返回值的估算字节数，超出时只输出类型和估算大小
+     */
+    @Data
+    public static class SerializationConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public SerializationConfig(SerializationConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.maxInFlightBytes = other.maxInFlightBytes;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public SerializationConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用序列化内存预算
+         */
+        private boolean enabled = true;
+        
+        /**
+         * 同时处于序列化中的最大字节数（估算值，默认 64MB）
+         */
+        private long maxInFlightBytes = 64L * 1024 * 1024;
+    }
+    
+    /**
+     * 日志开销熔断配置
+     * 统计 Atlas Log 自身在每次调用上花费的时间，超出预算时逐级降级：不序列化参数 → 采样 → 关闭，负载下降后逐级恢复
+     */
+    @Data
+    public static class OverheadConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public OverheadConfig(OverheadConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.maxRatio = other.maxRatio;
+                this.maxMicros = other.maxMicros;
+                this.windowSeconds = other.windowSeconds;
+                this.minSamples = other.minSamples;
+                this.sampleRate = other.sampleRate;
+                this.recoveryWindows = other.recoveryWindows;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public OverheadConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用开销统计与自动降级
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 自身开销占方法执行时间的上限，0 表示不按比例判定
+         */
+        private double maxRatio = 0.05;
+        
+        /**
+         * 平均每次调用的自身开销上限（微秒），0 表示不按绝对值判定
+         */
+        private long maxMicros = 0;
+        
+        /**
+         * 判定窗口（秒）
+         */
+        private long windowSeconds = 10;
+        
+        /**
+         * 窗口内调用数少于该值时不判定超预算
+         */
+        private long minSamples = 100;
+        
+        /**
+         * 采样级别下每多少次调用输出一次日志
+         */
+        private int sampleRate = 10;
+        
+        /**
+         * 连续多少个正常窗口后恢复一级
+         */
+        private int recoveryWindows = 3;
+    }
+    
+    /**
+     * 资源消耗统计配置
+     * 对 @Log(logResources = true) 或带有指定标签的方法统计调用线程的 CPU 时间和内存分配
+     */
+    @Data
+    public static class ResourcesConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public ResourcesConfig(ResourcesConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.tags = new ArrayList<>(other.tags);
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public ResourcesConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否允许资源统计（关闭后 logResources 也不生效）
+         */
+        private boolean enabled = true;
+        
+        /**
+         * 带有这些标签的方法也统计资源消耗（只进入方法统计，不写入日志）
+         */
+        private List<String> tags = new ArrayList<>();
+    }
+    
+    /**
+     * 慢调用看门狗配置
+     * 对执行时间超过阈值、仍在运行的 @Log 调用周期性采样线程栈，调用结束时输出汇总
+     */
+    @Data
+    public static class WatchdogConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public WatchdogConfig(WatchdogConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.threshold = other.threshold;
+                this.interval = other.interval;
+                this.capacity = other.capacity;
+                this.maxDepth = other.maxDepth;
+                this.maxSamples = other.maxSamples;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public WatchdogConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用看门狗
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 开始采样的执行时间阈值（毫秒）
+         */
+        private long threshold = 1000;
+        
+        /**
+         * 扫描和采样间隔（毫秒）
+         */
+        private long interval = 100;
+        
+        /**
+         * 同时跟踪的调用数（槽位数）
+         */
+        private int capacity = 256;
+        
+        /**
+         * 每次采样的最大栈深度
+         */
+        private int maxDepth = 64;
+        
+        /**
+         * 每次调用的最大采样次数
+         */
+        private int maxSamples = 200;
+    }
+    
+    /**
+     * 自适应慢调用阈值配置
+     * 每个方法/端点按自身近期 p99 的倍数判定慢调用，样本不足时使用固定阈值
+     */
+    @Data
+    public static class AdaptiveConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public AdaptiveConfig(AdaptiveConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.multiplier = other.multiplier;
+                this.windowSeconds = other.windowSeconds;
+                this.slots = other.slots;
+                this.minSamples = other.minSamples;
+                this.minThreshold = other.minThreshold;
+                this.maxTracked = other.maxTracked;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public AdaptiveConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用自适应阈值
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 超过近期 p99 的倍数即为慢调用
+         */
+        private double multiplier = 3.0;
+        
+        /**
+         * 滚动统计窗口（秒）
+         */
+        private int windowSeconds = 60;
+        
+        /**
+         * 窗口切分的时间片数
+         */
+        private int slots = 4;
+        
+        /**
+         * 启用自适应阈值所需的最少样本数
+         */
+        private int minSamples = 50;
+        
+        /**
+         * 自适应阈值下限（毫秒）
+         */
+        private long minThreshold = 1;
+        
+        /**
+         * 最多跟踪的方法/端点数，超出后使用固定阈值
+         */
+        private int maxTracked = 1000;
     }
     
     /**
@@ -394,6 +759,17 @@ public class LogConfigProperties {
                 this.includeQueryString = other.includeQueryString;
                 this.includeHeaders = other.includeHeaders;
                 this.excludeHeaders = new ArrayList<>(other.excludeHeaders);
+                this.logRequestBody = other.logRequestBody;
+                this.logResponseBody = other.logResponseBody;
+                this.maxBodyLength = other.maxBodyLength;
+                this.bodyBufferPoolSize = other.bodyBufferPoolSize;
+                this.excludeBodyContentTypes = new ArrayList<>(other.excludeBodyContentTypes);
+                this.includePaths = new ArrayList<>(other.includePaths);
+                this.excludePaths = new ArrayList<>(other.excludePaths);
+                this.pathPolicies = new ArrayList<>();
+                for (PathPolicy policy : other.pathPolicies) {
+                    this.pathPolicies.add(new PathPolicy(policy));
+                }
             }
         }
         
@@ -433,38 +809,139 @@ public class LogConfigProperties {
             add("cookie");
             add("x-auth-token");
         }};
+        
+        /**
+         * 是否记录请求体
+         */
+        private boolean logRequestBody = false;
+        
+        /**
+         * 是否记录响应体
+         */
+        private boolean logResponseBody = false;
+        
+        /**
+         * 报文体最大捕获字节数，超出部分只计数不缓存
+         */
+        private int maxBodyLength = 4096;
+        
+        /**
+         * 报文体捕获缓冲区池大小
+         */
+        private int bodyBufferPoolSize = 64;
+        
+        /**
+         * 不捕获报文体的内容类型（前缀匹配，小写）
+         */
+        private List<String> excludeBodyContentTypes = new ArrayList<String>() {{
+            add("multipart/");
+            add("application/octet-stream");
+            add("image/");
+            add("audio/");
+            add("video/");
+            add("application/pdf");
+            add("application/zip");
+        }};
+        
+        /**
+         * 需要记录的路径模式，为空表示全部记录
+         * 支持 *、** 和段内通配（如 /static/*.css）
+         */
+        private List<String> includePaths = new ArrayList<>();
+        
+        /**
+         * 不记录的路径模式（如 /actuator/**），命中后请求完全绕过过滤器，也不生成 TraceId
+         */
+        private List<String> excludePaths = new ArrayList<>();
+        
+        /**
+         * 按路径覆盖的日志策略，多个模式命中时取最具体的一个
+         */
+        private List<PathPolicy> pathPolicies = new ArrayList<>();
      }
      
      /**
-      * 返回值记录配置
+      * 按路径覆盖的HTTP日志策略，未设置的项沿用全局配置
       */
      @Data
-     public static class ResultLogConfig {
+     public static class PathPolicy {
          
          /**
           * 复制构造函数
           */
-         public ResultLogConfig(ResultLogConfig other) {
+         public PathPolicy(PathPolicy other) {
              if (other != null) {
-                 this.enabled = other.enabled;
-                 this.maxLength = other.maxLength;
-                 this.printAll = other.printAll;
-                 this.truncateMessage = other.truncateMessage;
+                 this.pattern = other.pattern;
+                 this.level = other.level;
+                 this.slowThreshold = other.slowThreshold;
+                 this.includeHeaders = other.includeHeaders;
+                 this.logFullParameters = other.logFullParameters;
              }
          }
          
          /**
           * 默认构造函数
           */
-         public ResultLogConfig() {
+         public PathPolicy() {
              // 使用默认值
          }
          
          /**
-          * 是否全局启用返回值记录
-          * 当此项为 false 时，即使 @Log 注解中 logResult=true 也不会记录返回值
+          * 路径模式
           */
-         private boolean enabled = true;
+         private String pattern;
+         
+         /**
+          * 正常完成时的日志级别（TRACE/DEBUG/INFO/WARN/ERROR）
+          */
+         private String level;
+         
+         /**
+          * 慢请求阈值（毫秒）
+          */
+         private Long slowThreshold;
+         
+         /**
+          * 是否记录请求头
+          */
+         private Boolean includeHeaders;
+         
+         /**
+          * 是否记录完整的请求参数
+          */
+         private Boolean logFullParameters;
+     }
+     
+     /**
+      * 返回值记录配置
+      */
+     @Data
+     public static class ResultLogConfig {
+         
+         /**
+          * 复制构造函数
+          */
+         public ResultLogConfig(ResultLogConfig other) {
+             if (other != null) {
+                 this.enabled = other.enabled;
+                 this.maxLength = other.maxLength;
+                 this.printAll = other.printAll;
+                 this.truncateMessage = other.truncateMessage;
+             }
+         }
+         
+         /**
+          * 默认构造函数
+          */
+         public ResultLogConfig() {
+             // 使用默认值
+         }
+         
+         /**
+          * 是否全局启用返回值记录
+          * 当此项为 false 时，即使 @Log 注解中 logResult=true 也不会记录返回值
+          */
+         private boolean enabled = true;
          
          /**
           * 返回值最大长度限制
@@ -482,4 +959,562 @@ public class LogConfigProperties {
           */
          private String truncateMessage = "[TRUNCATED]";
      }
- }
\ No newline at end of file
+     
+     /**
+      * 延迟统计配置
+      */
+     @Data
+     public static class MetricsConfig {
+         
+         /**
+          * 复制构造函数
+          */
+         public MetricsConfig(MetricsConfig other) {
+             if (other != null) {
+                 this.enabled = other.enabled;
+                 this.maxEndpoints = other.maxEndpoints;
+                 this.stripes = other.stripes;
+                 this.maxMethods = other.maxMethods;
+                 this.slowestSize = other.slowestSize;
+                 this.slowestWindowSeconds = other.slowestWindowSeconds;
+             }
+         }
+         
+         /**
+          * 默认构造函数
+          */
+         public MetricsConfig() {
+             // 使用默认值
+         }
+         
+         /**
+          * 是否按端点统计HTTP请求延迟
+          */
+         private boolean enabled = true;
+         
+         /**
+          * 最多跟踪的端点数（方法 + URI 模板），超出后计入 OTHER
+          */
+         private int maxEndpoints = 200;
+         
+         /**
+          * 每个直方图的写入条带数，0 表示按 CPU 数量自动选择
+          */
+         private int stripes = 0;
+         
+         /**
+          * 最多跟踪的 @Log 方法数，超出后计入 OTHER
+          */
+         private int maxMethods = 500;
+         
+         /**
+          * 每个方法保留的最慢调用数（含参数和返回值），0 表示不保留
+          */
+         private int slowestSize = 10;
+         
+         /**
+          * 最慢调用的保留时长（秒）
+          */
+         private int slowestWindowSeconds = 300;
+     }
+    
+    /**
+     * 段文件 Sink 配置
+     * 把方法日志事件批量写入预分配的内存映射段文件，绕过通用 Appender
+     */
+    @Data
+    public static class SinkConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public SinkConfig(SinkConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.exclusive = other.exclusive;
+                this.directory = other.directory;
+                this.filePrefix = other.filePrefix;
+                this.segmentBytes = other.segmentBytes;
+                this.rollIntervalSeconds = other.rollIntervalSeconds;
+                this.flushIntervalMillis = other.flushIntervalMillis;
+                this.bufferBytes = other.bufferBytes;
+                this.maxSegments = other.maxSegments;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public SinkConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用段文件 Sink
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 是否只写入 Sink，不再经过 SLF4J 输出方法日志
+         */
+        private boolean exclusive = false;
+        
+        /**
+         * 段文件目录
+         */
+        private String directory = "logs/atlas";
+        
+        /**
+         * 段文件名前缀
+         */
+        private String filePrefix = "atlas-events";
+        
+        /**
+         * 单个段文件大小（预分配，默认 64MB）
+         */
+        private int segmentBytes = 64 * 1024 * 1024;
+        
+        /**
+         * 按时间滚动的间隔（秒），0 表示只按大小滚动
+         */
+        private int rollIntervalSeconds = 3600;
+        
+        /**
+         * 后台刷写间隔（毫秒）
+         */
+        private long flushIntervalMillis = 1000;
+        
+        /**
+         * 每个线程缓冲区的批次大小（字节）
+         */
+        private int bufferBytes = 64 * 1024;
+        
+        /**
+         * 最多保留的段文件数，0 表示不限制
+         */
+        private int maxSegments = 100;
+    }
+    
+    /**
+     * 审计日志配置
+     * audit = true 或带有指定标签的 @Log 事件追加写入审计日志，批量提交、每批一次 fsync
+     */
+    @Data
+    public static class AuditConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public AuditConfig(AuditConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.directory = other.directory;
+                this.filePrefix = other.filePrefix;
+                this.tags = new ArrayList<>(other.tags);
+                this.waitForDurability = other.waitForDurability;
+                this.awaitTimeoutMillis = other.awaitTimeoutMillis;
+                this.commitIntervalMillis = other.commitIntervalMillis;
+                this.maxBatchBytes = other.maxBatchBytes;
+                this.maxPendingBytes = other.maxPendingBytes;
+                this.maxFileBytes = other.maxFileBytes;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public AuditConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用审计日志
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 审计日志目录
+         */
+        private String directory = "logs/audit";
+        
+        /**
+         * 审计日志文件名前缀
+         */
+        private String filePrefix = "audit";
+        
+        /**
+         * 路由到审计日志的标签，带有其中任一标签的 @Log 等同于 audit = true
+         */
+        private List<String> tags = new ArrayList<>();
+        
+        /**
+         * 是否等待审计记录落盘后方法才返回
+         */
+        private boolean waitForDurability = true;
+        
+        /**
+         * 等待落盘的超时时间（毫秒），超时后记录警告并继续
+         */
+        private long awaitTimeoutMillis = 1000;
+        
+        /**
+         * 最长提交间隔（毫秒），同一间隔内的记录合并为一次 fsync
+         */
+        private long commitIntervalMillis = 5;
+        
+        /**
+         * 批次达到该大小（字节）时立即提交
+         */
+        private int maxBatchBytes = 256 * 1024;
+        
+        /**
+         * 待提交数据上限（字节），超过后写入线程阻塞等待
+         */
+        private long maxPendingBytes = 8 * 1024 * 1024;
+        
+        /**
+         * 单个审计日志文件大小上限（字节），超过后滚动
+         */
+        private long maxFileBytes = 256L * 1024 * 1024;
+    }
+    
+    /**
+     * 压缩配置
+     * 封存的段文件和滚动后的审计日志文件在后台线程按块压缩
+     */
+    @Data
+    public static class CompressionConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public CompressionConfig(CompressionConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.level = other.level;
+                this.blockBytes = other.blockBytes;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public CompressionConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否压缩封存的段文件和滚动后的审计日志文件
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Deflate 压缩级别（1-9），1 最快，日志文本在该级别已有较高压缩率
+         */
+        private int level = 1;
+        
+        /**
+         * 压缩块大小（字节），读取时的内存占用与之相当
+         */
+        private int blockBytes = 256 * 1024;
+    }
+    
+    /**
+     * 飞行记录器配置
+     * 在内存中保留最近的日志事件，可按 TraceId 或时间窗口通过 Actuator 查询
+     */
+    @Data
+    public static class FlightRecorderConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public FlightRecorderConfig(FlightRecorderConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.capacity = other.capacity;
+                this.maxBytes = other.maxBytes;
+                this.includeBelowLevel = other.includeBelowLevel;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public FlightRecorderConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用飞行记录器
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 保留的事件数，向上取整为 2 的幂
+         */
+        private int capacity = 10000;
+        
+        /**
+         * 事件内容占用的内存上限（字节），与 capacity 任一达到后覆盖最旧的事件
+         */
+        private int maxBytes = 16 * 1024 * 1024;
+        
+        /**
+         * 是否同时记录低于日志级别、不会输出的事件（如生产环境的 DEBUG 事件）
+         */
+        private boolean includeBelowLevel = false;
+    }
+    
+    /**
+     * JFR 调用事件配置
+     * 每次 @Log 方法调用生成一个 JFR 事件，阈值等录制参数在 JFR 录制配置中设置
+     */
+    @Data
+    public static class JfrConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public JfrConfig(JfrConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.exclusive = other.exclusive;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public JfrConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否生成 JFR 调用事件（需要 JDK 11+ 或 8u262+）
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 是否以 JFR 事件代替进入和退出日志，异常日志和审计调用照常输出
+         */
+        private boolean exclusive = false;
+    }
+    
+    /**
+     * 异常日志配置
+     */
+    @Data
+    public static class ExceptionConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public ExceptionConfig(ExceptionConfig other) {
+            if (other != null) {
+                this.dedup = new DedupConfig(other.dedup);
+                this.stackTrace = new StackTraceConfig(other.stackTrace);
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public ExceptionConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 重复异常折叠
+         */
+        private DedupConfig dedup = new DedupConfig();
+        
+        /**
+         * 异常堆栈裁剪
+         */
+        private StackTraceConfig stackTrace = new StackTraceConfig();
+    }
+    
+    /**
+     * 重复异常折叠配置
+     * 同一指纹的异常在一个窗口内只输出一次完整堆栈，之后输出单行引用，窗口结束时输出汇总
+     */
+    @Data
+    public static class DedupConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public DedupConfig(DedupConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.windowSeconds = other.windowSeconds;
+                this.frames = other.frames;
+                this.maxFingerprints = other.maxFingerprints;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public DedupConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否折叠重复异常
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 去重窗口（秒），每个窗口内每个指纹输出一次完整堆栈，窗口结束时输出汇总
+         */
+        private long windowSeconds = 60;
+        
+        /**
+         * 参与指纹计算的栈顶帧数
+         */
+        private int frames = 8;
+        
+        /**
+         * 缓存的最大指纹数，超过后新的异常不参与折叠
+         */
+        private int maxFingerprints = 1000;
+    }
+    
+    /**
+     * 异常堆栈裁剪配置
+     * 开启后堆栈由切面渲染成文本：限制深度、折叠框架帧、限制原因链层数
+     */
+    @Data
+    public static class StackTraceConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public StackTraceConfig(StackTraceConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.maxDepth = other.maxDepth;
+                this.foldPackages = new ArrayList<>(other.foldPackages);
+                this.maxCauses = other.maxCauses;
+                this.maxCachedFrames = other.maxCachedFrames;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public StackTraceConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否裁剪异常堆栈
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 每个异常最多输出的帧数（折叠行不计）
+         */
+        private int maxDepth = 30;
+        
+        /**
+         * 需要折叠的框架包前缀，连续匹配的帧折叠为一行
+         */
+        private List<String> foldPackages = new ArrayList<String>() {{
+            add("org.springframework.aop");
+            add("org.springframework.cglib");
+            add("org.springframework.web.servlet");
+            add("org.springframework.web.filter");
+            add("org.apache.catalina");
+            add("org.apache.coyote");
+            add("org.apache.tomcat");
+            add("jdk.internal.reflect");
+            add("sun.reflect");
+            add("java.lang.reflect.Method");
+            add("javax.servlet");
+        }};
+        
+        /**
+         * 最多输出的原因层数
+         */
+        private int maxCauses = 5;
+        
+        /**
+         * 缓存的最大帧数
+         */
+        private int maxCachedFrames = 10000;
+    }
+    
+    /**
+     * 错误突增诊断配置
+     * 方法错误率突增时临时完整记录参数和返回值，不受 logArgs/logResult、采样和开销降级限制
+     */
+    @Data
+    public static class ErrorBurstConfig {
+        
+        /**
+         * 复制构造函数
+         */
+        public ErrorBurstConfig(ErrorBurstConfig other) {
+            if (other != null) {
+                this.enabled = other.enabled;
+                this.windowSeconds = other.windowSeconds;
+                this.slots = other.slots;
+                this.minCalls = other.minCalls;
+                this.errorRateThreshold = other.errorRateThreshold;
+                this.captureSeconds = other.captureSeconds;
+                this.maxCapturesPerSecond = other.maxCapturesPerSecond;
+                this.maxTrackedMethods = other.maxTrackedMethods;
+            }
+        }
+        
+        /**
+         * 默认构造函数
+         */
+        public ErrorBurstConfig() {
+            // 使用默认值
+        }
+        
+        /**
+         * 是否启用错误突增诊断
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 错误率统计窗口（秒）
+         */
+        private int windowSeconds = 60;
+        
+        /**
+         * 统计窗口切分的时间片数
+         */
+        private int slots = 6;
+        
+        /**
+         * 窗口内少于该调用数时不判定
+         */
+        private int minCalls = 20;
+        
+        /**
+         * 触发诊断的错误率（0 到 1）
+         */
+        private double errorRateThreshold = 0.5;
+        
+        /**
+         * 诊断期长度（秒），结束后恢复原有记录方式
+         */
+        private int captureSeconds = 120;
+        
+        /**
+         * 诊断期内每个方法每秒最多完整记录的调用数
+         */
+        private int maxCapturesPerSecond = 5;
+        
+        /**
+         * 最多跟踪的方法数
+         */
+        private int maxTrackedMethods = 1000;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.nemoob.atlas.log.log4j2;
+
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * 包装 {@link AtlasLogEvent} 的 Log4j2 可复用消息
+ * <p>
+ * 格式与文本模式相同（"详情 | 消息"），但由 {@link #formatTo(StringBuilder)} 直接写入调用方的缓冲区。
+ * 只有需要跨线程保留时（{@link #memento()}）或调用 {@link #getFormattedMessage()} 时才会生成字符串。
+ * Log4j2 的可复用事件在 {@code formatTo} 之后总会调用 {@link #getFormat()}，因此它和 Log4j2 自带的可复用消息一样返回 null。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+final class AtlasLogEventMessage implements ReusableMessage {
+    
+    private static final Object[] NO_PARAMETERS = new Object[0];
+    
+    private AtlasLogEvent event;
+    private Throwable throwable;
+    
+    void set(AtlasLogEvent event, Throwable throwable) {
+        this.event = event;
+        this.throwable = throwable;
+    }
+    
+    void clear() {
+        this.event = null;
+        this.throwable = null;
+    }
+    
+    boolean isInUse() {
+        return event != null;
+    }
+    
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        if (event != null) {
+            event.formatTo(buffer);
+        }
+    }
+    
+    @Override
+    public String getFormattedMessage() {
+        if (event == null) {
+            return "";
+        }
+        StringBuilder buffer = new StringBuilder(256);
+        event.formatTo(buffer);
+        return buffer.toString();
+    }
+    
+    /**
+     * 没有格式模板，返回 null；若返回渲染结果，每次输出都会多生成一份完整日志行
+     */
+    @Override
+    public String getFormat() {
+        return null;
+    }
+    
+    @Override
+    public Object[] getParameters() {
+        return NO_PARAMETERS;
+    }
+    
+    @Override
+    public Throwable getThrowable() {
+        return throwable;
+    }
+    
+    @Override
+    public Object[] swapParameters(Object[] emptyReplacement) {
+        return emptyReplacement;
+    }
+    
+    @Override
+    public short getParameterCount() {
+        return 0;
+    }
+    
+    @Override
+    public Message memento() {
+        return new SimpleMessage(getFormattedMessage());
+    }
+}
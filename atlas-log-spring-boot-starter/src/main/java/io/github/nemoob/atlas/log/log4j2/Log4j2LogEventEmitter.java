@@ -0,0 +1,84 @@
+package io.github.nemoob.atlas.log.log4j2;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.LogEventEmitter;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.apache.logging.log4j.spi.LoggerContext;
+
+/**
+ * 基于 Log4j2 可复用消息的日志事件输出器
+ * <p>
+ * 每个线程复用一个 {@link AtlasLogEventMessage}，Log4j2 通过 {@code formatTo(StringBuilder)}
+ * 把详情和消息直接写进它自己的线程本地缓冲区，不再经过 {@code String.format} 拼接完整日志行。
+ * 异步 Logger 在入队时同样调用 {@code formatTo} 复制内容，因此消息可以在 {@link #emit} 返回后立即复用。
+ * 日志记录器按类缓存，未启用的级别直接返回。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class Log4j2LogEventEmitter implements LogEventEmitter {
+    
+    private static final String FQCN = Log4j2LogEventEmitter.class.getName();
+    
+    private final LoggerContext context;
+    
+    private final ClassValue<ExtendedLogger> loggers = new ClassValue<ExtendedLogger>() {
+        @Override
+        protected ExtendedLogger computeValue(Class<?> type) {
+            return context != null ? context.getLogger(type.getName()) : (ExtendedLogger) LogManager.getLogger(type);
+        }
+    };
+    
+    private final ThreadLocal<AtlasLogEventMessage> messages = ThreadLocal.withInitial(AtlasLogEventMessage::new);
+    
+    public Log4j2LogEventEmitter() {
+        this(null);
+    }
+    
+    /**
+     * @param context 获取日志记录器的上下文，为 null 时使用 {@link LogManager}
+     */
+    Log4j2LogEventEmitter(LoggerContext context) {
+        this.context = context;
+    }
+    
+    @Override
+    public void emit(Class<?> loggerType, LogLevel level, AtlasLogEvent event, Throwable exception) {
+        ExtendedLogger logger = loggers.get(loggerType);
+        Level log4jLevel = toLog4jLevel(level);
+        if (!logger.isEnabled(log4jLevel)) {
+            return;
+        }
+        AtlasLogEventMessage message = messages.get();
+        if (message.isInUse()) {
+            // 格式化过程中又触发了日志（如 Appender 内部打日志），不能覆盖正在使用的消息
+            message = new AtlasLogEventMessage();
+        }
+        message.set(event, exception);
+        try {
+            logger.logMessage(FQCN, log4jLevel, null, message, exception);
+        } finally {
+            message.clear();
+        }
+    }
+    
+    static Level toLog4jLevel(LogLevel level) {
+        switch (level) {
+            case TRACE:
+                return Level.TRACE;
+            case DEBUG:
+                return Level.DEBUG;
+            case WARN:
+                return Level.WARN;
+            case ERROR:
+                return Level.ERROR;
+            case INFO:
+            default:
+                return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.nemoob.atlas.log.logback;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import io.github.nemoob.atlas.log.event.JsonLineBuffer;
+
+import java.util.Map;
+
+/**
+ * 输出 JSON 行的 Logback 编码器
+ * <p>
+ * 切面开启 {@code atlas.log.structured-events} 后，每条日志的参数里带有一个 {@link AtlasLogEvent}，
+ * 编码器直接读取事件字段写出 JSON，不经过 "TraceId: ... | Args: ..." 的字符串拼接和格式化。
+ * 其他日志输出格式化后的消息和 MDC。
+ * </p>
+ * <p>
+ * 每个线程复用一块字节缓冲区，字符按 UTF-8 直接写入，不创建中间 String、StringBuilder 或 JSON 对象；
+ * 超过 {@link #setMaxRetainedBytes(int) 保留上限} 的缓冲区用完即缩回，避免偶发的大日志长期占用内存。
+ * Logback 1.2 的 {@code encode} 必须返回独立的 byte[]，因此每条日志仍有一次数组拷贝。
+ * </p>
+ *
+ * <pre>
+ * &lt;appender name="JSON" class="ch.qos.logback.core.ConsoleAppender"&gt;
+ *     &lt;encoder class="io.github.nemoob.atlas.log.logback.AtlasJsonEncoder"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class AtlasJsonEncoder extends EncoderBase<ILoggingEvent> {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final ThreadLocal<JsonLineBuffer> buffers = ThreadLocal.withInitial(() -> new JsonLineBuffer(INITIAL_CAPACITY));
+    
+    private int maxRetainedBytes = 64 * 1024;
+    private boolean includeMdc = true;
+    private boolean includeStackTrace = true;
+    private boolean embedJsonPayloads;
+    
+    /**
+     * 每个线程保留的最大缓冲区字节数，默认 64KB
+     */
+    public void setMaxRetainedBytes(int maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+    
+    /**
+     * 非结构化日志是否输出 MDC，默认 true
+     */
+    public void setIncludeMdc(boolean includeMdc) {
+        this.includeMdc = includeMdc;
+    }
+    
+    /**
+     * 是否输出异常堆栈，默认 true
+     */
+    public void setIncludeStackTrace(boolean includeStackTrace) {
+        this.includeStackTrace = includeStackTrace;
+    }
+    
+    /**
+     * 参数和返回值是合法 JSON 时是否原样嵌入（参数格式为 JSON 时建议开启），默认 false，按字符串写入
+     */
+    public void setEmbedJsonPayloads(boolean embedJsonPayloads) {
+        this.embedJsonPayloads = embedJsonPayloads;
+    }
+    
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+    
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+    
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        JsonLineBuffer buf = buffers.get();
+        try {
+            write(buf, event);
+            return buf.toByteArray();
+        } finally {
+            buf.reset(maxRetainedBytes);
+        }
+    }
+    
+    private void write(JsonLineBuffer buf, ILoggingEvent event) {
+        buf.raw('{');
+        buf.key("timestamp").number(event.getTimeStamp());
+        buf.field("level", event.getLevel().toString());
+        buf.field("thread", event.getThreadName());
+        buf.field("logger", event.getLoggerName());
+        
+        AtlasLogEvent logEvent = findLogEvent(event.getArgumentArray());
+        if (logEvent != null) {
+            buf.eventFields(logEvent, embedJsonPayloads);
+        } else {
+            buf.field("message", event.getFormattedMessage());
+            if (includeMdc) {
+                writeMdc(buf, event.getMDCPropertyMap());
+            }
+        }
+        
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (includeStackTrace && throwable != null) {
+            buf.field("stackTrace", ThrowableProxyUtil.asString(throwable));
+        }
+        buf.raw('}').raw('\n');
+    }
+    
+    private void writeMdc(JsonLineBuffer buf, Map<String, String> mdc) {
+        if (mdc == null || mdc.isEmpty()) {
+            return;
+        }
+        buf.raw(',').key("mdc").raw('{');
+        boolean first = true;
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            if (!first) {
+                buf.raw(',');
+            }
+            first = false;
+            buf.key(entry.getKey()).string(entry.getValue());
+        }
+        buf.raw('}');
+    }
+    
+    private static AtlasLogEvent findLogEvent(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        for (Object argument : arguments) {
+            if (argument instanceof AtlasLogEvent) {
+                return (AtlasLogEvent) argument;
+            }
+        }
+        return null;
+    }
+}
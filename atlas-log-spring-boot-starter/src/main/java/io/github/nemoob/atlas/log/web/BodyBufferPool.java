@@ -0,0 +1,61 @@
+package io.github.nemoob.atlas.log.web;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 请求体捕获缓冲区池
+ * 基于 CAS 槽位的无锁池，池满时多余的缓冲区直接丢弃交给 GC
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class BodyBufferPool {
+    
+    private final AtomicReferenceArray<BoundedBodyBuffer> slots;
+    private final int bufferSize;
+    
+    public BodyBufferPool(int poolSize, int bufferSize) {
+        this.slots = new AtomicReferenceArray<>(Math.max(poolSize, 0));
+        this.bufferSize = bufferSize;
+    }
+    
+    /**
+     * 获取缓冲区
+     */
+    public BoundedBodyBuffer acquire() {
+        int start = probe();
+        for (int i = 0; i < slots.length(); i++) {
+            int index = (start + i) % slots.length();
+            BoundedBodyBuffer buffer = slots.get(index);
+            if (buffer != null && slots.compareAndSet(index, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new BoundedBodyBuffer(bufferSize);
+    }
+    
+    /**
+     * 归还缓冲区
+     */
+    public void release(BoundedBodyBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize) {
+            return;
+        }
+        buffer.reset();
+        int start = probe();
+        for (int i = 0; i < slots.length(); i++) {
+            int index = (start + i) % slots.length();
+            if (slots.get(index) == null && slots.compareAndSet(index, null, buffer)) {
+                return;
+            }
+        }
+    }
+    
+    private int probe() {
+        return slots.length() == 0 ? 0 : (int) (Thread.currentThread().getId() % slots.length());
+    }
+    
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
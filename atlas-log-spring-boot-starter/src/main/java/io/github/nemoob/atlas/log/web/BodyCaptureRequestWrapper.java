@@ -0,0 +1,132 @@
+package io.github.nemoob.atlas.log.web;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 请求体捕获包装器
+ * 在业务读取请求体的同时旁路复制到固定容量缓冲区，不预读、不缓存整个请求体
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class BodyCaptureRequestWrapper extends HttpServletRequestWrapper {
+    
+    private volatile BoundedBodyBuffer buffer;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+    
+    public BodyCaptureRequestWrapper(HttpServletRequest request, BoundedBodyBuffer buffer) {
+        super(request);
+        this.buffer = buffer;
+    }
+    
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+    
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+        }
+        return reader;
+    }
+    
+    /**
+     * 渲染已捕获的请求体
+     */
+    public String renderBody() {
+        BoundedBodyBuffer current = buffer;
+        if (current == null || current.getTotalSize() == 0) {
+            return "";
+        }
+        return current.render(getCharset());
+    }
+    
+    /**
+     * 解除缓冲区绑定并返回，供归还到池中
+     */
+    public BoundedBodyBuffer detachBuffer() {
+        BoundedBodyBuffer current = buffer;
+        buffer = null;
+        return current;
+    }
+    
+    private Charset getCharset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+        } catch (Exception e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+    
+    /**
+     * 旁路复制的输入流
+     */
+    private final class TeeServletInputStream extends ServletInputStream {
+        
+        private final ServletInputStream delegate;
+        
+        TeeServletInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            BoundedBodyBuffer current = buffer;
+            if (b != -1 && current != null) {
+                current.write(b);
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            BoundedBodyBuffer current = buffer;
+            if (count > 0 && current != null) {
+                current.write(b, off, count);
+            }
+            return count;
+        }
+        
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+        
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+        
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+        
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.nemoob.atlas.log.web;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * 响应体捕获包装器
+ * 字节和字符输出都直接写入原始响应，同时旁路复制到固定容量缓冲区；
+ * 首次写出时根据 Content-Type 判断是否需要捕获（跳过二进制内容）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+    
+    private final Predicate<String> excludedContentType;
+    private volatile BoundedBodyBuffer buffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private int captureState;
+    private Charset charset;
+    
+    public BodyCaptureResponseWrapper(HttpServletResponse response, BoundedBodyBuffer buffer,
+                                      Predicate<String> excludedContentType) {
+        super(response);
+        this.buffer = buffer;
+        this.excludedContentType = excludedContentType;
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeServletOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new TeePrintWriter(super.getWriter());
+        }
+        return writer;
+    }
+    
+    /**
+     * 渲染已捕获的响应体
+     */
+    public String renderBody() {
+        BoundedBodyBuffer current = buffer;
+        if (captureState < 0) {
+            return "[binary content omitted]";
+        }
+        if (current == null || current.getTotalSize() == 0) {
+            return "";
+        }
+        return current.render(charset);
+    }
+    
+    /**
+     * 解除缓冲区绑定并返回，供归还到池中
+     */
+    public BoundedBodyBuffer detachBuffer() {
+        BoundedBodyBuffer current = buffer;
+        buffer = null;
+        return current;
+    }
+    
+    /**
+     * 获取当前可写入的捕获缓冲区，内容类型被排除时返回null；
+     * 首次写出时确定是否捕获并解析字符集，之后不再重复解析
+     */
+    private BoundedBodyBuffer captureBuffer() {
+        if (captureState == 0) {
+            captureState = excludedContentType.test(getContentType()) ? -1 : 1;
+            charset = resolveCharset();
+        }
+        return captureState > 0 ? buffer : null;
+    }
+    
+    private Charset resolveCharset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+        } catch (Exception e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+    
+    /**
+     * 旁路复制的输出流
+     */
+    private final class TeeServletOutputStream extends ServletOutputStream {
+        
+        private final ServletOutputStream delegate;
+        
+        TeeServletOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            BoundedBodyBuffer current = captureBuffer();
+            if (current != null) {
+                current.write(b);
+            }
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            BoundedBodyBuffer current = captureBuffer();
+            if (current != null) {
+                current.write(b, off, len);
+            }
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+        
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+        
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+    
+    /**
+     * 旁路复制的字符输出，字符直接编码进捕获缓冲区
+     */
+    private final class TeePrintWriter extends PrintWriter {
+        
+        TeePrintWriter(PrintWriter delegate) {
+            super(delegate);
+        }
+        
+        @Override
+        public void write(int c) {
+            super.write(c);
+            BoundedBodyBuffer current = captureBuffer();
+            if (current != null) {
+                current.writeChar((char) c, charset);
+            }
+        }
+        
+        @Override
+        public void write(char[] buf, int off, int len) {
+            super.write(buf, off, len);
+            BoundedBodyBuffer current = captureBuffer();
+            if (current != null) {
+                current.writeChars(buf, off, len, charset);
+            }
+        }
+        
+        @Override
+        public void write(String s, int off, int len) {
+            super.write(s, off, len);
+            BoundedBodyBuffer current = captureBuffer();
+            if (current != null) {
+                current.writeChars(s, off, len, charset);
+            }
+        }
+        
+        /**
+         * PrintWriter 的换行直接写给底层输出，不经过 write 方法，这里改为走 write 以便旁路复制
+         */
+        @Override
+        public void println() {
+            write(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.nemoob.atlas.log.web;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 固定容量的请求体/响应体捕获缓冲区
+ * 只保留前 capacity 个字节，超出部分只计数不保存，无论报文多大都不会扩容
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class BoundedBodyBuffer {
+    
+    private final byte[] data;
+    private int length;
+    private long totalSize;
+    private boolean truncated;
+    private CharsetEncoder encoder;
+    private CharBuffer single;
+    private CharBuffer pair;
+    private ByteBuffer overflow;
+    private char pendingHighSurrogate;
+    
+    public BoundedBodyBuffer(int capacity) {
+        this.data = new byte[Math.max(capacity, 0)];
+    }
+    
+    /**
+     * 写入单个字节
+     */
+    public void write(int b) {
+        totalSize++;
+        if (length < data.length) {
+            data[length++] = (byte) b;
+        } else {
+            truncated = true;
+        }
+    }
+    
+    /**
+     * 写入字节数组
+     */
+    public void write(byte[] bytes, int offset, int len) {
+        if (len <= 0) {
+            return;
+        }
+        totalSize += len;
+        int copy = Math.min(len, data.length - length);
+        if (copy > 0) {
+            System.arraycopy(bytes, offset, data, length, copy);
+            length += copy;
+        }
+        if (copy < len) {
+            truncated = true;
+        }
+    }
+    
+    /**
+     * 写入字符（按指定字符集直接编码到缓冲区，不产生中间字符串）
+     */
+    public void writeChars(CharSequence chars, int offset, int len, Charset charset) {
+        if (len > 0) {
+            encode(CharBuffer.wrap(chars, offset, offset + len), charset);
+        }
+    }
+    
+    /**
+     * 写入字符数组
+     */
+    public void writeChars(char[] chars, int offset, int len, Charset charset) {
+        if (len > 0) {
+            encode(CharBuffer.wrap(chars, offset, len), charset);
+        }
+    }
+    
+    /**
+     * 写入单个字符（复用单字符缓冲区，不产生中间对象）
+     */
+    public void writeChar(char c, Charset charset) {
+        if (single == null) {
+            single = CharBuffer.allocate(1);
+        }
+        single.clear();
+        single.put(0, c);
+        encode(single, charset);
+    }
+    
+    /**
+     * 编码器跨调用保持状态：以高代理项结尾的输入先挂起，与下一次写入的首字符拼成完整的代理对
+     */
+    private void encode(CharBuffer in, Charset charset) {
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            pendingHighSurrogate = 0;
+        }
+        ByteBuffer out = ByteBuffer.wrap(data, length, data.length - length);
+        while (pendingHighSurrogate != 0 && in.hasRemaining()) {
+            if (pair == null) {
+                pair = CharBuffer.allocate(2);
+            }
+            pair.clear();
+            pair.put(pendingHighSurrogate).put(in.get()).flip();
+            pendingHighSurrogate = 0;
+            encodeInto(pair, out);
+        }
+        encodeInto(in, out);
+        totalSize += out.position() - length;
+        length = out.position();
+    }
+    
+    /**
+     * 放不下的部分编码到临时缓冲区，只计字节数不保存，使总量与字节写入口径一致
+     */
+    private void encodeInto(CharBuffer in, ByteBuffer out) {
+        CoderResult result = encoder.encode(in, out, false);
+        while (result.isOverflow()) {
+            truncated = true;
+            if (overflow == null) {
+                overflow = ByteBuffer.allocate(256);
+            }
+            overflow.clear();
+            result = encoder.encode(in, overflow, false);
+            totalSize += overflow.position();
+        }
+        if (in.hasRemaining()) {
+            pendingHighSurrogate = in.get();
+        }
+    }
+    
+    /**
+     * 是否发生截断
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+    
+    /**
+     * 已保存的字节数
+     */
+    public int getLength() {
+        return length;
+    }
+    
+    /**
+     * 写入的总字节数（字符按写入时的字符集编码后计），包括未保存的部分
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+    
+    /**
+     * 渲染为字符串
+     */
+    public String render(Charset charset) {
+        String body = new String(data, 0, length, charset);
+        if (isTruncated()) {
+            return body + "...[TRUNCATED, total " + totalSize + "]";
+        }
+        return body;
+    }
+    
+    /**
+     * 重置，供池复用
+     */
+    void reset() {
+        length = 0;
+        totalSize = 0;
+        truncated = false;
+        pendingHighSurrogate = 0;
+        if (encoder != null) {
+            encoder.reset();
+        }
+    }
+    
+    int capacity() {
+        return data.length;
+    }
+}
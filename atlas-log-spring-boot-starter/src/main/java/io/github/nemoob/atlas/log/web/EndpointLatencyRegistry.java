@@ -0,0 +1,200 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.metrics.HistogramSnapshot;
+import io.github.nemoob.atlas.log.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按端点统计的HTTP延迟注册表
+ * <p>
+ * 端点以 HTTP 方法加匹配到的 URI 模板（如 {@code GET /users/{id}}）区分，而不是原始 URI，
+ * 未匹配到处理器的请求统一归入 {@value #UNMAPPED}。端点数量超过上限后，新端点统一计入 {@value #OVERFLOW}，
+ * 保证内存有界。记录路径只有 Map 查找和原子操作，不加锁。直方图各桶保留 TraceId 样例。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class EndpointLatencyRegistry {
+    
+    /**
+     * 未匹配到处理器模板的请求（404、静态资源等）
+     */
+    public static final String UNMAPPED = "UNMAPPED";
+    
+    /**
+     * 超过端点上限后的汇总项
+     */
+    public static final String OVERFLOW = "OTHER";
+    
+    private final ConcurrentMap<String, ConcurrentMap<String, EndpointLatency>> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger endpointCount = new AtomicInteger();
+    private final int maxEndpoints;
+    private final int stripes;
+    private final EndpointLatency overflow;
+    
+    public EndpointLatencyRegistry(int maxEndpoints, int stripes) {
+        this.maxEndpoints = maxEndpoints;
+        this.stripes = stripes;
+        this.overflow = new EndpointLatency(OVERFLOW, OVERFLOW, stripes);
+    }
+    
+    /**
+     * 记录一次请求
+     * 
+     * @param method HTTP 方法
+     * @param pattern 匹配到的 URI 模板，null 表示未匹配
+     * @param status 响应状态码
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void record(String method, String pattern, int status, long elapsedNanos) {
+        record(method, pattern, status, elapsedNanos, null);
+    }
+    
+    /**
+     * 记录一次请求，并以 traceId 作为直方图样例
+     * 
+     * @param method HTTP 方法
+     * @param pattern 匹配到的 URI 模板，null 表示未匹配
+     * @param status 响应状态码
+     * @param elapsedNanos 耗时（纳秒）
+     * @param traceId TraceId，可为 null
+     */
+    public void record(String method, String pattern, int status, long elapsedNanos, String traceId) {
+        EndpointLatency endpoint = getOrCreate(method != null ? method : "", pattern != null ? pattern : UNMAPPED);
+        endpoint.histogram.recordNanos(elapsedNanos, traceId);
+        int statusClass = status / 100;
+        endpoint.statusCounts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+    }
+    
+    private EndpointLatency getOrCreate(String method, String pattern) {
+        ConcurrentMap<String, EndpointLatency> byMethod = endpoints.get(pattern);
+        if (byMethod != null) {
+            EndpointLatency endpoint = byMethod.get(method);
+            if (endpoint != null) {
+                return endpoint;
+            }
+        }
+        // 先占名额再创建，超过上限时不再新增端点
+        if (endpointCount.incrementAndGet() > maxEndpoints) {
+            endpointCount.decrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Endpoint latency registry is full ({}), recording {} {} as {}", maxEndpoints, method, pattern, OVERFLOW);
+            }
+            return overflow;
+        }
+        if (byMethod == null) {
+            byMethod = endpoints.computeIfAbsent(pattern, key -> new ConcurrentHashMap<>(4));
+        }
+        EndpointLatency created = new EndpointLatency(method, pattern, stripes);
+        EndpointLatency existing = byMethod.putIfAbsent(method, created);
+        if (existing != null) {
+            endpointCount.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+    
+    /**
+     * 所有端点的统计快照，按模板和方法排序
+     */
+    public List<EndpointLatencySnapshot> snapshot() {
+        List<EndpointLatencySnapshot> result = new ArrayList<>();
+        for (Map<String, EndpointLatency> byMethod : endpoints.values()) {
+            for (EndpointLatency endpoint : byMethod.values()) {
+                result.add(endpoint.snapshot());
+            }
+        }
+        result.sort(Comparator.comparing(EndpointLatencySnapshot::getPattern)
+                .thenComparing(EndpointLatencySnapshot::getMethod));
+        EndpointLatencySnapshot overflowSnapshot = overflow.snapshot();
+        if (overflowSnapshot.getHistogram().getCount() > 0) {
+            result.add(overflowSnapshot);
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * 当前跟踪的端点数量（不含汇总项）
+     */
+    public int getEndpointCount() {
+        return endpointCount.get();
+    }
+    
+    public int getMaxEndpoints() {
+        return maxEndpoints;
+    }
+    
+    private static final class EndpointLatency {
+        private final String method;
+        private final String pattern;
+        private final LatencyHistogram histogram;
+        private final LongAdder[] statusCounts = new LongAdder[6];
+        
+        private EndpointLatency(String method, String pattern, int stripes) {
+            this.method = method;
+            this.pattern = pattern;
+            this.histogram = new LatencyHistogram(stripes, true);
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] = new LongAdder();
+            }
+        }
+        
+        private EndpointLatencySnapshot snapshot() {
+            long[] counts = new long[statusCounts.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = statusCounts[i].sum();
+            }
+            return new EndpointLatencySnapshot(method, pattern, histogram.snapshot(), counts);
+        }
+    }
+    
+    /**
+     * 单个端点的统计快照
+     */
+    public static final class EndpointLatencySnapshot {
+        private final String method;
+        private final String pattern;
+        private final HistogramSnapshot histogram;
+        private final long[] statusCounts;
+        
+        EndpointLatencySnapshot(String method, String pattern, HistogramSnapshot histogram, long[] statusCounts) {
+            this.method = method;
+            this.pattern = pattern;
+            this.histogram = histogram;
+            this.statusCounts = statusCounts;
+        }
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public String getPattern() {
+            return pattern;
+        }
+        
+        public HistogramSnapshot getHistogram() {
+            return histogram;
+        }
+        
+        /**
+         * 按状态码类别的计数
+         * 
+         * @param statusClass 1 到 5 分别对应 1xx 到 5xx，0 表示无效状态码
+         */
+        public long getStatusCount(int statusClass) {
+            return statusCounts[statusClass];
+        }
+    }
+}
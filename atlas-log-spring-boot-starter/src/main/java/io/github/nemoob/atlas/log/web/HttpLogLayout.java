@@ -0,0 +1,333 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatConfig;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 预编译的 HTTP 日志布局
+ * <p>
+ * 启动时将 urlFormat 解析为片段序列，请求头排除规则预先转为小写数组；
+ * 每次请求只需一次线性遍历，把 URL、参数、请求头直接渲染到线程复用的缓冲区中，
+ * 不再有 String.replace 链、toLowerCase 和 Stream 操作。
+ * LoggingFilter 与 ReactiveLoggingFilter 共用该布局。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class HttpLogLayout {
+    
+    private static final int SEGMENT_LITERAL = 0;
+    private static final int SEGMENT_METHOD = 1;
+    private static final int SEGMENT_URI = 2;
+    private static final int SEGMENT_QUERY_STRING = 3;
+    private static final int SEGMENT_REMOTE_ADDR = 4;
+    
+    /**
+     * 线程复用缓冲区超过该容量时丢弃，避免大报文长期占用内存
+     */
+    private static final int MAX_RETAINED_BUFFER = 8 * 1024;
+    
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    
+    private final int[] segmentTypes;
+    private final String[] segmentLiterals;
+    private final String[] excludeHeaders;
+    private final String[] excludeBodyContentTypes;
+    private final boolean includeQueryString;
+    private final boolean keyValueParameters;
+    private final String parameterSeparator;
+    private final String keyValueSeparator;
+    
+    public HttpLogLayout(LogConfigProperties.HttpLogConfig httpLog, ArgumentFormatConfig argumentFormatConfig) {
+        List<Integer> types = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        compileUrlFormat(httpLog.getUrlFormat(), types, literals);
+        this.segmentTypes = new int[types.size()];
+        for (int i = 0; i < segmentTypes.length; i++) {
+            segmentTypes[i] = types.get(i);
+        }
+        this.segmentLiterals = literals.toArray(new String[0]);
+        this.excludeHeaders = toLowerCaseArray(httpLog.getExcludeHeaders());
+        this.excludeBodyContentTypes = toLowerCaseArray(httpLog.getExcludeBodyContentTypes());
+        this.includeQueryString = httpLog.isIncludeQueryString();
+        
+        ArgumentFormatConfig formatConfig = argumentFormatConfig != null ? argumentFormatConfig : new ArgumentFormatConfig();
+        this.keyValueParameters = formatConfig.getType() == ArgumentFormatType.KEY_VALUE;
+        this.parameterSeparator = formatConfig.getSeparator();
+        this.keyValueSeparator = formatConfig.getKeyValueSeparator();
+    }
+    
+    /**
+     * 解析 URL 格式：{method}, {uri}, {queryString}, {remoteAddr}，其余按字面量输出
+     */
+    private static void compileUrlFormat(String format, List<Integer> types, List<String> literals) {
+        String source = format != null ? format : "";
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            int placeholder = matchPlaceholder(source, i);
+            if (placeholder != SEGMENT_LITERAL) {
+                if (literal.length() > 0) {
+                    types.add(SEGMENT_LITERAL);
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                types.add(placeholder);
+                literals.add(null);
+                i = source.indexOf('}', i) + 1;
+            } else {
+                literal.append(source.charAt(i));
+                i++;
+            }
+        }
+        if (literal.length() > 0) {
+            types.add(SEGMENT_LITERAL);
+            literals.add(literal.toString());
+        }
+    }
+    
+    private static int matchPlaceholder(String source, int index) {
+        if (source.startsWith("{method}", index)) {
+            return SEGMENT_METHOD;
+        } else if (source.startsWith("{uri}", index)) {
+            return SEGMENT_URI;
+        } else if (source.startsWith("{queryString}", index)) {
+            return SEGMENT_QUERY_STRING;
+        } else if (source.startsWith("{remoteAddr}", index)) {
+            return SEGMENT_REMOTE_ADDR;
+        }
+        return SEGMENT_LITERAL;
+    }
+    
+    private static String[] toLowerCaseArray(List<String> values) {
+        if (values == null) {
+            return new String[0];
+        }
+        List<String> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                result.add(value.toLowerCase(Locale.ROOT));
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+    
+    /**
+     * 获取当前线程复用的缓冲区（已清空）
+     */
+    public StringBuilder acquireBuffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffer = new StringBuilder(512);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+    
+    /**
+     * 渲染 URL，结果去除首尾空白
+     */
+    public void appendUrl(StringBuilder sb, String method, String uri, String queryString, String remoteAddr) {
+        int start = sb.length();
+        for (int i = 0; i < segmentTypes.length; i++) {
+            switch (segmentTypes[i]) {
+                case SEGMENT_METHOD:
+                    if (method != null) {
+                        sb.append(method);
+                    }
+                    break;
+                case SEGMENT_URI:
+                    if (uri != null) {
+                        sb.append(uri);
+                    }
+                    break;
+                case SEGMENT_QUERY_STRING:
+                    if (includeQueryString && queryString != null && !queryString.isEmpty()) {
+                        sb.append('?').append(queryString);
+                    }
+                    break;
+                case SEGMENT_REMOTE_ADDR:
+                    if (remoteAddr != null) {
+                        sb.append(remoteAddr);
+                    }
+                    break;
+                default:
+                    sb.append(segmentLiterals[i]);
+                    break;
+            }
+        }
+        trim(sb, start);
+    }
+    
+    private static void trim(StringBuilder sb, int start) {
+        int end = sb.length();
+        while (end > start && Character.isWhitespace(sb.charAt(end - 1))) {
+            end--;
+        }
+        sb.setLength(end);
+        int leading = start;
+        while (leading < end && Character.isWhitespace(sb.charAt(leading))) {
+            leading++;
+        }
+        if (leading > start) {
+            sb.delete(start, leading);
+        }
+    }
+    
+    /**
+     * 请求头是否需要记录（名称包含任一排除项即不记录，忽略大小写）
+     */
+    public boolean isHeaderIncluded(String headerName) {
+        for (String exclude : excludeHeaders) {
+            if (containsIgnoreCase(headerName, exclude)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 该内容类型是否跳过报文体捕获
+     */
+    public boolean isBodyContentTypeExcluded(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (String exclude : excludeBodyContentTypes) {
+            if (contentType.regionMatches(true, 0, exclude, 0, exclude.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean containsIgnoreCase(String value, String lowerCasePart) {
+        int max = value.length() - lowerCasePart.length();
+        for (int i = 0; i <= max; i++) {
+            if (value.regionMatches(true, i, lowerCasePart, 0, lowerCasePart.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 追加一个请求头
+     */
+    public void appendHeader(StringBuilder sb, boolean first, String name, String value) {
+        if (!first) {
+            sb.append(", ");
+        }
+        sb.append(name).append('=').append(value);
+    }
+    
+    /**
+     * 追加一个多值请求头，值以逗号连接
+     */
+    public void appendHeader(StringBuilder sb, boolean first, String name, List<String> values) {
+        if (!first) {
+            sb.append(", ");
+        }
+        sb.append(name).append('=');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values.get(i));
+        }
+    }
+    
+    /**
+     * 渲染 Servlet 请求参数
+     */
+    public void appendParameters(StringBuilder sb, Map<String, String[]> parameterMap) {
+        if (!keyValueParameters) {
+            sb.append('{');
+        }
+        boolean first = true;
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String[] values = entry.getValue();
+            appendParameterKey(sb, first, entry.getKey());
+            if (values.length == 1) {
+                appendParameterValue(sb, values[0]);
+            } else {
+                sb.append('[');
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendParameterValue(sb, values[i]);
+                }
+                sb.append(']');
+            }
+            first = false;
+        }
+        if (!keyValueParameters) {
+            sb.append('}');
+        }
+    }
+    
+    /**
+     * 渲染列表形式的请求参数（WebFlux）
+     */
+    public void appendParameterList(StringBuilder sb, Map<String, List<String>> parameterMap) {
+        if (!keyValueParameters) {
+            sb.append('{');
+        }
+        boolean first = true;
+        for (Map.Entry<String, List<String>> entry : parameterMap.entrySet()) {
+            List<String> values = entry.getValue();
+            appendParameterKey(sb, first, entry.getKey());
+            if (values.size() == 1) {
+                appendParameterValue(sb, values.get(0));
+            } else {
+                sb.append('[');
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) {
+                        sb.append(',');
+                    }
+                    appendParameterValue(sb, values.get(i));
+                }
+                sb.append(']');
+            }
+            first = false;
+        }
+        if (!keyValueParameters) {
+            sb.append('}');
+        }
+    }
+    
+    private void appendParameterKey(StringBuilder sb, boolean first, String key) {
+        if (keyValueParameters) {
+            if (!first) {
+                sb.append(parameterSeparator);
+            }
+            sb.append(key).append(keyValueSeparator);
+        } else {
+            if (!first) {
+                sb.append(',');
+            }
+            sb.append('"').append(key).append("\":");
+        }
+    }
+    
+    private void appendParameterValue(StringBuilder sb, String value) {
+        if (keyValueParameters) {
+            sb.append(value);
+        } else {
+            sb.append('"').append(value).append('"');
+        }
+    }
+    
+    public boolean isIncludeQueryString() {
+        return includeQueryString;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HTTP 日志路径匹配器
+ * <p>
+ * 启动时把 includePaths、excludePaths 和 pathPolicies 编译为 {@link PathPatternTrie}，
+ * 每个请求只做一次按段遍历即可得到是否记录以及生效的策略。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class HttpLogPathMatcher {
+    
+    private final PathPatternTrie<Boolean> includeTrie = new PathPatternTrie<>();
+    private final PathPatternTrie<Boolean> excludeTrie = new PathPatternTrie<>();
+    private final PathPatternTrie<HttpLogPolicy> policyTrie = new PathPatternTrie<>();
+    private final HttpLogPolicy defaultPolicy;
+    
+    public HttpLogPathMatcher(LogConfigProperties.HttpLogConfig httpLog, long defaultSlowThreshold) {
+        this.defaultPolicy = new HttpLogPolicy(LogLevel.INFO, defaultSlowThreshold,
+                httpLog.isIncludeHeaders(), httpLog.isLogFullParameters());
+        addAll(includeTrie, httpLog.getIncludePaths());
+        addAll(excludeTrie, httpLog.getExcludePaths());
+        if (httpLog.getPathPolicies() != null) {
+            for (LogConfigProperties.PathPolicy policy : httpLog.getPathPolicies()) {
+                if (policy != null) {
+                    policyTrie.add(policy.getPattern(), compile(policy));
+                }
+            }
+        }
+    }
+    
+    private static void addAll(PathPatternTrie<Boolean> trie, List<String> patterns) {
+        if (patterns == null) {
+            return;
+        }
+        for (String pattern : patterns) {
+            trie.add(pattern, Boolean.TRUE);
+        }
+    }
+    
+    private HttpLogPolicy compile(LogConfigProperties.PathPolicy policy) {
+        LogLevel level = defaultPolicy.getLevel();
+        if (policy.getLevel() != null) {
+            String upperLevel = policy.getLevel().trim().toUpperCase(Locale.ROOT);
+            level = "OFF".equals(upperLevel) ? null : LogLevel.valueOf(upperLevel);
+        }
+        return new HttpLogPolicy(level,
+                policy.getSlowThreshold() != null ? policy.getSlowThreshold() : defaultPolicy.getSlowThreshold(),
+                policy.getIncludeHeaders() != null ? policy.getIncludeHeaders() : defaultPolicy.isIncludeHeaders(),
+                policy.getLogFullParameters() != null ? policy.getLogFullParameters() : defaultPolicy.isLogFullParameters());
+    }
+    
+    /**
+     * 解析路径的生效策略
+     * 
+     * @param path 请求路径
+     * @param offset 从该位置开始匹配（通常为 contextPath 长度）
+     * @return 生效策略，路径被排除时返回 null
+     */
+    public HttpLogPolicy resolve(String path, int offset) {
+        if (!excludeTrie.isEmpty() && excludeTrie.match(path, offset) != null) {
+            return null;
+        }
+        if (!includeTrie.isEmpty() && includeTrie.match(path, offset) == null) {
+            return null;
+        }
+        if (policyTrie.isEmpty()) {
+            return defaultPolicy;
+        }
+        HttpLogPolicy policy = policyTrie.match(path, offset);
+        return policy != null ? policy : defaultPolicy;
+    }
+    
+    public HttpLogPolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+
+/**
+ * 单个端点生效的HTTP日志策略（已与全局配置合并，不可变）
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+public final class HttpLogPolicy {
+    
+    private final LogLevel level;
+    private final long slowThreshold;
+    private final boolean includeHeaders;
+    private final boolean logFullParameters;
+    
+    HttpLogPolicy(LogLevel level, long slowThreshold, boolean includeHeaders, boolean logFullParameters) {
+        this.level = level;
+        this.slowThreshold = slowThreshold;
+        this.includeHeaders = includeHeaders;
+        this.logFullParameters = logFullParameters;
+    }
+    
+    /**
+     * 正常完成时的日志级别，null 表示不记录正常完成的请求（错误和慢请求仍会记录）
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+    
+    public long getSlowThreshold() {
+        return slowThreshold;
+    }
+    
+    public boolean isIncludeHeaders() {
+        return includeHeaders;
+    }
+    
+    public boolean isLogFullParameters() {
+        return logFullParameters;
+    }
+}
@@ -1,12 +1,16 @@
 package io.github.nemoob.atlas.log.web;
 
+import io.github.nemoob.atlas.log.annotation.LogLevel;
 import io.github.nemoob.atlas.log.config.LogConfigProperties;
 import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.metrics.SlowCallDetector;
 import io.github.nemoob.atlas.log.serializer.ArgumentFormatConfig;
-import io.github.nemoob.atlas.log.serializer.ArgumentFormatType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerMapping;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -18,6 +22,8 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Enumeration;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 日志过滤器
@@ -29,12 +35,29 @@ import java.util.Map;
 @Slf4j
 public class LoggingFilter implements Filter {
     
+    /**
+     * 请求属性中存放 TraceId 的键，用于异步分派线程恢复 TraceId
+     */
+    public static final String TRACE_ID_ATTRIBUTE = "ATLAS_LOG_TRACE_ID";
+    
+    private static final String ASYNC_COMPLETED = "COMPLETED";
+    private static final String ASYNC_TIMEOUT = "TIMEOUT";
+    private static final String ASYNC_ERROR = "ERROR";
+    
     private final LogConfigProperties properties;
     private final ArgumentFormatConfig argumentFormatConfig;
+    private final BodyBufferPool bodyBufferPool;
+    private final HttpLogLayout layout;
+    private final HttpLogPathMatcher pathMatcher;
+    private EndpointLatencyRegistry latencyRegistry;
+    private SlowCallDetector slowCallDetector;
     
     public LoggingFilter(LogConfigProperties properties, ArgumentFormatConfig argumentFormatConfig) {
         this.properties = properties;
         this.argumentFormatConfig = argumentFormatConfig != null ? argumentFormatConfig : new ArgumentFormatConfig();
+        this.bodyBufferPool = createBodyBufferPool(properties);
+        this.layout = new HttpLogLayout(properties.getHttpLog(), this.argumentFormatConfig);
+        this.pathMatcher = new HttpLogPathMatcher(properties.getHttpLog(), properties.getPerformance().getSlowThreshold());
         
         // ✅ 添加调试日志
         log.debug("=== LoggingFilter Constructor Debug ===");
@@ -52,6 +75,37 @@ public class LoggingFilter implements Filter {
     public LoggingFilter(LogConfigProperties properties) {
         this.properties = properties;
         this.argumentFormatConfig = new ArgumentFormatConfig();
+        this.bodyBufferPool = createBodyBufferPool(properties);
+        this.layout = new HttpLogLayout(properties.getHttpLog(), this.argumentFormatConfig);
+        this.pathMatcher = new HttpLogPathMatcher(properties.getHttpLog(), properties.getPerformance().getSlowThreshold());
+    }
+    
+    /**
+     * 设置端点延迟注册表，为 null 时不做统计
+     */
+    public void setLatencyRegistry(EndpointLatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+    }
+    
+    /**
+     * 设置慢请求判定器，为 null 时按路径策略的固定阈值判定
+     */
+    public void setSlowCallDetector(SlowCallDetector slowCallDetector) {
+        this.slowCallDetector = slowCallDetector;
+    }
+    
+    /**
+     * 启用报文体捕获时创建缓冲区池
+     */
+    private static BodyBufferPool createBodyBufferPool(LogConfigProperties properties) {
+        if (properties == null || properties.getHttpLog() == null) {
+            return null;
+        }
+        LogConfigProperties.HttpLogConfig httpLog = properties.getHttpLog();
+        if (!httpLog.isLogRequestBody() && !httpLog.isLogResponseBody()) {
+            return null;
+        }
+        return new BodyBufferPool(httpLog.getBodyBufferPoolSize(), httpLog.getMaxBodyLength());
     }
     
     @Override
@@ -66,14 +120,11 @@ public class LoggingFilter implements Filter {
         // 添加递归检测，防止 StackOverflowError
         String recursionKey = "ATLAS_LOG_FILTER_PROCESSED";
         if (request.getAttribute(recursionKey) != null) {
-            // 已经处理过，直接传递，避免无限循环
-            chain.doFilter(request, response);
+            // 已经处理过（包括异步分派），直接传递，避免无限循环
+            doFilterWithSavedTraceId(request, response, chain);
             return;
         }
         
-        // 标记已处理
-        request.setAttribute(recursionKey, true);
-        
         if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
             chain.doFilter(request, response);
             return;
@@ -82,6 +133,16 @@ public class LoggingFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
+        // 命中排除路径的请求完全绕过过滤器，不生成 TraceId
+        HttpLogPolicy policy = pathMatcher.resolve(httpRequest.getRequestURI(), httpRequest.getContextPath().length());
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        // 标记已处理
+        request.setAttribute(recursionKey, true);
+        
         // LoggingFilter 作为请求的入口，直接管理 TraceId
         String traceId = TraceIdHolder.getTraceIdIfPresent();
         if (traceId == null) {
@@ -99,230 +160,255 @@ public class LoggingFilter implements Filter {
             // 设置到响应头
             httpResponse.setHeader("X-Trace-Id", traceId);
         }
+        // 保存到请求属性，供异步分派线程恢复
+        request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
         log.debug("LoggingFilter started - TraceId: {}", traceId);
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean asyncStarted = false;
+        
+        // 按需包装请求/响应，旁路捕获报文体
+        httpRequest = wrapRequestForBodyCapture(httpRequest);
+        httpResponse = wrapResponseForBodyCapture(httpResponse);
         
         try {
             // 记录请求开始日志
-            logRequestStart(httpRequest, traceId);
+            logRequestStart(httpRequest, traceId, policy);
             
             // 执行请求
-            chain.doFilter(request, response);
+            chain.doFilter(httpRequest, httpResponse);
+            
+            // 异步请求（DeferredResult、Callable、AsyncContext）在完成或超时时再记录结束日志
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(
+                        new AsyncRequestLogListener(httpRequest, httpResponse, startNanos, traceId, policy));
+                asyncStarted = true;
+                log.debug("LoggingFilter detected async request, deferring end log - TraceId: {}", traceId);
+            }
             
         } finally {
-            // 使用保存的 traceId，确保开始和结束日志的 TraceId 一致
-            String currentTraceId = TraceIdHolder.getTraceIdIfPresent();
-            log.debug("LoggingFilter finished - saved TraceId: {}, current TraceId: {}", traceId, currentTraceId);
-            long executionTime = System.currentTimeMillis() - startTime;
-            logRequestEnd(httpRequest, httpResponse, executionTime, traceId);
+            if (!asyncStarted) {
+                // 使用保存的 traceId，确保开始和结束日志的 TraceId 一致
+                String currentTraceId = TraceIdHolder.getTraceIdIfPresent();
+                log.debug("LoggingFilter finished - saved TraceId: {}, current TraceId: {}", traceId, currentTraceId);
+                long elapsedNanos = System.nanoTime() - startNanos;
+                boolean slow = recordMetrics(httpRequest, httpResponse, elapsedNanos, traceId, policy);
+                logRequestEnd(httpRequest, httpResponse, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), traceId, null, policy, slow);
+                releaseBodyBuffers(httpRequest, httpResponse);
+            }
         }
     }
     
     /**
-     * 记录请求开始日志
+     * 包装请求以捕获请求体（跳过二进制和 multipart 内容）
      */
-    private void logRequestStart(HttpServletRequest request, String traceId) {
-        if (log.isDebugEnabled()) {
-            String method = request.getMethod();
-            String uri = request.getRequestURI();
-            String queryString = request.getQueryString();
-            String remoteAddr = getClientIpAddress(request);
-            
-            StringBuilder logMsg = new StringBuilder();
-            logMsg.append("TraceId: ").append(traceId).append(" | ");
-            
-            // 使用自定义URL格式
-            String formattedUrl = formatUrl(method, uri, queryString, remoteAddr);
-            logMsg.append("URL: ").append(formattedUrl);
-            
-            logMsg.append(" | HTTP请求开始");
-            
-            // 默认记录请求参数（可通过配置控制格式）
-            if (properties.getHttpLog().isLogFullParameters()) {
-                // 记录查询参数
-                if (StringUtils.hasText(queryString) && properties.getHttpLog().isIncludeQueryString()) {
-                    String formattedParams = formatRequestParameters(request);
-                    if (StringUtils.hasText(formattedParams)) {
-                        logMsg.append(" | Parameters: ").append(formattedParams);
-                    }
-                }
-                
-                // 记录请求头（如果启用）
-                if (properties.getHttpLog().isIncludeHeaders()) {
-                    String headers = getFilteredHeaders(request);
-                    if (StringUtils.hasText(headers)) {
-                        logMsg.append(" | Headers: ").append(headers);
-                    }
-                }
-            }
-            
-            logMsg.append(" | RemoteAddr: ").append(remoteAddr);
-            
-            log.debug(logMsg.toString());
+    private HttpServletRequest wrapRequestForBodyCapture(HttpServletRequest request) {
+        if (bodyBufferPool == null || !properties.getHttpLog().isLogRequestBody()
+                || layout.isBodyContentTypeExcluded(request.getContentType())) {
+            return request;
         }
+        return new BodyCaptureRequestWrapper(request, bodyBufferPool.acquire());
     }
     
     /**
-     * 记录请求结束日志
+     * 包装响应以捕获响应体
      */
-    private void logRequestEnd(HttpServletRequest request, HttpServletResponse response, 
-                              long executionTime, String traceId) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
-        String queryString = request.getQueryString();
-        String remoteAddr = getClientIpAddress(request);
-        int status = response.getStatus();
-        
-        StringBuilder logMsg = new StringBuilder();
-        logMsg.append("TraceId: ").append(traceId).append(" | ");
-        
-        // 使用自定义URL格式
-        String formattedUrl = formatUrl(method, uri, queryString, remoteAddr);
-        logMsg.append("URL: ").append(formattedUrl).append(" | ");
-        
-        logMsg.append("HTTP请求完成 | ");
-        logMsg.append("Status: ").append(status).append(" | ");
-        logMsg.append("ExecutionTime: ").append(executionTime).append("ms");
-        
-        // 根据执行时间和状态码选择日志级别
-        if (status >= 500) {
-            log.error(logMsg.toString());
-        } else if (status >= 400) {
-            log.warn(logMsg.toString());
-        } else if (executionTime > properties.getPerformance().getSlowThreshold()) {
-            log.warn(logMsg.toString() + " | SlowRequest: true");
-        } else if (log.isInfoEnabled()) {
-            log.info(logMsg.toString());
+    private HttpServletResponse wrapResponseForBodyCapture(HttpServletResponse response) {
+        if (bodyBufferPool == null || !properties.getHttpLog().isLogResponseBody()) {
+            return response;
         }
+        return new BodyCaptureResponseWrapper(response, bodyBufferPool.acquire(),
+                layout::isBodyContentTypeExcluded);
     }
     
     /**
-     * 格式化URL
+     * 归还报文体缓冲区
      */
-    private String formatUrl(String method, String uri, String queryString, String remoteAddr) {
-        String format = properties.getHttpLog().getUrlFormat();
-        
-        // 替换占位符
-        String result = format
-                .replace("{method}", method != null ? method : "")
-                .replace("{uri}", uri != null ? uri : "")
-                .replace("{remoteAddr}", remoteAddr != null ? remoteAddr : "");
-        
-        // 处理查询字符串
-        if (properties.getHttpLog().isIncludeQueryString() && StringUtils.hasText(queryString)) {
-            result = result.replace("{queryString}", "?" + queryString);
-        } else {
-            result = result.replace("{queryString}", "");
+    private void releaseBodyBuffers(HttpServletRequest request, HttpServletResponse response) {
+        if (request instanceof BodyCaptureRequestWrapper) {
+            bodyBufferPool.release(((BodyCaptureRequestWrapper) request).detachBuffer());
+        }
+        if (response instanceof BodyCaptureResponseWrapper) {
+            bodyBufferPool.release(((BodyCaptureResponseWrapper) response).detachBuffer());
         }
-        
-        return result.trim();
     }
     
     /**
-     * 获取过滤后的请求头信息
+     * 已处理过的请求（如 ASYNC 分派）：在当前线程恢复请求的 TraceId 后继续执行
      */
-    private String getFilteredHeaders(HttpServletRequest request) {
-        StringBuilder headers = new StringBuilder();
+    private void doFilterWithSavedTraceId(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        Object savedTraceId = request.getAttribute(TRACE_ID_ATTRIBUTE);
+        String originalTraceId = TraceIdHolder.getTraceIdIfPresent();
+        if (!(savedTraceId instanceof String) || savedTraceId.equals(originalTraceId)) {
+            chain.doFilter(request, response);
+            return;
+        }
         
-        java.util.Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            String headerName = headerNames.nextElement();
-            
-            // 检查是否在排除列表中
-            boolean shouldExclude = properties.getHttpLog().getExcludeHeaders().stream()
-                    .anyMatch(excludeHeader -> headerName.toLowerCase().contains(excludeHeader.toLowerCase()));
-            
-            if (!shouldExclude) {
-                if (headers.length() > 0) {
-                    headers.append(", ");
-                }
-                headers.append(headerName).append("=").append(request.getHeader(headerName));
+        TraceIdHolder.setTraceId((String) savedTraceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (originalTraceId != null) {
+                TraceIdHolder.setTraceId(originalTraceId);
+            } else {
+                TraceIdHolder.clear();
             }
         }
-        
-        return headers.toString();
     }
     
     /**
-     * 格式化请求参数
+     * 按匹配到的 URI 模板记录端点延迟并判定是否慢请求，不使用原始 URI 以控制基数
+     * TraceId 作为直方图样例记录
+     * 
+     * @return 是否慢请求
      */
-    private String formatRequestParameters(HttpServletRequest request) {
-        Map<String, String[]> parameterMap = request.getParameterMap();
-        if (parameterMap == null || parameterMap.isEmpty()) {
-            return "";
+    private boolean recordMetrics(HttpServletRequest request, HttpServletResponse response,
+                                  long elapsedNanos, String traceId, HttpLogPolicy policy) {
+        Object attribute = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pattern = attribute instanceof String ? (String) attribute : null;
+        if (latencyRegistry != null) {
+            latencyRegistry.record(request.getMethod(), pattern, response.getStatus(), elapsedNanos, traceId);
         }
-        
-        if (argumentFormatConfig.getType() == ArgumentFormatType.KEY_VALUE) {
-            return formatParametersAsKeyValue(parameterMap);
-        } else {
-            return formatParametersAsJson(parameterMap);
+        if (slowCallDetector != null) {
+            return slowCallDetector.isSlow(pattern, elapsedNanos, policy.getSlowThreshold());
         }
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos) > policy.getSlowThreshold();
     }
     
     /**
-     * 将参数格式化为 key=value 格式
+     * 记录请求开始日志
      */
-    private String formatParametersAsKeyValue(Map<String, String[]> parameterMap) {
-        StringBuilder sb = new StringBuilder();
-        boolean first = true;
+    private void logRequestStart(HttpServletRequest request, String traceId, HttpLogPolicy policy) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        String queryString = request.getQueryString();
+        String remoteAddr = getClientIpAddress(request);
         
-        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
-            String key = entry.getKey();
-            String[] values = entry.getValue();
-            
-            if (!first) {
-                sb.append(argumentFormatConfig.getSeparator());
+        StringBuilder logMsg = layout.acquireBuffer();
+        logMsg.append("TraceId: ").append(traceId).append(" | URL: ");
+        layout.appendUrl(logMsg, request.getMethod(), request.getRequestURI(), queryString, remoteAddr);
+        logMsg.append(" | HTTP请求开始");
+        
+        // 默认记录请求参数（可通过配置控制格式）
+        if (policy.isLogFullParameters()) {
+            // 记录查询参数
+            if (layout.isIncludeQueryString() && StringUtils.hasText(queryString)) {
+                Map<String, String[]> parameterMap = request.getParameterMap();
+                if (parameterMap != null && !parameterMap.isEmpty()) {
+                    logMsg.append(" | Parameters: ");
+                    layout.appendParameters(logMsg, parameterMap);
+                }
             }
-            first = false;
-            
-            sb.append(key).append(argumentFormatConfig.getKeyValueSeparator());
             
-            if (values.length == 1) {
-                sb.append(values[0]);
-            } else {
-                sb.append("[");
-                for (int i = 0; i < values.length; i++) {
-                    if (i > 0) sb.append(",");
-                    sb.append(values[i]);
-                }
-                sb.append("]");
+            // 记录请求头（如果启用）
+            if (policy.isIncludeHeaders()) {
+                appendFilteredHeaders(logMsg, request);
             }
         }
         
-        return sb.toString();
+        logMsg.append(" | RemoteAddr: ").append(remoteAddr);
+        
+        log.debug(logMsg.toString());
     }
     
     /**
-     * 将参数格式化为 JSON 格式
+     * 记录请求结束日志
      */
-    private String formatParametersAsJson(Map<String, String[]> parameterMap) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        boolean first = true;
+    private void logRequestEnd(HttpServletRequest request, HttpServletResponse response, 
+                              long executionTime, String traceId, String asyncState,
+                              HttpLogPolicy policy, boolean slow) {
+        int status = response.getStatus();
+        boolean asyncFailed = ASYNC_TIMEOUT.equals(asyncState) || ASYNC_ERROR.equals(asyncState);
         
-        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
-            if (!first) {
-                sb.append(",");
+        // 根据执行时间和状态码选择日志级别，未启用时不做任何渲染
+        LogLevel level;
+        if (status >= 500) {
+            level = LogLevel.ERROR;
+        } else if (status >= 400 || asyncFailed || slow) {
+            level = LogLevel.WARN;
+        } else {
+            level = policy.getLevel();
+        }
+        if (level == null || !isEnabled(level)) {
+            return;
+        }
+        
+        StringBuilder logMsg = layout.acquireBuffer();
+        logMsg.append("TraceId: ").append(traceId).append(" | URL: ");
+        layout.appendUrl(logMsg, request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                getClientIpAddress(request));
+        logMsg.append(" | HTTP请求完成 | Status: ").append(status)
+              .append(" | ExecutionTime: ").append(executionTime).append("ms");
+        if (asyncState != null) {
+            logMsg.append(" | Async: ").append(asyncState);
+        }
+        if (request instanceof BodyCaptureRequestWrapper) {
+            String requestBody = ((BodyCaptureRequestWrapper) request).renderBody();
+            if (StringUtils.hasText(requestBody)) {
+                logMsg.append(" | RequestBody: ").append(requestBody);
             }
-            first = false;
-            
-            sb.append("\"").append(entry.getKey()).append("\":");
-            
-            String[] values = entry.getValue();
-            if (values.length == 1) {
-                sb.append("\"").append(values[0]).append("\"");
-            } else {
-                sb.append("[");
-                for (int i = 0; i < values.length; i++) {
-                    if (i > 0) sb.append(",");
-                    sb.append("\"").append(values[i]).append("\"");
-                }
-                sb.append("]");
+        }
+        if (response instanceof BodyCaptureResponseWrapper) {
+            String responseBody = ((BodyCaptureResponseWrapper) response).renderBody();
+            if (StringUtils.hasText(responseBody)) {
+                logMsg.append(" | ResponseBody: ").append(responseBody);
             }
         }
+        if (slow && status < 400 && !asyncFailed) {
+            logMsg.append(" | SlowRequest: true");
+        }
         
-        sb.append("}");
-        return sb.toString();
+        switch (level) {
+            case ERROR:
+                log.error(logMsg.toString());
+                break;
+            case WARN:
+                log.warn(logMsg.toString());
+                break;
+            case DEBUG:
+                log.debug(logMsg.toString());
+                break;
+            case TRACE:
+                log.trace(logMsg.toString());
+                break;
+            default:
+                log.info(logMsg.toString());
+                break;
+        }
+    }
+    
+    private boolean isEnabled(LogLevel level) {
+        switch (level) {
+            case ERROR:
+                return log.isErrorEnabled();
+            case WARN:
+                return log.isWarnEnabled();
+            case DEBUG:
+                return log.isDebugEnabled();
+            case TRACE:
+                return log.isTraceEnabled();
+            default:
+                return log.isInfoEnabled();
+        }
+    }
+    
+    /**
+     * 追加过滤后的请求头信息
+     */
+    private void appendFilteredHeaders(StringBuilder logMsg, HttpServletRequest request) {
+        Enumeration<String> headerNames = request.getHeaderNames();
+        boolean first = true;
+        while (headerNames.hasMoreElements()) {
+            String headerName = headerNames.nextElement();
+            if (layout.isHeaderIncluded(headerName)) {
+                if (first) {
+                    logMsg.append(" | Headers: ");
+                }
+                layout.appendHeader(logMsg, first, headerName, request.getHeader(headerName));
+                first = false;
+            }
+        }
     }
     
     /**
@@ -342,6 +428,60 @@ public class LoggingFilter implements Filter {
         return request.getRemoteAddr();
     }
     
+    /**
+     * 异步请求结束监听器
+     * 在异步处理完成（包括超时、异常后的完成）时记录结束日志，保证只记录一次
+     */
+    private final class AsyncRequestLogListener implements AsyncListener {
+        
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long startNanos;
+        private final String traceId;
+        private final HttpLogPolicy policy;
+        private final AtomicBoolean logged = new AtomicBoolean(false);
+        private volatile String asyncState = ASYNC_COMPLETED;
+        
+        AsyncRequestLogListener(HttpServletRequest request, HttpServletResponse response,
+                                long startNanos, String traceId, HttpLogPolicy policy) {
+            this.request = request;
+            this.response = response;
+            this.startNanos = startNanos;
+            this.traceId = traceId;
+            this.policy = policy;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (logged.compareAndSet(false, true)) {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                boolean slow = recordMetrics(request, response, elapsedNanos, traceId, policy);
+                TraceIdHolder.runWithTraceId(traceId, () -> {
+                    logRequestEnd(request, response, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), traceId, asyncState, policy, slow);
+                    releaseBodyBuffers(request, response);
+                });
+            }
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            asyncState = ASYNC_TIMEOUT;
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            asyncState = ASYNC_ERROR;
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 再次 startAsync 时监听器会被移除，需要重新注册
+            if (event.getAsyncContext() != null) {
+                event.getAsyncContext().addListener(this);
+            }
+        }
+    }
+    
     @Override
     public void destroy() {
         log.info("Atlas Log filter destroyed");
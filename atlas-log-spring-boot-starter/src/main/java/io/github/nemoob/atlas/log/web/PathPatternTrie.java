@@ -0,0 +1,287 @@
+package io.github.nemoob.atlas.log.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按路径段组织的模式前缀树
+ * <p>
+ * 支持的模式段：字面量、{@code *}（任意单段）、{@code **}（零个或多个段）以及
+ * 带一个星号的段通配（如 {@code *.css}、{@code api-*}）。启动时构建，匹配时把前缀树当作 NFA：
+ * 按优先级维护当前可能所在的状态集合（节点，或停留在某个 {@code **} 中），每个路径段推进一步，
+ * 同一状态在一步内只保留一次，不回溯。
+ * 匹配成本为 O(路径段数 × 节点数)，与模式之间如何重叠无关；字面量子节点按哈希查找，
+ * 每个路径段最多截取一次字符串，不使用正则。
+ * 同一路径命中多个模式时，字面量优先于段通配，段通配优先于 {@code *}，{@code *} 优先于 {@code **}，
+ * 越靠前的路径段优先级越高。
+ * </p>
+ *
+ * @author nemoob
+ * @since 0.2.0
+ */
+public class PathPatternTrie<T> {
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "**";
+
+    private final Node<T> root = new Node<>(0);
+    private int nodeCount = 1;
+    private boolean empty = true;
+
+    private final ThreadLocal<MatchState<T>> states = new ThreadLocal<>();
+
+    /**
+     * 添加模式，重复模式以后添加的值为准
+     */
+    public void add(String pattern, T value) {
+        if (pattern == null || value == null) {
+            return;
+        }
+        Node<T> node = root;
+        int length = pattern.length();
+        int start = 0;
+        while (start < length) {
+            if (pattern.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = pattern.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = child(node, pattern.substring(start, end));
+            start = end;
+        }
+        node.value = value;
+        empty = false;
+    }
+
+    /**
+     * 是否没有任何模式
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * 匹配整个路径
+     */
+    public T match(String path) {
+        return match(path, 0);
+    }
+
+    /**
+     * 从 offset 开始匹配路径（用于跳过 contextPath 而不截取字符串）
+     */
+    public T match(String path, int offset) {
+        if (empty || path == null) {
+            return null;
+        }
+        MatchState<T> state = state();
+        state.currentSize = 0;
+        state.current[state.currentSize] = root;
+        state.currentLoops[state.currentSize++] = false;
+
+        int length = path.length();
+        int start = offset;
+        while (state.currentSize > 0) {
+            while (start < length && path.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= length) {
+                break;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            state.nextStep();
+            String segment = null;
+            for (int i = 0; i < state.currentSize; i++) {
+                segment = advance(state, state.current[i], state.currentLoops[i], path, start, end, segment);
+            }
+            state.swap();
+            start = end;
+        }
+
+        for (int i = 0; i < state.currentSize; i++) {
+            T value = accepted(state.current[i]);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按优先级把状态读入一个路径段后可能到达的状态加入下一步集合
+     *
+     * @param loop 是否停留在 node 这个 {@code **} 中：可以由其后的模式段读入该段，也可以吞掉该段继续停留
+     * @param segment 已截取的路径段，尚未截取时为 null
+     * @return 截取后的路径段，供同一步的其他状态复用
+     */
+    private String advance(MatchState<T> state, Node<T> node, boolean loop, String path, int start, int end,
+                           String segment) {
+        if (loop) {
+            // 不吞掉该段优先于吞掉该段后继续停留
+            segment = advance(state, node, false, path, start, end, segment);
+            state.offer(node, true);
+            return segment;
+        }
+        if (node.literalChildren != null) {
+            if (segment == null) {
+                segment = path.substring(start, end);
+            }
+            Node<T> literal = node.literalChildren.get(segment);
+            if (literal != null) {
+                state.offer(literal, false);
+            }
+        }
+        int segmentLength = end - start;
+        for (int i = 0; i < node.globPrefixes.size(); i++) {
+            String prefix = node.globPrefixes.get(i);
+            String suffix = node.globSuffixes.get(i);
+            if (segmentLength >= prefix.length() + suffix.length()
+                    && path.regionMatches(start, prefix, 0, prefix.length())
+                    && path.regionMatches(end - suffix.length(), suffix, 0, suffix.length())) {
+                state.offer(node.globChildren.get(i), false);
+            }
+        }
+        if (node.singleWildcard != null) {
+            state.offer(node.singleWildcard, false);
+        }
+        if (node.multiWildcard != null) {
+            segment = advance(state, node.multiWildcard, true, path, start, end, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * 路径读完时停在 node 上（或停留在 node 这个 ** 中）所命中的值；** 可以匹配零个段
+     */
+    private static <T> T accepted(Node<T> node) {
+        while (node != null) {
+            if (node.value != null) {
+                return node.value;
+            }
+            node = node.multiWildcard;
+        }
+        return null;
+    }
+
+    private MatchState<T> state() {
+        MatchState<T> state = states.get();
+        if (state == null || state.marks.length < nodeCount * 2) {
+            state = new MatchState<>(nodeCount);
+            states.set(state);
+        }
+        return state;
+    }
+
+    private Node<T> child(Node<T> node, String segment) {
+        if (MULTI_WILDCARD.equals(segment)) {
+            if (node.multiWildcard == null) {
+                node.multiWildcard = new Node<>(nodeCount++);
+            }
+            return node.multiWildcard;
+        }
+        if (SINGLE_WILDCARD.equals(segment)) {
+            if (node.singleWildcard == null) {
+                node.singleWildcard = new Node<>(nodeCount++);
+            }
+            return node.singleWildcard;
+        }
+        int star = segment.indexOf('*');
+        if (star >= 0) {
+            String prefix = segment.substring(0, star);
+            String suffix = segment.substring(star + 1);
+            for (int i = 0; i < node.globPrefixes.size(); i++) {
+                if (node.globPrefixes.get(i).equals(prefix) && node.globSuffixes.get(i).equals(suffix)) {
+                    return node.globChildren.get(i);
+                }
+            }
+            Node<T> glob = new Node<>(nodeCount++);
+            node.globPrefixes.add(prefix);
+            node.globSuffixes.add(suffix);
+            node.globChildren.add(glob);
+            return glob;
+        }
+        if (node.literalChildren == null) {
+            node.literalChildren = new HashMap<>();
+        }
+        Node<T> literal = node.literalChildren.get(segment);
+        if (literal == null) {
+            literal = new Node<>(nodeCount++);
+            node.literalChildren.put(segment, literal);
+        }
+        return literal;
+    }
+
+    private static final class Node<T> {
+        private final int id;
+        private Map<String, Node<T>> literalChildren;
+        private final List<String> globPrefixes = new ArrayList<>();
+        private final List<String> globSuffixes = new ArrayList<>();
+        private final List<Node<T>> globChildren = new ArrayList<>();
+        private Node<T> singleWildcard;
+        private Node<T> multiWildcard;
+        private T value;
+
+        private Node(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * 每个线程复用的状态集合，按加入顺序保存优先级，用步数标记去重
+     */
+    private static final class MatchState<T> {
+        private Node<T>[] current;
+        private Node<T>[] next;
+        private boolean[] currentLoops;
+        private boolean[] nextLoops;
+        private final int[] marks;
+        private int currentSize;
+        private int nextSize;
+        private int step;
+
+        @SuppressWarnings("unchecked")
+        private MatchState(int nodeCount) {
+            this.current = (Node<T>[]) new Node[nodeCount * 2];
+            this.next = (Node<T>[]) new Node[nodeCount * 2];
+            this.currentLoops = new boolean[nodeCount * 2];
+            this.nextLoops = new boolean[nodeCount * 2];
+            this.marks = new int[nodeCount * 2];
+        }
+
+        private void nextStep() {
+            nextSize = 0;
+            if (++step == 0) {
+                Arrays.fill(marks, 0);
+                step = 1;
+            }
+        }
+
+        private void offer(Node<T> node, boolean loop) {
+            int key = node.id * 2 + (loop ? 1 : 0);
+            if (marks[key] != step) {
+                marks[key] = step;
+                next[nextSize] = node;
+                nextLoops[nextSize++] = loop;
+            }
+        }
+
+        private void swap() {
+            Node<T>[] previous = current;
+            current = next;
+            next = previous;
+            boolean[] previousLoops = currentLoops;
+            currentLoops = nextLoops;
+            nextLoops = previousLoops;
+            currentSize = nextSize;
+        }
+    }
+}
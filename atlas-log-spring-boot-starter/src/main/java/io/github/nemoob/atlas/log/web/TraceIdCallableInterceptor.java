@@ -0,0 +1,53 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+
+/**
+ * Callable 异步处理的 TraceId 传递拦截器
+ * Spring MVC 在线程池中执行 Callable 时，将请求的 TraceId 设置到执行线程，执行完成后清理
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class TraceIdCallableInterceptor implements CallableProcessingInterceptor {
+    
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        // 请求线程：TraceId 可能由 TraceIdInterceptor 生成，补充保存到请求属性
+        if (request.getAttribute(LoggingFilter.TRACE_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            String traceId = TraceIdHolder.getTraceIdIfPresent();
+            if (traceId != null) {
+                request.setAttribute(LoggingFilter.TRACE_ID_ATTRIBUTE, traceId, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+    
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        // 异步执行线程：恢复 TraceId
+        // 请求线程返回后 NativeWebRequest 的属性访问会因请求不再活跃而抛异常，直接读取底层 Servlet 请求
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest == null) {
+            return;
+        }
+        Object traceId = servletRequest.getAttribute(LoggingFilter.TRACE_ID_ATTRIBUTE);
+        if (traceId instanceof String) {
+            TraceIdHolder.setTraceId((String) traceId);
+            log.debug("Restored TraceId for async Callable: {}", traceId);
+        }
+    }
+    
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        // 异步执行线程：清理，避免线程池复用时串号
+        TraceIdHolder.clear();
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.nemoob.atlas.log.web.reactive;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import io.github.nemoob.atlas.log.metrics.SlowCallDetector;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatConfig;
+import io.github.nemoob.atlas.log.web.EndpointLatencyRegistry;
+import io.github.nemoob.atlas.log.web.HttpLogLayout;
+import io.github.nemoob.atlas.log.web.HttpLogPathMatcher;
+import io.github.nemoob.atlas.log.web.HttpLogPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式日志过滤器
+ * WebFlux 环境下 {@link io.github.nemoob.atlas.log.web.LoggingFilter} 的对应实现：
+ * TraceId 通过 Reactor Context 传递，耗时从订阅开始计算到请求完成；
+ * 开启 {@code reactor-context-bridge} 时处理链由 {@link TraceIdContextBridge#scope(Mono, String)} 包装
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public class ReactiveLoggingFilter implements WebFilter, Ordered {
+    
+    /**
+     * Exchange 属性中存放 TraceId 的键
+     */
+    public static final String TRACE_ID_ATTRIBUTE = ReactiveLoggingFilter.class.getName() + ".TRACE_ID";
+    
+    private final HttpLogLayout layout;
+    private final HttpLogPathMatcher pathMatcher;
+    private EndpointLatencyRegistry latencyRegistry;
+    private SlowCallDetector slowCallDetector;
+    private final String headerName;
+    private final boolean scopeTraceId;
+    
+    public ReactiveLoggingFilter(LogConfigProperties properties, ArgumentFormatConfig argumentFormatConfig) {
+        this.layout = new HttpLogLayout(properties.getHttpLog(), argumentFormatConfig);
+        this.pathMatcher = new HttpLogPathMatcher(properties.getHttpLog(), properties.getPerformance().getSlowThreshold());
+        this.headerName = properties.getTraceId().getHeaderName();
+        // 全局 Hook 已覆盖处理链时不再重复包装
+        this.scopeTraceId = properties.getTraceId().isReactorContextBridge()
+                && !properties.getTraceId().isReactorContextBridgeGlobal();
+    }
+    
+    /**
+     * 设置端点延迟注册表，为 null 时不做统计
+     */
+    public void setLatencyRegistry(EndpointLatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+    }
+    
+    /**
+     * 设置慢请求判定器，为 null 时按路径策略的固定阈值判定
+     */
+    public void setSlowCallDetector(SlowCallDetector slowCallDetector) {
+        this.slowCallDetector = slowCallDetector;
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        
+        // 命中排除路径的请求完全绕过过滤器，不生成 TraceId
+        HttpLogPolicy policy = pathMatcher.resolve(request.getPath().pathWithinApplication().value(), 0);
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        
+        // 从请求头获取 TraceId，没有则生成新的
+        String headerTraceId = request.getHeaders().getFirst(headerName);
+        String traceId = StringUtils.hasText(headerTraceId) ? headerTraceId : TraceIdHolder.generateTraceId();
+        exchange.getResponse().getHeaders().set(headerName, traceId);
+        exchange.getAttributes().put(TRACE_ID_ATTRIBUTE, traceId);
+        
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            logRequestStart(request, traceId, policy);
+            Mono<Void> handled = chain.filter(exchange);
+            if (scopeTraceId) {
+                handled = TraceIdContextBridge.scope(handled, traceId);
+            }
+            return handled
+                    .doFinally(signal -> {
+                        long elapsedNanos = System.nanoTime() - startNanos;
+                        boolean slow = recordMetrics(exchange, elapsedNanos, traceId, policy);
+                        logRequestEnd(exchange, signal, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), traceId, policy, slow);
+                    });
+        }).contextWrite(Context.of(TraceIdContextBridge.TRACE_ID_CONTEXT_KEY, traceId));
+    }
+    
+    /**
+     * 按匹配到的 URI 模板记录端点延迟并判定是否慢请求，不使用原始 URI 以控制基数
+     * TraceId 作为直方图样例记录
+     * 
+     * @return 是否慢请求
+     */
+    private boolean recordMetrics(ServerWebExchange exchange, long elapsedNanos, String traceId, HttpLogPolicy policy) {
+        Object attribute = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pattern = attribute != null ? attribute.toString() : null;
+        if (latencyRegistry != null) {
+            Integer rawStatus = exchange.getResponse().getRawStatusCode();
+            latencyRegistry.record(exchange.getRequest().getMethodValue(), pattern,
+                    rawStatus != null ? rawStatus : 200, elapsedNanos, traceId);
+        }
+        if (slowCallDetector != null) {
+            return slowCallDetector.isSlow(pattern, elapsedNanos, policy.getSlowThreshold());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos) > policy.getSlowThreshold();
+    }
+    
+    /**
+     * 记录请求开始日志
+     */
+    private void logRequestStart(ServerHttpRequest request, String traceId, HttpLogPolicy policy) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        String remoteAddr = getClientIpAddress(request);
+        
+        StringBuilder logMsg = layout.acquireBuffer();
+        logMsg.append("TraceId: ").append(traceId).append(" | URL: ");
+        appendUrl(logMsg, request, remoteAddr);
+        logMsg.append(" | HTTP请求开始");
+        
+        if (policy.isLogFullParameters()) {
+            if (layout.isIncludeQueryString() && !request.getQueryParams().isEmpty()) {
+                logMsg.append(" | Parameters: ");
+                layout.appendParameterList(logMsg, request.getQueryParams());
+            }
+            if (policy.isIncludeHeaders()) {
+                appendFilteredHeaders(logMsg, request.getHeaders());
+            }
+        }
+        
+        logMsg.append(" | RemoteAddr: ").append(remoteAddr);
+        log.debug(logMsg.toString());
+    }
+    
+    /**
+     * 记录请求结束日志
+     */
+    private void logRequestEnd(ServerWebExchange exchange, SignalType signal, long executionTime, String traceId,
+                               HttpLogPolicy policy, boolean slow) {
+        ServerHttpRequest request = exchange.getRequest();
+        Integer rawStatus = exchange.getResponse().getRawStatusCode();
+        int status = rawStatus != null ? rawStatus : 200;
+        
+        // 与 LoggingFilter 保持一致的级别选择，未启用时不做任何渲染
+        LogLevel level;
+        if (status >= 500) {
+            level = LogLevel.ERROR;
+        } else if (status >= 400 || slow) {
+            level = LogLevel.WARN;
+        } else {
+            level = policy.getLevel();
+        }
+        if (level == null || !isEnabled(level)) {
+            return;
+        }
+        
+        StringBuilder logMsg = layout.acquireBuffer();
+        logMsg.append("TraceId: ").append(traceId).append(" | URL: ");
+        appendUrl(logMsg, request, getClientIpAddress(request));
+        logMsg.append(" | HTTP请求完成 | Status: ").append(status)
+              .append(" | ExecutionTime: ").append(executionTime).append("ms");
+        if (signal == SignalType.CANCEL) {
+            logMsg.append(" | Cancelled: true");
+        }
+        if (slow && status < 400) {
+            logMsg.append(" | SlowRequest: true");
+        }
+        
+        switch (level) {
+            case ERROR:
+                log.error(logMsg.toString());
+                break;
+            case WARN:
+                log.warn(logMsg.toString());
+                break;
+            case DEBUG:
+                log.debug(logMsg.toString());
+                break;
+            case TRACE:
+                log.trace(logMsg.toString());
+                break;
+            default:
+                log.info(logMsg.toString());
+                break;
+        }
+    }
+    
+    private boolean isEnabled(LogLevel level) {
+        switch (level) {
+            case ERROR:
+                return log.isErrorEnabled();
+            case WARN:
+                return log.isWarnEnabled();
+            case DEBUG:
+                return log.isDebugEnabled();
+            case TRACE:
+                return log.isTraceEnabled();
+            default:
+                return log.isInfoEnabled();
+        }
+    }
+    
+    private void appendUrl(StringBuilder logMsg, ServerHttpRequest request, String remoteAddr) {
+        layout.appendUrl(logMsg, request.getMethodValue(), request.getPath().value(),
+                request.getURI().getRawQuery(), remoteAddr);
+    }
+    
+    /**
+     * 追加过滤后的请求头信息
+     */
+    private void appendFilteredHeaders(StringBuilder logMsg, HttpHeaders httpHeaders) {
+        boolean first = true;
+        for (Map.Entry<String, List<String>> entry : httpHeaders.entrySet()) {
+            String headerName = entry.getKey();
+            if (layout.isHeaderIncluded(headerName)) {
+                if (first) {
+                    logMsg.append(" | Headers: ");
+                }
+                layout.appendHeader(logMsg, first, headerName, entry.getValue());
+                first = false;
+            }
+        }
+    }
+    
+    /**
+     * 获取客户端真实IP地址
+     */
+    private String getClientIpAddress(ServerHttpRequest request) {
+        String xForwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+        if (StringUtils.hasText(xForwardedFor) && !"unknown".equalsIgnoreCase(xForwardedFor)) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        
+        String xRealIp = request.getHeaders().getFirst("X-Real-IP");
+        if (StringUtils.hasText(xRealIp) && !"unknown".equalsIgnoreCase(xRealIp)) {
+            return xRealIp;
+        }
+        
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : "";
+    }
+}
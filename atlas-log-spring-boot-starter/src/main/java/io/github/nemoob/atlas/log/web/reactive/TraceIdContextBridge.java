@@ -0,0 +1,183 @@
+package io.github.nemoob.atlas.log.web.reactive;
+
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+/**
+ * Reactor Context 与 TraceIdHolder 的桥接
+ * <p>
+ * WebFlux 中 TraceId 保存在 Reactor Context 中，事件循环线程上不直接写线程变量。
+ * 需要在响应式链路中使用 {@link TraceIdHolder}（例如 @Log 切面）时有两种方式：
+ * </p>
+ * <ul>
+ * <li>{@link #scope(Mono, String)}：只包装过滤器处理链这一层，在订阅（同步调用控制器方法）和终止信号期间
+ * 恢复 TraceId，不影响其他操作符；</li>
+ * <li>{@link #install()}：全局 Hook，每个操作符的每个信号处理期间都从 Context 恢复 TraceId，切换线程后也能读到。
+ * 代价是应用内每个操作符都被包装成非 Fuseable 的订阅者，操作符融合在整个应用中失效。</li>
+ * </ul>
+ * <p>
+ * 两种方式在处理完成后都会还原线程原有的值。
+ * </p>
+ * 
+ * @author nemoob
+ * @since 0.2.0
+ */
+@Slf4j
+public final class TraceIdContextBridge {
+    
+    /**
+     * Reactor Context 中存放 TraceId 的键
+     */
+    public static final String TRACE_ID_CONTEXT_KEY = "atlas.log.traceId";
+    
+    private static final String HOOK_KEY = TraceIdContextBridge.class.getName();
+    
+    private TraceIdContextBridge() {
+    }
+    
+    /**
+     * 安装全局 Hook，会使整个应用的操作符融合失效
+     */
+    public static void install() {
+        Hooks.onEachOperator(HOOK_KEY,
+                Operators.lift((scannable, subscriber) -> new TraceIdBridgeSubscriber<>(subscriber)));
+        log.info("Atlas Log Reactor TraceId context bridge installed");
+    }
+    
+    /**
+     * 卸载全局 Hook
+     */
+    public static void uninstall() {
+        Hooks.resetOnEachOperator(HOOK_KEY);
+        log.info("Atlas Log Reactor TraceId context bridge uninstalled");
+    }
+    
+    /**
+     * 只在该 Mono 的订阅和信号处理期间恢复 TraceId
+     * 
+     * @param source 需要桥接的处理链，如 {@code chain.filter(exchange)}
+     * @param traceId 订阅期间使用的 TraceId；信号处理期间优先使用 Context 中的值
+     */
+    public static <T> Mono<T> scope(Mono<T> source, String traceId) {
+        return new TraceIdScopedMono<>(source, traceId);
+    }
+    
+    /**
+     * 从 Reactor Context 读取 TraceId
+     * 
+     * @param context Reactor Context
+     * @return TraceId，不存在时返回null
+     */
+    public static String getTraceId(Context context) {
+        return context.getOrDefault(TRACE_ID_CONTEXT_KEY, null);
+    }
+    
+    private static void restore(String previous) {
+        if (previous != null) {
+            TraceIdHolder.setTraceId(previous);
+        } else {
+            TraceIdHolder.clear();
+        }
+    }
+    
+    /**
+     * 订阅期间设置 TraceId 的 Mono，信号交给 {@link TraceIdBridgeSubscriber} 处理
+     */
+    static final class TraceIdScopedMono<T> extends MonoOperator<T, T> {
+        
+        private final String traceId;
+        
+        TraceIdScopedMono(Mono<? extends T> source, String traceId) {
+            super(source);
+            this.traceId = traceId;
+        }
+        
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            String previous = TraceIdHolder.getTraceIdIfPresent();
+            TraceIdHolder.setTraceId(traceId);
+            try {
+                source.subscribe(new TraceIdBridgeSubscriber<>(actual));
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+    
+    /**
+     * 在信号处理期间恢复 TraceId 的订阅者
+     */
+    static final class TraceIdBridgeSubscriber<T> implements CoreSubscriber<T> {
+        
+        private final CoreSubscriber<? super T> actual;
+        
+        TraceIdBridgeSubscriber(CoreSubscriber<? super T> actual) {
+            this.actual = actual;
+        }
+        
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+        
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+        
+        @Override
+        public void onNext(T value) {
+            String traceId = getTraceId(actual.currentContext());
+            if (traceId == null) {
+                actual.onNext(value);
+                return;
+            }
+            String previous = TraceIdHolder.getTraceIdIfPresent();
+            TraceIdHolder.setTraceId(traceId);
+            try {
+                actual.onNext(value);
+            } finally {
+                restore(previous);
+            }
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            String traceId = getTraceId(actual.currentContext());
+            if (traceId == null) {
+                actual.onError(error);
+                return;
+            }
+            String previous = TraceIdHolder.getTraceIdIfPresent();
+            TraceIdHolder.setTraceId(traceId);
+            try {
+                actual.onError(error);
+            } finally {
+                restore(previous);
+            }
+        }
+        
+        @Override
+        public void onComplete() {
+            String traceId = getTraceId(actual.currentContext());
+            if (traceId == null) {
+                actual.onComplete();
+                return;
+            }
+            String previous = TraceIdHolder.getTraceIdIfPresent();
+            TraceIdHolder.setTraceId(traceId);
+            try {
+                actual.onComplete();
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+}
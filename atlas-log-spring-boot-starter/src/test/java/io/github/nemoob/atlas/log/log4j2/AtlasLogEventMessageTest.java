@@ -0,0 +1,70 @@
+package io.github.nemoob.atlas.log.log4j2;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AtlasLogEventMessage 单元测试
+ */
+class AtlasLogEventMessageTest {
+
+    private AtlasLogEvent event() {
+        return new AtlasLogEvent()
+                .setTraceId("abc123")
+                .setArgs("[1]")
+                .setExecutionTime(5)
+                .setMessage("订单已创建");
+    }
+
+    @Test
+    void testFormatToAppendsToExistingBuffer() {
+        AtlasLogEventMessage message = new AtlasLogEventMessage();
+        message.set(event(), null);
+
+        StringBuilder buffer = new StringBuilder("prefix ");
+        message.formatTo(buffer);
+
+        assertEquals("prefix TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建", buffer.toString());
+        assertEquals("TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建", message.getFormattedMessage());
+    }
+
+    @Test
+    void testMementoSurvivesReuse() {
+        AtlasLogEventMessage message = new AtlasLogEventMessage();
+        IllegalStateException exception = new IllegalStateException("boom");
+        message.set(event(), exception);
+
+        Message memento = message.memento();
+        assertSame(exception, message.getThrowable());
+        message.clear();
+
+        assertFalse(message.isInUse());
+        assertEquals("", message.getFormattedMessage());
+        assertEquals("TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建", memento.getFormattedMessage());
+    }
+
+    @Test
+    void testHasNoParameters() {
+        AtlasLogEventMessage message = new AtlasLogEventMessage();
+        message.set(event(), null);
+        Object[] replacement = new Object[4];
+
+        assertEquals(0, message.getParameterCount());
+        assertEquals(0, message.getParameters().length);
+        assertSame(replacement, message.swapParameters(replacement));
+    }
+
+    @Test
+    void testLevelMapping() {
+        assertEquals(Level.TRACE, Log4j2LogEventEmitter.toLog4jLevel(LogLevel.TRACE));
+        assertEquals(Level.DEBUG, Log4j2LogEventEmitter.toLog4jLevel(LogLevel.DEBUG));
+        assertEquals(Level.INFO, Log4j2LogEventEmitter.toLog4jLevel(LogLevel.INFO));
+        assertEquals(Level.WARN, Log4j2LogEventEmitter.toLog4jLevel(LogLevel.WARN));
+        assertEquals(Level.ERROR, Log4j2LogEventEmitter.toLog4jLevel(LogLevel.ERROR));
+    }
+}
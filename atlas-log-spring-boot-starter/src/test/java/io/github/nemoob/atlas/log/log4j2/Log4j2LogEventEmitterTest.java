@@ -0,0 +1,93 @@
+package io.github.nemoob.atlas.log.log4j2;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.WriterAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Log4j2LogEventEmitter 单元测试，经由 log4j-core 输出
+ */
+class Log4j2LogEventEmitterTest {
+
+    private final StringWriter output = new StringWriter();
+    private LoggerContext context;
+    private Log4j2LogEventEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        // 独立的 log4j-core 上下文，不经过 LogManager（测试类路径上的 log4j-to-slf4j 会桥接回 Logback）
+        context = new LoggerContext("atlas-log4j2-test");
+        context.start();
+        Configuration configuration = context.getConfiguration();
+        Appender appender = WriterAppender.newBuilder()
+                .setName("capture")
+                .setTarget(output)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%level %m%notEmpty{ ! %ex{short.message}}%n")
+                        .withAlwaysWriteExceptions(false)
+                        .build())
+                .build();
+        appender.start();
+        configuration.addAppender(appender);
+        LoggerConfig root = configuration.getRootLogger();
+        root.getAppenders().keySet().forEach(root::removeAppender);
+        root.addAppender(appender, Level.INFO, null);
+        root.setLevel(Level.INFO);
+        context.updateLoggers();
+        emitter = new Log4j2LogEventEmitter(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private AtlasLogEvent event() {
+        return new AtlasLogEvent()
+                .setTraceId("abc123")
+                .setArgs("[1]")
+                .setExecutionTime(5)
+                .setMessage("订单已创建");
+    }
+
+    @Test
+    void testEmitsThroughLog4jCore() {
+        emitter.emit(Log4j2LogEventEmitterTest.class, LogLevel.INFO, event(), null);
+        emitter.emit(Log4j2LogEventEmitterTest.class, LogLevel.ERROR, event(), new IllegalStateException("boom"));
+        emitter.emit(Log4j2LogEventEmitterTest.class, LogLevel.DEBUG, event(), null);
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(2, lines.length, output.toString());
+        assertEquals("INFO TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建", lines[0]);
+        assertEquals("ERROR TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建 ! boom", lines[1]);
+    }
+
+    @Test
+    void testReusableEventDoesNotRenderFormat() {
+        AtlasLogEventMessage message = new AtlasLogEventMessage();
+        message.set(event(), null);
+        MutableLogEvent logEvent = new MutableLogEvent();
+
+        // MutableLogEvent 在 formatTo 之后紧接着读取 getFormat()，不能再渲染一次
+        logEvent.setMessage(message);
+
+        assertNull(message.getFormat());
+        assertNull(logEvent.getFormat());
+        assertEquals("TraceId: abc123 | Args: [1] | ExecutionTime: 5ms | 订单已创建",
+                logEvent.getFormattedMessage());
+    }
+}
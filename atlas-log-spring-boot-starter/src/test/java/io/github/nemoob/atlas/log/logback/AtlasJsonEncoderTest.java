@@ -0,0 +1,125 @@
+package io.github.nemoob.atlas.log.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nemoob.atlas.log.event.AtlasLogEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AtlasJsonEncoder 单元测试
+ */
+class AtlasJsonEncoderTest {
+
+    private final Logger logger = new LoggerContext().getLogger("com.example.OrderService");
+
+    private String encode(AtlasJsonEncoder encoder, String message, Throwable throwable, Object... args) {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, throwable, args);
+        event.setTimeStamp(1700000000000L);
+        event.setThreadName("main");
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testStructuredEventFields() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXIT)
+                .setTraceId("abc123")
+                .setMethod("OrderService.create(Order)")
+                .setMessage("订单已创建")
+                .setTags(new String[]{"order", "write"})
+                .setArgs("[{\"id\":1}]")
+                .setResult("\"ok\"")
+                .setExecutionTime(12)
+                .setSlowCall(true);
+
+        String json = encode(new AtlasJsonEncoder(), "{}", null, event);
+
+        assertEquals("{\"timestamp\":1700000000000,\"level\":\"INFO\",\"thread\":\"main\","
+                + "\"logger\":\"com.example.OrderService\",\"traceId\":\"abc123\",\"phase\":\"EXIT\","
+                + "\"method\":\"OrderService.create(Order)\",\"message\":\"订单已创建\","
+                + "\"tags\":[\"order\",\"write\"],\"args\":\"[{\\\"id\\\":1}]\",\"result\":\"\\\"ok\\\"\","
+                + "\"executionTimeMs\":12,\"slowCall\":true}\n", json);
+    }
+
+    @Test
+    void testEmbedsJsonPayloads() {
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setArgs("[{\"id\":1,\"name\":\"订单\"}]")
+                .setResult("[BUDGET_EXCEEDED: String[length=100000] ~195.3KB]");
+        AtlasJsonEncoder encoder = new AtlasJsonEncoder();
+        encoder.setEmbedJsonPayloads(true);
+
+        String json = encode(encoder, "{}", null, event);
+
+        assertTrue(json.contains(",\"args\":[{\"id\":1,\"name\":\"订单\"}],"), json);
+        // 不是合法 JSON 的摘要仍按字符串写入
+        assertTrue(json.contains(",\"result\":\"[BUDGET_EXCEEDED: String[length=100000] ~195.3KB]\"}"), json);
+    }
+
+    @Test
+    void testUnsetEventFieldsAreOmitted() {
+        AtlasLogEvent event = new AtlasLogEvent().setPhase(AtlasLogEvent.Phase.ENTER).setMessage("进入");
+
+        String json = encode(new AtlasJsonEncoder(), "{}", null, event);
+
+        assertFalse(json.contains("executionTimeMs"));
+        assertFalse(json.contains("cpuTimeNanos"));
+        assertFalse(json.contains("tags"));
+        assertFalse(json.contains("traceId"));
+        assertTrue(json.contains("\"phase\":\"ENTER\""));
+    }
+
+    @Test
+    void testExceptionFields() {
+        IllegalStateException exception = new IllegalStateException("库存不足");
+        AtlasLogEvent event = new AtlasLogEvent()
+                .setPhase(AtlasLogEvent.Phase.EXCEPTION)
+                .setException(exception);
+
+        String json = encode(new AtlasJsonEncoder(), "{}", exception, event);
+
+        assertTrue(json.contains("\"exception\":{\"type\":\"java.lang.IllegalStateException\",\"message\":\"库存不足\"}"));
+        assertTrue(json.contains("\"stackTrace\":\"java.lang.IllegalStateException: 库存不足"));
+
+        AtlasJsonEncoder withoutStack = new AtlasJsonEncoder();
+        withoutStack.setIncludeStackTrace(false);
+        assertFalse(encode(withoutStack, "{}", exception, event).contains("stackTrace"));
+    }
+
+    @Test
+    void testPlainMessageIsFormatted() {
+        String json = encode(new AtlasJsonEncoder(), "user {} logged in", null, "alice");
+
+        assertTrue(json.contains("\"message\":\"user alice logged in\""));
+        assertFalse(json.contains("phase"));
+    }
+
+    @Test
+    void testEscaping() {
+        String json = encode(new AtlasJsonEncoder(), "a\"b\\c\nd\te\u0001f😀", null);
+
+        assertTrue(json.contains("\"message\":\"a\\\"b\\\\c\\nd\\te\\u0001f😀\""), json);
+        assertTrue(json.endsWith("}\n"));
+    }
+
+    @Test
+    void testOversizedBufferIsShrunk() {
+        AtlasJsonEncoder encoder = new AtlasJsonEncoder();
+        encoder.setMaxRetainedBytes(4096);
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            large.append('x');
+        }
+
+        String json = encode(encoder, large.toString(), null);
+
+        assertTrue(json.contains(large.toString()));
+        assertTrue(encode(encoder, "small", null).contains("\"message\":\"small\""));
+    }
+}
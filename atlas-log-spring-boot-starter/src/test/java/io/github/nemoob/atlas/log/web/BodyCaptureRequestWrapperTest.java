@@ -0,0 +1,97 @@
+package io.github.nemoob.atlas.log.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ServletInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BodyCaptureRequestWrapper 单元测试
+ */
+class BodyCaptureRequestWrapperTest {
+
+    private static MockHttpServletRequest request(byte[] body, String encoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setContentType("application/json");
+        request.setCharacterEncoding(encoding);
+        request.setContent(body);
+        return request;
+    }
+
+    private static int drain(ServletInputStream in) throws IOException {
+        byte[] chunk = new byte[1000];
+        int total = 0;
+        for (int n; (n = in.read(chunk, 0, chunk.length)) != -1; ) {
+            total += n;
+        }
+        return total;
+    }
+
+    @Test
+    void testTeeThroughInputStream() throws IOException {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        BodyCaptureRequestWrapper wrapper = new BodyCaptureRequestWrapper(request(body, "UTF-8"), new BoundedBodyBuffer(64));
+
+        // 单字节读取和数组读取都要旁路复制
+        ServletInputStream in = wrapper.getInputStream();
+        assertEquals('{', in.read());
+        assertEquals(body.length - 1, drain(in));
+
+        assertEquals("{\"id\":1}", wrapper.renderBody());
+    }
+
+    @Test
+    void testTeeThroughReader() throws IOException {
+        byte[] body = "{\"name\":\"订单\"}".getBytes(StandardCharsets.UTF_8);
+        BodyCaptureRequestWrapper wrapper = new BodyCaptureRequestWrapper(request(body, "UTF-8"), new BoundedBodyBuffer(64));
+
+        BufferedReader reader = wrapper.getReader();
+        assertEquals("{\"name\":\"订单\"}", reader.readLine());
+        assertSame(reader, wrapper.getReader());
+
+        assertEquals("{\"name\":\"订单\"}", wrapper.renderBody());
+    }
+
+    @Test
+    void testUnreadBodyRendersEmpty() {
+        BodyCaptureRequestWrapper wrapper = new BodyCaptureRequestWrapper(
+                request("{}".getBytes(StandardCharsets.UTF_8), "UTF-8"), new BoundedBodyBuffer(64));
+
+        // 不预读：业务没有读取请求体时不捕获
+        assertEquals("", wrapper.renderBody());
+    }
+
+    @Test
+    void testLargeUploadRespectsCap() throws IOException {
+        byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(16);
+        BodyCaptureRequestWrapper wrapper = new BodyCaptureRequestWrapper(request(body, "UTF-8"), buffer);
+
+        // 业务仍然读到完整的请求体
+        assertEquals(body.length, drain(wrapper.getInputStream()));
+
+        assertEquals(16, buffer.getLength());
+        assertEquals("xxxxxxxxxxxxxxxx...[TRUNCATED, total 1048576]", wrapper.renderBody());
+    }
+
+    @Test
+    void testDetachedBufferStopsCapture() throws IOException {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        BodyCaptureRequestWrapper wrapper = new BodyCaptureRequestWrapper(
+                request("{}".getBytes(StandardCharsets.UTF_8), "UTF-8"), buffer);
+
+        assertSame(buffer, wrapper.detachBuffer());
+        assertNull(wrapper.detachBuffer());
+        assertEquals(2, drain(wrapper.getInputStream()));
+
+        assertEquals(0, buffer.getTotalSize());
+        assertEquals("", wrapper.renderBody());
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.nemoob.atlas.log.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BodyCaptureResponseWrapper 单元测试
+ */
+class BodyCaptureResponseWrapperTest {
+
+    private static final Predicate<String> BINARY = contentType -> contentType != null
+            && (contentType.startsWith("image/") || contentType.startsWith("application/octet-stream"));
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private BodyCaptureResponseWrapper wrap(int capacity) {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        return new BodyCaptureResponseWrapper(response, new BoundedBodyBuffer(capacity), BINARY);
+    }
+
+    @Test
+    void testTeeThroughOutputStream() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(64);
+
+        ServletOutputStream out = wrapper.getOutputStream();
+        out.write('[');
+        byte[] body = "{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        out.write(body, 0, body.length);
+        out.flush();
+
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+        assertEquals("[{\"id\":1}]", wrapper.renderBody());
+    }
+
+    @Test
+    void testTeeThroughWriter() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(64);
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.write('[');
+        writer.write("{\"name\":\"订单\"}");
+        writer.write(new char[]{',', '1', ']'}, 0, 3);
+        writer.flush();
+
+        assertSame(writer, wrapper.getWriter());
+        assertEquals("[{\"name\":\"订单\"},1]", response.getContentAsString());
+        assertEquals("[{\"name\":\"订单\"},1]", wrapper.renderBody());
+    }
+
+    @Test
+    void testPrintlnSeparatorIsCaptured() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(64);
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.println("first");
+        writer.println();
+        writer.print("last");
+        writer.flush();
+
+        String expected = "first" + System.lineSeparator() + System.lineSeparator() + "last";
+        assertEquals(expected, response.getContentAsString());
+        assertEquals(expected, wrapper.renderBody());
+    }
+
+    @Test
+    void testSurrogatePairWrittenCharByChar() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(64);
+        String body = "{\"mood\":\"\uD83D\uDE00\"}";
+
+        PrintWriter writer = wrapper.getWriter();
+        for (int i = 0; i < body.length(); i++) {
+            writer.write(body.charAt(i));
+        }
+        writer.flush();
+
+        assertEquals(body, response.getContentAsString());
+        assertEquals(body, wrapper.renderBody());
+    }
+
+    @Test
+    void testBinaryContentIsNotCaptured() throws IOException {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        BodyCaptureResponseWrapper wrapper = new BodyCaptureResponseWrapper(response, buffer, BINARY);
+        wrapper.setContentType("image/png");
+
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        wrapper.getOutputStream().write(png, 0, png.length);
+
+        assertArrayEquals(png, response.getContentAsByteArray());
+        assertEquals(0, buffer.getTotalSize());
+        assertEquals("[binary content omitted]", wrapper.renderBody());
+    }
+
+    @Test
+    void testLargeResponseRespectsCap() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(8);
+
+        ServletOutputStream out = wrapper.getOutputStream();
+        byte[] chunk = "0123456789".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 1000; i++) {
+            out.write(chunk, 0, chunk.length);
+        }
+
+        assertEquals(10_000, response.getContentAsByteArray().length);
+        assertEquals("01234567...[TRUNCATED, total 10000]", wrapper.renderBody());
+    }
+
+    @Test
+    void testTruncatedWriterOutputCountsBytes() throws IOException {
+        BodyCaptureResponseWrapper wrapper = wrap(8);
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.write("订单订单");
+        writer.write('订');
+        writer.write(new char[]{'单'}, 0, 1);
+        writer.flush();
+
+        // 6 个汉字共 18 个字节，只保存能完整放下的前两个
+        assertEquals("订单...[TRUNCATED, total 18]", wrapper.renderBody());
+    }
+
+    @Test
+    void testDetachedBufferStopsCapture() throws IOException {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        BodyCaptureResponseWrapper wrapper = new BodyCaptureResponseWrapper(response, buffer, BINARY);
+
+        assertSame(buffer, wrapper.detachBuffer());
+        wrapper.getWriter().write("late");
+        wrapper.getWriter().flush();
+
+        assertEquals("late", response.getContentAsString());
+        assertEquals(0, buffer.getTotalSize());
+        assertEquals("", wrapper.renderBody());
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.nemoob.atlas.log.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoundedBodyBuffer 与 BodyBufferPool 单元测试
+ */
+class BoundedBodyBufferTest {
+    
+    @Test
+    void testNeverBuffersMoreThanCapacity() {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(16);
+        byte[] chunk = new byte[8192];
+        
+        // 模拟 100MB 请求体
+        for (int i = 0; i < 12800; i++) {
+            buffer.write(chunk, 0, chunk.length);
+        }
+        
+        assertEquals(16, buffer.getLength());
+        assertEquals(8192L * 12800, buffer.getTotalSize());
+        assertTrue(buffer.isTruncated());
+    }
+    
+    @Test
+    void testRenderWithinCapacity() {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        byte[] body = "{\"name\":\"atlas\"}".getBytes(StandardCharsets.UTF_8);
+        buffer.write(body, 0, body.length);
+        
+        assertFalse(buffer.isTruncated());
+        assertEquals("{\"name\":\"atlas\"}", buffer.render(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testWriteCharsEncodesUpToCapacity() {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(6);
+        buffer.writeChars("用户信息", 0, 4, StandardCharsets.UTF_8);
+        
+        assertEquals(6, buffer.getLength());
+        assertTrue(buffer.isTruncated());
+        // 总量按编码后的字节计，包括放不下的部分
+        assertEquals(12, buffer.getTotalSize());
+        
+        buffer.writeChar('é', StandardCharsets.UTF_8);
+        buffer.write('!');
+        assertEquals("用户...[TRUNCATED, total 15]", buffer.render(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testWriteSingleCharsAndCharArrays() {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        for (char c : "{\"名\":".toCharArray()) {
+            buffer.writeChar(c, StandardCharsets.UTF_8);
+        }
+        char[] value = "x\"atlas\"}x".toCharArray();
+        buffer.writeChars(value, 1, value.length - 2, StandardCharsets.UTF_8);
+    
+        assertEquals("{\"名\":\"atlas\"}", buffer.render(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testSurrogatePairSplitAcrossWrites() {
+        BoundedBodyBuffer buffer = new BoundedBodyBuffer(64);
+        String emoji = "\uD83D\uDE00";
+        buffer.writeChars("a" + emoji.charAt(0), 0, 2, StandardCharsets.UTF_8);
+        buffer.writeChar(emoji.charAt(1), StandardCharsets.UTF_8);
+        for (char c : emoji.toCharArray()) {
+            buffer.writeChar(c, StandardCharsets.UTF_8);
+        }
+        
+        assertEquals("a" + emoji + emoji, buffer.render(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testPoolReusesReleasedBuffer() {
+        BodyBufferPool pool = new BodyBufferPool(2, 32);
+        BoundedBodyBuffer buffer = pool.acquire();
+        buffer.write('a');
+        pool.release(buffer);
+        
+        BoundedBodyBuffer reused = pool.acquire();
+        assertSame(buffer, reused);
+        assertEquals(0, reused.getTotalSize());
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.nemoob.atlas.log.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EndpointLatencyRegistry 单元测试
+ */
+class EndpointLatencyRegistryTest {
+
+    @Test
+    void testRecordsByMethodAndPattern() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry(10, 1);
+        registry.record("GET", "/users/{id}", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        registry.record("GET", "/users/{id}", 404, TimeUnit.MILLISECONDS.toNanos(7));
+        registry.record("DELETE", "/users/{id}", 500, TimeUnit.MILLISECONDS.toNanos(9));
+        registry.record("GET", null, 404, TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<EndpointLatencyRegistry.EndpointLatencySnapshot> snapshots = registry.snapshot();
+        assertEquals(3, snapshots.size());
+        assertEquals(3, registry.getEndpointCount());
+
+        EndpointLatencyRegistry.EndpointLatencySnapshot getUser = snapshots.stream()
+                .filter(s -> "GET".equals(s.getMethod()) && "/users/{id}".equals(s.getPattern()))
+                .findFirst().orElseThrow(IllegalStateException::new);
+        assertEquals(2, getUser.getHistogram().getCount());
+        assertEquals(1, getUser.getStatusCount(2));
+        assertEquals(1, getUser.getStatusCount(4));
+        assertEquals(7000, getUser.getHistogram().getMax());
+    }
+
+    @Test
+    void testOverflowWhenEndpointCapReached() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry(2, 1);
+        for (int i = 0; i < 10; i++) {
+            registry.record("GET", "/p" + i, 200, 1000);
+        }
+
+        assertEquals(2, registry.getEndpointCount());
+        List<EndpointLatencyRegistry.EndpointLatencySnapshot> snapshots = registry.snapshot();
+        EndpointLatencyRegistry.EndpointLatencySnapshot overflow = snapshots.get(snapshots.size() - 1);
+        assertEquals(EndpointLatencyRegistry.OVERFLOW, overflow.getPattern());
+        assertEquals(8, overflow.getHistogram().getCount());
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatConfig;
+import io.github.nemoob.atlas.log.serializer.ArgumentFormatType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpLogLayout 单元测试
+ */
+class HttpLogLayoutTest {
+
+    @Test
+    void testDefaultUrlFormat() {
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+        config.setUrlFormat("{method} {uri}{queryString}");
+        HttpLogLayout layout = new HttpLogLayout(config, new ArgumentFormatConfig());
+
+        StringBuilder sb = layout.acquireBuffer();
+        layout.appendUrl(sb, "GET", "/api/users", "page=1", "127.0.0.1");
+        assertEquals("GET /api/users?page=1", sb.toString());
+
+        sb = layout.acquireBuffer();
+        layout.appendUrl(sb, "POST", "/api/users", null, "127.0.0.1");
+        assertEquals("POST /api/users", sb.toString());
+    }
+
+    @Test
+    void testCustomUrlFormatWithLiteralsAndTrim() {
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+        config.setUrlFormat(" [{remoteAddr}] {method} {uri} {unknown} {queryString} ");
+        config.setIncludeQueryString(false);
+        HttpLogLayout layout = new HttpLogLayout(config, new ArgumentFormatConfig());
+
+        StringBuilder sb = new StringBuilder("URL: ");
+        layout.appendUrl(sb, "GET", "/a", "x=1", "10.0.0.1");
+        assertEquals("URL: [10.0.0.1] GET /a {unknown}", sb.toString());
+    }
+
+    @Test
+    void testHeaderExclusionIsCaseInsensitive() {
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+        config.setExcludeHeaders(Arrays.asList("Authorization", "cookie"));
+        HttpLogLayout layout = new HttpLogLayout(config, new ArgumentFormatConfig());
+
+        assertFalse(layout.isHeaderIncluded("authorization"));
+        assertFalse(layout.isHeaderIncluded("Set-COOKIE"));
+        assertTrue(layout.isHeaderIncluded("Content-Type"));
+    }
+
+    @Test
+    void testParametersAsJsonAndKeyValue() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("name", new String[]{"atlas"});
+        parameters.put("tag", new String[]{"a", "b"});
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+
+        HttpLogLayout jsonLayout = new HttpLogLayout(config, new ArgumentFormatConfig());
+        StringBuilder sb = jsonLayout.acquireBuffer();
+        jsonLayout.appendParameters(sb, parameters);
+        assertEquals("{\"name\":\"atlas\",\"tag\":[\"a\",\"b\"]}", sb.toString());
+
+        ArgumentFormatConfig keyValue = new ArgumentFormatConfig();
+        keyValue.setType(ArgumentFormatType.KEY_VALUE);
+        HttpLogLayout keyValueLayout = new HttpLogLayout(config, keyValue);
+        sb = keyValueLayout.acquireBuffer();
+        keyValueLayout.appendParameters(sb, parameters);
+        assertEquals("name" + keyValue.getKeyValueSeparator() + "atlas" + keyValue.getSeparator()
+                + "tag" + keyValue.getKeyValueSeparator() + "[a,b]", sb.toString());
+    }
+}
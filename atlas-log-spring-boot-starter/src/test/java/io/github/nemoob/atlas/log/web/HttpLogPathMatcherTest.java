@@ -0,0 +1,126 @@
+package io.github.nemoob.atlas.log.web;
+
+import io.github.nemoob.atlas.log.annotation.LogLevel;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PathPatternTrie 与 HttpLogPathMatcher 单元测试
+ */
+class HttpLogPathMatcherTest {
+
+    @Test
+    void testTrieWildcards() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/actuator/**", "actuator");
+        trie.add("/static/*.css", "css");
+        trie.add("/api/*/detail", "detail");
+        trie.add("/api/users/detail", "users");
+
+        assertEquals("actuator", trie.match("/actuator"));
+        assertEquals("actuator", trie.match("/actuator/health/liveness"));
+        assertEquals("css", trie.match("/static/app.css"));
+        assertNull(trie.match("/static/app.js"));
+        assertEquals("detail", trie.match("/api/orders/detail"));
+        assertEquals("users", trie.match("/api/users/detail"));
+        assertNull(trie.match("/api/orders"));
+    }
+
+    @Test
+    void testMultiWildcardInMiddle() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/**/*.png", "png");
+
+        assertEquals("png", trie.match("/logo.png"));
+        assertEquals("png", trie.match("/a/b/c/logo.png"));
+        assertNull(trie.match("/a/b/c/logo.gif"));
+    }
+
+    @Test
+    void testPriorityAcrossOverlappingPatterns() {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        trie.add("/**", "all");
+        trie.add("/api/**", "api");
+        trie.add("/api/*/detail", "detail");
+        trie.add("/**/detail", "anyDetail");
+        trie.add("/api/v*/detail", "versioned");
+
+        assertEquals("versioned", trie.match("/api/v2/detail"));
+        assertEquals("detail", trie.match("/api/orders/detail"));
+        assertEquals("api", trie.match("/api/orders/items/detail"));
+        assertEquals("anyDetail", trie.match("/shop/detail"));
+        assertEquals("all", trie.match("/shop"));
+        assertEquals("all", trie.match("/"));
+    }
+
+    @Test
+    void testOverlappingMultiWildcardsDoNotBacktrack() {
+        PathPatternTrie<Integer> trie = new PathPatternTrie<>();
+        for (int i = 0; i < 8; i++) {
+            trie.add("/**/a/**/a/**/a/**/a/**/x" + i, i);
+        }
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            path.append("/a");
+        }
+
+        // 回溯实现在这里是 O(段数^k)，状态集合模拟只与段数和节点数成正比
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertNull(trie.match(path.toString()));
+            assertEquals(Integer.valueOf(3), trie.match(path + "/x3"));
+        });
+    }
+
+    @Test
+    void testMatchWithOffset() {
+        PathPatternTrie<Boolean> trie = new PathPatternTrie<>();
+        trie.add("/health", Boolean.TRUE);
+
+        String uri = "/app/health";
+        assertNotNull(trie.match(uri, "/app".length()));
+        assertNull(trie.match(uri));
+    }
+
+    @Test
+    void testExcludeIncludeAndPolicies() {
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+        config.setIncludePaths(Arrays.asList("/api/**", "/actuator/**"));
+        config.setExcludePaths(Collections.singletonList("/actuator/**"));
+        LogConfigProperties.PathPolicy policy = new LogConfigProperties.PathPolicy();
+        policy.setPattern("/api/reports/**");
+        policy.setLevel("debug");
+        policy.setSlowThreshold(10000L);
+        config.setPathPolicies(Collections.singletonList(policy));
+
+        HttpLogPathMatcher matcher = new HttpLogPathMatcher(config, 1000L);
+
+        assertNull(matcher.resolve("/actuator/health", 0));
+        assertNull(matcher.resolve("/index.html", 0));
+        assertSame(matcher.getDefaultPolicy(), matcher.resolve("/api/users", 0));
+
+        HttpLogPolicy reports = matcher.resolve("/api/reports/monthly", 0);
+        assertEquals(LogLevel.DEBUG, reports.getLevel());
+        assertEquals(10000L, reports.getSlowThreshold());
+        assertEquals(config.isIncludeHeaders(), reports.isIncludeHeaders());
+    }
+
+    @Test
+    void testOffLevelSuppressesNormalCompletion() {
+        LogConfigProperties.HttpLogConfig config = new LogConfigProperties.HttpLogConfig();
+        LogConfigProperties.PathPolicy policy = new LogConfigProperties.PathPolicy();
+        policy.setPattern("/metrics");
+        policy.setLevel("OFF");
+        config.setPathPolicies(Collections.singletonList(policy));
+
+        HttpLogPathMatcher matcher = new HttpLogPathMatcher(config, 1000L);
+
+        assertNull(matcher.resolve("/metrics", 0).getLevel());
+        assertEquals(LogLevel.INFO, matcher.resolve("/other", 0).getLevel());
+    }
+}
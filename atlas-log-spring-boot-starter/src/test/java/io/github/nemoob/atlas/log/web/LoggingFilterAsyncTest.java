@@ -0,0 +1,223 @@
+package io.github.nemoob.atlas.log.web;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * LoggingFilter 异步请求（Callable、DeferredResult）单元测试
+ */
+class LoggingFilterAsyncTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final List<String> dispatches = new CopyOnWriteArrayList<>();
+    private ThreadPoolTaskExecutor executor;
+    private AsyncController controller;
+    private MockMvc mockMvc;
+    private Level originalLevel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TraceIdHolder.clear();
+        originalLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+
+        // 单线程执行器，先在没有 TraceId 的情况下创建线程，避免 InheritableThreadLocal 继承测试线程的值
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        executor.submit(() -> { }).get();
+
+        controller = new AsyncController(executor);
+        // 记录每次分派时下游看到的 TraceId；standalone 模式没有 configureAsyncSupport，在这里注册 Callable 拦截器
+        Filter probe = (request, response, chain) -> {
+            dispatches.add(((HttpServletRequest) request).getDispatcherType() + ":" + TraceIdHolder.getTraceIdIfPresent());
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                    TraceIdCallableInterceptor.class.getName(), new TraceIdCallableInterceptor());
+            chain.doFilter(request, response);
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new LoggingFilter(new LogConfigProperties()), probe)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(originalLevel);
+        executor.shutdown();
+        TraceIdHolder.clear();
+    }
+
+    private List<ILoggingEvent> endLogs() {
+        return appender.list.stream()
+                .filter(event -> event.getFormattedMessage().contains("HTTP请求完成"))
+                .collect(Collectors.toList());
+    }
+
+    private static void fire(MvcResult result, String type, Throwable error) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            AsyncEvent event = new AsyncEvent(asyncContext, error);
+            if ("timeout".equals(type)) {
+                listener.onTimeout(event);
+            } else {
+                listener.onError(event);
+            }
+        }
+    }
+
+    @Test
+    void testCallableLogsOnceAfterCompletionWithOriginalTraceId() throws Exception {
+        MvcResult result = mockMvc.perform(get("/callable").header("X-Trace-Id", "trace-callable"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // 请求线程返回时还不能记录结束日志
+        assertTrue(endLogs().isEmpty());
+        result.getAsyncResult(5000);
+
+        // 异步分派在没有 TraceId 的线程上执行，由过滤器从请求属性恢复
+        TraceIdHolder.clear();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("done"));
+
+        assertEquals("trace-callable", controller.callableTraceId.get());
+        assertEquals("ASYNC:trace-callable", dispatches.get(dispatches.size() - 1));
+        assertNull(TraceIdHolder.getTraceIdIfPresent());
+
+        List<ILoggingEvent> logs = endLogs();
+        assertEquals(1, logs.size());
+        String message = logs.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("TraceId: trace-callable | "));
+        assertTrue(message.contains("Status: 200"));
+        assertTrue(message.contains("Async: COMPLETED"));
+
+        // 执行线程在 Callable 结束后被清理，复用时不会串号
+        assertNull(executor.submit(TraceIdHolder::getTraceIdIfPresent).get());
+    }
+
+    @Test
+    void testDeferredResultLogsOnceAfterCompletion() throws Exception {
+        MvcResult result = mockMvc.perform(get("/deferred").header("X-Trace-Id", "trace-deferred"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(endLogs().isEmpty());
+
+        executor.submit(() -> controller.pending.setResult("later")).get();
+        TraceIdHolder.clear();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("later"));
+
+        assertEquals("ASYNC:trace-deferred", dispatches.get(dispatches.size() - 1));
+        List<ILoggingEvent> logs = endLogs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).getFormattedMessage().startsWith("TraceId: trace-deferred | "));
+        assertTrue(logs.get(0).getFormattedMessage().contains("Async: COMPLETED"));
+    }
+
+    @Test
+    void testDeferredResultTimeoutLoggedAsTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/deferred").header("X-Trace-Id", "trace-timeout"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // 模拟容器触发超时：Spring 的监听器写入超时结果并重新分派
+        fire(result, "timeout", null);
+        TraceIdHolder.clear();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+
+        List<ILoggingEvent> logs = endLogs();
+        assertEquals(1, logs.size());
+        String message = logs.get(0).getFormattedMessage();
+        assertEquals(Level.ERROR, logs.get(0).getLevel());
+        assertTrue(message.startsWith("TraceId: trace-timeout | "));
+        assertTrue(message.contains("Status: 503"));
+        assertTrue(message.contains("Async: TIMEOUT"));
+    }
+
+    @Test
+    void testDeferredResultErrorLoggedAsError() throws Exception {
+        MvcResult result = mockMvc.perform(get("/deferred").header("X-Trace-Id", "trace-error"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        fire(result, "error", new ResponseStatusException(HttpStatus.BAD_GATEWAY));
+        TraceIdHolder.clear();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadGateway());
+
+        List<ILoggingEvent> logs = endLogs();
+        assertEquals(1, logs.size());
+        String message = logs.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("TraceId: trace-error | "));
+        assertTrue(message.contains("Async: ERROR"));
+    }
+
+    @RestController
+    static class AsyncController {
+
+        private final ThreadPoolTaskExecutor executor;
+        private final AtomicReference<String> callableTraceId = new AtomicReference<>();
+        private volatile DeferredResult<String> pending;
+
+        AsyncController(ThreadPoolTaskExecutor executor) {
+            this.executor = executor;
+        }
+
+        @GetMapping("/callable")
+        WebAsyncTask<String> callable() {
+            return new WebAsyncTask<>(5000L, executor, () -> {
+                callableTraceId.set(TraceIdHolder.getTraceIdIfPresent());
+                return "done";
+            });
+        }
+
+        @GetMapping("/deferred")
+        DeferredResult<String> deferred() {
+            pending = new DeferredResult<>();
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.nemoob.atlas.log.web;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoggingFilter 请求体/响应体捕获单元测试
+ */
+class LoggingFilterBodyCaptureTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final LogConfigProperties properties = new LogConfigProperties();
+    private final AtomicReference<ServletRequest> seenRequest = new AtomicReference<>();
+    private final AtomicReference<ServletResponse> seenResponse = new AtomicReference<>();
+    private Level originalLevel;
+
+    @BeforeEach
+    void setUp() {
+        TraceIdHolder.clear();
+        originalLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+        properties.getHttpLog().setLogRequestBody(true);
+        properties.getHttpLog().setLogResponseBody(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(originalLevel);
+        TraceIdHolder.clear();
+    }
+
+    private List<String> endLogs() {
+        return appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(message -> message.contains("HTTP请求完成"))
+                .collect(Collectors.toList());
+    }
+
+    private static MockHttpServletRequest post(String contentType, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setContentType(contentType);
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body);
+        return request;
+    }
+
+    /**
+     * 回显请求体的业务处理
+     */
+    private void echo(LoggingFilter filter, MockHttpServletRequest request, MockHttpServletResponse response)
+            throws Exception {
+        filter.doFilter(request, response, (req, res) -> {
+            seenRequest.set(req);
+            seenResponse.set(res);
+            String body = StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+            res.setContentType("application/json");
+            res.setCharacterEncoding("UTF-8");
+            res.getWriter().write("{\"echo\":" + body + "}");
+        });
+    }
+
+    @Test
+    void testSyncRequestLogsBodiesAndReleasesBuffers() throws Exception {
+        LoggingFilter filter = new LoggingFilter(properties);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        echo(filter, post("application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals("{\"echo\":{\"id\":1}}", response.getContentAsString());
+        List<String> logs = endLogs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).contains("RequestBody: {\"id\":1}"), logs.get(0));
+        assertTrue(logs.get(0).contains("ResponseBody: {\"echo\":{\"id\":1}}"), logs.get(0));
+
+        // 结束日志之后缓冲区已从包装器解除并归还
+        assertNull(((BodyCaptureRequestWrapper) seenRequest.get()).detachBuffer());
+        assertNull(((BodyCaptureResponseWrapper) seenResponse.get()).detachBuffer());
+
+        // 复用池中的缓冲区不会带上一次请求的内容
+        echo(filter, post("application/json", "{\"id\":2}".getBytes(StandardCharsets.UTF_8)),
+                new MockHttpServletResponse());
+        String second = endLogs().get(1);
+        assertTrue(second.contains("RequestBody: {\"id\":2} |"), second);
+        assertTrue(second.endsWith("ResponseBody: {\"echo\":{\"id\":2}}"), second);
+    }
+
+    @Test
+    void testMultipartRequestIsNotWrapped() throws Exception {
+        LoggingFilter filter = new LoggingFilter(properties);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        echo(filter, post("multipart/form-data; boundary=xyz", "\"part\"".getBytes(StandardCharsets.UTF_8)), response);
+
+        assertFalse(seenRequest.get() instanceof BodyCaptureRequestWrapper);
+        String log = endLogs().get(0);
+        assertFalse(log.contains("RequestBody"), log);
+        assertTrue(log.contains("ResponseBody: {\"echo\":\"part\"}"), log);
+    }
+
+    @Test
+    void testBinaryResponseIsOmitted() throws Exception {
+        LoggingFilter filter = new LoggingFilter(properties);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/logo"), response, (req, res) -> {
+            res.setContentType("image/png");
+            res.getOutputStream().write(png);
+        });
+
+        assertArrayEquals(png, response.getContentAsByteArray());
+        String log = endLogs().get(0);
+        assertTrue(log.contains("ResponseBody: [binary content omitted]"), log);
+    }
+
+    @Test
+    void testLargeUploadRespectsCap() throws Exception {
+        properties.getHttpLog().setMaxBodyLength(64);
+        LoggingFilter filter = new LoggingFilter(properties);
+        byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        AtomicReference<Integer> read = new AtomicReference<>();
+
+        filter.doFilter(post("text/plain", body), new MockHttpServletResponse(), (req, res) -> {
+            seenRequest.set(req);
+            read.set(StreamUtils.copyToByteArray(req.getInputStream()).length);
+        });
+
+        // 业务读到完整请求体，日志只保留前 64 个字节
+        assertEquals(body.length, read.get());
+        String log = endLogs().get(0);
+        String captured = new String(body, 0, 64, StandardCharsets.US_ASCII);
+        assertTrue(log.contains("RequestBody: " + captured + "...[TRUNCATED, total 1048576]"), log);
+        assertNull(((BodyCaptureRequestWrapper) seenRequest.get()).detachBuffer());
+    }
+
+    @Test
+    void testAsyncRequestReleasesBuffersOnCompletion() throws Exception {
+        LoggingFilter filter = new LoggingFilter(properties);
+        MockHttpServletRequest request = post("application/json", "{\"id\":3}".getBytes(StandardCharsets.UTF_8));
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            seenRequest.set(req);
+            seenResponse.set(res);
+            StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+            req.startAsync();
+        });
+
+        // 请求线程返回时还不能记录结束日志，也不能归还缓冲区
+        assertTrue(endLogs().isEmpty());
+        seenResponse.get().setContentType("application/json");
+        seenResponse.get().getWriter().write("{\"done\":true}");
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        List<String> logs = endLogs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).contains("Async: COMPLETED"), logs.get(0));
+        assertTrue(logs.get(0).contains("RequestBody: {\"id\":3}"), logs.get(0));
+        assertTrue(logs.get(0).contains("ResponseBody: {\"done\":true}"), logs.get(0));
+        assertNull(((BodyCaptureRequestWrapper) seenRequest.get()).detachBuffer());
+        assertNull(((BodyCaptureResponseWrapper) seenResponse.get()).detachBuffer());
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.nemoob.atlas.log.web.reactive;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.nemoob.atlas.log.config.LogConfigProperties;
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReactiveLoggingFilter 单元测试
+ */
+class ReactiveLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ReactiveLoggingFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level originalLevel;
+
+    @BeforeEach
+    void setUp() {
+        originalLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+        TraceIdHolder.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(originalLevel);
+        TraceIdHolder.clear();
+    }
+
+    private static WebTestClient client(LogConfigProperties properties, RouterFunction<ServerResponse> route) {
+        return WebTestClient.bindToRouterFunction(route)
+                .webFilter(new ReactiveLoggingFilter(properties, null))
+                .build();
+    }
+
+    private List<String> endLogs() {
+        return appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(message -> message.contains("HTTP请求完成"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testReusesRequestTraceIdAndLogsCompletion() {
+        WebTestClient client = client(new LogConfigProperties(),
+                RouterFunctions.route().GET("/orders", request -> ServerResponse.ok().bodyValue("ok")).build());
+
+        client.get().uri("/orders").header("X-Trace-Id", "trace-123").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Trace-Id", "trace-123");
+
+        List<String> logs = endLogs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).startsWith("TraceId: trace-123 | URL: "));
+        assertTrue(logs.get(0).contains("Status: 200"));
+        assertFalse(logs.get(0).contains("Cancelled"));
+    }
+
+    @Test
+    void testGeneratesTraceIdWhenHeaderMissing() {
+        WebTestClient client = client(new LogConfigProperties(),
+                RouterFunctions.route().GET("/orders", request -> ServerResponse.ok().build()).build());
+
+        String traceId = client.get().uri("/orders").exchange()
+                .expectStatus().isOk()
+                .returnResult(Void.class).getResponseHeaders().getFirst("X-Trace-Id");
+
+        assertNotNull(traceId);
+        assertFalse(traceId.isEmpty());
+        assertTrue(endLogs().get(0).startsWith("TraceId: " + traceId + " "));
+    }
+
+    @Test
+    void testServerErrorLoggedAtErrorLevel() {
+        WebTestClient client = client(new LogConfigProperties(),
+                RouterFunctions.route().GET("/orders", request ->
+                        Mono.error(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR))).build());
+
+        client.get().uri("/orders").header("X-Trace-Id", "trace-500").exchange()
+                .expectStatus().is5xxServerError()
+                .expectHeader().valueEquals("X-Trace-Id", "trace-500");
+
+        List<ILoggingEvent> events = appender.list.stream()
+                .filter(event -> event.getFormattedMessage().contains("HTTP请求完成"))
+                .collect(Collectors.toList());
+        assertEquals(1, events.size());
+        assertEquals(Level.ERROR, events.get(0).getLevel());
+        assertTrue(events.get(0).getFormattedMessage().contains("Status: 500"));
+    }
+
+    @Test
+    void testCancelledRequestLoggedOnce() {
+        ReactiveLoggingFilter filter = new ReactiveLoggingFilter(new LogConfigProperties(), null);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/orders").header("X-Trace-Id", "trace-cancel"));
+
+        Disposable subscription = filter.filter(exchange, ex -> Mono.never()).subscribe();
+        assertTrue(endLogs().isEmpty());
+        subscription.dispose();
+
+        List<String> logs = endLogs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).startsWith("TraceId: trace-cancel | "));
+        assertTrue(logs.get(0).contains("Cancelled: true"));
+    }
+
+    @Test
+    void testTraceIdWrittenToReactorContext() {
+        ReactiveLoggingFilter filter = new ReactiveLoggingFilter(new LogConfigProperties(), null);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/orders").header("X-Trace-Id", "trace-ctx"));
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.filter(exchange, ex -> Mono.deferContextual(context -> {
+            seen.set(TraceIdContextBridge.getTraceId(Context.of(context)));
+            return Mono.empty();
+        })).block();
+
+        assertEquals("trace-ctx", seen.get());
+        assertEquals("trace-ctx", exchange.getAttribute(ReactiveLoggingFilter.TRACE_ID_ATTRIBUTE));
+    }
+
+    @Test
+    void testScopedBridgeExposesTraceIdToHandler() {
+        LogConfigProperties properties = new LogConfigProperties();
+        properties.getTraceId().setReactorContextBridge(true);
+        AtomicReference<String> seen = new AtomicReference<>();
+        WebTestClient client = client(properties, RouterFunctions.route().GET("/orders", request -> {
+            seen.set(TraceIdHolder.getTraceIdIfPresent());
+            return ServerResponse.ok().build();
+        }).build());
+
+        client.get().uri("/orders").header("X-Trace-Id", "trace-bridge").exchange()
+                .expectStatus().isOk();
+
+        assertEquals("trace-bridge", seen.get());
+        assertNull(TraceIdHolder.getTraceIdIfPresent());
+    }
+
+    @Test
+    void testHandlerDoesNotSeeTraceIdWithoutBridge() {
+        AtomicReference<String> seen = new AtomicReference<>("unset");
+        WebTestClient client = client(new LogConfigProperties(), RouterFunctions.route().GET("/orders", request -> {
+            seen.set(TraceIdHolder.getTraceIdIfPresent());
+            return ServerResponse.ok().build();
+        }).build());
+
+        client.get().uri("/orders").header("X-Trace-Id", "trace-none").exchange()
+                .expectStatus().isOk();
+
+        assertNull(seen.get());
+    }
+}
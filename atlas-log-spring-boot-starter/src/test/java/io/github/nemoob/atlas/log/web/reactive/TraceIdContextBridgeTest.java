@@ -0,0 +1,79 @@
+package io.github.nemoob.atlas.log.web.reactive;
+
+import io.github.nemoob.atlas.log.context.TraceIdHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TraceIdContextBridge 单元测试
+ */
+class TraceIdContextBridgeTest {
+
+    @AfterEach
+    void tearDown() {
+        TraceIdContextBridge.uninstall();
+        TraceIdHolder.clear();
+    }
+
+    private static Mono<String> readOnOtherThread(Scheduler scheduler) {
+        return Mono.just("value")
+                .publishOn(scheduler)
+                .map(value -> String.valueOf(TraceIdHolder.getTraceIdIfPresent()))
+                .contextWrite(context -> context.put(TraceIdContextBridge.TRACE_ID_CONTEXT_KEY, "trace-hook"));
+    }
+
+    @Test
+    void testInstallAndUninstallGlobalHook() {
+        // TraceIdHolder 是 InheritableThreadLocal，使用独立线程避免继承其他用例留下的值
+        Scheduler scheduler = Schedulers.newSingle("bridge-test");
+        try {
+            assertEquals("null", readOnOtherThread(scheduler).block());
+
+            TraceIdContextBridge.install();
+            assertEquals("trace-hook", readOnOtherThread(scheduler).block());
+
+            TraceIdContextBridge.uninstall();
+            assertEquals("null", readOnOtherThread(scheduler).block());
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void testScopeSetsTraceIdDuringSubscribeAndRestores() {
+        TraceIdHolder.setTraceId("outer");
+        AtomicReference<String> duringSubscribe = new AtomicReference<>();
+
+        String result = TraceIdContextBridge.scope(Mono.fromSupplier(() -> {
+            duringSubscribe.set(TraceIdHolder.getTraceIdIfPresent());
+            return "done";
+        }), "trace-scope").block();
+
+        assertEquals("done", result);
+        assertEquals("trace-scope", duringSubscribe.get());
+        assertEquals("outer", TraceIdHolder.getTraceIdIfPresent());
+    }
+
+    @Test
+    void testScopeRestoresTraceIdForTerminalSignal() {
+        AtomicReference<String> onError = new AtomicReference<>();
+
+        Mono<String> failing = Mono.<String>error(new IllegalStateException("boom"))
+                .publishOn(Schedulers.boundedElastic());
+        TraceIdContextBridge.scope(failing, "trace-scope")
+                .doOnError(error -> onError.set(TraceIdHolder.getTraceIdIfPresent()))
+                .contextWrite(context -> context.put(TraceIdContextBridge.TRACE_ID_CONTEXT_KEY, "trace-signal"))
+                .onErrorResume(error -> Mono.empty())
+                .block();
+
+        assertEquals("trace-signal", onError.get());
+        assertNull(TraceIdHolder.getTraceIdIfPresent());
+    }
+}